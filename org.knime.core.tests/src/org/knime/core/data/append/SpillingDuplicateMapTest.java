@@ -0,0 +1,132 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.append;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+
+/**
+ * Tests {@link SpillingDuplicateMap}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class SpillingDuplicateMapTest {
+
+    /** Small maps stay in memory and provide the name map. */
+    @Test
+    public void testInMemory() {
+        SpillingDuplicateMap map = new SpillingDuplicateMap();
+        map.put(new RowKey("Row0"), new RowKey("Row0"));
+        map.put(new RowKey("Row0_dup"), new RowKey("Row0"));
+        Assert.assertTrue(map.containsKey(new RowKey("Row0_dup")));
+        Assert.assertFalse(map.containsKey(new RowKey("Row1")));
+        Assert.assertFalse(map.hasSpilled());
+        Assert.assertEquals(new RowKey("Row0"), map.getNameMap().get(new RowKey("Row0_dup")));
+        map.close();
+    }
+
+    /** Keys written to disc are still found, other keys are not, and the name map is read back from disc. */
+    @Test
+    public void testSpilled() {
+        SpillingDuplicateMap map = new SpillingDuplicateMap(100);
+        try {
+            for (int i = 0; i < 1050; i++) {
+                RowKey key = new RowKey("Row" + (2 * i));
+                Assert.assertFalse(map.containsKey(key));
+                map.put(key, new RowKey("Orig" + i));
+            }
+            Assert.assertTrue(map.hasSpilled());
+            Map<RowKey, RowKey> nameMap = map.getNameMap();
+            Assert.assertEquals(1050, nameMap.size());
+            for (int i = 0; i < 1050; i++) {
+                Assert.assertEquals(new RowKey("Orig" + i), nameMap.get(new RowKey("Row" + (2 * i))));
+            }
+            for (int i = 0; i < 2100; i++) {
+                Assert.assertEquals("Row" + i, i % 2 == 0, map.containsKey(new RowKey("Row" + i)));
+            }
+        } finally {
+            map.close();
+        }
+    }
+
+    /** The name map is not available once keys on disc have been deleted. */
+    @Test(expected = IllegalStateException.class)
+    public void testNameMapAfterCloseSpilled() {
+        SpillingDuplicateMap map = new SpillingDuplicateMap(10);
+        for (int i = 0; i < 20; i++) {
+            map.put(new RowKey("Row" + i), new RowKey("Row" + i));
+        }
+        map.close();
+        map.getNameMap();
+    }
+
+    /** Iteration with appended suffixes yields unique keys when the keys are written to disc. */
+    @Test
+    public void testUniquifySpilled() {
+        SpillingDuplicateMap map = new SpillingDuplicateMap(64);
+        try {
+            for (int copy = 0; copy < 3; copy++) {
+                for (int i = 0; i < 500; i++) {
+                    RowKey origKey = new RowKey("Row" + i);
+                    RowKey key = origKey;
+                    while (map.containsKey(key)) {
+                        key = new RowKey(key.getString() + "_dup");
+                    }
+                    map.put(key, origKey);
+                }
+            }
+            Assert.assertTrue(map.containsKey(new RowKey("Row499_dup_dup")));
+            Assert.assertFalse(map.containsKey(new RowKey("Row499_dup_dup_dup")));
+        } finally {
+            map.close();
+        }
+    }
+}
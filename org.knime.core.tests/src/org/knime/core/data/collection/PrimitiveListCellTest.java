@@ -0,0 +1,167 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.collection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests the primitive array backed {@link ListCell} implementations.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PrimitiveListCellTest {
+
+    private static List<DataCell> doubleCells(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> new DoubleCell(i * 0.5)).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testFactoryChoosesPrimitiveImplementation() throws Exception {
+        Assert.assertTrue(CollectionCellFactory.createListCell(doubleCells(10)) instanceof DoubleListCell);
+        Assert.assertTrue(CollectionCellFactory.createListCell(
+            Arrays.asList(new IntCell(1), new IntCell(2))) instanceof IntListCell);
+        Assert.assertTrue(CollectionCellFactory.createListCell(
+            Arrays.asList(new LongCell(1), new LongCell(2))) instanceof LongListCell);
+
+        // mixed types, missing values, non-primitive elements and empty lists use the generic implementation
+        Assert.assertFalse(CollectionCellFactory.createListCell(
+            Arrays.asList(new IntCell(1), new DoubleCell(2))) instanceof AbstractPrimitiveListCell);
+        Assert.assertFalse(CollectionCellFactory.createListCell(
+            Arrays.asList(new IntCell(1), DataType.getMissingCell())) instanceof AbstractPrimitiveListCell);
+        Assert.assertFalse(CollectionCellFactory.createListCell(
+            Arrays.asList(new StringCell("a"))) instanceof AbstractPrimitiveListCell);
+        Assert.assertFalse(CollectionCellFactory.createListCell(
+            Arrays.<DataCell> asList()) instanceof AbstractPrimitiveListCell);
+
+        DataRow row = new DefaultRow("row", new IntCell(1), new StringCell("a"), new IntCell(3));
+        ListCell fromRow = CollectionCellFactory.createListCell(row, new int[]{0, 2});
+        Assert.assertTrue(fromRow instanceof IntListCell);
+        Assert.assertEquals(3, ((IntListCell)fromRow).getInt(1));
+    }
+
+    @Test
+    public void testListDataValueContract() throws Exception {
+        List<DataCell> cells = doubleCells(100);
+        ListCell primitive = CollectionCellFactory.createListCell(cells);
+        ListCell boxed = new ListCell(BlobSupportDataCellList.create(cells));
+
+        Assert.assertEquals(DoubleCell.TYPE, primitive.getElementType());
+        Assert.assertEquals(boxed.size(), primitive.size());
+        Assert.assertEquals(boxed.toString(), primitive.toString());
+        Assert.assertEquals(cells.get(42), primitive.get(42));
+        int i = 0;
+        for (DataCell c : primitive) {
+            Assert.assertEquals(cells.get(i++), c);
+        }
+        Assert.assertEquals(cells.size(), i);
+
+        Assert.assertEquals(boxed, primitive);
+        Assert.assertEquals(primitive, boxed);
+        Assert.assertEquals(boxed.hashCode(), primitive.hashCode());
+        Assert.assertTrue(ListCell.getCollectionType(DoubleCell.TYPE).isASuperTypeOf(primitive.getType()));
+
+        ListCell ints = CollectionCellFactory.createIntListCell(new int[]{-1, 0, Integer.MAX_VALUE});
+        ListCell longs = CollectionCellFactory.createLongListCell(new long[]{-1L, 0L, Long.MAX_VALUE});
+        Assert.assertEquals(new ListCell(ints.getList()), ints);
+        Assert.assertEquals(ints.hashCode(), new ListCell(ints.getList()).hashCode());
+        Assert.assertEquals(new ListCell(longs.getList()), longs);
+        Assert.assertNotEquals(ints, longs);
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        DataCell[] cells = new DataCell[]{CollectionCellFactory.createListCell(doubleCells(1000)),
+            CollectionCellFactory.createIntListCell(IntStream.range(0, 1000).toArray()),
+            CollectionCellFactory.createLongListCell(IntStream.range(0, 1000).mapToLong(i -> -i).toArray())};
+        DataContainer c = new DataContainer(new DataTableSpec(
+            new DataColumnSpecCreator("double", ListCell.getCollectionType(DoubleCell.TYPE)).createSpec(),
+            new DataColumnSpecCreator("int", ListCell.getCollectionType(IntCell.TYPE)).createSpec(),
+            new DataColumnSpecCreator("long", ListCell.getCollectionType(LongCell.TYPE)).createSpec()));
+        c.addRowToTable(new DefaultRow("row", cells));
+        c.close();
+        DataTable table = c.getTable();
+        byte[] bytes;
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            DataContainer.writeToStream(table, output, new ExecutionMonitor());
+            bytes = output.toByteArray();
+        }
+
+        ContainerTable containerTable;
+        try (ByteArrayInputStream input = new ByteArrayInputStream(bytes)) {
+            containerTable = DataContainer.readFromStream(input);
+        }
+        DataRow row = containerTable.iterator().next();
+        for (int i = 0; i < cells.length; i++) {
+            Assert.assertNotSame(cells[i], row.getCell(i));
+            Assert.assertEquals(cells[i].getClass(), row.getCell(i).getClass());
+            Assert.assertEquals(cells[i], row.getCell(i));
+        }
+    }
+}
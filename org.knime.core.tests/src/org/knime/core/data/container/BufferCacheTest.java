@@ -57,12 +57,14 @@
 import java.util.stream.IntStream;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.LongCell;
@@ -169,6 +171,77 @@ public void testSoftRefCache() throws InterruptedException {
         }
     }
 
+    /**
+     * Tests that reservations within the memory budget are granted, that single tables can't take more than their share
+     * of the budget, and that the least recently used tables are evicted if the budget is exhausted.
+     */
+    @Test
+    public void testMemoryBudget() {
+        final BufferCache cache = new BufferCache();
+        Assume.assumeTrue("Memory budget disabled", cache.isMemoryBudgetEnabled());
+        final long share = cache.getMemoryBudget() * 2 / 5;
+        final List<Pair<Buffer, List<BlobSupportDataRow>>> tables = generateKTables(3, false);
+        final List<Integer> evicted = new ArrayList<>();
+
+        for (int i = 0; i < 2; i++) {
+            final Pair<Buffer, List<BlobSupportDataRow>> table = tables.get(i);
+            Assert.assertTrue("Reservation within budget refused", cache.reserveMemory(table.getFirst(), share, false));
+            cache.put(table.getFirst(), table.getSecond());
+            final int index = i;
+            cache.setEvictor(table.getFirst(), () -> evicted.add(index));
+        }
+        Assert.assertFalse("Single table must not take more than half of the budget",
+            cache.reserveMemory(tables.get(2).getFirst(), share * 2, false));
+        Assert.assertTrue("Nothing must be evicted for refused reservation", evicted.isEmpty());
+
+        // access first table such that the second one is least recently used
+        cache.get(tables.get(0).getFirst());
+        Assert.assertTrue("Reservation refused although tables can be evicted",
+            cache.reserveMemory(tables.get(2).getFirst(), share, false));
+        Assert.assertEquals("Least recently used table not evicted", Collections.singletonList(1), evicted);
+
+        // evicted table is written to disk and cleared for garbage collection, which releases its memory
+        cache.invalidate(tables.get(1).getFirst());
+        cache.releaseMemory(tables.get(2).getFirst());
+        Assert.assertTrue(cache.reserveMemory(tables.get(2).getFirst(), share, false));
+        Assert.assertEquals("No eviction expected", 1, evicted.size());
+    }
+
+    /**
+     * Tests that the memory budget is only used for containers with the default cell count and that a buffer's
+     * reservation is released when it is cleared.
+     */
+    @Test
+    public void testMemoryBudgetOnlyForDefaultCellCount() {
+        final DataContainerSettings def = DataContainerSettings.getDefault();
+        Assume.assumeTrue("Memory budget disabled", new BufferCache().isMemoryBudgetEnabled());
+        Assume.assumeTrue("Cell count set by property", def.isDefaultMaxCellsInMemory());
+
+        final ContainerTable table = createStringTable(def);
+        final Buffer buffer = table.getBuffer();
+        Assert.assertTrue("No memory reserved for table within budget", buffer.getReservedMemory() > 0);
+        table.clear();
+        Assert.assertEquals("Reservation not released on clear", 0, buffer.getReservedMemory());
+
+        final ContainerTable explicitTable = createStringTable(def.withMaxCellsInMemory(def.getMaxCellsInMemory() * 2));
+        Assert.assertEquals("Memory budget used despite explicit cell count", 0,
+            explicitTable.getBuffer().getReservedMemory());
+        explicitTable.clear();
+    }
+
+    private static ContainerTable createStringTable(final DataContainerSettings settings) {
+        final DataContainer container =
+            new DataContainer(new DataTableSpec(new DataColumnSpecCreator("s", StringCell.TYPE).createSpec()),
+                settings.withForceSequentialRowHandling(true));
+        final String value = new String(new char[1000]);
+        for (int i = 0; i < 100; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i),
+                new StringCell(value)));
+        }
+        container.close();
+        return container.getBufferedTable();
+    }
+
     private static List<Pair<Buffer, List<BlobSupportDataRow>>> generateKTables(final int k,
         final boolean flushToDisk) {
 
@@ -60,6 +60,7 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataTableSpecCreator;
 import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.KNIMEConstants;
 
 import junit.framework.TestCase;
 
@@ -164,6 +165,25 @@ public void testChangedValues() {
         assertNotEquals("Default BufferSettings have not been modified", def.getBufferSettings().equals(bSettings));
     }
 
+    /**
+     * Tests that only the built-in default cell count is flagged as default, such that the memory budget doesn't
+     * override explicitly set cell counts.
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testDefaultMaxCellsInMemory() {
+        final DataContainerSettings def = DataContainerSettings.getDefault();
+        assertEquals("Wrong default flag",
+            System.getProperty(KNIMEConstants.PROPERTY_CELLS_IN_MEMORY) == null,
+            def.isDefaultMaxCellsInMemory());
+        assertEquals("Default flag must not change with other settings", def.isDefaultMaxCellsInMemory(),
+            def.withRowBatchSize(def.getRowBatchSize() + 1).isDefaultMaxCellsInMemory());
+        assertEquals("Default flag must not change if cell count is unchanged", def.isDefaultMaxCellsInMemory(),
+            def.withMaxCellsInMemory(def.getMaxCellsInMemory()).isDefaultMaxCellsInMemory());
+        assertFalse("Explicit cell count flagged as default",
+            def.withMaxCellsInMemory(def.getMaxCellsInMemory() + 1).isDefaultMaxCellsInMemory());
+    }
+
     /**
      * Tests that the number of threads per container cannot be assigned a value larger than the maximum total number of
      * container threads.
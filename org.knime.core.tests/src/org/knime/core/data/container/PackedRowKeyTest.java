@@ -0,0 +1,180 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+
+/**
+ * Tests the packed storage of row keys in tables written to disk.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PackedRowKeyTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    private static List<String> createKeys() {
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add("Row" + i);
+        }
+        keys.add("header");
+        keys.add("Row100");
+        keys.add("Row101");
+        keys.add("Row1010");
+        keys.add("007");
+        keys.add("008");
+        keys.add("9");
+        keys.add("10");
+        keys.add("Row_9");
+        keys.add("Row_10");
+        keys.add("99999999999999999999");
+        keys.add("Row999999999999999999");
+        keys.add("Row1000000000000000000");
+        for (int i = 0; i < 100; i++) {
+            keys.add("Row " + i);
+        }
+        return keys;
+    }
+
+    private static ContainerTable writeTable(final Iterable<String> keys) {
+        final DataContainer container = new DataContainer(SPEC, true, 0);
+        int i = 0;
+        for (String key : keys) {
+            container.addRowToTable(new DefaultRow(key, new IntCell(i++)));
+        }
+        container.close();
+        return (ContainerTable)container.getTable();
+    }
+
+    private static List<String> readKeys(final CloseableRowIterator it) {
+        final List<String> keys = new ArrayList<>();
+        try {
+            while (it.hasNext()) {
+                keys.add(it.next().getKey().getString());
+            }
+        } finally {
+            it.close();
+        }
+        return keys;
+    }
+
+    /** Keys read back are the ones written, successors are returned as packed rows. */
+    @Test
+    public void testRoundTrip() {
+        final List<String> keys = createKeys();
+        final ContainerTable table = writeTable(keys);
+        try {
+            Assert.assertEquals(keys, readKeys(table.iterator()));
+            int packedCount = 0;
+            try (CloseableRowIterator it = table.iterator()) {
+                while (it.hasNext()) {
+                    final DataRow row = it.next();
+                    if (row instanceof PackedKeyDataRow) {
+                        packedCount++;
+                        final String packedKey = ((PackedKeyDataRow)row).getPackedKey().toString();
+                        Assert.assertEquals(new RowKey(packedKey), row.getKey());
+                    }
+                }
+            }
+            // Row1..Row99, Row101, 10, Row_10, Row 1..Row 99
+            Assert.assertEquals(99 + 1 + 1 + 1 + 99, packedCount);
+        } finally {
+            table.clear();
+        }
+    }
+
+    /** Skipped rows keep the reader's key state consistent. */
+    @Test
+    public void testRoundTripWithRowRange() {
+        final List<String> keys = createKeys();
+        final ContainerTable table = writeTable(keys);
+        try {
+            final int from = 50;
+            final int to = keys.size() - 20;
+            final TableFilter filter =
+                new TableFilter.Builder().withFromRowIndex(from).withToRowIndex(to).build();
+            Assert.assertEquals(keys.subList(from, to + 1), readKeys(table.iteratorWithFilter(filter)));
+        } finally {
+            table.clear();
+        }
+    }
+
+    /** Rows with packed keys can be written to another table. */
+    @Test
+    public void testCopy() {
+        final List<String> keys = createKeys();
+        final ContainerTable table = writeTable(keys);
+        final DataContainer container = new DataContainer(SPEC, true, 0);
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                container.addRowToTable(it.next());
+            }
+        }
+        container.close();
+        final ContainerTable copy = (ContainerTable)container.getTable();
+        try {
+            Assert.assertEquals(keys, readKeys(copy.iterator()));
+        } finally {
+            table.clear();
+            copy.clear();
+        }
+    }
+}
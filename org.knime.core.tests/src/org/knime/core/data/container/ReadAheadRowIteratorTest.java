@@ -0,0 +1,181 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.storage.AbstractTableStoreReader.TableStoreCloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+
+/**
+ * Tests {@link ReadAheadRowIterator}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ReadAheadRowIteratorTest {
+
+    private final ExecutorService m_executor = Executors.newFixedThreadPool(2);
+
+    /** Shuts down the executor. */
+    @After
+    public void shutdown() {
+        m_executor.shutdownNow();
+    }
+
+    /** All rows are returned in order, including a last partial batch. */
+    @Test
+    public void testIterateAll() {
+        for (int size : new int[]{0, 1, ReadAheadRowIterator.BATCH_SIZE, 10 * ReadAheadRowIterator.BATCH_SIZE + 7}) {
+            final CountingIterator delegate = new CountingIterator(size, -1);
+            final ReadAheadRowIterator it = new ReadAheadRowIterator(delegate, m_executor);
+            for (int i = 0; i < size; i++) {
+                Assert.assertTrue(it.hasNext());
+                Assert.assertEquals(i, ((IntCell)it.next().getCell(0)).getIntValue());
+            }
+            Assert.assertFalse(it.hasNext());
+            Assert.assertFalse(it.hasNext());
+            try {
+                it.next();
+                Assert.fail("Expected exception after last row");
+            } catch (NoSuchElementException e) {
+                // expected
+            }
+        }
+    }
+
+    /** Exceptions in the background thread are rethrown to the consumer after the rows read before. */
+    @Test
+    public void testFailure() {
+        final int failAt = 3 * ReadAheadRowIterator.BATCH_SIZE + 5;
+        final ReadAheadRowIterator it = new ReadAheadRowIterator(new CountingIterator(10 * failAt, failAt), m_executor);
+        int count = 0;
+        try {
+            while (it.hasNext()) {
+                it.next();
+                count++;
+            }
+            Assert.fail("Expected exception");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Failing at " + failAt, e.getMessage());
+        }
+        // rows of the batch containing the failing row are not handed out
+        Assert.assertEquals(3 * ReadAheadRowIterator.BATCH_SIZE, count);
+    }
+
+    /**
+     * Closing the iterator closes the delegate without the background thread being blocked or reading the whole table.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testClose() throws Exception {
+        final CountingIterator delegate = new CountingIterator(Integer.MAX_VALUE, -1);
+        final ReadAheadRowIterator it = new ReadAheadRowIterator(delegate, m_executor);
+        Assert.assertTrue(it.hasNext());
+        it.next();
+        Assert.assertTrue(it.performClose());
+        Assert.assertTrue("Delegate not closed", delegate.m_closed.await(10, TimeUnit.SECONDS));
+        final int nrRead = delegate.m_next;
+        Assert.assertTrue("Too many rows read: " + nrRead, nrRead < 10 * ReadAheadRowIterator.BATCH_SIZE);
+        Assert.assertFalse("Delegate closed twice", delegate.m_closedTwice.get());
+    }
+
+    /** Delegate returning rows with an increasing int cell, optionally failing at a given row. */
+    private static final class CountingIterator extends TableStoreCloseableRowIterator {
+
+        private final int m_size;
+
+        private final int m_failAt;
+
+        private volatile int m_next;
+
+        private final CountDownLatch m_closed = new CountDownLatch(1);
+
+        private final AtomicBoolean m_closedTwice = new AtomicBoolean();
+
+        CountingIterator(final int size, final int failAt) {
+            m_size = size;
+            m_failAt = failAt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_next < m_size;
+        }
+
+        @Override
+        public DataRow next() {
+            if (m_next == m_failAt) {
+                throw new IllegalStateException("Failing at " + m_failAt);
+            }
+            final int i = m_next++;
+            return new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i));
+        }
+
+        @Override
+        public boolean performClose() throws IOException {
+            if (m_closed.getCount() == 0) {
+                m_closedTwice.set(true);
+            }
+            m_closed.countDown();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.util.Iterator;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests {@link ExecutionContext#createFusedColumnRearrangeTables(BufferedDataTable, ColumnRearranger[],
+ * ExecutionContext[], org.knime.core.node.ExecutionMonitor)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RearrangeColumnsTableFusedTest {
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExecutionContext EXEC = new ExecutionContext(new DefaultNodeProgressMonitor(),
+        new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+        SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+
+    /** Fused application yields the same tables as applying the rearrangers one after another. */
+    @Test
+    public void testFusedEqualsSequential() throws Exception {
+        final BufferedDataTable in = createTable(3, 100);
+
+        // stage 1: append the sum of columns 0 and 1
+        final ColumnRearranger r1 = new ColumnRearranger(in.getDataTableSpec());
+        r1.append(intFactory("sum", row -> value(row, 0) + value(row, 1)));
+        final DataTableSpec spec1 = r1.createSpec();
+        // stage 2: remove column 0 and replace column 1 by its negation
+        final ColumnRearranger r2 = new ColumnRearranger(spec1);
+        r2.replace(intFactory("1", row -> -value(row, 1)), 1);
+        r2.remove(0);
+        final DataTableSpec spec2 = r2.createSpec();
+        // stage 3: pure filter, nothing computed
+        final ColumnRearranger r3 = new ColumnRearranger(spec2);
+        r3.keepOnly(2);
+        final DataTableSpec spec3 = r3.createSpec();
+        // stage 4: reads the column computed in stage 1
+        final ColumnRearranger r4 = new ColumnRearranger(spec3);
+        r4.append(intFactory("twice", row -> 2 * value(row, 0)));
+
+        final ColumnRearranger[] rearrangers = {r1, r2, r3, r4};
+        final BufferedDataTable[] fused = ExecutionContext.createFusedColumnRearrangeTables(in, rearrangers,
+            new ExecutionContext[]{EXEC, EXEC, EXEC, EXEC}, EXEC);
+
+        Assert.assertEquals(rearrangers.length, fused.length);
+        BufferedDataTable sequential = in;
+        for (int i = 0; i < rearrangers.length; i++) {
+            sequential = EXEC.createColumnRearrangeTable(sequential, rearrangers[i], EXEC);
+            assertTablesEqual(sequential, fused[i]);
+        }
+        Assert.assertEquals(spec1, fused[0].getDataTableSpec());
+        Assert.assertEquals(spec3, fused[2].getDataTableSpec());
+    }
+
+    /** A rearranger not matching the output of its predecessor is rejected. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompatibleRearrangers() throws Exception {
+        final BufferedDataTable in = createTable(3, 10);
+        final ColumnRearranger r1 = new ColumnRearranger(in.getDataTableSpec());
+        r1.remove(0);
+        final ColumnRearranger r2 = new ColumnRearranger(in.getDataTableSpec());
+        ExecutionContext.createFusedColumnRearrangeTables(in, new ColumnRearranger[]{r1, r2},
+            new ExecutionContext[]{EXEC, EXEC}, EXEC);
+    }
+
+    private static BufferedDataTable createTable(final int colCount, final int rowCount) {
+        final DataTableSpec spec = new DataTableSpec(IntStream.range(0, colCount)
+            .mapToObj(i -> new DataColumnSpecCreator(Integer.toString(i), IntCell.TYPE).createSpec())
+            .toArray(DataColumnSpec[]::new));
+        final BufferedDataContainer cont = EXEC.createDataContainer(spec);
+        for (int r = 0; r < rowCount; r++) {
+            final int row = r;
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)r),
+                IntStream.range(0, colCount).mapToObj(c -> new IntCell(row * colCount + c)).toArray(DataCell[]::new)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static int value(final DataRow row, final int col) {
+        return ((IntCell)row.getCell(col)).getIntValue();
+    }
+
+    private static CellFactory intFactory(final String name, final ToIntFunction<DataRow> fct) {
+        return new SingleCellFactory(new DataColumnSpecCreator(name, IntCell.TYPE).createSpec()) {
+            @Override
+            public DataCell getCell(final DataRow row) {
+                return new IntCell(fct.applyAsInt(row));
+            }
+        };
+    }
+
+    private static void assertTablesEqual(final BufferedDataTable expected, final BufferedDataTable actual) {
+        Assert.assertTrue(expected.getDataTableSpec().equalStructure(actual.getDataTableSpec()));
+        Assert.assertEquals(expected.size(), actual.size());
+        final Iterator<DataRow> actualIt = actual.iterator();
+        for (DataRow e : expected) {
+            final DataRow a = actualIt.next();
+            Assert.assertEquals(e.getKey(), a.getKey());
+            Assert.assertEquals(e.getNumCells(), a.getNumCells());
+            for (int i = 0; i < e.getNumCells(); i++) {
+                Assert.assertEquals(e.getCell(i), a.getCell(i));
+            }
+        }
+        Assert.assertFalse(actualIt.hasNext());
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomainCreator;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.internal.ReferencedFile;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowDataRepository;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests virtual columns in {@link RearrangeColumnsTable}, see {@link AbstractCellFactory#setVirtual(boolean)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RearrangeColumnsTableVirtualTest {
+
+    /** Project providing the data repository. */
+    private static final WorkflowManager PROJECT = WorkflowManager.ROOT.createAndAddProject(
+        RearrangeColumnsTableVirtualTest.class.getSimpleName(), new WorkflowCreationHelper());
+
+    private static final WorkflowDataRepository REPOSITORY = PROJECT.getWorkflowDataRepository();
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExecutionContext EXEC = new ExecutionContext(new DefaultNodeProgressMonitor(),
+        new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+        SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, REPOSITORY);
+
+    /** Removes the project. */
+    @AfterClass
+    public static void removeProject() {
+        WorkflowManager.ROOT.removeProject(PROJECT.getID());
+    }
+
+    /** Virtual columns are computed when read and yield the same content as materialized ones. */
+    @Test
+    public void testVirtualEqualsMaterialized() throws Exception {
+        final BufferedDataTable in = createTable(100);
+        final AtomicInteger calls = new AtomicInteger();
+        final ColumnRearranger rearranger = createRearranger(in.getDataTableSpec(), calls, true, true);
+
+        final RearrangeColumnsTable virtual = RearrangeColumnsTable.create(rearranger, in, EXEC, EXEC, 0, REPOSITORY);
+        Assert.assertTrue(virtual.isVirtual());
+        Assert.assertTrue(virtual.getDataTableSpec().getColumnSpec(0).getDomain().hasBounds());
+        Assert.assertEquals(1, virtual.getVirtualDepth());
+        Assert.assertNull(virtual.getAppendTable());
+        Assert.assertTrue(virtual.getAppendTableStoreFormat().isPresent());
+        Assert.assertEquals("Virtual columns must not be computed on creation", 0, calls.get());
+
+        final ColumnRearranger materializedRearranger = createRearranger(in.getDataTableSpec(), calls, false, true);
+        final RearrangeColumnsTable materialized =
+            RearrangeColumnsTable.create(materializedRearranger, in, EXEC, EXEC, 0, REPOSITORY);
+        Assert.assertFalse(materialized.isVirtual());
+        Assert.assertEquals(0, materialized.getVirtualDepth());
+        Assert.assertNotNull(materialized.getAppendTable());
+
+        calls.set(0);
+        assertTablesEqual(materialized, virtual);
+        Assert.assertEquals(in.size(), calls.get());
+        // filtered access computes the columns as well
+        try (CloseableRowIterator it = virtual.iteratorWithFilter(TableFilter.materializeCols(0), EXEC)) {
+            Assert.assertEquals(new IntCell(0 + 1), it.next().getCell(0));
+        }
+    }
+
+    /** Tables on top of too many virtual tables are materialized. */
+    @Test
+    public void testDepthLimit() throws Exception {
+        final BufferedDataTable in = createTable(10);
+        final ColumnRearranger rearranger = createRearranger(in.getDataTableSpec(), new AtomicInteger(), true, true);
+        final RearrangeColumnsTable table = RearrangeColumnsTable.create(rearranger, in, EXEC, EXEC,
+            RearrangeColumnsTable.MAX_VIRTUAL_DEPTH, REPOSITORY);
+        Assert.assertFalse(table.isVirtual());
+        Assert.assertNotNull(table.getAppendTable());
+        // without known depth the columns are always materialized
+        Assert.assertFalse(RearrangeColumnsTable.create(rearranger, in, EXEC, EXEC).isVirtual());
+    }
+
+    /** Columns whose spec lacks the domain are materialized so that the output has a domain. */
+    @Test
+    public void testNoVirtualWithoutDomain() throws Exception {
+        final BufferedDataTable in = createTable(10);
+        final ColumnRearranger rearranger = createRearranger(in.getDataTableSpec(), new AtomicInteger(), true, false);
+        final RearrangeColumnsTable table = RearrangeColumnsTable.create(rearranger, in, EXEC, EXEC, 0, REPOSITORY);
+        Assert.assertFalse(table.isVirtual());
+        Assert.assertTrue(table.getDataTableSpec().getColumnSpec(0).getDomain().hasBounds());
+    }
+
+    /** Virtual columns are materialized on save and restored as an ordinary table. */
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        final BufferedDataTable in = createTable(50);
+        final ColumnRearranger rearranger = createRearranger(in.getDataTableSpec(), new AtomicInteger(), true, true);
+        final RearrangeColumnsTable virtual = RearrangeColumnsTable.create(rearranger, in, EXEC, EXEC, 0, REPOSITORY);
+        final int bufferID = virtual.getAppendBufferID().getAsInt();
+
+        final File file = File.createTempFile("virtual-columns", ".zip");
+        try {
+            final NodeSettings settings = new NodeSettings("table");
+            virtual.saveToFile(file, settings, EXEC);
+            final RearrangeColumnsTable loaded = new RearrangeColumnsTable(new ReferencedFile(file), settings,
+                Collections.singletonMap(in.getBufferedTableId(), in), virtual.getDataTableSpec(), bufferID,
+                REPOSITORY);
+            Assert.assertFalse(loaded.isVirtual());
+            Assert.assertNotNull(loaded.getAppendTable());
+            Assert.assertEquals(bufferID, loaded.getAppendTable().getBufferID());
+            assertTablesEqual(virtual, loaded);
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Prepends the sum of columns 0 and 1, counting the invocations of the factory. If the domain is declared, it
+     * comprises all non-negative ints.
+     */
+    private static ColumnRearranger createRearranger(final DataTableSpec spec, final AtomicInteger calls,
+        final boolean isVirtual, final boolean isDeclaringDomain) {
+        final DataColumnSpecCreator sumSpecCreator = new DataColumnSpecCreator("sum", IntCell.TYPE);
+        if (isDeclaringDomain) {
+            sumSpecCreator.setDomain(
+                new DataColumnDomainCreator(new IntCell(0), new IntCell(Integer.MAX_VALUE)).createDomain());
+        }
+        final SingleCellFactory factory =
+            new SingleCellFactory(sumSpecCreator.createSpec()) {
+                @Override
+                public DataCell getCell(final DataRow row) {
+                    calls.incrementAndGet();
+                    return new IntCell(value(row, 0) + value(row, 1));
+                }
+            };
+        factory.setVirtual(isVirtual);
+        final ColumnRearranger rearranger = new ColumnRearranger(spec);
+        rearranger.append(factory);
+        rearranger.move(2, 0);
+        return rearranger;
+    }
+
+    private static BufferedDataTable createTable(final int rowCount) {
+        final DataTableSpec spec = new DataTableSpec(IntStream.range(0, 2)
+            .mapToObj(i -> new DataColumnSpecCreator(Integer.toString(i), IntCell.TYPE).createSpec())
+            .toArray(DataColumnSpec[]::new));
+        final BufferedDataContainer cont = EXEC.createDataContainer(spec);
+        for (int r = 0; r < rowCount; r++) {
+            cont.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)r), new IntCell(r), new IntCell(2 * r + 1)));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static int value(final DataRow row, final int col) {
+        return ((IntCell)row.getCell(col)).getIntValue();
+    }
+
+    private static void assertTablesEqual(final DataTable expected, final DataTable actual) {
+        Assert.assertTrue(expected.getDataTableSpec().equalStructure(actual.getDataTableSpec()));
+        final Iterator<DataRow> actualIt = actual.iterator();
+        for (DataRow e : expected) {
+            final DataRow a = actualIt.next();
+            Assert.assertEquals(e.getKey(), a.getKey());
+            Assert.assertEquals(e.getNumCells(), a.getNumCells());
+            for (int i = 0; i < e.getNumCells(); i++) {
+                Assert.assertEquals(e.getCell(i), a.getCell(i));
+            }
+        }
+        Assert.assertFalse(actualIt.hasNext());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests {@link RowSizeEstimator}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowSizeEstimatorTest {
+
+    /** Rows of fixed-size cells have the same size, independent of the values. */
+    @Test
+    public void testFixedSizeCells() {
+        final RowSizeEstimator estimator = new RowSizeEstimator(2);
+        final long size1 = estimator.estimate(row("1", new IntCell(1), new DoubleCell(1)));
+        final long size2 = estimator.estimate(row("2", new IntCell(Integer.MAX_VALUE), new DoubleCell(Math.PI)));
+        Assert.assertEquals(size1, size2);
+        Assert.assertTrue("Implausible size " + size1, size1 > 32 && size1 < 256);
+    }
+
+    /** The size of string cells grows with their length. */
+    @Test
+    public void testStringCells() {
+        final RowSizeEstimator estimator = new RowSizeEstimator(1);
+        final long shortSize = estimator.estimate(row("1", new StringCell("a")));
+        final long longSize = estimator.estimate(row("2", new StringCell(new String(new char[10001]))));
+        Assert.assertEquals("Each char takes two bytes", 2 * 10000, longSize - shortSize);
+    }
+
+    private static BlobSupportDataRow row(final String key, final DataCell... cells) {
+        return new BlobSupportDataRow(new RowKey(key), cells);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container.filter;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests the evaluation of {@link FilterPredicate FilterPredicates} on rows.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FilterPredicateTest {
+
+    private static final DataRow ROW = row(new IntCell(5), new DoubleCell(-0.0), new StringCell("knime"),
+        DataType.getMissingCell(), new DoubleCell(Double.NaN));
+
+    /** Numeric comparisons compare double values, 0.0 and -0.0 are equal. */
+    @Test
+    public void testNumericComparison() {
+        Assert.assertTrue(FilterPredicate.equal(0, 5).test(ROW));
+        Assert.assertFalse(FilterPredicate.notEqual(0, 5).test(ROW));
+        Assert.assertTrue(FilterPredicate.lessThan(0, 5.5).test(ROW));
+        Assert.assertTrue(FilterPredicate.lessOrEqual(0, 5).test(ROW));
+        Assert.assertFalse(FilterPredicate.greaterThan(0, 5).test(ROW));
+        Assert.assertTrue(FilterPredicate.greaterOrEqual(0, 5).test(ROW));
+        Assert.assertTrue(FilterPredicate.equal(1, 0.0).test(ROW));
+        Assert.assertTrue(FilterPredicate.in(1, 1, 0.0).test(ROW));
+        Assert.assertFalse(FilterPredicate.in(0, 1, 2, 3).test(ROW));
+    }
+
+    /** NaN only satisfies "not equal". */
+    @Test
+    public void testNaN() {
+        Assert.assertFalse(FilterPredicate.equal(4, Double.NaN).test(ROW));
+        Assert.assertFalse(FilterPredicate.lessThan(4, Double.POSITIVE_INFINITY).test(ROW));
+        Assert.assertFalse(FilterPredicate.greaterThan(4, Double.NEGATIVE_INFINITY).test(ROW));
+        Assert.assertFalse(FilterPredicate.in(4, Double.NaN).test(ROW));
+        Assert.assertTrue(FilterPredicate.notEqual(4, 1).test(ROW));
+    }
+
+    /** Strings are compared lexicographically. */
+    @Test
+    public void testStringComparison() {
+        Assert.assertTrue(FilterPredicate.equal(2, "knime").test(ROW));
+        Assert.assertTrue(FilterPredicate.lessThan(2, "knimf").test(ROW));
+        Assert.assertTrue(FilterPredicate.greaterThan(2, "k").test(ROW));
+        Assert.assertFalse(FilterPredicate.notEqual(2, "knime").test(ROW));
+        Assert.assertTrue(FilterPredicate.in(2, "a", "knime").test(ROW));
+        Assert.assertFalse(FilterPredicate.in(2, "a", "b").test(ROW));
+    }
+
+    /** Missing cells only satisfy the missing test. */
+    @Test
+    public void testMissing() {
+        Assert.assertTrue(FilterPredicate.isMissing(3).test(ROW));
+        Assert.assertFalse(FilterPredicate.isNotMissing(3).test(ROW));
+        Assert.assertFalse(FilterPredicate.isMissing(0).test(ROW));
+        Assert.assertFalse(FilterPredicate.notEqual(3, 1).test(ROW));
+        Assert.assertFalse(FilterPredicate.notEqual(3, "a").test(ROW));
+        Assert.assertFalse(FilterPredicate.in(3, 1).test(ROW));
+    }
+
+    /** Conjunctions and disjunctions. */
+    @Test
+    public void testJunctions() {
+        final FilterPredicate t = FilterPredicate.equal(0, 5);
+        final FilterPredicate f = FilterPredicate.isMissing(0);
+        Assert.assertTrue(FilterPredicate.and(t, t).test(ROW));
+        Assert.assertFalse(FilterPredicate.and(t, f).test(ROW));
+        Assert.assertTrue(FilterPredicate.or(f, t).test(ROW));
+        Assert.assertFalse(FilterPredicate.or(f, f).test(ROW));
+        Assert.assertEquals("[0, 3]",
+            FilterPredicate.or(f, FilterPredicate.isMissing(3)).getColumnIndices().toString());
+    }
+
+    /** At least one predicate must be combined. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyJunction() {
+        FilterPredicate.and();
+    }
+
+    private static DataRow row(final DataCell... cells) {
+        return new DefaultRow(RowKey.createRowKey(0L), cells);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.NodeSettings;
+
+/**
+ * Tests {@link RowGroupIndex} and the filtering of tables read from disk.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowGroupIndexTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec());
+
+    private static final int ROW_COUNT = 5 * RowGroupIndex.INITIAL_GROUP_SIZE + 17;
+
+    /** Ascending ints, strings of the row index modulo 10, and doubles that are missing in the first group. */
+    private static DataRow row(final int i) {
+        final DataCell d = i < RowGroupIndex.INITIAL_GROUP_SIZE ? DataType.getMissingCell() : new DoubleCell(i);
+        return new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i), new StringCell("s" + (i % 10)), d);
+    }
+
+    private static RowGroupIndex createIndex(final int rowCount) {
+        final RowGroupIndex.Builder builder = new RowGroupIndex.Builder(SPEC);
+        for (int i = 0; i < rowCount; i++) {
+            builder.update(row(i));
+        }
+        return builder.build();
+    }
+
+    /** Groups are pruned according to the bounds and missing counts. */
+    @Test
+    public void testMayMatch() {
+        final RowGroupIndex index = createIndex(ROW_COUNT);
+        Assert.assertEquals(6, index.getGroupCount());
+        Assert.assertEquals(RowGroupIndex.INITIAL_GROUP_SIZE, index.getGroupSize());
+        final FilterPredicate lastGroup = FilterPredicate.greaterOrEqual(0, 5 * RowGroupIndex.INITIAL_GROUP_SIZE);
+        final FilterPredicate missing = FilterPredicate.isMissing(2);
+        final FilterPredicate string = FilterPredicate.in(1, "s3", "x");
+        for (int g = 0; g < index.getGroupCount(); g++) {
+            Assert.assertEquals(g == 5, index.mayMatch(g, lastGroup));
+            Assert.assertEquals(g == 0, index.mayMatch(g, missing));
+            Assert.assertEquals(g == 0 || g == 5, index.mayMatch(g, FilterPredicate.or(lastGroup, missing)));
+            Assert.assertEquals(g == 5, index.mayMatch(g, FilterPredicate.and(lastGroup, string)));
+            Assert.assertFalse(index.mayMatch(g, FilterPredicate.equal(1, "t")));
+            Assert.assertFalse(index.mayMatch(g, FilterPredicate.lessThan(0, -1)));
+        }
+    }
+
+    /** The number of groups is bounded by merging adjacent groups. */
+    @Test
+    public void testMerge() {
+        final int rowCount = RowGroupIndex.MAX_GROUP_COUNT * RowGroupIndex.INITIAL_GROUP_SIZE + 1;
+        final RowGroupIndex index = createIndex(rowCount);
+        Assert.assertEquals(2 * RowGroupIndex.INITIAL_GROUP_SIZE, index.getGroupSize());
+        Assert.assertEquals(RowGroupIndex.MAX_GROUP_COUNT / 2 + 1, index.getGroupCount());
+        final FilterPredicate predicate = FilterPredicate.equal(0, 3 * RowGroupIndex.INITIAL_GROUP_SIZE);
+        for (int g = 0; g < index.getGroupCount(); g++) {
+            Assert.assertEquals(g == 1, index.mayMatch(g, predicate));
+        }
+    }
+
+    /** Statistics survive saving and loading but are ignored for a different spec. */
+    @Test
+    public void testSaveLoad() {
+        final RowGroupIndex index = createIndex(ROW_COUNT);
+        final NodeSettings settings = new NodeSettings("format");
+        index.save(settings);
+        final Optional<RowGroupIndex> loaded = RowGroupIndex.load(settings, SPEC);
+        Assert.assertTrue(loaded.isPresent());
+        Assert.assertEquals(index.getGroupCount(), loaded.get().getGroupCount());
+        final FilterPredicate predicate = FilterPredicate.lessThan(1, "s0");
+        for (int g = 0; g < index.getGroupCount(); g++) {
+            Assert.assertFalse(loaded.get().mayMatch(g, predicate));
+            Assert.assertTrue(loaded.get().mayMatch(g, FilterPredicate.equal(1, "s9")));
+        }
+        Assert.assertFalse(RowGroupIndex.load(settings, new DataTableSpec(SPEC.getColumnSpec(0))).isPresent());
+        Assert.assertFalse(RowGroupIndex.load(new NodeSettings("empty"), SPEC).isPresent());
+    }
+
+    /** Groups are merged when saving until the serialized statistics are small enough. */
+    @Test
+    public void testSaveMergesLargeStatistics() {
+        // about 1.1kB per group, i.e. 100 groups exceed the limit
+        final DataTableSpec spec = createDoubleSpec(50);
+        final RowGroupIndex.Builder builder = new RowGroupIndex.Builder(spec);
+        final int rowCount = 100 * RowGroupIndex.INITIAL_GROUP_SIZE;
+        for (int i = 0; i < rowCount; i++) {
+            builder.update(new DefaultRow(RowKey.createRowKey((long)i), new double[spec.getNumColumns()]));
+        }
+        final NodeSettings settings = new NodeSettings("format");
+        builder.build().save(settings);
+        final Optional<RowGroupIndex> loaded = RowGroupIndex.load(settings, spec);
+        Assert.assertTrue(loaded.isPresent());
+        Assert.assertTrue(loaded.get().getGroupSize() > RowGroupIndex.INITIAL_GROUP_SIZE);
+        Assert.assertEquals((rowCount + loaded.get().getGroupSize() - 1) / loaded.get().getGroupSize(),
+            loaded.get().getGroupCount());
+        Assert.assertTrue(settings.getString("row_group_index").length() < 2 * RowGroupIndex.MAX_SERIALIZED_SIZE);
+    }
+
+    /** Statistics are not saved if a single group exceeds the size limit. */
+    @Test
+    public void testSaveDropsTooLargeStatistics() {
+        final DataTableSpec spec = createDoubleSpec(RowGroupIndex.MAX_SERIALIZED_SIZE / 16);
+        final RowGroupIndex.Builder builder = new RowGroupIndex.Builder(spec);
+        builder.update(new DefaultRow(RowKey.createRowKey(0L), new double[spec.getNumColumns()]));
+        final NodeSettings settings = new NodeSettings("format");
+        builder.build().save(settings);
+        Assert.assertFalse(RowGroupIndex.load(settings, spec).isPresent());
+    }
+
+    private static DataTableSpec createDoubleSpec(final int columnCount) {
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            colSpecs[i] = new DataColumnSpecCreator("d" + i, DoubleCell.TYPE).createSpec();
+        }
+        return new DataTableSpec(colSpecs);
+    }
+
+    /** A table written to disk returns the same rows as the in-memory evaluation. */
+    @Test
+    public void testFilterTableOnDisk() {
+        final DataContainer container = new DataContainer(SPEC, true, 0);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            container.addRowToTable(row(i));
+        }
+        container.close();
+        final ContainerTable table = (ContainerTable)container.getTable();
+        try {
+            final FilterPredicate predicate = FilterPredicate.or(FilterPredicate.isMissing(2),
+                FilterPredicate.and(FilterPredicate.greaterThan(2, 4000), FilterPredicate.equal(1, "s7")));
+            final TableFilter filter = new TableFilter.Builder().withMaterializeColumnIndices(1)
+                .withFromRowIndex(10).withToRowIndex(ROW_COUNT - 10).withPredicate(predicate).build();
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = 10; i <= ROW_COUNT - 10; i++) {
+                if (predicate.test(row(i))) {
+                    expected.add(i);
+                }
+            }
+            final List<Integer> actual = new ArrayList<>();
+            try (CloseableRowIterator it = table.iteratorWithFilter(filter)) {
+                while (it.hasNext()) {
+                    final DataRow row = it.next();
+                    Assert.assertEquals(SPEC.getNumColumns(), row.getNumCells());
+                    Assert.assertTrue("Column not materialized", row.getCell(0) instanceof UnmaterializedCell);
+                    actual.add(Integer.parseInt(row.getKey().getString().substring("Row".length())));
+                }
+            }
+            Assert.assertEquals(expected, actual);
+        } finally {
+            table.clear();
+        }
+    }
+}
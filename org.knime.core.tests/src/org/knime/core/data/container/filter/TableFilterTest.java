@@ -48,6 +48,10 @@
  */
 package org.knime.core.data.container.filter;
 
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataTableSpec;
@@ -131,4 +135,37 @@ public void testInvalidRangeOfRows() {
         TableFilter.filterRangeOfRows(5, 3).validate(SPEC, 0);
     }
 
+    /**
+     * Tests that a predicate comparing a column with a value of an incompatible type throws an
+     * {@link IllegalArgumentException}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPredicateIncompatibleColumn() {
+        TableFilter.filterRows(FilterPredicate.equal(0, "42")).validate(SPEC, 0);
+    }
+
+    /**
+     * Tests that a predicate on a column index beyond the spec throws an {@link IndexOutOfBoundsException}.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPredicateIndexOutOfBounds() {
+        TableFilter.filterRows(FilterPredicate.and(FilterPredicate.isMissing(1), FilterPredicate.isMissing(5)))
+            .validate(SPEC, 0);
+    }
+
+    /**
+     * Tests that removing the predicate keeps the row range and additionally materializes the predicate's columns.
+     */
+    @Test
+    public void testWithoutPredicate() {
+        final TableFilter filter = new TableFilter.Builder().withMaterializeColumnIndices(0).withFromRowIndex(3)
+            .withPredicate(FilterPredicate.or(FilterPredicate.lessThan(2, 1), FilterPredicate.equal(3, "a"))).build();
+        final TableFilter withoutPredicate = filter.withoutPredicate();
+        Assert.assertFalse(withoutPredicate.getPredicate().isPresent());
+        Assert.assertEquals(Long.valueOf(3), withoutPredicate.getFromRowIndex().get());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(0, 2, 3)),
+            withoutPredicate.getMaterializeColumnIndices().get());
+        Assert.assertTrue(new TableFilter.Builder(filter).build().getPredicate().isPresent());
+    }
+
 }
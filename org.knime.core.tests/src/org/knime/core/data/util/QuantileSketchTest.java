@@ -0,0 +1,153 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link QuantileSketch}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class QuantileSketchTest {
+
+    private static final double[] FRACTIONS = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99};
+
+    /** Empty sketches answer NaN. */
+    @Test
+    public void testEmpty() {
+        QuantileSketch sketch = new QuantileSketch();
+        Assert.assertTrue(sketch.isEmpty());
+        Assert.assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+        Assert.assertTrue(Double.isNaN(sketch.getRank(1.0)));
+        sketch.update(Double.NaN);
+        Assert.assertTrue("NaN must be ignored", sketch.isEmpty());
+    }
+
+    /** Small inputs are not compacted and therefore answered exactly. */
+    @Test
+    public void testExactForSmallInput() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 100; i > 0; i--) {
+            sketch.update(i);
+        }
+        Assert.assertEquals(100, sketch.getCount());
+        Assert.assertEquals(1.0, sketch.getQuantile(0.0), 0.0);
+        Assert.assertEquals(100.0, sketch.getQuantile(1.0), 0.0);
+        Assert.assertEquals(50.0, sketch.getQuantile(0.5), 0.0);
+        Assert.assertEquals(0.25, sketch.getRank(25.0), 0.0);
+    }
+
+    /** The rank error of a large stream is within the documented bound and memory stays bounded. */
+    @Test
+    public void testRankErrorBound() {
+        final double[] values = randomValues(500_000, 1);
+        QuantileSketch sketch = new QuantileSketch();
+        Arrays.stream(values).forEach(sketch::update);
+        Assert.assertEquals(values.length, sketch.getCount());
+        Assert.assertTrue("Too many retained items: " + sketch.getRetainedItems(),
+            sketch.getRetainedItems() < 3 * sketch.getK() + 100);
+        assertRankError(sketch, values);
+    }
+
+    /** Sketches of disjoint parts can be merged without exceeding the error bound. */
+    @Test
+    public void testMerge() {
+        final double[] values = randomValues(400_000, 2);
+        QuantileSketch[] parts = new QuantileSketch[7];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new QuantileSketch();
+        }
+        for (int i = 0; i < values.length; i++) {
+            // contiguous row ranges as done by parallel table scans
+            parts[(int)((long)i * parts.length / values.length)].update(values[i]);
+        }
+        QuantileSketch merged = parts[0].copy();
+        for (int p = 1; p < parts.length; p++) {
+            merged.merge(parts[p]);
+        }
+        Assert.assertEquals(values.length, merged.getCount());
+        Assert.assertEquals(Arrays.stream(values).min().getAsDouble(), merged.getMin(), 0.0);
+        Assert.assertEquals(Arrays.stream(values).max().getAsDouble(), merged.getMax(), 0.0);
+        assertRankError(merged, values);
+        Assert.assertNotEquals("Copy must not be affected by merge", merged.getCount(), parts[0].getCount());
+    }
+
+    /** Sketches with different accuracy can't be merged. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentK() {
+        new QuantileSketch(100).merge(new QuantileSketch(200));
+    }
+
+    private static double[] randomValues(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            // skewed distribution
+            values[i] = Math.exp(random.nextGaussian());
+        }
+        return values;
+    }
+
+    private static void assertRankError(final QuantileSketch sketch, final double[] values) {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final double[] quantiles = sketch.getQuantiles(FRACTIONS);
+        for (int i = 0; i < FRACTIONS.length; i++) {
+            int index = Arrays.binarySearch(sorted, quantiles[i]);
+            Assert.assertTrue("Quantile is not an input value", index >= 0);
+            final double rank = (index + 1) / (double)sorted.length;
+            Assert.assertEquals("Rank error for fraction " + FRACTIONS[i], FRACTIONS[i], rank,
+                sketch.getNormalizedRankError());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.vector.bitvector.DenseBitVectorStore.Hit;
+import org.knime.core.node.CanceledExecutionException;
+
+/**
+ * Tests {@link DenseBitVectorStore} and {@link BitVectorSimilarity} against pairwise computation.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DenseBitVectorStoreTest {
+
+    private static final int LENGTH = 1024;
+
+    /** Threshold searches return exactly the vectors reaching the threshold. */
+    @Test
+    public void testThresholdSearch() throws CanceledExecutionException {
+        final List<BitVectorValue> vectors = randomVectors(2000, 1);
+        final DenseBitVectorStore store = createStore(vectors);
+        final BitVectorValue query = vectors.get(17);
+        for (BitVectorSimilarity sim : BitVectorSimilarity.values()) {
+            final List<Hit> hits = store.searchThreshold(query, sim, 0.4, null);
+            final List<Hit> expected = bruteForce(vectors, query, sim);
+            expected.removeIf(h -> h.getSimilarity() < 0.4);
+            assertHits(expected, hits);
+            Assert.assertEquals(17, hits.get(0).getIndex());
+        }
+    }
+
+    /** Top k searches return the k best vectors, ties go to smaller indices. */
+    @Test
+    public void testTopKSearch() throws CanceledExecutionException {
+        final List<BitVectorValue> vectors = randomVectors(3000, 2);
+        // duplicates to produce ties
+        vectors.add(vectors.get(5));
+        vectors.add(vectors.get(5));
+        final DenseBitVectorStore store = createStore(vectors);
+        for (BitVectorSimilarity sim : BitVectorSimilarity.values()) {
+            final List<Hit> hits = store.searchTopK(vectors.get(5), sim, 10, null);
+            assertHits(bruteForce(vectors, vectors.get(5), sim).subList(0, 10), hits);
+            Assert.assertEquals(5, hits.get(0).getIndex());
+            Assert.assertEquals(3000, hits.get(1).getIndex());
+        }
+    }
+
+    /** Missing values, sparse and shorter vectors are handled. */
+    @Test
+    public void testMixedInput() throws CanceledExecutionException {
+        final DenseBitVectorStore store = new DenseBitVectorStore.Builder()
+            .add(new RowKey("a"), new SparseBitVectorCellFactory(100, new long[]{1, 5, 70}).createDataCell())
+            .add(new RowKey("b"), null)
+            .add(new RowKey("c"), new DenseBitVectorCellFactory("FF").createDataCell())
+            .add(new RowKey("d"), new SparseBitVectorCellFactory(200, new long[]{1, 5, 150}).createDataCell())
+            .build();
+        Assert.assertEquals(4, store.size());
+        Assert.assertEquals(200, store.length());
+        Assert.assertEquals(-1, store.getCardinality(1));
+        Assert.assertEquals(8, store.getCardinality(2));
+        Assert.assertEquals(3, store.getBitVector(0).cardinality());
+        final BitVectorValue query = new SparseBitVectorCellFactory(300, new long[]{1, 5, 150, 250}).createDataCell();
+        final List<Hit> hits = store.searchTopK(query, BitVectorSimilarity.TANIMOTO, 4, null);
+        Assert.assertEquals(3, hits.size());
+        Assert.assertEquals(new RowKey("d"), hits.get(0).getRowKey());
+        Assert.assertEquals(0.75, hits.get(0).getSimilarity(), 0.0);
+        Assert.assertEquals(2 / 5.0, hits.get(1).getSimilarity(), 0.0);
+    }
+
+    /** The word and index kernels agree with the cell based computation. */
+    @Test
+    public void testKernels() {
+        final SparseBitVector v1 = new SparseBitVector(500, new long[]{3, 64, 65, 300, 499});
+        final SparseBitVector v2 = new SparseBitVector(500, new long[]{0, 3, 65, 299, 300});
+        Assert.assertEquals(3, BitVectorUtil.cardinalityOfIntersection(v1.getAllOneIndices(), v2.getAllOneIndices()));
+        final long[] w1 = new DenseBitVector(v1.toHexString()).getAllBits();
+        final long[] w2 = new DenseBitVector(v2.toHexString()).getAllBits();
+        Assert.assertEquals(3, BitVectorUtil.cardinalityOfIntersection(w1, 0, w2, 0, w1.length));
+        Assert.assertEquals(5, BitVectorUtil.cardinality(w1, 0, w1.length));
+        Assert.assertEquals(0.0, BitVectorSimilarity.TANIMOTO.similarity(0, 0, 0), 0.0);
+    }
+
+    private static List<BitVectorValue> randomVectors(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<BitVectorValue> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final DenseBitVector v = new DenseBitVector(LENGTH);
+            // varying density so that the cardinality bound prunes candidates
+            final double density = 0.02 + 0.2 * random.nextDouble();
+            for (int b = 0; b < LENGTH; b++) {
+                if (random.nextDouble() < density) {
+                    v.set(b);
+                }
+            }
+            vectors.add(new DenseBitVectorCellFactory(v).createDataCell());
+        }
+        return vectors;
+    }
+
+    private static DenseBitVectorStore createStore(final List<BitVectorValue> vectors) {
+        final DenseBitVectorStore.Builder builder = new DenseBitVectorStore.Builder();
+        for (int i = 0; i < vectors.size(); i++) {
+            builder.add(new RowKey("Row" + i), vectors.get(i));
+        }
+        return builder.build();
+    }
+
+    private static List<Hit> bruteForce(final List<BitVectorValue> vectors, final BitVectorValue query,
+        final BitVectorSimilarity sim) {
+        final List<Hit> hits = new ArrayList<>();
+        for (int i = 0; i < vectors.size(); i++) {
+            hits.add(new Hit(i, new RowKey("Row" + i), sim.similarity(query, vectors.get(i))));
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getSimilarity).reversed().thenComparingInt(Hit::getIndex));
+        return hits;
+    }
+
+    private static void assertHits(final List<Hit> expected, final List<Hit> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).getIndex(), actual.get(i).getIndex());
+            Assert.assertEquals(expected.get(i).getSimilarity(), actual.get(i).getSimilarity(), 1e-12);
+        }
+    }
+}
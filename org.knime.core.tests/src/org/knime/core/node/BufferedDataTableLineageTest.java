@@ -0,0 +1,185 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node;
+
+import java.util.function.ToIntFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CellFactory;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.SingleCellFactory;
+import org.knime.core.data.container.TableLineagePlan;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests iterating stacks of wrapper tables, which are flattened using a {@link TableLineagePlan}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BufferedDataTableLineageTest {
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExecutionContext EXEC = new ExecutionContext(new DefaultNodeProgressMonitor(),
+        new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+        SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+
+    private static final int ROW_COUNT = 50;
+
+    /** A stack of rearrange, spec replacer, and joined tables is read directly from its sources. */
+    @Test
+    public void testFlattenedIteration() throws Exception {
+        final BufferedDataTable base = createTable();
+        Assert.assertFalse(TableLineagePlan.create(base.getDelegate(), BufferedDataTable::getDelegate).isPresent());
+
+        // [a, b, c, sum]
+        final ColumnRearranger r1 = new ColumnRearranger(base.getDataTableSpec());
+        r1.append(intFactory("sum", row -> value(row, 0) + value(row, 1)));
+        final BufferedDataTable t1 = EXEC.createColumnRearrangeTable(base, r1, EXEC);
+        Assert.assertFalse("Single wrappers are not flattened",
+            TableLineagePlan.create(t1.getDelegate(), BufferedDataTable::getDelegate).isPresent());
+        // [a, b, c2, sum]
+        final DataTableSpec t1Spec = t1.getDataTableSpec();
+        final BufferedDataTable t2 = EXEC.createSpecReplacerTable(t1,
+            new DataTableSpec(t1Spec.getColumnSpec(0), t1Spec.getColumnSpec(1),
+                new DataColumnSpecCreator("c2", IntCell.TYPE).createSpec(), t1Spec.getColumnSpec(3)));
+        // [prod]
+        final ColumnRearranger r2 = new ColumnRearranger(base.getDataTableSpec());
+        r2.append(intFactory("prod", row -> value(row, 0) * value(row, 1)));
+        r2.remove(0, 1, 2);
+        final BufferedDataTable right = EXEC.createColumnRearrangeTable(base, r2, EXEC);
+        // [a, b, c2, sum, prod]
+        final BufferedDataTable t3 = EXEC.createJoinedTable(t2, right, EXEC);
+        // [prod, a, c2, sum]
+        final ColumnRearranger r3 = new ColumnRearranger(t3.getDataTableSpec());
+        r3.remove(1);
+        r3.move(3, 0);
+        final BufferedDataTable t4 = EXEC.createColumnRearrangeTable(t3, r3, EXEC);
+        Assert.assertTrue(TableLineagePlan.create(t4.getDelegate(), BufferedDataTable::getDelegate).isPresent());
+
+        int r = 0;
+        try (CloseableRowIterator it = t4.iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                Assert.assertEquals(RowKey.createRowKey((long)r), row.getKey());
+                Assert.assertEquals(4, row.getNumCells());
+                Assert.assertEquals(a(r) * b(r), value(row, 0));
+                Assert.assertEquals(a(r), value(row, 1));
+                Assert.assertEquals(c(r), value(row, 2));
+                Assert.assertEquals(a(r) + b(r), value(row, 3));
+                r++;
+            }
+        }
+        Assert.assertEquals(ROW_COUNT, r);
+
+        // row range and column selection are passed on to the sources
+        final TableFilter filter =
+            new TableFilter.Builder().withFromRowIndex(5).withToRowIndex(7).withMaterializeColumnIndices(0, 2).build();
+        r = 5;
+        try (CloseableRowIterator it = t4.filter(filter).iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                Assert.assertEquals(RowKey.createRowKey((long)r), row.getKey());
+                Assert.assertEquals(a(r) * b(r), value(row, 0));
+                Assert.assertEquals(c(r), value(row, 2));
+                r++;
+            }
+        }
+        Assert.assertEquals(8, r);
+    }
+
+    private static int a(final int r) {
+        return 10 * r;
+    }
+
+    private static int b(final int r) {
+        return 10 * r + 1;
+    }
+
+    private static int c(final int r) {
+        return 10 * r + 2;
+    }
+
+    private static BufferedDataTable createTable() {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("a", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("b", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("c", IntCell.TYPE).createSpec());
+        final BufferedDataContainer cont = EXEC.createDataContainer(spec);
+        for (int r = 0; r < ROW_COUNT; r++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)r), new IntCell(a(r)), new IntCell(b(r)),
+                new IntCell(c(r))));
+        }
+        cont.close();
+        return cont.getTable();
+    }
+
+    private static int value(final DataRow row, final int col) {
+        return ((IntCell)row.getCell(col)).getIntValue();
+    }
+
+    private static CellFactory intFactory(final String name, final ToIntFunction<DataRow> fct) {
+        return new SingleCellFactory(new DataColumnSpecCreator(name, IntCell.TYPE).createSpec()) {
+            @Override
+            public DataCell getCell(final DataRow row) {
+                return new IntCell(fct.applyAsInt(row));
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.node.NodeDescriptionIndex.Entry;
+import org.knime.core.node.NodeDescriptionIndex.IndexedNodeDescription;
+import org.knime.core.node.testfactories.v28.XSD_v28;
+
+/**
+ * Tests {@link NodeDescriptionIndex}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class NodeDescriptionIndexTest {
+
+    /**
+     * The XML is parsed for the first instance only; further instances are answered from the index until the full
+     * description is requested.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testParseOnlyWhenNeeded() throws Exception {
+        final NodeDescriptionIndex index = new NodeDescriptionIndex(true, null);
+        final AtomicInteger parseCount = new AtomicInteger();
+        final Supplier<NodeDescription> parser = () -> {
+            parseCount.incrementAndGet();
+            return parse();
+        };
+
+        final NodeDescription first = index.getDescription(XSD_v28.class, parser);
+        Assert.assertEquals(1, parseCount.get());
+        Assert.assertFalse(first instanceof IndexedNodeDescription);
+
+        final NodeDescription second = index.getDescription(XSD_v28.class, parser);
+        Assert.assertTrue(second instanceof IndexedNodeDescription);
+        assertIndexedPartsEqual(first, second);
+        Assert.assertEquals("Index must answer without parsing", 1, parseCount.get());
+
+        Assert.assertEquals(first.getInportDescription(0), second.getInportDescription(0));
+        Assert.assertEquals(2, parseCount.get());
+        Assert.assertNotNull(second.getXMLDescription());
+        Assert.assertEquals("Full description must be parsed only once", 2, parseCount.get());
+    }
+
+    /**
+     * Deprecation set by the framework is kept when the full description is parsed later.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testDeprecation() throws Exception {
+        final NodeDescription parsed = parse();
+        final IndexedNodeDescription indexed =
+            new IndexedNodeDescription(Entry.create(parsed), NodeDescriptionIndexTest::parse);
+        Assert.assertFalse(indexed.isDeprecated());
+        indexed.setIsDeprecated(true);
+        Assert.assertTrue(indexed.isDeprecated());
+        Assert.assertFalse(indexed.isParsed());
+        indexed.getXMLDescription();
+        Assert.assertTrue(indexed.isParsed());
+        Assert.assertTrue(indexed.isDeprecated());
+    }
+
+    /**
+     * Entries are written and read back unchanged.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testEntrySerialization() throws Exception {
+        final NodeDescription parsed = parse();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            Entry.create(parsed).write(out);
+        }
+        final Entry entry;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            entry = Entry.read(in);
+        }
+        final IndexedNodeDescription indexed = new IndexedNodeDescription(entry, () -> {
+            throw new AssertionError("Must not parse");
+        });
+        assertIndexedPartsEqual(parsed, indexed);
+    }
+
+    /**
+     * A disabled index always parses.
+     */
+    @Test
+    public void testDisabled() {
+        final NodeDescriptionIndex index = new NodeDescriptionIndex(false, null);
+        final AtomicInteger parseCount = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            final NodeDescription description = index.getDescription(XSD_v28.class, () -> {
+                parseCount.incrementAndGet();
+                return parse();
+            });
+            Assert.assertFalse(description instanceof IndexedNodeDescription);
+        }
+        Assert.assertEquals(3, parseCount.get());
+    }
+
+    private static NodeDescription parse() {
+        try {
+            return new NodeDescriptionParser().parseDescription(XSD_v28.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void assertIndexedPartsEqual(final NodeDescription expected, final NodeDescription actual) {
+        Assert.assertEquals(expected.getNodeName(), actual.getNodeName());
+        Assert.assertEquals(expected.getIconPath(), actual.getIconPath());
+        Assert.assertEquals(expected.getType(), actual.getType());
+        Assert.assertEquals(expected.getInteractiveViewName(), actual.getInteractiveViewName());
+        Assert.assertEquals(expected.isDeprecated(), actual.isDeprecated());
+        Assert.assertEquals(expected.getViewCount(), actual.getViewCount());
+        for (int i = 0; i < expected.getViewCount(); i++) {
+            Assert.assertEquals(expected.getViewName(i), actual.getViewName(i));
+        }
+        for (int i = 0; expected.getInportName(i) != null; i++) {
+            Assert.assertEquals(expected.getInportName(i), actual.getInportName(i));
+        }
+        for (int i = 0; expected.getOutportName(i) != null; i++) {
+            Assert.assertEquals(expected.getOutportName(i), actual.getOutportName(i));
+        }
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node;
+
+import java.io.File;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.streamable.simple.SimpleStreamableFunctionNodeModel;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests {@link NodeOutputCache}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class NodeOutputCacheTest {
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final ExecutionContext EXEC = new ExecutionContext(new DefaultNodeProgressMonitor(),
+        new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+        SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    /** Temporary cache directory. */
+    @Rule
+    public TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    /** Stored outputs are restored for the same settings and input, other settings or input miss the cache. */
+    @Test
+    public void testHitAndMiss() throws Exception {
+        final NodeOutputCache cache = createCache();
+        final Node source = createNode(() -> new CacheableSourceModel());
+        final PortObject[] noInput = new PortObject[]{FlowVariablePortObject.INSTANCE};
+        final String key = cache.createKey(source, noInput, EXEC);
+        Assert.assertNotNull(key);
+        Assert.assertEquals("Key must be stable", key, cache.createKey(source, noInput, EXEC));
+        Assert.assertNull("Empty cache must miss", cache.restore(key, source.getNodeModel(), EXEC));
+
+        final BufferedDataTable output = createTable(100, 5);
+        final Future<?> write = cache.store(key, source.getNodeModel(), inData(output));
+        Assert.assertNotNull("Output must be written", write);
+        Assert.assertNull("Output must be written once", cache.store(key, source.getNodeModel(), inData(output)));
+        write.get();
+        final PortObject[] restored = cache.restore(key, source.getNodeModel(), EXEC);
+        Assert.assertNotNull("Stored output must be hit", restored);
+        Assert.assertEquals(2, restored.length);
+        final BufferedDataTable restoredTable = (BufferedDataTable)restored[1];
+        assertValues(restoredTable, 100, 5);
+
+        // downstream nodes fed with the stored or the restored output get the same key
+        final Node downstream = createNode(() -> new CacheableTestModel());
+        final String downstreamKey = cache.createKey(downstream, inData(output), EXEC);
+        Assert.assertNotNull(downstreamKey);
+        Assert.assertEquals(downstreamKey, cache.createKey(downstream, inData(restoredTable), EXEC));
+
+        // other settings miss
+        ((CacheableSourceModel)source.getNodeModel()).m_value = 1;
+        final String otherSettingsKey = cache.createKey(source, noInput, EXEC);
+        Assert.assertNotEquals(key, otherSettingsKey);
+        Assert.assertNull(cache.restore(otherSettingsKey, source.getNodeModel(), EXEC));
+
+        // tables not created by a cached node aren't scanned, the node isn't cached
+        Assert.assertNull(cache.createKey(downstream, inData(createTable(100, 5)), EXEC));
+    }
+
+    /** Node models not marked as cacheable and nodes without data outputs are never cached. */
+    @Test
+    public void testExclusion() throws Exception {
+        final NodeOutputCache cache = createCache();
+        final Node notMarked = createNode(() -> new TestModel());
+        Assert.assertFalse(NodeOutputCache.isCacheable(notMarked));
+        Assert.assertNull(cache.createKey(notMarked, inData(createTable(0, 10)), EXEC));
+
+        final Node noDataOutput = createNode(NoDataOutputModel::new);
+        Assert.assertFalse(NodeOutputCache.isCacheable(noDataOutput));
+        Assert.assertNull(cache.createKey(noDataOutput, inData(createTable(0, 10)), EXEC));
+
+        Assert.assertTrue(NodeOutputCache.isCacheable(createNode(() -> new CacheableTestModel())));
+    }
+
+    /** Simple function nodes are cacheable unless they opt out. */
+    @Test
+    public void testFunctionNodes() {
+        Assert.assertTrue(NodeOutputCache.isCacheable(createNode(() -> new FunctionTestModel(true))));
+        Assert.assertFalse(NodeOutputCache.isCacheable(createNode(() -> new FunctionTestModel(false))));
+    }
+
+    private NodeOutputCache createCache() throws Exception {
+        final File dir = m_tempFolder.newFolder();
+        return new NodeOutputCache(dir, Long.MAX_VALUE);
+    }
+
+    private static PortObject[] inData(final BufferedDataTable table) {
+        return new PortObject[]{FlowVariablePortObject.INSTANCE, table};
+    }
+
+    private static BufferedDataTable createTable(final int offset, final int rowCount) {
+        final BufferedDataContainer container = EXEC.createDataContainer(SPEC);
+        for (int i = 0; i < rowCount; i++) {
+            container.addRowToTable(new DefaultRow("Row" + i, new IntCell(offset + i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private static void assertValues(final BufferedDataTable table, final int offset, final int rowCount) {
+        Assert.assertEquals(rowCount, table.size());
+        int i = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                Assert.assertEquals("Row" + i, row.getKey().getString());
+                Assert.assertEquals(offset + i, ((IntCell)row.getCell(0)).getIntValue());
+                i++;
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Node createNode(final Supplier<NodeModel> modelSupplier) {
+        return new Node((NodeFactory)new TestNodeFactory(modelSupplier));
+    }
+
+    /** Factory of the test models, without node description. */
+    private static final class TestNodeFactory extends NodeFactory<NodeModel> {
+
+        private final Supplier<NodeModel> m_modelSupplier;
+
+        TestNodeFactory(final Supplier<NodeModel> modelSupplier) {
+            m_modelSupplier = modelSupplier;
+        }
+
+        @Override
+        public NodeModel createNodeModel() {
+            return m_modelSupplier.get();
+        }
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<NodeModel> createNodeView(final int viewIndex, final NodeModel nodeModel) {
+            return null;
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            return null;
+        }
+    }
+
+    /** Model with one table input and output, not marked as cacheable. */
+    private static class TestModel extends AbstractTestModel {
+
+        TestModel() {
+            super(new PortType[]{BufferedDataTable.TYPE}, new PortType[]{BufferedDataTable.TYPE});
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+        }
+    }
+
+    /** Marked as cacheable. */
+    private static final class CacheableTestModel extends TestModel implements CacheableNodeModel {
+    }
+
+    /** Marked as cacheable, without input and with one table output. */
+    private static final class CacheableSourceModel extends AbstractTestModel implements CacheableNodeModel {
+
+        private int m_value;
+
+        CacheableSourceModel() {
+            super(new PortType[0], new PortType[]{BufferedDataTable.TYPE});
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+            settings.addInt("value", m_value);
+        }
+    }
+
+    /** Function node keeping all columns, cacheable according to the constructor argument. */
+    private static final class FunctionTestModel extends SimpleStreamableFunctionNodeModel {
+
+        private final boolean m_isDeterministic;
+
+        FunctionTestModel(final boolean isDeterministic) {
+            m_isDeterministic = isDeterministic;
+        }
+
+        @Override
+        protected ColumnRearranger createColumnRearranger(final DataTableSpec spec) {
+            return new ColumnRearranger(spec);
+        }
+
+        @Override
+        public boolean isOutputCacheable() {
+            return m_isDeterministic;
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void reset() {
+        }
+    }
+
+    /** Marked as cacheable but without data output. */
+    private static final class NoDataOutputModel extends AbstractTestModel implements CacheableNodeModel {
+
+        NoDataOutputModel() {
+            super(new PortType[]{BufferedDataTable.TYPE}, new PortType[]{FlowVariablePortObject.TYPE});
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+        }
+    }
+
+    /** Model whose methods (apart from settings) are not used by the cache. */
+    private abstract static class AbstractTestModel extends NodeModel {
+
+        AbstractTestModel(final PortType[] inPortTypes, final PortType[] outPortTypes) {
+            super(inPortTypes, outPortTypes);
+        }
+
+        @Override
+        protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            return new PortObjectSpec[getNrOutPorts()];
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void reset() {
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.SingleCellFactory;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.FileStore;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeDialogPane;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NodeView;
+import org.knime.core.node.streamable.simple.SimpleStreamableFunctionNodeModel;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.WorkflowTestCase;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+
+/**
+ * Tests {@link FusedNodeExecutionJob} by executing a source node followed by two row-wise nodes with the
+ * {@link StreamingNodeExecutionJobManager}. The second row-wise node tells whether it was fused with the first one:
+ * only then the column appended by the first one has no domain yet.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FusedNodeExecutionJobTest extends WorkflowTestCase {
+
+    /** Whether the rows of the second node were computed with the domain of the column appended by the first. */
+    private static final AtomicReference<Boolean> SAW_DOMAIN = new AtomicReference<>();
+
+    /** If set, the second node fails on the first row it processes (only once). */
+    private static final AtomicBoolean FAIL_ONCE = new AtomicBoolean();
+
+    private NodeID m_source;
+
+    private NodeID m_first;
+
+    private NodeID m_second;
+
+    /** Resets the static test state. */
+    @Before
+    public void setUp() {
+        SAW_DOMAIN.set(null);
+        FAIL_ONCE.set(false);
+    }
+
+    /** Fusion of a successor that keeps the default (domain independent), which also writes file stores. */
+    @Test
+    public void testFusedWithFileStores() throws Exception {
+        createWorkflow(true, true);
+        executeAllAndWait();
+        checkExecuted();
+        assertFalse("Second node not fused with first", SAW_DOMAIN.get());
+        checkOutput(true);
+    }
+
+    /** A successor that depends on the domain is executed on its own. */
+    @Test
+    public void testDomainDependentNotFused() throws Exception {
+        createWorkflow(false, false);
+        executeAllAndWait();
+        checkExecuted();
+        assertTrue("Domain dependent node must not be fused", SAW_DOMAIN.get());
+        checkOutput(false);
+    }
+
+    /** A failure in the fused pass leads to the nodes being executed one after another. */
+    @Test
+    public void testFallbackAfterFailure() throws Exception {
+        createWorkflow(true, true);
+        FAIL_ONCE.set(true);
+        executeAllAndWait();
+        checkExecuted();
+        assertFalse("Failure not triggered", FAIL_ONCE.get());
+        assertTrue("Second node expected to run on its own", SAW_DOMAIN.get());
+        checkOutput(true);
+    }
+
+    private void createWorkflow(final boolean isDomainIndependent, final boolean writeFileStores) throws Exception {
+        final WorkflowManager wfm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(),
+            new WorkflowCreationHelper());
+        setManager(wfm);
+        m_source = wfm.createAndAddNode(new AdapterNodeFactory(true));
+        m_first = wfm.createAndAddNode(new AppendNodeFactory("Int-Column", "A", true, false));
+        m_second = wfm.createAndAddNode(new AppendNodeFactory("A", "B", isDomainIndependent, writeFileStores));
+        wfm.addConnection(m_source, 1, m_first, 1);
+        wfm.addConnection(m_first, 1, m_second, 1);
+        final StreamingNodeExecutionJobManager jobManager = new StreamingNodeExecutionJobManager();
+        wfm.setJobManager(m_first, jobManager);
+        wfm.setJobManager(m_second, jobManager);
+    }
+
+    private void checkExecuted() {
+        for (NodeID id : new NodeID[]{m_source, m_first, m_second}) {
+            assertTrue("Node " + id + " not executed",
+                getManager().getNodeContainer(id).getNodeContainerState().isExecuted());
+        }
+    }
+
+    /** Checks B = A + 1 = Int-Column + 2 and that the file stores written by the second node exist. */
+    private void checkOutput(final boolean withFileStores) throws IOException {
+        final BufferedDataTable table =
+            (BufferedDataTable)getManager().getNodeContainer(m_second).getOutPort(1).getPortObject();
+        final DataTableSpec spec = table.getDataTableSpec();
+        final int inIndex = spec.findColumnIndex("Int-Column");
+        final int bIndex = spec.findColumnIndex("B");
+        int count = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                final int expected = ((IntValue)row.getCell(inIndex)).getIntValue() + 2;
+                assertEquals("Wrong value in row " + row.getKey(), expected,
+                    ((IntValue)row.getCell(bIndex)).getIntValue());
+                if (withFileStores) {
+                    final File file = new File(((StringValue)row.getCell(bIndex + 1)).getStringValue());
+                    assertTrue("File store of row " + row.getKey() + " missing: " + file, file.isFile());
+                    assertEquals(Integer.toString(expected),
+                        new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+                }
+                count++;
+            }
+        }
+        assertEquals("Row count", 3, count);
+    }
+
+    /**
+     * Node appending <i>in + 1</i> as new int column, optionally followed by the path of a file store. Like most
+     * function nodes it only implements the rearranger, i.e. it keeps the framework defaults.
+     */
+    private static class AppendNodeModel extends SimpleStreamableFunctionNodeModel {
+
+        private final String m_inColumn;
+
+        private final String m_outColumn;
+
+        private final boolean m_writeFileStores;
+
+        AppendNodeModel(final String inColumn, final String outColumn, final boolean writeFileStores) {
+            m_inColumn = inColumn;
+            m_outColumn = outColumn;
+            m_writeFileStores = writeFileStores;
+        }
+
+        @Override
+        protected ColumnRearranger createColumnRearranger(final DataTableSpec spec) {
+            final int inIndex = spec.findColumnIndex(m_inColumn);
+            final boolean hasDomain = spec.getColumnSpec(inIndex).getDomain().hasBounds();
+            final boolean isSecond = "B".equals(m_outColumn);
+            final ColumnRearranger rearranger = new ColumnRearranger(spec);
+            rearranger.append(new SingleCellFactory(new DataColumnSpecCreator(m_outColumn, IntCell.TYPE)
+                .createSpec()) {
+                @Override
+                public DataCell getCell(final DataRow row) {
+                    if (isSecond) {
+                        SAW_DOMAIN.set(hasDomain);
+                        if (FAIL_ONCE.compareAndSet(true, false)) {
+                            throw new IllegalStateException("Failing once, as requested");
+                        }
+                    }
+                    return new IntCell(((IntValue)row.getCell(inIndex)).getIntValue() + 1);
+                }
+            });
+            if (m_writeFileStores) {
+                rearranger.append(new SingleCellFactory(new DataColumnSpecCreator("File", StringCell.TYPE)
+                    .createSpec()) {
+                    @Override
+                    public DataCell getCell(final DataRow row) {
+                        final String value = Integer.toString(((IntValue)row.getCell(inIndex)).getIntValue() + 1);
+                        try {
+                            final FileStore fs = getFileStoreFactory().createFileStore("row-" + row.getKey());
+                            Files.write(fs.getFile().toPath(), value.getBytes(StandardCharsets.UTF_8));
+                            return new StringCell(fs.getFile().getAbsolutePath());
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+            }
+            return rearranger;
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) {
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) {
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void reset() {
+        }
+    }
+
+    /** Opts out of fusion as the node would if it read the domain of its input. */
+    private static final class DomainDependentAppendNodeModel extends AppendNodeModel {
+
+        DomainDependentAppendNodeModel(final String inColumn, final String outColumn, final boolean writeFileStores) {
+            super(inColumn, outColumn, writeFileStores);
+        }
+
+        @Override
+        protected boolean isDomainIndependent() {
+            return false;
+        }
+    }
+
+    private static final class AppendNodeFactory extends NodeFactory<AppendNodeModel> {
+
+        private final String m_inColumn;
+
+        private final String m_outColumn;
+
+        private final boolean m_isDomainIndependent;
+
+        private final boolean m_writeFileStores;
+
+        AppendNodeFactory(final String inColumn, final String outColumn, final boolean isDomainIndependent,
+            final boolean writeFileStores) {
+            m_inColumn = inColumn;
+            m_outColumn = outColumn;
+            m_isDomainIndependent = isDomainIndependent;
+            m_writeFileStores = writeFileStores;
+        }
+
+        @Override
+        public AppendNodeModel createNodeModel() {
+            return m_isDomainIndependent ? new AppendNodeModel(m_inColumn, m_outColumn, m_writeFileStores)
+                : new DomainDependentAppendNodeModel(m_inColumn, m_outColumn, m_writeFileStores);
+        }
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<AppendNodeModel> createNodeView(final int viewIndex, final AppendNodeModel nodeModel) {
+            throw new IllegalStateException("No view");
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            throw new IllegalStateException("No dialog");
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeDialogPane;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NodeView;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.WorkflowTestCase;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests {@link PartitionedNodeExecutionJob} by executing a node with distributed input and output, following a source
+ * node with three rows, in three partitions.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PartitionedNodeExecutionJobTest extends WorkflowTestCase {
+
+    /** Number of operators created by the node under test. */
+    private static final AtomicInteger OPERATORS_CREATED = new AtomicInteger();
+
+    /** Number of threads currently creating an operator. */
+    private static final AtomicInteger OPERATORS_IN_CREATION = new AtomicInteger();
+
+    /** Set if two operators were created concurrently. */
+    private static final AtomicBoolean IS_CREATED_CONCURRENTLY = new AtomicBoolean();
+
+    private NodeID m_source;
+
+    private NodeID m_partitioned;
+
+    /** Resets the static test state. */
+    @Before
+    public void setUp() {
+        OPERATORS_CREATED.set(0);
+        OPERATORS_IN_CREATION.set(0);
+        IS_CREATED_CONCURRENTLY.set(false);
+    }
+
+    /** Row keys passed through are unique, the partial outputs are concatenated in input order. */
+    @Test
+    public void testPassThroughKeys() throws Exception {
+        createWorkflow(false, 3);
+        executeAllAndWait();
+        final NodeContainer nc = getManager().getNodeContainer(m_partitioned);
+        assertTrue("Node not executed", nc.getNodeContainerState().isExecuted());
+        assertEquals("Operators created", 3, OPERATORS_CREATED.get());
+        assertFalse("Operators created concurrently", IS_CREATED_CONCURRENTLY.get());
+        final BufferedDataTable in =
+            (BufferedDataTable)getManager().getNodeContainer(m_source).getOutPort(1).getPortObject();
+        final BufferedDataTable out = (BufferedDataTable)nc.getOutPort(1).getPortObject();
+        final List<RowKey> inKeys = new ArrayList<>();
+        in.forEach(r -> inKeys.add(r.getKey()));
+        final List<RowKey> outKeys = new ArrayList<>();
+        out.forEach(r -> outKeys.add(r.getKey()));
+        assertEquals(inKeys, outKeys);
+    }
+
+    /** Row keys generated per partition clash, the node is executed again in a single partition. */
+    @Test
+    public void testClashingKeys() throws Exception {
+        createWorkflow(true, 3);
+        executeAllAndWait();
+        final NodeContainer nc = getManager().getNodeContainer(m_partitioned);
+        assertTrue("Node not executed", nc.getNodeContainerState().isExecuted());
+        assertEquals("Operators created", 3 + 1, OPERATORS_CREATED.get());
+        assertFalse("Operators created concurrently", IS_CREATED_CONCURRENTLY.get());
+        final BufferedDataTable out = (BufferedDataTable)nc.getOutPort(1).getPortObject();
+        final List<RowKey> outKeys = new ArrayList<>();
+        out.forEach(r -> outKeys.add(r.getKey()));
+        assertEquals(Arrays.asList(RowKey.createRowKey(0L), RowKey.createRowKey(1L), RowKey.createRowKey(2L)),
+            outKeys);
+    }
+
+    /** Partitioning is opt-in, without a partition count the node is executed as usual. */
+    @Test
+    public void testNotPartitionedByDefault() throws Exception {
+        createWorkflow(false, 0);
+        executeAllAndWait();
+        final NodeContainer nc = getManager().getNodeContainer(m_partitioned);
+        assertTrue("Node not executed", nc.getNodeContainerState().isExecuted());
+        assertEquals("Operators created", 0, OPERATORS_CREATED.get());
+    }
+
+    /**
+     * @param partitionCount the partition count set on the job manager, 0 to keep the default
+     */
+    private void createWorkflow(final boolean isGeneratingKeys, final int partitionCount) throws Exception {
+        final WorkflowManager wfm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(),
+            new WorkflowCreationHelper());
+        setManager(wfm);
+        m_source = wfm.createAndAddNode(new AdapterNodeFactory(true));
+        m_partitioned = wfm.createAndAddNode(new PartitionedNodeFactory(isGeneratingKeys));
+        wfm.addConnection(m_source, 1, m_partitioned, 1);
+        final StreamingNodeExecutionJobManager jobManager = new StreamingNodeExecutionJobManager(new ThreadPool(4));
+        if (partitionCount > 0) {
+            final NodeSettings settings = new NodeSettings("job_manager");
+            settings.addInt("partition_count", partitionCount);
+            jobManager.load(settings);
+        }
+        wfm.setJobManager(m_partitioned, jobManager);
+    }
+
+    /**
+     * Node with distributed input and output, either passing the rows through or re-creating the row keys from the
+     * row index (the same in each partition as the partition info is ignored).
+     */
+    private static final class PartitionedNodeModel extends NodeModel {
+
+        private final boolean m_isGeneratingKeys;
+
+        PartitionedNodeModel(final boolean isGeneratingKeys) {
+            super(1, 1);
+            m_isGeneratingKeys = isGeneratingKeys;
+        }
+
+        @Override
+        protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) {
+            return inSpecs;
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            return inData;
+        }
+
+        @Override
+        public InputPortRole[] getInputPortRoles() {
+            return new InputPortRole[]{InputPortRole.DISTRIBUTED_STREAMABLE};
+        }
+
+        @Override
+        public OutputPortRole[] getOutputPortRoles() {
+            return new OutputPortRole[]{OutputPortRole.DISTRIBUTED};
+        }
+
+        @Override
+        public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+            final PortObjectSpec[] inSpecs) {
+            if (OPERATORS_IN_CREATION.getAndIncrement() > 0) {
+                IS_CREATED_CONCURRENTLY.set(true);
+            }
+            try {
+                Thread.sleep(20); // widens the window for concurrent calls
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                OPERATORS_IN_CREATION.decrementAndGet();
+            }
+            OPERATORS_CREATED.incrementAndGet();
+            if (!m_isGeneratingKeys) {
+                return new ColumnRearranger((DataTableSpec)inSpecs[0]).createStreamableFunction();
+            }
+            return new StreamableOperator() {
+                @Override
+                public void runFinal(final PortInput[] inputs, final PortOutput[] outputs,
+                    final ExecutionContext exec) throws Exception {
+                    final RowInput in = (RowInput)inputs[0];
+                    final RowOutput out = (RowOutput)outputs[0];
+                    long index = 0;
+                    DataRow row;
+                    while ((row = in.poll()) != null) {
+                        out.push(new DefaultRow(RowKey.createRowKey(index++), row));
+                    }
+                    in.close();
+                    out.close();
+                }
+            };
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) {
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) {
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void reset() {
+        }
+    }
+
+    private static final class PartitionedNodeFactory extends NodeFactory<PartitionedNodeModel> {
+
+        private final boolean m_isGeneratingKeys;
+
+        PartitionedNodeFactory(final boolean isGeneratingKeys) {
+            m_isGeneratingKeys = isGeneratingKeys;
+        }
+
+        @Override
+        public PartitionedNodeModel createNodeModel() {
+            return new PartitionedNodeModel(m_isGeneratingKeys);
+        }
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<PartitionedNodeModel> createNodeView(final int viewIndex,
+            final PartitionedNodeModel nodeModel) {
+            throw new IllegalStateException("No view");
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            throw new IllegalStateException("No dialog");
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.streamable.RowInput;
+
+/**
+ * Tests {@link RowPipe}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowPipeTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    private static DataRow row(final int i) {
+        return new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i));
+    }
+
+    /** All rows arrive in order even if the pipe is much smaller than the number of rows. */
+    @Test(timeout = 10000)
+    public void testRowsArriveInOrder() throws Exception {
+        final RowPipe pipe = new RowPipe(SPEC, 4);
+        final Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 1000; i++) {
+                    pipe.put(row(i));
+                }
+                pipe.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        final RowInput input = pipe.getInput();
+        Assert.assertSame(SPEC, input.getDataTableSpec());
+        final List<DataRow> rows = new ArrayList<>();
+        DataRow r;
+        while ((r = input.poll()) != null) {
+            rows.add(r);
+        }
+        producer.join();
+        Assert.assertEquals(1000, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertEquals(i, ((IntCell)rows.get(i).getCell(0)).getIntValue());
+        }
+        Assert.assertNull("end of stream must be sticky", input.poll());
+    }
+
+    /** A producer does not block once the consumer has closed its input. */
+    @Test(timeout = 10000)
+    public void testConsumerClosesEarly() throws Exception {
+        final RowPipe pipe = new RowPipe(SPEC, 2);
+        final RowInput input = pipe.getInput();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    pipe.put(row(i));
+                }
+                pipe.close();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        producer.start();
+        Assert.assertNotNull(input.poll());
+        input.close();
+        producer.join();
+        Assert.assertNull(failure.get());
+        Assert.assertTrue(pipe.isConsumerDone());
+        Assert.assertNull(input.poll());
+    }
+
+    /** Batches put by the producer are delivered in order through the batch poll method. */
+    @Test(timeout = 10000)
+    public void testBatchTransfer() throws Exception {
+        final RowPipe pipe = new RowPipe(SPEC, 1000);
+        final DataRow[] rows = new DataRow[300];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = row(i);
+        }
+        pipe.put(rows, rows.length);
+        pipe.put(row(rows.length));
+        pipe.close();
+        final RowInput input = pipe.getInput();
+        final DataRow[] buffer = new DataRow[50];
+        int expected = 0;
+        int count;
+        while ((count = input.poll(buffer)) > 0) {
+            Assert.assertTrue(count <= buffer.length);
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(expected++, ((IntCell)buffer[i].getCell(0)).getIntValue());
+            }
+        }
+        Assert.assertEquals(rows.length + 1, expected);
+    }
+
+    /** A consumer waiting for rows fails if the producer aborts. */
+    @Test(timeout = 10000)
+    public void testProducerFailure() throws Exception {
+        final RowPipe pipe = new RowPipe(SPEC, 2);
+        final RowInput input = pipe.getInput();
+        pipe.put(row(0));
+        pipe.put(row(1));
+        pipe.abort(new RuntimeException("broken"));
+        Assert.assertNotNull("rows handed over before the failure are delivered", input.poll());
+        Assert.assertNotNull(input.poll());
+        try {
+            input.poll();
+            Assert.fail("Expected exception");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("broken", e.getCause().getMessage());
+        }
+    }
+
+    /** Capacity must be positive. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new RowPipe(SPEC, 0);
+    }
+}
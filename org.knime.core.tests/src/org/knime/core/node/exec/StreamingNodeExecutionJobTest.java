@@ -0,0 +1,340 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.SingleCellFactory;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.FileStore;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeDialogPane;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NodeView;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeMessage;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.WorkflowTestCase;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests {@link StreamingNodeExecutionJob} by executing a source node followed by a chain of two streamable nodes with
+ * the {@link StreamingNodeExecutionJobManager}. The second node writes file stores.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class StreamingNodeExecutionJobTest extends WorkflowTestCase {
+
+    /** Set when the second node is executed on its own rather than as consumer of the first one. */
+    private static final AtomicBoolean SECOND_EXECUTED_ON_ITS_OWN = new AtomicBoolean();
+
+    /** If set, the second node fails on the first row it processes in the chain (only once). */
+    private static final AtomicBoolean FAIL_ONCE = new AtomicBoolean();
+
+    private NodeID m_source;
+
+    private NodeID m_first;
+
+    private NodeID m_second;
+
+    /** Resets the static test state. */
+    @Before
+    public void setUp() {
+        SECOND_EXECUTED_ON_ITS_OWN.set(false);
+        FAIL_ONCE.set(false);
+    }
+
+    /** The output of the first node is streamed into the second, only the output of the second node is stored. */
+    @Test
+    public void testStreamedWithFileStores() throws Exception {
+        createWorkflow();
+        executeAllAndWait();
+        checkExecuted(true);
+        assertFalse("Second node not streamed", SECOND_EXECUTED_ON_ITS_OWN.get());
+        assertTrue("Streamed output must not be stored", getOutput(m_first).isVoid());
+        checkOutput();
+    }
+
+    /** A failure of the second node fails the first one, too; both are streamed again when re-executed. */
+    @Test
+    public void testChainFailsAsAWhole() throws Exception {
+        createWorkflow();
+        FAIL_ONCE.set(true);
+        executeAllAndWait();
+        assertFalse("Failure not triggered", FAIL_ONCE.get());
+        assertFalse("First node must fail along with its consumer", isExecuted(m_first));
+        assertFalse("Second node must fail", isExecuted(m_second));
+        executeAllAndWait();
+        checkExecuted(true);
+        assertFalse("Second node not streamed", SECOND_EXECUTED_ON_ITS_OWN.get());
+        checkOutput();
+    }
+
+    /** The second node can't be executed on its own as its input was streamed and not stored. */
+    @Test
+    public void testStreamedInputNotStored() throws Exception {
+        createWorkflow();
+        executeAllAndWait();
+        checkExecuted(true);
+        getManager().resetAndConfigureNode(m_second);
+        executeAllAndWait();
+        assertFalse("Second node executed with streamed input", isExecuted(m_second));
+        assertEquals("No error on second node", NodeMessage.Type.ERROR,
+            getManager().getNodeContainer(m_second).getNodeMessage().getMessageType());
+        assertFalse("Second node executed on its own", SECOND_EXECUTED_ON_ITS_OWN.get());
+    }
+
+    private void createWorkflow() throws Exception {
+        final WorkflowManager wfm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(),
+            new WorkflowCreationHelper());
+        setManager(wfm);
+        m_source = wfm.createAndAddNode(new AdapterNodeFactory(true));
+        m_first = wfm.createAndAddNode(new AppendNodeFactory(false));
+        m_second = wfm.createAndAddNode(new AppendNodeFactory(true));
+        wfm.addConnection(m_source, 1, m_first, 1);
+        wfm.addConnection(m_first, 1, m_second, 1);
+        // own pool so that a free thread for the second node is guaranteed
+        final StreamingNodeExecutionJobManager jobManager = new StreamingNodeExecutionJobManager(new ThreadPool(4));
+        wfm.setJobManager(m_first, jobManager);
+        wfm.setJobManager(m_second, jobManager);
+    }
+
+    private void checkExecuted(final boolean expected) {
+        for (NodeID id : new NodeID[]{m_source, m_first, m_second}) {
+            assertEquals("Node " + id + " execution state", expected, isExecuted(id));
+        }
+    }
+
+    private boolean isExecuted(final NodeID id) {
+        return getManager().getNodeContainer(id).getNodeContainerState().isExecuted();
+    }
+
+    private BufferedDataTable getOutput(final NodeID id) {
+        return (BufferedDataTable)getManager().getNodeContainer(id).getOutPort(1).getPortObject();
+    }
+
+    /** Checks that the second node appended Int-Column + 2 and that its file stores exist. */
+    private void checkOutput() throws IOException {
+        final BufferedDataTable table = getOutput(m_second);
+        final DataTableSpec spec = table.getDataTableSpec();
+        final int inIndex = spec.findColumnIndex("Int-Column");
+        final int lastIndex = spec.getNumColumns() - 1;
+        int count = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                final int expected = ((IntValue)row.getCell(inIndex)).getIntValue() + 2;
+                final File file = new File(((StringValue)row.getCell(lastIndex)).getStringValue());
+                assertTrue("File store of row " + row.getKey() + " missing: " + file, file.isFile());
+                assertEquals(Integer.toString(expected),
+                    new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+                count++;
+            }
+        }
+        assertEquals("Row count", 3, count);
+    }
+
+    /**
+     * Streamable node appending the last int column + 1; the second node writes the value into a file store and
+     * appends its path instead.
+     */
+    private static final class AppendNodeModel extends NodeModel {
+
+        private final boolean m_isSecond;
+
+        AppendNodeModel(final boolean isSecond) {
+            super(1, 1);
+            m_isSecond = isSecond;
+        }
+
+        private ColumnRearranger createColumnRearranger(final DataTableSpec spec, final boolean isStreamed) {
+            final int inIndex = m_isSecond ? spec.getNumColumns() - 1 : spec.findColumnIndex("Int-Column");
+            final ColumnRearranger rearranger = new ColumnRearranger(spec);
+            if (!m_isSecond) {
+                rearranger.append(new SingleCellFactory(new DataColumnSpecCreator("A", IntCell.TYPE).createSpec()) {
+                    @Override
+                    public DataCell getCell(final DataRow row) {
+                        return new IntCell(((IntValue)row.getCell(inIndex)).getIntValue() + 1);
+                    }
+                });
+                return rearranger;
+            }
+            rearranger.append(new SingleCellFactory(new DataColumnSpecCreator("File", StringCell.TYPE).createSpec()) {
+                @Override
+                public DataCell getCell(final DataRow row) {
+                    if (isStreamed && FAIL_ONCE.compareAndSet(true, false)) {
+                        throw new IllegalStateException("Failing once, as requested");
+                    }
+                    final String value = Integer.toString(((IntValue)row.getCell(inIndex)).getIntValue() + 1);
+                    try {
+                        final FileStore fs = getFileStoreFactory().createFileStore("row-" + row.getKey());
+                        Files.write(fs.getFile().toPath(), value.getBytes(StandardCharsets.UTF_8));
+                        return new StringCell(fs.getFile().getAbsolutePath());
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            return rearranger;
+        }
+
+        @Override
+        protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) {
+            return new DataTableSpec[]{createColumnRearranger(inSpecs[0], false).createSpec()};
+        }
+
+        @Override
+        protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+            throws Exception {
+            if (m_isSecond) {
+                SECOND_EXECUTED_ON_ITS_OWN.set(true);
+            }
+            final ColumnRearranger rearranger = createColumnRearranger(inData[0].getDataTableSpec(), false);
+            return new BufferedDataTable[]{exec.createColumnRearrangeTable(inData[0], rearranger, exec)};
+        }
+
+        @Override
+        public InputPortRole[] getInputPortRoles() {
+            return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_STREAMABLE};
+        }
+
+        @Override
+        public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+            final PortObjectSpec[] inSpecs) {
+            return createColumnRearranger((DataTableSpec)inSpecs[0], true).createStreamableFunction();
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) {
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) {
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+        }
+
+        @Override
+        protected void reset() {
+        }
+    }
+
+    private static final class AppendNodeFactory extends NodeFactory<AppendNodeModel> {
+
+        private final boolean m_isSecond;
+
+        AppendNodeFactory(final boolean isSecond) {
+            m_isSecond = isSecond;
+        }
+
+        @Override
+        public AppendNodeModel createNodeModel() {
+            return new AppendNodeModel(m_isSecond);
+        }
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<AppendNodeModel> createNodeView(final int viewIndex, final AppendNodeModel nodeModel) {
+            throw new IllegalStateException("No view");
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            throw new IllegalStateException("No dialog");
+        }
+    }
+}
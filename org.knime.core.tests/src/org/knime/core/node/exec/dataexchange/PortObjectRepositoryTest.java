@@ -0,0 +1,203 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec.dataexchange;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.port.inactive.InactiveBranchPortObject;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests {@link PortObjectRepository}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PortObjectRepositoryTest {
+
+    /** Adding the same object twice shares the entry, which is only removed with the last reference. */
+    @Test
+    public void testReferenceCounting() {
+        final PortObject object = FlowVariablePortObject.INSTANCE;
+        final int id = PortObjectRepository.add(object);
+        Assert.assertEquals("Same object must share the id", id, PortObjectRepository.add(object));
+        Assert.assertSame(object, PortObjectRepository.retain(id));
+
+        Assert.assertNull("Object still in use", PortObjectRepository.remove(id));
+        Assert.assertNull("Object still in use", PortObjectRepository.remove(id));
+        Assert.assertSame("Object removed before last reference was released", object, PortObjectRepository.get(id));
+        Assert.assertSame(object, PortObjectRepository.remove(id));
+        Assert.assertNull(PortObjectRepository.get(id));
+        Assert.assertNull(PortObjectRepository.remove(id));
+        Assert.assertNull(PortObjectRepository.retain(id));
+
+        final int newID = PortObjectRepository.add(object);
+        PortObjectRepository.remove(newID);
+        Assert.assertNotEquals("Removed id must not be reused", id, newID);
+    }
+
+    /** Different objects get different ids. */
+    @Test
+    public void testDistinctObjects() {
+        final int id1 = PortObjectRepository.add(FlowVariablePortObject.INSTANCE);
+        final int id2 = PortObjectRepository.add(InactiveBranchPortObject.INSTANCE);
+        try {
+            Assert.assertNotEquals(id1, id2);
+            Assert.assertSame(FlowVariablePortObject.INSTANCE, PortObjectRepository.get(id1));
+            Assert.assertSame(InactiveBranchPortObject.INSTANCE, PortObjectRepository.get(id2));
+        } finally {
+            PortObjectRepository.remove(id1);
+            PortObjectRepository.remove(id2);
+        }
+    }
+
+    /** Immutable objects are handed out without copying. */
+    @Test
+    public void testImmutableNotCopied() throws Exception {
+        final int id = PortObjectRepository.add(FlowVariablePortObject.INSTANCE);
+        try {
+            Assert.assertSame(FlowVariablePortObject.INSTANCE, PortObjectRepository.copy(id, null, null));
+            Assert.assertNull("Consumer must hold a reference", PortObjectRepository.remove(id));
+            Assert.assertSame(FlowVariablePortObject.INSTANCE,
+                PortObjectRepository.copy(FlowVariablePortObject.INSTANCE, null, null));
+        } finally {
+            PortObjectRepository.remove(id);
+        }
+        Assert.assertNull(PortObjectRepository.copy(id, null, null));
+    }
+
+    /** Tables without blob and file store cells are shared by handle, consumers hold a reference. */
+    @Test
+    public void testTableSharedByConsumers() throws Exception {
+        final BufferedDataTable table = createTable(IntCell.TYPE);
+        final int id = PortObjectRepository.add(table);
+        final ExecutionContext consumer1 = createExecutionContext();
+        final ExecutionContext consumer2 = createExecutionContext();
+        Assert.assertSame(table, PortObjectRepository.copy(id, consumer1, consumer1));
+        Assert.assertSame(table, PortObjectRepository.copy(id, consumer2, consumer2));
+        Assert.assertNull("Consumers still hold the table", PortObjectRepository.remove(id));
+        Assert.assertNull("Consumer still holds the table", PortObjectRepository.remove(id));
+        Assert.assertSame(table, PortObjectRepository.get(id));
+        Assert.assertSame(table, PortObjectRepository.remove(id));
+        Assert.assertNull(PortObjectRepository.get(id));
+        assertContent(table);
+    }
+
+    /** Other tables are copied per consumer, so disposing one consumer's copy doesn't affect the others. */
+    @Test
+    public void testTableCopiedPerConsumer() throws Exception {
+        // the cell class of a column of mixed types is unknown, i.e. the column may contain blobs
+        final BufferedDataTable table = createTable(DataType.getCommonSuperType(IntCell.TYPE, StringCell.TYPE));
+        final int id = PortObjectRepository.add(table);
+        try {
+            final ExecutionContext consumer1 = createExecutionContext();
+            final ExecutionContext consumer2 = createExecutionContext();
+            final BufferedDataTable copy1 = (BufferedDataTable)PortObjectRepository.copy(id, consumer1, consumer1);
+            final BufferedDataTable copy2 = (BufferedDataTable)PortObjectRepository.copy(id, consumer2, consumer2);
+            Assert.assertNotSame(table, copy1);
+            Assert.assertNotSame("Consumers must not share a table", copy1, copy2);
+            assertContent(copy1);
+            // as done when the first consumer is reset
+            consumer1.clearTable(copy1);
+            assertContent(copy2);
+            assertContent(table);
+        } finally {
+            PortObjectRepository.remove(id);
+        }
+    }
+
+    private static BufferedDataTable createTable(final DataType type) {
+        final ExecutionContext producer = createExecutionContext();
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("int", type).createSpec());
+        final BufferedDataContainer container = producer.createDataContainer(spec);
+        for (int i = 0; i < 100; i++) {
+            container.addRowToTable(new DefaultRow("Row" + i, new IntCell(i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private static void assertContent(final BufferedDataTable table) {
+        Assert.assertEquals(100, table.size());
+        int i = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                final DataRow row = it.next();
+                Assert.assertEquals("Row" + i, row.getKey().getString());
+                Assert.assertEquals(i, ((IntCell)row.getCell(0)).getIntValue());
+                i++;
+            }
+        }
+        Assert.assertEquals(100, i);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static ExecutionContext createExecutionContext() {
+        return new ExecutionContext(new DefaultNodeProgressMonitor(),
+            new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.port.pmml.preproc;
+
+import org.apache.xmlbeans.XmlCursor;
+import org.dmg.pmml.DATATYPE;
+import org.dmg.pmml.DerivedFieldDocument.DerivedField;
+import org.dmg.pmml.DiscretizeBinDocument.DiscretizeBin;
+import org.dmg.pmml.DiscretizeDocument.Discretize;
+import org.dmg.pmml.FieldColumnPairDocument.FieldColumnPair;
+import org.dmg.pmml.IntervalDocument.Interval;
+import org.dmg.pmml.LinearNormDocument.LinearNorm;
+import org.dmg.pmml.MapValuesDocument.MapValues;
+import org.dmg.pmml.NormContinuousDocument.NormContinuous;
+import org.dmg.pmml.OPTYPE;
+import org.dmg.pmml.RowDocument.Row;
+import org.dmg.pmml.TransformationDictionaryDocument.TransformationDictionary;
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.def.BooleanCell.BooleanCellFactory;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.port.pmml.PMMLPortObject;
+import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
+
+/**
+ * Tests {@link CompiledDerivedFields} and its application via {@link DerivedFieldsCellFactory}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompiledDerivedFieldsTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("num", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("str", StringCell.TYPE).createSpec());
+
+    private static DataRow row(final DataCell num, final DataCell i, final DataCell str) {
+        return new DefaultRow(RowKey.createRowKey(0L), num, i, str);
+    }
+
+    private static DerivedField newField(final String name, final DATATYPE.Enum type) {
+        final DerivedField df = DerivedField.Factory.newInstance();
+        df.setName(name);
+        df.setDataType(type);
+        df.setOptype(DATATYPE.STRING.equals(type) ? OPTYPE.CATEGORICAL : OPTYPE.CONTINUOUS);
+        return df;
+    }
+
+    private static DerivedField newNormContinuous(final String name, final String field) {
+        final DerivedField df = newField(name, DATATYPE.DOUBLE);
+        final NormContinuous nc = df.addNewNormContinuous();
+        nc.setField(field);
+        final LinearNorm first = nc.addNewLinearNorm();
+        first.setOrig(0);
+        first.setNorm(0);
+        final LinearNorm second = nc.addNewLinearNorm();
+        second.setOrig(10);
+        second.setNorm(1);
+        return df;
+    }
+
+    private static DerivedField newDiscretize(final String name, final String field) {
+        final DerivedField df = newField(name, DATATYPE.INTEGER);
+        final Discretize d = df.addNewDiscretize();
+        d.setField(field);
+        d.setDefaultValue("-1");
+        d.setMapMissingTo("0");
+        addBin(d, 0, 0.5, "1");
+        addBin(d, 0.5, 1, "2");
+        return df;
+    }
+
+    private static void addBin(final Discretize d, final double left, final double right, final String value) {
+        final DiscretizeBin bin = d.addNewDiscretizeBin();
+        bin.setBinValue(value);
+        final Interval interval = bin.addNewInterval();
+        interval.setClosure(Interval.Closure.CLOSED_OPEN);
+        interval.setLeftMargin(left);
+        interval.setRightMargin(right);
+    }
+
+    private static DerivedField newMapValues(final String name, final String field) {
+        final DerivedField df = newField(name, DATATYPE.STRING);
+        final MapValues mv = df.addNewMapValues();
+        mv.setOutputColumn("out");
+        final FieldColumnPair pair = mv.addNewFieldColumnPair();
+        pair.setField(field);
+        pair.setColumn("in");
+        addRow(mv, "1", "one");
+        addRow(mv, "2", "two");
+        return df;
+    }
+
+    private static void addRow(final MapValues mv, final String in, final String out) {
+        final Row row = mv.getInlineTable() == null ? mv.addNewInlineTable().addNewRow()
+            : mv.getInlineTable().addNewRow();
+        final XmlCursor cursor = row.newCursor();
+        try {
+            cursor.toEndToken();
+            cursor.insertElementWithText("in", in);
+            cursor.insertElementWithText("out", out);
+        } finally {
+            cursor.dispose();
+        }
+    }
+
+    /** Applies a chain of derived fields, each referring to the previous one, via the column rearranger. */
+    @Test
+    public void testChainViaColumnRearranger() throws Exception {
+        final TransformationDictionary dict = TransformationDictionary.Factory.newInstance();
+        dict.addNewDerivedField().set(newNormContinuous("norm", "num"));
+        dict.addNewDerivedField().set(newDiscretize("bin", "norm"));
+        dict.addNewDerivedField().set(newMapValues("label", "bin"));
+        final PMMLPortObject pmml = new PMMLPortObject(new PMMLPortObjectSpecCreator(SPEC).createSpec());
+        pmml.addGlobalTransformations(dict);
+
+        final ColumnRearranger rearranger = DerivedFieldsCellFactory.createColumnRearranger(pmml, SPEC);
+        final DataTableSpec outSpec = rearranger.createSpec();
+        Assert.assertEquals(6, outSpec.getNumColumns());
+        Assert.assertEquals(DoubleCell.TYPE, outSpec.getColumnSpec("norm").getType());
+        Assert.assertEquals(IntCell.TYPE, outSpec.getColumnSpec("bin").getType());
+        Assert.assertEquals(StringCell.TYPE, outSpec.getColumnSpec("label").getType());
+
+        final DerivedFieldsCellFactory factory = CompiledDerivedFields.compile(pmml, SPEC).createCellFactory();
+        DataCell[] cells = factory.getCells(row(new DoubleCell(2.5), new IntCell(0), new StringCell("a")));
+        Assert.assertEquals(new DoubleCell(0.25), cells[0]);
+        Assert.assertEquals(new IntCell(1), cells[1]);
+        Assert.assertEquals(new StringCell("one"), cells[2]);
+
+        cells = factory.getCells(row(new DoubleCell(7.5), new IntCell(0), new StringCell("a")));
+        Assert.assertEquals(new DoubleCell(0.75), cells[0]);
+        Assert.assertEquals(new IntCell(2), cells[1]);
+        Assert.assertEquals(new StringCell("two"), cells[2]);
+
+        // out of all bins -> default value, which isn't in the value map
+        cells = factory.getCells(row(new DoubleCell(12.5), new IntCell(0), new StringCell("a")));
+        Assert.assertEquals(new IntCell(-1), cells[1]);
+        Assert.assertTrue(cells[2].isMissing());
+
+        // missing input -> missing norm -> bin 'mapMissingTo'
+        cells = factory.getCells(row(DataType.getMissingCell(), new IntCell(0), new StringCell("a")));
+        Assert.assertTrue(cells[0].isMissing());
+        Assert.assertEquals(new IntCell(0), cells[1]);
+        Assert.assertTrue(cells[2].isMissing());
+    }
+
+    /** Values of integer columns are formatted without fraction digits when compared to PMML constants. */
+    @Test
+    public void testMapValuesOnIntColumn() throws Exception {
+        final CompiledDerivedFields fields =
+            CompiledDerivedFields.compile(new DerivedField[]{newMapValues("label", "int")}, SPEC);
+        Assert.assertEquals(new StringCell("two"),
+            fields.apply(row(new DoubleCell(0), new IntCell(2), new StringCell("a")))[0]);
+        Assert.assertEquals(new StringCell("one"),
+            fields.apply(row(new DoubleCell(0), new IntCell(1), new StringCell("2")))[0]);
+    }
+
+    /** String columns are read as strings and not converted to numbers. */
+    @Test
+    public void testStringColumn() throws Exception {
+        final DerivedField ref = newField("ref", DATATYPE.STRING);
+        ref.addNewFieldRef().setField("str");
+        final CompiledDerivedFields fields =
+            CompiledDerivedFields.compile(new DerivedField[]{ref, newMapValues("label", "str"),
+                newDiscretize("bin", "str")}, SPEC);
+        final DataCell[] cells = fields.apply(row(new DoubleCell(0), new IntCell(0), new StringCell("1")));
+        Assert.assertEquals(new StringCell("1"), cells[0]);
+        Assert.assertEquals(new StringCell("one"), cells[1]);
+        Assert.assertEquals("String values don't fall into numeric bins", new IntCell(-1), cells[2]);
+    }
+
+    /** Boolean fields accept numbers and "true"/"false", other strings become missing values. */
+    @Test
+    public void testBooleanField() throws Exception {
+        final DerivedField fromString = newField("fromString", DATATYPE.BOOLEAN);
+        fromString.addNewFieldRef().setField("str");
+        final DerivedField fromNumber = newField("fromNumber", DATATYPE.BOOLEAN);
+        fromNumber.addNewFieldRef().setField("num");
+        final CompiledDerivedFields fields =
+            CompiledDerivedFields.compile(new DerivedField[]{fromString, fromNumber}, SPEC);
+        DataCell[] cells = fields.apply(row(new DoubleCell(0), new IntCell(0), new StringCell("True")));
+        Assert.assertEquals(BooleanCellFactory.create(true), cells[0]);
+        Assert.assertEquals(BooleanCellFactory.create(false), cells[1]);
+        cells = fields.apply(row(new DoubleCell(2), new IntCell(0), new StringCell("yes")));
+        Assert.assertTrue("Unparseable string", cells[0].isMissing());
+        Assert.assertEquals(BooleanCellFactory.create(true), cells[1]);
+    }
+}
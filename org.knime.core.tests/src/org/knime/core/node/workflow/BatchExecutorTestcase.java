@@ -52,6 +52,7 @@
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -60,8 +61,20 @@
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
@@ -412,6 +425,96 @@ public void run() {
         t.interrupt();
     }
 
+    /**
+     * Test if the resident mode executes requests received via a socket, resets the workflow before each request and
+     * rejects invalid requests.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testResident() throws Exception {
+        final int port;
+        try (ServerSocket s = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = s.getLocalPort();
+        }
+        final File tokenFile = new File(FileUtil.createTempDir("BatchExecutorTest"), "token");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> ret = executor.submit(() -> BatchExecutor.mainRun(new String[]{
+                "-workflowFile=" + standardTestWorkflowZip.getAbsolutePath(), "-resident=" + port,
+                "-residentTokenFile=" + tokenFile.getAbsolutePath()}));
+            try (Socket socket = connect(port, tokenFile, ret);
+                    BufferedReader in =
+                        new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    PrintWriter out = new PrintWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+                out.println("wrong token");
+                assertEquals("Wrong exit code for wrong token", Integer.toString(BatchExecutor.EXIT_ERR_PRESTART),
+                    request(in, out, 0, "-workflow.variable=maxRows,100,int"));
+                assertNull("Connection not closed after wrong token", in.readLine());
+            }
+            try (Socket socket = connect(port, tokenFile, ret);
+                    BufferedReader in =
+                        new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    PrintWriter out = new PrintWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+                out.println(new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.US_ASCII));
+                final String destination =
+                    "-workflow.variable=destinationFile," + csvOut.getAbsolutePath() + ",String";
+                assertEquals("Wrong exit code", "0",
+                    request(in, out, 1, destination + " -workflow.variable=maxRows,100,int"));
+                assertEquals("Wrong number of lines in written CSV file", 101, countWrittenLines(csvOut));
+
+                // same request again, the writer must be executed again
+                csvOut.delete();
+                assertEquals("Wrong exit code", "0",
+                    request(in, out, 2, destination + " -workflow.variable=maxRows,100,int"));
+                assertEquals("Wrong number of lines in written CSV file", 101, countWrittenLines(csvOut));
+
+                // variables of earlier requests are reverted
+                assertEquals("Wrong exit code", "0", request(in, out, 3, destination));
+                assertEquals("Wrong number of lines in written CSV file", 1001, countWrittenLines(csvOut));
+
+                assertEquals("Wrong exit code for unsupported option",
+                    Integer.toString(BatchExecutor.EXIT_ERR_PRESTART), request(in, out, 4, "-nosave"));
+                assertEquals("Wrong exit code for wrong option type",
+                    Integer.toString(BatchExecutor.EXIT_ERR_PRESTART),
+                    request(in, out, 5, destination + " -option=0/5,rowFilter/RowRangeStart,1000,unknownType"));
+
+                out.println("quit");
+            }
+            assertEquals("Non-zero return value", 0, ret.get(1, TimeUnit.MINUTES).intValue());
+            assertFalse("Token file not deleted", tokenFile.exists());
+        } finally {
+            executor.shutdownNow();
+            FileUtil.deleteRecursively(tokenFile.getParentFile());
+        }
+    }
+
+    /** Connects to the resident batch executor, waiting until it has loaded the workflow and written the token. */
+    private static Socket connect(final int port, final File tokenFile, final Future<Integer> ret)
+        throws Exception {
+        final long timeout = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        // the token file is written once the executor listens on the port
+        while (tokenFile.length() == 0) {
+            assertFalse("Resident batch executor terminated with " + (ret.isDone() ? ret.get() : null),
+                ret.isDone());
+            assertTrue("Resident batch executor not ready in time", System.currentTimeMillis() < timeout);
+            Thread.sleep(100);
+        }
+        return new Socket(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /** Sends a request to the resident batch executor, checks the answer's request number and returns the exit code. */
+    private static String request(final BufferedReader in, final PrintWriter out, final int requestNumber,
+        final String request) throws IOException {
+        out.println(request);
+        final String[] answer = in.readLine().split("\t", 4);
+        assertEquals("Not an answer: " + String.join("\t", answer), "RESULT", answer[0]);
+        assertEquals("Wrong request number", Integer.toString(requestNumber), answer[1]);
+        return answer[2];
+    }
+
     /**
      * Test if saving the executed workflow to a zip file works.
      *
@@ -0,0 +1,127 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.node.workflow.WorkflowEventDispatcher.Lane;
+
+/**
+ * Tests {@link WorkflowEventDispatcher}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class WorkflowEventDispatcherTest {
+
+    /** Events of a lane are delivered in order, even if more than a batch is queued. */
+    @Test(timeout = 30000)
+    public void testOrderWithinLane() throws InterruptedException {
+        final Lane lane = WorkflowEventDispatcher.getLane(new ReentrantLock());
+        final int count = 1000;
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            lane.submit(() -> {
+                delivered.add(index);
+                done.countDown();
+            }, null);
+        }
+        Assert.assertTrue(done.await(20, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(i, delivered.get(i).intValue());
+        }
+    }
+
+    /** Workflows sharing a lock share the lane, others don't. */
+    @Test
+    public void testLanePerLock() {
+        final ReentrantLock lock = new ReentrantLock();
+        Assert.assertSame(WorkflowEventDispatcher.getLane(lock), WorkflowEventDispatcher.getLane(lock));
+        Assert.assertNotSame(WorkflowEventDispatcher.getLane(lock),
+            WorkflowEventDispatcher.getLane(new ReentrantLock()));
+    }
+
+    /** Events with the key of a waiting event are dropped, once delivered the key can be used again. */
+    @Test(timeout = 30000)
+    public void testCoalescing() throws InterruptedException {
+        final Lane lane = WorkflowEventDispatcher.getLane(new ReentrantLock());
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        lane.submit(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, null);
+        final long coalescedBefore = WorkflowEventDispatcher.getCoalescedEventCount();
+        lane.submit(() -> delivered.add("dirty-1"), "dirty");
+        lane.submit(() -> delivered.add("added"), null);
+        lane.submit(() -> delivered.add("dirty-2"), "dirty");
+        Assert.assertTrue(WorkflowEventDispatcher.getQueuedEventCount() >= 2);
+        blocker.countDown();
+        final CountDownLatch done = new CountDownLatch(1);
+        lane.submit(done::countDown, null);
+        done.await();
+        Assert.assertEquals(1, WorkflowEventDispatcher.getCoalescedEventCount() - coalescedBefore);
+        Assert.assertEquals(Arrays.asList("dirty-1", "added"), delivered);
+
+        final CountDownLatch again = new CountDownLatch(1);
+        lane.submit(again::countDown, "dirty");
+        again.await();
+    }
+}
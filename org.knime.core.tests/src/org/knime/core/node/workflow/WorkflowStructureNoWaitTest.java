@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.workflow.node.adapter.AdapterNodeFactory;
+
+/**
+ * Tests the structural getters of {@link WorkflowManager} ({@link WorkflowManager#getNodeContainer(NodeID)},
+ * {@link WorkflowManager#containsNodeContainer(NodeID)}) that are called by threads not holding the workflow lock.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class WorkflowStructureNoWaitTest extends WorkflowTestCase {
+
+    private WorkflowManager m_wfm;
+
+    /** Creates an empty project. */
+    @Before
+    public void setUp() {
+        m_wfm = WorkflowManager.ROOT.createAndAddProject(getClass().getSimpleName(), new WorkflowCreationHelper());
+        setManager(m_wfm);
+    }
+
+    /** Getters don't wait for another thread holding the lock. */
+    @Test(timeout = 30000)
+    public void testNoWaitWhileLocked() throws Exception {
+        final NodeID id = m_wfm.createAndAddNode(new AdapterNodeFactory(true));
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread holder = new Thread(() -> {
+            try (WorkflowLock lock = m_wfm.lock()) {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        holder.start();
+        locked.await();
+        try {
+            assertNotNull(m_wfm.getNodeContainer(id));
+            assertTrue(m_wfm.containsNodeContainer(id));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    /**
+     * A getter that re-creates the snapshot of the workflow structure doesn't run the state update that is queued by
+     * a thread sleeping on a condition of the lock - it's done by that thread once it releases the lock.
+     */
+    @Test(timeout = 30000)
+    public void testNoStateUpdateOnRelease() throws Exception {
+        assertEquals(InternalNodeContainerState.EXECUTED, m_wfm.getMostRecentInternalState());
+        final ReentrantLock reentrantLock = m_wfm.getReentrantLockInstance();
+        final Condition condition = reentrantLock.newCondition();
+        final AtomicReference<NodeID> id = new AtomicReference<>();
+        final CountDownLatch added = new CountDownLatch(1);
+        final boolean[] isReleased = new boolean[1];
+        final Thread writer = new Thread(() -> {
+            try (WorkflowLock lock = m_wfm.lock()) {
+                // queues a state update (workflow becomes configured)
+                id.set(m_wfm.createAndAddNode(new AdapterNodeFactory(true)));
+                added.countDown();
+                while (!isReleased[0]) {
+                    condition.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        writer.start();
+        added.await();
+        while (reentrantLock.isLocked()) { // wait until writer sleeps on the condition
+            Thread.sleep(10);
+        }
+        try {
+            assertNotNull(m_wfm.getNodeContainer(id.get()));
+            assertEquals("State updated by reader", InternalNodeContainerState.EXECUTED,
+                m_wfm.getMostRecentInternalState());
+        } finally {
+            reentrantLock.lock();
+            try {
+                isReleased[0] = true;
+                condition.signalAll();
+            } finally {
+                reentrantLock.unlock();
+            }
+            writer.join();
+        }
+        assertEquals(InternalNodeContainerState.CONFIGURED, m_wfm.getMostRecentInternalState());
+    }
+}
@@ -134,6 +134,56 @@ public void testEarlyDuplicate() throws Exception {
         checker.addKey("A");
     }
 
+    /**
+     * Duplicates among keys consisting of a prefix and a counter are detected, keys with a different prefix or
+     * non-canonical counters are not mixed up with them.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testCounterKeyDuplicate() throws Exception {
+        DuplicateChecker checker = new DuplicateChecker(10, 50);
+        for (int i = 0; i < 1000; i++) {
+            checker.addKey("Row" + i);
+            checker.addKey("Col" + i);
+        }
+        checker.addKey("Row007");
+        checker.addKey("Row");
+        checker.addKey("Row 7");
+        checker.checkForDuplicates();
+        expectedException.expect(DuplicateKeyException.class);
+        checker.addKey("Row7");
+    }
+
+    /**
+     * Sparse counters are moved to the chunks, duplicates are still detected.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testSparseCounterKeys() throws Exception {
+        DuplicateChecker checker = new DuplicateChecker(100, 50);
+        try {
+            for (int i = 0; i < 1000; i++) {
+                checker.addKey("Row" + i * 100000L);
+            }
+            for (int i = 0; i < 1000; i++) {
+                checker.addKey("Row" + (i * 100000L + 1));
+            }
+            checker.checkForDuplicates();
+        } finally {
+            checker.clear();
+        }
+
+        checker = new DuplicateChecker(100, 50);
+        for (int i = 0; i < 1000; i++) {
+            checker.addKey("Row" + i * 100000L);
+        }
+        expectedException.expect(DuplicateKeyException.class);
+        checker.addKey("Row100000");
+        checker.checkForDuplicates();
+    }
+
 //    /**
 //     * Simply test that calling write to disk works with duplicates works as expected.
 //     *
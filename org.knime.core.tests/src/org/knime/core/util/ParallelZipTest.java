@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests {@link ParallelZip}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ParallelZipTest {
+
+    /** Temp dir for the files to zip and extract. */
+    @Rule
+    public TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    /** Zips a directory tree with small, large and stored files and compares it with the extracted content. */
+    @Test
+    public void testZipAndUnzip() throws Exception {
+        final File root = m_tempFolder.newFolder("workflow");
+        final Map<String, byte[]> files = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            final File nodeDir = new File(root, "Node (#" + i + ")");
+            nodeDir.mkdirs();
+            files.put("workflow/" + nodeDir.getName() + "/settings.xml", writeText(new File(nodeDir, "settings.xml"),
+                "<config key=\"settings.xml\">" + i + "</config>"));
+            if (i % 5 == 0) {
+                // larger than the in-memory limit, part compressible, part random
+                final byte[] data = new byte[3 << 20];
+                random.nextBytes(data);
+                Arrays.fill(data, 0, 1 << 20, (byte)i);
+                files.put("workflow/" + nodeDir.getName() + "/port_1/data.zip",
+                    write(new File(nodeDir, "port_1/data.zip"), data));
+            }
+        }
+        new File(root, "empty dir").mkdirs();
+        files.put("workflow/workflow.knime", writeText(new File(root, "workflow.knime"), "workflow"));
+
+        final File zipFile = new File(m_tempFolder.getRoot(), "workflow.knwf");
+        Assert.assertTrue(ParallelZip.zip(zipFile, Collections.singletonList(root), 9,
+            FileUtil.ZIP_INCLUDEALL_FILTER, FileUtil.ZIP_COMPRESSED_FILES_FILTER, new ExecutionMonitor()));
+
+        // check with the central directory
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            Assert.assertNotNull(zip.getEntry("workflow/empty dir/"));
+            for (Map.Entry<String, byte[]> e : files.entrySet()) {
+                final ZipEntry entry = zip.getEntry(e.getKey());
+                Assert.assertNotNull("Missing entry " + e.getKey(), entry);
+                Assert.assertEquals(e.getKey().endsWith(".zip") ? ZipEntry.STORED : ZipEntry.DEFLATED,
+                    entry.getMethod());
+                Assert.assertArrayEquals(e.getValue(), IOUtils.toByteArray(zip.getInputStream(entry)));
+            }
+        }
+        // check with the local headers
+        int count = 0;
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zipFile.toPath()))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                final byte[] content = IOUtils.toByteArray(in);
+                if (!entry.isDirectory()) {
+                    Assert.assertArrayEquals(files.get(entry.getName()), content);
+                    count++;
+                }
+            }
+        }
+        Assert.assertEquals(files.size(), count);
+
+        final File dest = m_tempFolder.newFolder("extracted");
+        ParallelZip.unzip(zipFile, dest);
+        for (Map.Entry<String, byte[]> e : files.entrySet()) {
+            Assert.assertArrayEquals(e.getValue(), Files.readAllBytes(new File(dest, e.getKey()).toPath()));
+        }
+        Assert.assertTrue(new File(dest, "workflow/empty dir").isDirectory());
+    }
+
+    /** Files with the same name in the include list are rejected. */
+    @Test(expected = IOException.class)
+    public void testDuplicateNames() throws Exception {
+        final File a = writeFile(m_tempFolder.newFolder("a"), "same.txt");
+        final File b = writeFile(m_tempFolder.newFolder("b"), "same.txt");
+        ParallelZip.zip(new File(m_tempFolder.getRoot(), "out.zip"), Arrays.asList(a, b), 9,
+            FileUtil.ZIP_INCLUDEALL_FILTER, f -> false, new ExecutionMonitor());
+    }
+
+    private static File writeFile(final File dir, final String name) throws IOException {
+        final File f = new File(dir, name);
+        writeText(f, name);
+        return f;
+    }
+
+    private static byte[] writeText(final File f, final String text) throws IOException {
+        return write(f, text.getBytes("UTF-8"));
+    }
+
+    private static byte[] write(final File f, final byte[] data) throws IOException {
+        f.getParentFile().mkdirs();
+        Files.write(f.toPath(), data);
+        return data;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link PrefixCounterKey}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PrefixCounterKeyTest {
+
+    /** Keys ending with a canonical counter are split into prefix and counter. */
+    @Test
+    public void testParse() {
+        assertParsed("Row", 17, "Row17");
+        assertParsed("Row", 0, "Row0");
+        assertParsed("", 42, "42");
+        assertParsed("Row 1_", 3, "Row 1_3");
+        assertParsed("Row", 999999999999999999L, "Row999999999999999999");
+    }
+
+    /** Keys without a counter or with a non-canonical or too long counter are not parsed. */
+    @Test
+    public void testParseInvalid() {
+        Assert.assertNull(PrefixCounterKey.parse(""));
+        Assert.assertNull(PrefixCounterKey.parse("Row"));
+        Assert.assertNull(PrefixCounterKey.parse("Row1a"));
+        Assert.assertNull(PrefixCounterKey.parse("Row007"));
+        Assert.assertNull(PrefixCounterKey.parse("00"));
+        Assert.assertNull(PrefixCounterKey.parse("Row1000000000000000000"));
+        Assert.assertNull("Non-ASCII digits", PrefixCounterKey.parse("Row\u0661"));
+    }
+
+    /** Successors have the same prefix and the next counter. */
+    @Test
+    public void testSuccessor() {
+        final PrefixCounterKey key = PrefixCounterKey.parse("Row9");
+        final PrefixCounterKey next = key.next();
+        Assert.assertEquals("Row10", next.toString());
+        Assert.assertEquals(PrefixCounterKey.parse("Row10"), next);
+        Assert.assertTrue(next.isSuccessorOf(key));
+        Assert.assertFalse(key.isSuccessorOf(next));
+        Assert.assertFalse(next.isSuccessorOf(null));
+        Assert.assertFalse(PrefixCounterKey.parse("Col10").isSuccessorOf(key));
+    }
+
+    private static void assertParsed(final String prefix, final long counter, final String key) {
+        final PrefixCounterKey parsed = PrefixCounterKey.parse(key);
+        Assert.assertNotNull(key, parsed);
+        Assert.assertEquals(prefix, parsed.getPrefix());
+        Assert.assertEquals(counter, parsed.getCounter());
+        Assert.assertEquals(key, parsed.toString());
+    }
+}
@@ -49,13 +49,18 @@
 
 import static org.junit.Assert.assertThat;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.osgi.internal.framework.ContextFinder;
 import org.hamcrest.core.Is;
+import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.NodeLogger;
 
 import junit.framework.TestCase;
@@ -434,4 +439,132 @@ public ClassLoader call() throws Exception {
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
+
+    /**
+     * Tests if work stealing pools obey the limits of sub pools and run nested tasks.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testWorkStealingSubPools() throws Exception {
+        final ThreadPool root = new ThreadPool(8, true);
+        assertTrue(root.isWorkStealing());
+        final ThreadPool sub = root.createSubPool(3);
+        assertTrue(sub.isWorkStealing());
+        final AtomicInteger subRunning = new AtomicInteger();
+        final AtomicInteger maxSubRunning = new AtomicInteger();
+        final AtomicInteger nestedFinished = new AtomicInteger();
+
+        for (int i = 0; i < 200; i++) {
+            final boolean inSub = i % 2 == 0;
+            (inSub ? sub : root).enqueue(new Runnable() {
+                @Override
+                public void run() {
+                    if (inSub) {
+                        maxSubRunning.accumulateAndGet(subRunning.incrementAndGet(), Math::max);
+                        busyWait();
+                        subRunning.decrementAndGet();
+                    } else {
+                        // tasks submitted from a worker go to its own queue and may be stolen by others
+                        final ThreadPool nested = ThreadPool.currentPool().createSubPool();
+                        final Future<?> f = nested.enqueue(() -> nestedFinished.incrementAndGet());
+                        try {
+                            ThreadPool.currentPool().runInvisible(() -> f.get());
+                        } catch (ExecutionException ex) {
+                            throw new RuntimeException(ex);
+                        }
+                    }
+                    m_finished.incrementAndGet();
+                }
+            });
+        }
+        root.waitForTermination();
+        assertEquals(200, m_finished.get());
+        assertEquals(100, nestedFinished.get());
+        assertTrue("Too many threads in sub pool: " + maxSubRunning.get(), maxSubRunning.get() <= 3);
+        assertEquals(0, root.getQueuedTaskCount());
+        assertEquals(0, root.getRunningThreads());
+    }
+
+    private static void busyWait() {
+        final long end = System.nanoTime() + 1000000;
+        while (System.nanoTime() < end) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Tests if shutting down a work stealing pool cancels its queued tasks.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testWorkStealingShutdown() throws Exception {
+        final ThreadPool root = new ThreadPool(2, true);
+        final ThreadPool sub = root.createSubPool(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        sub.enqueue(() -> {
+            release.await();
+            return null;
+        });
+        final Future<?> queued = sub.enqueue(new Tester(sub));
+        final Future<?> other = root.enqueue(new Tester(root));
+        other.get();
+        assertEquals(1, root.getQueuedTaskCount());
+        sub.shutdown();
+        release.countDown();
+        root.waitForTermination();
+        assertTrue(queued.isCancelled());
+        assertEquals(1, m_finished.get());
+    }
+
+    /**
+     * Tests if waiting for all futures returns the results in order, doesn't block a thread of the pool and unwraps
+     * failures.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testAwaitAll() throws Exception {
+        final ThreadPool root = new ThreadPool(1);
+        // the only thread of the pool waits for the nested tasks, which only run if it's invisible while waiting
+        final Future<List<Integer>> results = root.enqueue(() -> {
+            final ThreadPool sub = ThreadPool.currentPool().createSubPool();
+            final List<Future<Integer>> nested =
+                Arrays.asList(sub.enqueue(() -> 1), sub.enqueue(() -> 2), sub.enqueue(() -> 3));
+            return ThreadPool.awaitAll(nested, "testing");
+        });
+        assertEquals(Arrays.asList(1, 2, 3), results.get());
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<Object> blocked = root.enqueue(() -> {
+            release.await();
+            return null;
+        });
+        final Future<Object> failed = new ThreadPool(1).enqueue(() -> {
+            throw new IOException("Expected");
+        });
+        try {
+            ThreadPool.awaitAll(Arrays.asList(failed, blocked), IOException.class, "testing");
+            fail("Expected IOException");
+        } catch (IOException ex) {
+            assertEquals("Expected", ex.getMessage());
+        }
+        assertTrue(blocked.isCancelled());
+        release.countDown();
+
+        try {
+            ThreadPool.awaitAll(Arrays.asList(failed), "testing");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+        }
+
+        final Future<Object> canceled = new ThreadPool(1).enqueue(() -> {
+            throw new CanceledExecutionException("Expected");
+        });
+        try {
+            ThreadPool.awaitAll(Arrays.asList(canceled), IOException.class, "testing");
+            fail("Expected CanceledExecutionException");
+        } catch (CanceledExecutionException ex) {
+            assertEquals("Expected", ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Tests {@link VirtualThreads}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class VirtualThreadsTest {
+
+    /** Waiting tasks don't block each other, no matter how many threads the global pool has. */
+    @Test(timeout = 30000)
+    public void testWaitingTasksRunConcurrently() throws InterruptedException {
+        final int count = 4 * KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads() + 10;
+        final CountDownLatch allStarted = new CountDownLatch(count);
+        final CountDownLatch allFinished = new CountDownLatch(count);
+        final Executor executor = VirtualThreads.executor(false);
+        for (int i = 0; i < count; i++) {
+            executor.execute(() -> {
+                allStarted.countDown();
+                try {
+                    // only returns if all tasks run at the same time
+                    allStarted.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                allFinished.countDown();
+            });
+        }
+        Assert.assertTrue(allFinished.await(20, TimeUnit.SECONDS));
+    }
+
+    /** CPU-bound tasks are limited to the size of the global thread pool. */
+    @Test(timeout = 30000)
+    public void testCpuBoundTasksAreLimited() throws InterruptedException {
+        final int limit = KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch allFinished = new CountDownLatch(3 * limit);
+        final Executor executor = VirtualThreads.executor(true);
+        for (int i = 0; i < 3 * limit; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                allFinished.countDown();
+            });
+        }
+        Assert.assertTrue(allFinished.await(20, TimeUnit.SECONDS));
+        Assert.assertTrue("Too many concurrent tasks: " + maxRunning.get(), maxRunning.get() <= limit);
+    }
+}
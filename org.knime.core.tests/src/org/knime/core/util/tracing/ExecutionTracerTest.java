@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests {@link ExecutionTracer}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ExecutionTracerTest {
+
+    /** Completed spans and instant events reach registered listeners only. */
+    @Test
+    public void testListener() {
+        final List<TraceEvent> events = new ArrayList<>();
+        final TraceListener listener = events::add;
+        final boolean enabledBefore = ExecutionTracer.isEnabled();
+        ExecutionTracer.addListener(listener);
+        try {
+            Assert.assertTrue(ExecutionTracer.isEnabled());
+            try (ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.TABLE_WRITE, "table")) {
+                span.setRowCount(42).setByteCount(1024);
+            }
+            try (ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.TABLE_WRITE, "aborted")) {
+                span.discard();
+            }
+            ExecutionTracer.emit(TraceEventType.LOCK_WAIT, "lock", 5000, -1, -1);
+        } finally {
+            Assert.assertTrue(ExecutionTracer.removeListener(listener));
+        }
+        Assert.assertEquals(enabledBefore, ExecutionTracer.isEnabled());
+
+        Assert.assertEquals(2, events.size());
+        final TraceEvent write = events.get(0);
+        Assert.assertEquals(TraceEventType.TABLE_WRITE, write.getType());
+        Assert.assertEquals("table", write.getName());
+        Assert.assertEquals(42, write.getRowCount());
+        Assert.assertEquals(1024, write.getByteCount());
+        Assert.assertTrue(write.getDurationNanos() >= 0);
+        Assert.assertNull("No node context in test", write.getNodeID());
+        Assert.assertEquals(Thread.currentThread().getName(), write.getThreadName());
+
+        final TraceEvent lockWait = events.get(1);
+        Assert.assertEquals(TraceEventType.LOCK_WAIT, lockWait.getType());
+        Assert.assertEquals(5000, lockWait.getDurationNanos());
+        Assert.assertEquals(-1, lockWait.getRowCount());
+
+        // listener removed, nothing recorded
+        ExecutionTracer.emit(TraceEventType.LOCK_WAIT, "lock", 5000, -1, -1);
+        Assert.assertEquals(2, events.size());
+    }
+
+    /** Spans started while tracing is off are the shared no-op instance and never emit events. */
+    @Test
+    public void testDisabled() {
+        Assume.assumeFalse("Tracing enabled by system property", ExecutionTracer.isEnabled());
+        final ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.TABLE_WRITE, "table");
+        Assert.assertSame(ExecutionTracer.Span.NO_OP, span);
+        Assert.assertSame(span, span.setRowCount(42).setByteCount(1024));
+
+        final List<TraceEvent> events = new ArrayList<>();
+        final TraceListener listener = events::add;
+        ExecutionTracer.addListener(listener);
+        try {
+            span.close();
+        } finally {
+            ExecutionTracer.removeListener(listener);
+        }
+        Assert.assertTrue(events.isEmpty());
+    }
+}
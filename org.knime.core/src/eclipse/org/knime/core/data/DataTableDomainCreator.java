@@ -59,6 +59,7 @@
 import org.knime.core.data.DataColumnMetaDataCalculators.MetaDataCalculator;
 import org.knime.core.data.container.BlobWrapperDataCell;
 import org.knime.core.data.container.DataContainerSettings;
+import org.knime.core.data.util.QuantileSketch;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
@@ -99,6 +100,9 @@ public class DataTableDomainCreator {
 
     private final MetaDataCalculator[] m_metaDataCalculators;
 
+    /** Optional quantile sketches per column, null unless enabled via {@link #enableQuantileSketches(int)}. */
+    private QuantileSketch[] m_quantileSketches;
+
     /** The batch id. */
     private long m_batchId;
 
@@ -239,6 +243,40 @@ public DataTableDomainCreator(final DataTableDomainCreator toCopy) {
         m_batchId = toCopy.m_batchId;
         m_metaDataCalculators = Arrays.stream(toCopy.m_metaDataCalculators).map(DataColumnMetaDataCalculators::copy)
             .toArray(MetaDataCalculator[]::new);
+        if (toCopy.m_quantileSketches != null) {
+            m_quantileSketches = Arrays.stream(toCopy.m_quantileSketches).map(s -> s == null ? null : s.copy())
+                .toArray(QuantileSketch[]::new);
+        }
+    }
+
+    /**
+     * Enables the computation of {@link QuantileSketch quantile sketches} for all columns compatible with
+     * {@link DoubleValue}. The sketches are updated along with the domain in {@link #updateDomain(DataRow)} and are
+     * merged in {@link #merge(DataTableDomainCreator)}, so approximate quantiles are available after a single pass
+     * without sorting the data. Must be called before the first row is processed.
+     *
+     * @param k the accuracy parameter of the sketches, see {@link QuantileSketch#QuantileSketch(int)}
+     * @since 4.2
+     */
+    public void enableQuantileSketches(final int k) {
+        m_quantileSketches = new QuantileSketch[m_inputSpec.getNumColumns()];
+        for (int i = 0; i < m_quantileSketches.length; i++) {
+            if (m_inputSpec.getColumnSpec(i).getType().isCompatible(DoubleValue.class)) {
+                m_quantileSketches[i] = new QuantileSketch(k);
+            }
+        }
+    }
+
+    /**
+     * Returns the quantile sketch of a column as computed so far.
+     *
+     * @param colIndex the column index
+     * @return the sketch or <code>null</code> if sketches are not {@link #enableQuantileSketches(int) enabled} or the
+     *         column is not numeric
+     * @since 4.2
+     */
+    public QuantileSketch getQuantileSketch(final int colIndex) {
+        return m_quantileSketches == null ? null : m_quantileSketches[colIndex];
     }
 
     /**
@@ -394,6 +432,9 @@ public void updateDomain(final DataRow row) {
         for (DataCell c : row) {
             updateMinMax(i, c, m_mins, m_maxs, m_comparators);
             m_metaDataCalculators[i].update(c);
+            if (m_quantileSketches != null && m_quantileSketches[i] != null && c instanceof DoubleValue) {
+                m_quantileSketches[i].update(((DoubleValue)c).getDoubleValue());
+            }
             i++;
         }
     }
@@ -511,6 +552,10 @@ public void merge(final DataTableDomainCreator dataTableDomainCreator) {
             }
             DataColumnMetaDataCalculators.merge(m_metaDataCalculators[i],
                 dataTableDomainCreator.m_metaDataCalculators[i]);
+            final QuantileSketch otherSketch = dataTableDomainCreator.getQuantileSketch(i);
+            if (m_quantileSketches != null && m_quantileSketches[i] != null && otherSketch != null) {
+                m_quantileSketches[i].merge(otherSketch);
+            }
         }
     }
 
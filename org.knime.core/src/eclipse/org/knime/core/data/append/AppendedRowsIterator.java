@@ -46,7 +46,6 @@
 package org.knime.core.data.append;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -110,7 +109,7 @@ public class AppendedRowsIterator extends CloseableRowIterator {
     private DataRow m_nextRow;
 
     /** Map to check for duplicates. */
-    private final Map<RowKey, RowKey> m_duplicateMap;
+    private final SpillingDuplicateMap m_duplicateMap;
 
     /** has printed error message for duplicate entries? */
     private boolean m_hasPrintedError = false;
@@ -144,7 +143,7 @@ public class AppendedRowsIterator extends CloseableRowIterator {
         m_spec = CheckUtils.checkArgumentNotNull(spec);
         m_duplPolicy = CheckUtils.checkArgumentNotNull(duplPolicy);
         m_curItIndex = -1;
-        m_duplicateMap = new HashMap<RowKey, RowKey>();
+        m_duplicateMap = new SpillingDuplicateMap();
         m_curMapping = new int[m_spec.getNumColumns()];
         m_exec = exec;
         m_totalRowCount = totalRowCount;
@@ -354,11 +353,13 @@ private void initNextTable() {
     /**
      * Returns the set of all keys used in the resulting table.
      * @return unmodifiable set of all keys
+     * @throws IllegalStateException if the keys have been written to disc and the iterator has been closed, see
+     *             {@link #getDuplicateNameMap()}
      * @deprecated Use the key set of {@link #getDuplicateNameMap()} instead.
      */
     @Deprecated
     public Set<RowKey> getDuplicateHash() {
-        return Collections.unmodifiableSet(m_duplicateMap.keySet());
+        return Collections.unmodifiableSet(getDuplicateNameMap().keySet());
     }
 
     /** Get a map of keys in the resulting table to the keys in (any of)
@@ -369,10 +370,13 @@ public Set<RowKey> getDuplicateHash() {
      * <tr><td>Row2</td><td>Row2</td></tr>
      * <tr><td>Row1_dup</td><td>Row1</td></tr>
      * </table>
+     * If memory got low during the iteration, the keys have been written to disc and are read back by this method.
      * @return Such a map (unmodifiable)
+     * @throws IllegalStateException if the keys have been written to disc and the iterator has been closed (which
+     *             deletes the keys on disc)
      */
     public Map<RowKey, RowKey> getDuplicateNameMap() {
-        return Collections.unmodifiableMap(m_duplicateMap);
+        return m_duplicateMap.getNameMap();
     }
 
     /** {@inheritDoc} */
@@ -382,6 +386,7 @@ public void close() {
             ((CloseableRowIterator)m_curIterator).close();
         }
         m_nextRow = null;
+        m_duplicateMap.close();
         m_curIterator = null;
         m_curItIndex = m_iteratorSuppliers.length - 1;
     }
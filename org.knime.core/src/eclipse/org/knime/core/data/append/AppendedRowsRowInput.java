@@ -105,6 +105,23 @@ public DataRow poll() throws InterruptedException {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int poll(final DataRow[] buffer) throws InterruptedException {
+        int count = 0;
+        try {
+            while (count < buffer.length && m_iterator.hasNext()) {
+                buffer[count++] = m_iterator.next();
+            }
+        } catch (RuntimeCanceledExecutionException cancelEx) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            throw cancelEx;
+        }
+        return count;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {
@@ -0,0 +1,430 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.append;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.data.RowKey;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+
+/**
+ * The map of row keys used by {@link AppendedRowsIterator} to detect duplicates. It maps the keys of the output table
+ * to the keys in the input tables. The map is kept in memory until the {@link MemoryAlertSystem} reports low memory;
+ * its entries are then written to a run file on disc, sorted by a 64 bit fingerprint of the key, and only the
+ * fingerprints are kept in memory. Lookups of keys whose fingerprint is known read a single block of the respective
+ * run file.
+ *
+ * <p>
+ * The full map is read back from disc when requested, see {@link #getNameMap()}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class SpillingDuplicateMap {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SpillingDuplicateMap.class);
+
+    /** Memory alerts are ignored for fewer keys in memory (avoids many tiny run files). */
+    private static final int MIN_KEYS_TO_SPILL = 10000;
+
+    /** How often (in number of added keys) to check for low memory. */
+    private static final int MEMORY_CHECK_INTERVAL = 1024;
+
+    /** The number of entries in a block of a run file, each block is referenced from the in-memory index. */
+    private static final int BLOCK_SIZE = 128;
+
+    private final int m_maxKeysInMemory;
+
+    private final MemoryActionIndicator m_memoryIndicator;
+
+    /** The keys not written to disc yet. */
+    private Map<RowKey, RowKey> m_inMemory = new HashMap<>();
+
+    /** Fingerprints of the keys on disc, mapped to their run. */
+    private final FingerprintMap m_fingerprints = new FingerprintMap();
+
+    private final List<Run> m_runs = new ArrayList<>();
+
+    private int m_addsSinceMemoryCheck;
+
+    /** Whether run files have been deleted by {@link #close()}. */
+    private boolean m_isRunsDeleted;
+
+    /** Creates a map that writes keys to disc only if memory gets low. */
+    SpillingDuplicateMap() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxKeysInMemory the maximum number of keys kept in memory before they are written to disc (in addition
+     *            to low memory conditions), used for testing
+     */
+    SpillingDuplicateMap(final int maxKeysInMemory) {
+        m_maxKeysInMemory = maxKeysInMemory;
+        m_memoryIndicator = MemoryAlertSystem.getInstance().newIndicator();
+    }
+
+    /**
+     * @param key the key to check
+     * @return whether the key has been added before
+     */
+    boolean containsKey(final RowKey key) {
+        if (m_inMemory.containsKey(key)) {
+            return true;
+        }
+        if (m_runs.isEmpty()) {
+            return false;
+        }
+        final String id = key.getString();
+        final long fingerprint = fingerprint(id);
+        final int run = m_fingerprints.get(fingerprint);
+        if (run < 0) {
+            return false;
+        }
+        try {
+            if (m_runs.get(run).contains(fingerprint, id)) {
+                return true;
+            }
+            // another key with the same fingerprint may be contained in a different run
+            for (int r = 0; r < m_runs.size(); r++) {
+                if (r != run && m_runs.get(r).contains(fingerprint, id)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read row keys from disc: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds a key that is not contained in the map yet.
+     *
+     * @param key the key of the output table
+     * @param origKey the key in the input table
+     */
+    void put(final RowKey key, final RowKey origKey) {
+        m_inMemory.put(key, origKey);
+        final int inMemoryCount = m_inMemory.size();
+        boolean spill = inMemoryCount >= m_maxKeysInMemory;
+        if (!spill && ++m_addsSinceMemoryCheck >= MEMORY_CHECK_INTERVAL) {
+            m_addsSinceMemoryCheck = 0;
+            spill = inMemoryCount >= MIN_KEYS_TO_SPILL && m_memoryIndicator.lowMemoryActionRequired();
+        }
+        if (spill) {
+            try {
+                spill();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write row keys to disc: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /** @return whether keys have been written to disc. */
+    boolean hasSpilled() {
+        return !m_runs.isEmpty();
+    }
+
+    /**
+     * Returns the map from output keys to input keys. If keys have been written to disc, they are read back into a
+     * new map.
+     *
+     * @return the map (unmodifiable)
+     * @throws IllegalStateException if keys had been written to disc and the map has been {@link #close() closed}
+     * @throws UncheckedIOException if the keys can't be read from disc
+     */
+    Map<RowKey, RowKey> getNameMap() {
+        if (m_isRunsDeleted) {
+            throw new IllegalStateException("Row keys written to disc have been deleted when the iteration was closed");
+        }
+        if (!hasSpilled()) {
+            return Collections.unmodifiableMap(m_inMemory);
+        }
+        final Map<RowKey, RowKey> result = new HashMap<>();
+        try {
+            for (Run run : m_runs) {
+                run.readInto(result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read row keys from disc: " + e.getMessage(), e);
+        }
+        result.putAll(m_inMemory);
+        return Collections.unmodifiableMap(result);
+    }
+
+    /** Deletes the run files; the map must not be used afterwards unless it has not been spilled. */
+    void close() {
+        m_isRunsDeleted |= hasSpilled();
+        for (Run run : m_runs) {
+            run.delete();
+        }
+        m_runs.clear();
+    }
+
+    private void spill() throws IOException {
+        final int size = m_inMemory.size();
+        final long[] fingerprints = new long[size];
+        final String[] ids = new String[size];
+        final String[] origIds = new String[size];
+        final Integer[] order = new Integer[size];
+        int i = 0;
+        for (Map.Entry<RowKey, RowKey> e : m_inMemory.entrySet()) {
+            ids[i] = e.getKey().getString();
+            origIds[i] = e.getValue().getString();
+            fingerprints[i] = fingerprint(ids[i]);
+            order[i] = i;
+            i++;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(fingerprints[a], fingerprints[b]));
+        final int runIndex = m_runs.size();
+        final Run run = new Run(fingerprints, ids, origIds, order);
+        m_runs.add(run);
+        for (int f = 0; f < size; f++) {
+            m_fingerprints.put(fingerprints[f], runIndex);
+        }
+        LOGGER.debugWithFormat("Wrote %d row keys to disc (run %d) while concatenating tables", size, runIndex);
+        m_inMemory = new HashMap<>();
+    }
+
+    /**
+     * 64 bit fingerprint of a row key (FNV-1a followed by the final mix of MurmurHash3).
+     *
+     * @param id the string of the key
+     * @return the fingerprint
+     */
+    static long fingerprint(final String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** A file of keys (and their input keys) sorted by fingerprint along with an index of its blocks. */
+    private static final class Run {
+
+        private final File m_file;
+
+        /** The fingerprint of the first entry in each block. */
+        private final long[] m_blockFingerprints;
+
+        /** The file offset of each block, plus the file length as last element. */
+        private final long[] m_blockOffsets;
+
+        /** The number of entries. */
+        private final int m_size;
+
+        Run(final long[] fingerprints, final String[] ids, final String[] origIds, final Integer[] order)
+            throws IOException {
+            m_file = FileUtil.createTempFile("KNIME_RowKeys", ".bin", false);
+            m_size = order.length;
+            final int blockCount = (order.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            m_blockFingerprints = new long[blockCount];
+            m_blockOffsets = new long[blockCount + 1];
+            try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_file)))) {
+                for (int i = 0; i < order.length; i++) {
+                    if (i % BLOCK_SIZE == 0) {
+                        m_blockFingerprints[i / BLOCK_SIZE] = fingerprints[order[i]];
+                        m_blockOffsets[i / BLOCK_SIZE] = out.size();
+                    }
+                    out.writeLong(fingerprints[order[i]]);
+                    out.writeUTF(ids[order[i]]);
+                    out.writeUTF(origIds[order[i]]);
+                }
+                m_blockOffsets[blockCount] = out.size();
+            } catch (IOException e) {
+                delete();
+                throw e;
+            }
+        }
+
+        boolean contains(final long fingerprint, final String id) throws IOException {
+            // last block starting with a smaller fingerprint (equal fingerprints may span several blocks)
+            int block = Arrays.binarySearch(m_blockFingerprints, fingerprint);
+            block = block < 0 ? Math.max(0, -block - 2) : block;
+            while (block > 0 && m_blockFingerprints[block] >= fingerprint) {
+                block--;
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(m_file, "r")) {
+                for (; block < m_blockFingerprints.length; block++) {
+                    final byte[] bytes = new byte[(int)(m_blockOffsets[block + 1] - m_blockOffsets[block])];
+                    raf.seek(m_blockOffsets[block]);
+                    raf.readFully(bytes);
+                    final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+                    try {
+                        while (true) {
+                            final long f = in.readLong();
+                            final String s = in.readUTF();
+                            in.readUTF(); // input key
+                            if (f > fingerprint) {
+                                return false;
+                            } else if (f == fingerprint && s.equals(id)) {
+                                return true;
+                            }
+                        }
+                    } catch (EOFException e) { // NOSONAR end of block, continue with next one
+                    }
+                }
+            }
+            return false;
+        }
+
+        /** Adds all entries of the run to the map. */
+        void readInto(final Map<RowKey, RowKey> map) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(m_file)))) {
+                for (int i = 0; i < m_size; i++) {
+                    in.readLong();
+                    final String id = in.readUTF();
+                    map.put(new RowKey(id), new RowKey(in.readUTF()));
+                }
+            }
+        }
+
+        void delete() {
+            if (!m_file.delete() && m_file.exists()) {
+                LOGGER.debug("Unable to delete temporary file " + m_file.getAbsolutePath());
+            }
+        }
+    }
+
+    /** Open addressing hash map from fingerprints to run indices, using 12 bytes per slot. */
+    private static final class FingerprintMap {
+
+        private long[] m_keys = new long[1024];
+
+        private int[] m_values = new int[1024];
+
+        /** 0 is used as empty marker in m_keys; its value is kept separately (-1 if not contained). */
+        private int m_zeroValue = -1;
+
+        private int m_size;
+
+        int get(final long fingerprint) {
+            if (fingerprint == 0L) {
+                return m_zeroValue;
+            }
+            final int mask = m_keys.length - 1;
+            for (int i = slot(fingerprint, mask);; i = (i + 1) & mask) {
+                if (m_keys[i] == fingerprint) {
+                    return m_values[i];
+                } else if (m_keys[i] == 0L) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(final long fingerprint, final int value) {
+            if (fingerprint == 0L) {
+                m_zeroValue = value;
+                return;
+            }
+            if (2 * (m_size + 1) > m_keys.length) {
+                grow();
+            }
+            if (insert(m_keys, m_values, fingerprint, value)) {
+                m_size++;
+            }
+        }
+
+        private void grow() {
+            final long[] keys = new long[2 * m_keys.length];
+            final int[] values = new int[keys.length];
+            for (int i = 0; i < m_keys.length; i++) {
+                if (m_keys[i] != 0L) {
+                    insert(keys, values, m_keys[i], m_values[i]);
+                }
+            }
+            m_keys = keys;
+            m_values = values;
+        }
+
+        /** @return true if the fingerprint was not contained before */
+        private static boolean insert(final long[] keys, final int[] values, final long fingerprint,
+            final int value) {
+            final int mask = keys.length - 1;
+            for (int i = slot(fingerprint, mask);; i = (i + 1) & mask) {
+                if (keys[i] == 0L || keys[i] == fingerprint) {
+                    final boolean isNew = keys[i] == 0L;
+                    keys[i] = fingerprint;
+                    values[i] = value;
+                    return isNew;
+                }
+            }
+        }
+
+        private static int slot(final long fingerprint, final int mask) {
+            return (int)(fingerprint ^ (fingerprint >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.collection;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.DataCell;
+
+/**
+ * Base class of {@link ListCell} implementations that keep their elements in a primitive array rather than in a
+ * {@link BlobSupportDataCellList}. Elements are boxed into {@link DataCell} objects only when accessed via
+ * {@link #get(int)} or {@link #iterator()}; the list can't contain missing values or blobs.
+ *
+ * <p>
+ * Instances are created by the {@link CollectionCellFactory}, which chooses these implementations automatically if
+ * all elements are of the corresponding primitive cell type.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public abstract class AbstractPrimitiveListCell extends ListCell {
+
+    private static final long serialVersionUID = 7502885983274040054L;
+
+    AbstractPrimitiveListCell() {
+    }
+
+    /**
+     * Creates a new cell representing the element at the given position.
+     *
+     * @param index the position of the element
+     * @return a new cell, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    abstract DataCell createCell(final int index);
+
+    /** {@inheritDoc} */
+    @Override
+    public final DataCell get(final int index) {
+        return createCell(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Iterator<DataCell> iterator() {
+        return new Iterator<DataCell>() {
+            private int m_index;
+
+            @Override
+            public boolean hasNext() {
+                return m_index < size();
+            }
+
+            @Override
+            public DataCell next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return createCell(m_index++);
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean containsBlobWrapperCells() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned list is created on each invocation and boxes all elements, it should be avoided.
+     */
+    @Override
+    protected final BlobSupportDataCellList getList() {
+        final ArrayList<DataCell> cells = new ArrayList<DataCell>(size());
+        for (int i = 0; i < size(); i++) {
+            cells.add(createCell(i));
+        }
+        return new BlobSupportDataCellList(cells);
+    }
+
+}
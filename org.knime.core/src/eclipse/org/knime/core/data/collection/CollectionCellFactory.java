@@ -53,6 +53,9 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
 import org.knime.core.node.BufferedDataTable;
 
 import java.util.ArrayList;
@@ -86,6 +89,10 @@ private CollectionCellFactory() {
      */
     public static ListCell createListCell(
             final Collection<? extends DataCell> coll) {
+        final ListCell primitiveListCell = createPrimitiveListCell(coll, coll.size());
+        if (primitiveListCell != null) {
+            return primitiveListCell;
+        }
         final BlobSupportDataCellList l = BlobSupportDataCellList.create(coll);
         return new ListCell(l);
     }
@@ -104,7 +111,92 @@ public static ListCell createListCell(
     public static ListCell createListCell(final DataRow row, final int[] cols) {
         final BlobSupportDataCellList l =
             BlobSupportDataCellList.create(row, cols);
-        return new ListCell(l);
+        final ListCell primitiveListCell = createPrimitiveListCell(l, l.size());
+        return primitiveListCell != null ? primitiveListCell : new ListCell(l);
+    }
+
+    /**
+     * Creates a new {@link ListCell} containing {@link DoubleCell} elements, which is backed by a primitive array.
+     *
+     * @param values The values of the list (will be copied).
+     * @return A newly created {@link DoubleListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @since 4.2
+     */
+    public static DoubleListCell createDoubleListCell(final double[] values) {
+        return new DoubleListCell(values.clone());
+    }
+
+    /**
+     * Creates a new {@link ListCell} containing {@link IntCell} elements, which is backed by a primitive array.
+     *
+     * @param values The values of the list (will be copied).
+     * @return A newly created {@link IntListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @since 4.2
+     */
+    public static IntListCell createIntListCell(final int[] values) {
+        return new IntListCell(values.clone());
+    }
+
+    /**
+     * Creates a new {@link ListCell} containing {@link LongCell} elements, which is backed by a primitive array.
+     *
+     * @param values The values of the list (will be copied).
+     * @return A newly created {@link LongListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @since 4.2
+     */
+    public static LongListCell createLongListCell(final long[] values) {
+        return new LongListCell(values.clone());
+    }
+
+    /**
+     * Creates a primitive array backed list if all elements are {@link DoubleCell}, {@link IntCell} or
+     * {@link LongCell} (exactly, no subclasses, no missing values).
+     *
+     * @param coll The elements.
+     * @param size The number of elements.
+     * @return The list or null if the elements can't be represented by a primitive array (or the list is empty).
+     */
+    private static ListCell createPrimitiveListCell(final Iterable<? extends DataCell> coll, final int size) {
+        if (size == 0) {
+            return null;
+        }
+        final Class<? extends DataCell> cellClass = getCellClass(coll.iterator().next());
+        for (final DataCell c : coll) {
+            if (getCellClass(c) != cellClass) {
+                return null;
+            }
+        }
+        int i = 0;
+        if (cellClass == DoubleCell.class) {
+            final double[] values = new double[size];
+            for (final DataCell c : coll) {
+                values[i++] = ((DoubleCell)c).getDoubleValue();
+            }
+            return new DoubleListCell(values);
+        } else if (cellClass == IntCell.class) {
+            final int[] values = new int[size];
+            for (final DataCell c : coll) {
+                values[i++] = ((IntCell)c).getIntValue();
+            }
+            return new IntListCell(values);
+        } else if (cellClass == LongCell.class) {
+            final long[] values = new long[size];
+            for (final DataCell c : coll) {
+                values[i++] = ((LongCell)c).getLongValue();
+            }
+            return new LongListCell(values);
+        }
+        return null;
+    }
+
+    private static Class<? extends DataCell> getCellClass(final DataCell c) {
+        if (c == null) {
+            throw new NullPointerException("List element must not be null");
+        }
+        return c.getClass();
     }
 
     /**
@@ -58,6 +58,7 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.DataValue;
 
 /**
  * Default implementation of a {@link CollectionDataValue}, whereby the
@@ -102,6 +103,16 @@ protected ListCell(final BlobSupportDataCellList list) {
         m_list = list;
     }
 
+    /**
+     * Constructor for the primitive array backed subclasses, which don't keep a {@link BlobSupportDataCellList} and
+     * override all accessor methods instead.
+     *
+     * @see AbstractPrimitiveListCell
+     */
+    ListCell() {
+        m_list = null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public DataType getElementType() {
@@ -143,6 +154,26 @@ protected boolean equalsDataCell(final DataCell dc) {
         return m_list.equals(((ListCell)dc).m_list);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Compares element-wise, which is needed to consider a {@link ListCell} and its primitive array backed
+     * counterpart (e.g. {@link DoubleListCell}) as equal.
+     */
+    @Override
+    protected boolean equalContent(final DataValue otherValue) {
+        final ListDataValue o = (ListDataValue)otherValue;
+        if (!getElementType().equals(o.getElementType()) || size() != o.size()) {
+            return false;
+        }
+        for (int i = 0; i < size(); i++) {
+            if (!get(i).equals(o.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public int hashCode() {
@@ -0,0 +1,176 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * {@link ListCell} whose elements are all {@link LongCell}s, backed by a <code>long[]</code>. Use the
+ * {@link CollectionCellFactory} to create instances.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class LongListCell extends AbstractPrimitiveListCell {
+
+    private static final long serialVersionUID = -419592106530540831L;
+
+    private final long[] m_values;
+
+    /**
+     * @param values the values, not copied.
+     */
+    LongListCell(final long[] values) {
+        m_values = CheckUtils.checkArgumentNotNull(values);
+    }
+
+    /**
+     * Get the value at the given position without creating a {@link LongCell}.
+     *
+     * @param index the position of the element
+     * @return the value at that position
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getLong(final int index) {
+        return m_values[index];
+    }
+
+    /**
+     * @return a copy of the underlying array
+     */
+    public long[] getLongArray() {
+        return m_values.clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    DataCell createCell(final int index) {
+        return new LongCell(m_values[index]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataType getElementType() {
+        return LongCell.TYPE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return m_values.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean equalsDataCell(final DataCell dc) {
+        return Arrays.equals(m_values, ((LongListCell)dc).m_values);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Computed like {@link java.util.List#hashCode()} using {@link LongCell#hashCode()} for the elements so that an
+     * equal {@link ListCell} has the same hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < m_values.length; i++) {
+            hash = 31 * hash + (int)(m_values[i] ^ (m_values[i] >>> 32));
+        }
+        return hash;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return Arrays.toString(m_values);
+    }
+
+    /**
+     * Serializer for {@link LongListCell}s, writing the array in one block.
+     *
+     * @noreference This class is not intended to be referenced by clients.
+     */
+    public static final class LongListCellSerializer implements DataCellSerializer<LongListCell> {
+
+        /** {@inheritDoc} */
+        @Override
+        public void serialize(final LongListCell cell, final DataCellDataOutput output) throws IOException {
+            final long[] values = cell.m_values;
+            final ByteBuffer buffer = ByteBuffer.allocate(values.length * 8);
+            buffer.asLongBuffer().put(values);
+            output.writeInt(values.length);
+            output.write(buffer.array());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LongListCell deserialize(final DataCellDataInput input) throws IOException {
+            final int length = input.readInt();
+            if (length < 0) {
+                throw new IOException("Invalid size: " + length);
+            }
+            final byte[] bytes = new byte[length * 8];
+            input.readFully(bytes);
+            final long[] values = new long[length];
+            ByteBuffer.wrap(bytes).asLongBuffer().get(values);
+            return new LongListCell(values);
+        }
+    }
+}
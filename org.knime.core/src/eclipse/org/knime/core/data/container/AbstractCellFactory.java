@@ -80,6 +80,8 @@ public abstract class AbstractCellFactory implements CellFactory {
 
     private FileStoreFactory m_factory;
 
+    private boolean m_isVirtual;
+
     /** Creates instance, which will produce content for the columns as
      * specified by the array argument. The calculation is done sequentially
      * (no parallel processing of input).
@@ -226,6 +228,41 @@ public final int getMaxQueueSize() {
         return m_maxQueueSize;
     }
 
+    /** Marks the factory as cheap and free of side effects. The columns of such a factory are not written to disc
+     * when used in a {@link org.knime.core.node.ExecutionContext#createColumnRearrangeTable(
+     * org.knime.core.node.BufferedDataTable, ColumnRearranger, ExecutionMonitor) column rearrange table}, instead
+     * the cells are computed whenever the table is iterated (and when the table is saved). This property
+     * should only be set if
+     * <ul>
+     * <li>the computation of the cells is cheap compared to reading them from disc, e.g. for constants or simple
+     * arithmetic,</li>
+     * <li>the result of {@link #getCells(org.knime.core.data.DataRow)} only depends on the argument row; the method
+     * may be called concurrently, repeatedly, and long after the node has been executed,</li>
+     * <li>the factory does not create file stores (the {@link #getFileStoreFactory() file store factory} is not
+     * available for virtual columns).</li>
+     * </ul>
+     * Neither the progress methods nor {@link #afterProcessing()} are called for virtual columns. As the columns are
+     * not scanned, their domain is the one of the {@link #getColumnSpecs() column specs}. The columns are
+     * materialized anyway if a spec lacks the domain (bounds of bounded and possible values of nominal columns), if
+     * the rearranger also converts columns, if other (non-virtual) factories are involved, or if the input table is
+     * already the result of too many virtual tables (see
+     * {@link org.knime.core.node.KNIMEConstants#PROPERTY_VIRTUAL_COLUMNS_MAX_DEPTH}).
+     * @param value If the columns of this factory can be computed on the fly.
+     * @since 4.2
+     */
+    public final void setVirtual(final boolean value) {
+        m_isVirtual = value;
+    }
+
+    /** Returns true if the columns of this factory may be computed when the table is read rather than when it is
+     * created, see {@link #setVirtual(boolean)}.
+     * @return that property.
+     * @since 4.2
+     */
+    public final boolean isVirtual() {
+        return m_isVirtual;
+    }
+
     /** {@inheritDoc} */
     @Override
     public DataColumnSpec[] getColumnSpecs() {
@@ -83,6 +83,9 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
@@ -143,6 +146,8 @@
 import org.knime.core.util.LRUCache;
 import org.knime.core.util.MutableBoolean;
 import org.knime.core.util.ShutdownHelper;
+import org.knime.core.util.tracing.ExecutionTracer;
+import org.knime.core.util.tracing.TraceEventType;
 
 /**
  * A buffer writes the rows from a {@link DataContainer} to a file. This class serves as connector between the
@@ -272,10 +277,10 @@ public class Buffer implements KNIMEStreamConstants {
     private static final String CFG_SIZE_L = "table.size.long";
 
     /** Current version string. */
-    public static final String VERSION = "container_12";
+    public static final String VERSION = "container_13";
 
     /** The version number corresponding to {@link #VERSION}. */
-    public static final int IVERSION = 12;
+    public static final int IVERSION = 13;
 
     private static final HashMap<String, Integer> COMPATIBILITY_MAP;
 
@@ -292,7 +297,8 @@ public class Buffer implements KNIMEStreamConstants {
         COMPATIBILITY_MAP.put("container_9", 9); // never released - some workflow tests contain it (BW used a nightly)
         COMPATIBILITY_MAP.put("container_10", 10); // version 3.6 (multiple table formats)
         COMPATIBILITY_MAP.put("container_11", 11); // version 3.7 - add FileStoreCell support for multiple FileStores
-        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.8 - changed default compression to Snappy
+        COMPATIBILITY_MAP.put("container_12", 12); // version 3.8 - changed default compression to Snappy
+        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 4.2 - packed row keys
         // NOTE consider to also
         // - increment the workflow.knime version number when updating this list
         // - update list in NoKeyBuffer
@@ -397,9 +403,19 @@ public class Buffer implements KNIMEStreamConstants {
         DISCOURAGE_GC = discourageGc;
     }
 
+    /** See {@link KNIMEConstants#PROPERTY_TABLE_READ_AHEAD}. */
+    private static final boolean READ_AHEAD =
+        !"false".equalsIgnoreCase(System.getProperty(KNIMEConstants.PROPERTY_TABLE_READ_AHEAD));
+
+    /** The maximum number of bytes of a table file that are read into the file system cache by {@link #prefetch()}. */
+    private static final long MAX_PREFETCH_BYTES = 512L << 20;
+
     /** A cache for holding tables in memory. */
     private static final BufferCache CACHE = new BufferCache();
 
+    /** The number of (estimated) bytes of added rows that are reserved at once in the memory budget. */
+    private static final long MEMORY_RESERVATION_CHUNK = 256 * 1024;
+
     /** A single-threaded executor for asynchronous disk I/O threads. */
     static final ExecutorService ASYNC_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
         private final AtomicInteger m_threadCount = new AtomicInteger();
@@ -411,6 +427,47 @@ public Thread newThread(final Runnable r) {
         }
     });
 
+    /** A daemon executor for reading tables ahead of their consumers, threads time out when idle. */
+    private static final ThreadPoolExecutor READ_AHEAD_EXECUTOR;
+    static {
+        final int nrThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        READ_AHEAD_EXECUTOR = new ThreadPoolExecutor(nrThreads, nrThreads, 10L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger m_threadCount = new AtomicInteger();
+
+                /** {@inheritDoc} */
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread t = new Thread(r, "KNIME-TableReadAhead-" + m_threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        READ_AHEAD_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * A single-threaded daemon executor for {@link #prefetch()}, separate from {@link #READ_AHEAD_EXECUTOR} such that
+     * reading files into the file system cache doesn't delay the decoding of batches for active iterators. The thread
+     * times out when idle.
+     */
+    private static final ThreadPoolExecutor PREFETCH_EXECUTOR;
+    static {
+        PREFETCH_EXECUTOR = new ThreadPoolExecutor(1, 1, 10L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactory() {
+                private final AtomicInteger m_threadCount = new AtomicInteger();
+
+                /** {@inheritDoc} */
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread t = new Thread(r, "KNIME-TablePrefetch-" + m_threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        PREFETCH_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
     /**
      * Hash used to reduce the overhead of reading a blob cell over and over again. Useful in cases where a blob is
      * added multiple times to a table... the iterator will read the blob address, treat it as unseen and then ask the
@@ -524,9 +581,24 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
     /** A flag that is set when this buffer has been flushed to disk (for whatever reason). */
     private boolean m_flushedToDisk;
 
-    /** maximum number of rows that are in memory. */
+    /** maximum number of rows that are in memory (unless decided by memory budget). */
     private final int m_maxRowsInMem;
 
+    /**
+     * Whether the global memory budget (instead of {@link #m_maxRowsInMem}) decides if the table is small enough to be
+     * kept in memory, see {@link BufferCache#reserveMemory(Buffer, long, boolean)}.
+     */
+    private final boolean m_useMemoryBudget;
+
+    /** Estimates the size of rows added to the buffer, only non-null if {@link #m_useMemoryBudget} is set. */
+    private final RowSizeEstimator m_sizeEstimator;
+
+    /** Estimated bytes of rows in {@link #m_listWhileAddRow} that have not yet been reserved in the memory budget. */
+    private long m_unreservedBytes;
+
+    /** Set when the memory budget refused to reserve memory for the rows of this buffer. */
+    private boolean m_exceedsMemoryBudget;
+
     /**
      * A table held in memory while still being modifiable and before being added to the cache. This is only ever true
      * when the writing buffer is not closed and rows are still being added to it. Setting this field to
@@ -559,6 +631,9 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
      */
     private final BufferResourceRegistry m_openResources = new BufferResourceRegistry();
 
+    /** Whether {@link #prefetch()} is currently reading m_binFile. */
+    private final AtomicBoolean m_isPrefetching = new AtomicBoolean();
+
     /** Number of open file input streams on m_binFile. */
     private AtomicInteger m_nrOpenInputStreams = new AtomicInteger();
 
@@ -635,6 +710,8 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         m_flushedToDisk = false;
         m_bufferSettings = settings;
         m_maxRowsInMem = maxRowsInMemory;
+        m_useMemoryBudget = maxRowsInMemory > 0 && settings.useMemoryBudget() && CACHE.isMemoryBudgetEnabled();
+        m_sizeEstimator = m_useMemoryBudget ? new RowSizeEstimator(spec.getNumColumns()) : null;
         m_lifecycle = m_bufferSettings.useLRU() ? new SoftRefLRULifecycle() : new MemorizeIfSmallLifecycle();
         CACHE.setLRUCacheSize(m_bufferSettings.getLRUCacheSize());
         /**
@@ -710,6 +787,8 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         m_flushedToDisk = true;
         m_bufferSettings = settings;
         m_maxRowsInMem = 0;
+        m_useMemoryBudget = false;
+        m_sizeEstimator = null;
         m_lifecycle = m_bufferSettings.useLRU() ? new SoftRefLRULifecycle() : new MemorizeIfSmallLifecycle();
         CACHE.setLRUCacheSize(m_bufferSettings.getLRUCacheSize());
         try {
@@ -820,7 +899,7 @@ synchronized void addBlobSupportDataRow(final BlobSupportDataRow row) throws IOE
         }
         if (m_listWhileAddRow != null) {
             m_listWhileAddRow.add(row);
-            if (m_listWhileAddRow.size() > m_maxRowsInMem) {
+            if (exceedsMemoryThreshold(row)) {
                 m_lifecycle.onAddRowToLargeList();
             }
         } else {
@@ -829,6 +908,36 @@ synchronized void addBlobSupportDataRow(final BlobSupportDataRow row) throws IOE
         }
     }
 
+    /**
+     * Whether the rows added so far exceed the threshold for tables that are kept in memory, which is either given by
+     * the row count or by the memory budget.
+     *
+     * @param row the row that was just added
+     */
+    private boolean exceedsMemoryThreshold(final BlobSupportDataRow row) {
+        if (!m_useMemoryBudget) {
+            return m_listWhileAddRow.size() > m_maxRowsInMem;
+        }
+        if (!m_exceedsMemoryBudget) {
+            m_unreservedBytes += m_sizeEstimator.estimate(row);
+            if (m_unreservedBytes >= MEMORY_RESERVATION_CHUNK) {
+                if (!CACHE.reserveMemory(this, m_unreservedBytes, false)) {
+                    m_exceedsMemoryBudget = true;
+                    CACHE.releaseMemory(this);
+                }
+                m_unreservedBytes = 0;
+            }
+        }
+        return m_exceedsMemoryBudget;
+    }
+
+    /**
+     * Whether the table is small enough to be kept in memory (as hard reference) after the buffer has been closed.
+     */
+    private boolean isSmall() {
+        return m_useMemoryBudget ? !m_exceedsMemoryBudget : size() <= m_maxRowsInMem;
+    }
+
     /**
      * @throws IOException
      */
@@ -1208,6 +1317,19 @@ synchronized void close(final DataTableSpec spec) {
     /** Closes by creating shortcut array for file access. */
     void closeInternal() {
         assert Thread.holdsLock(this);
+        if (m_listWhileAddRow != null && m_useMemoryBudget && !m_exceedsMemoryBudget && m_unreservedBytes > 0) {
+            // the last rows count like all others, the table is large if they don't fit into the budget anymore
+            if (!CACHE.reserveMemory(this, m_unreservedBytes, false)) {
+                m_exceedsMemoryBudget = true;
+                CACHE.releaseMemory(this);
+                try {
+                    m_lifecycle.onAddRowToLargeList();
+                } catch (IOException e) {
+                    throw new RuntimeException("Error while writing to buffer: " + e.getMessage(), e);
+                }
+            }
+            m_unreservedBytes = 0;
+        }
         if (m_listWhileAddRow != null) {
             // buffer still held in memory; can be cached
             CACHE.put(Buffer.this, m_listWhileAddRow);
@@ -1215,8 +1337,13 @@ void closeInternal() {
             m_lifecycle.onCloseIfCached();
         } else {
             // buffer has been flushed during initialization or by DC due to low memory event
-            flushBuffer();
-            closeWriterAndWriteMeta();
+            try (ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.TABLE_WRITE, getTraceName())) {
+                flushBuffer();
+                closeWriterAndWriteMeta();
+                if (ExecutionTracer.isEnabled()) {
+                    span.setRowCount(m_size).setByteCount(m_hasTempFile ? m_binFile.length() : -1);
+                }
+            }
         }
         m_localRepository = null;
     }
@@ -1396,6 +1523,39 @@ boolean isFlushedToDisk() {
         return m_flushedToDisk;
     }
 
+    /**
+     * Reads the file of this buffer in a background thread to get it into the file system cache of the operating
+     * system, so that a subsequent iteration doesn't have to wait for the disk. Does nothing if the table is held in
+     * memory, if the file is already being read, or if read-ahead is disabled via
+     * {@link KNIMEConstants#PROPERTY_TABLE_READ_AHEAD}.
+     *
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 4.2
+     */
+    public void prefetch() {
+        // not synchronized as it's called while the workflow is locked; a stale state only means a needless read
+        if (!READ_AHEAD || m_isClearedLock.booleanValue() || !isFlushedToDisk() || m_binFile == null
+            || CACHE.contains(this) || !m_isPrefetching.compareAndSet(false, true)) {
+            return;
+        }
+        final File binFile = m_binFile;
+        PREFETCH_EXECUTOR.execute(() -> {
+            final byte[] chunk = new byte[1 << 20];
+            long bytesRead = 0;
+            try (InputStream in = new FileInputStream(binFile)) {
+                int read;
+                while (bytesRead < MAX_PREFETCH_BYTES && (read = in.read(chunk)) >= 0) {
+                    bytesRead += read;
+                }
+            } catch (IOException e) {
+                // file may have been deleted in the meantime, the actual iteration will report problems
+                LOGGER.debug("Unable to prefetch table file \"" + binFile.getAbsolutePath() + "\"", e);
+            } finally {
+                m_isPrefetching.set(false);
+            }
+        });
+    }
+
     /**
      * Does the buffer reside in memory? Use with caution and consider: if the table is held in the cache but has been
      * cleared for garbage collection, this method will return <code>true</code>, even though the table could be
@@ -1632,6 +1792,8 @@ final synchronized CloseableRowIterator iteratorWithFilter(final TableFilter fil
         final List<BlobSupportDataRow> list = obtainListFromCacheOrBackIntoMemoryIterator();
         if (list == null) {
 
+            traceFileRead();
+
             // Case 1: We don't have have the table in memory and want to iterate it back into memory.
             if (m_useBackIntoMemoryIterator) {
                 m_useBackIntoMemoryIterator = false;
@@ -1649,11 +1811,15 @@ final synchronized CloseableRowIterator iteratorWithFilter(final TableFilter fil
             // Case 2: We don't have have the table in memory.
             final TableStoreCloseableRowIterator tableStoreIt =
                 filter == null ? m_outputReader.iterator() : m_outputReader.iteratorWithFilter(filter, exec);
-            // register the table store iterator with this buffer
             tableStoreIt.setBuffer(this);
+            // decode rows in the background unless the table is too small for it to pay off
+            final TableStoreCloseableRowIterator it = READ_AHEAD && size() > 2 * ReadAheadRowIterator.BATCH_SIZE
+                ? new ReadAheadRowIterator(tableStoreIt, READ_AHEAD_EXECUTOR) : tableStoreIt;
+            // register the table store iterator with this buffer
+            it.setBuffer(this);
             m_nrOpenInputStreams.incrementAndGet();
-            m_openResources.register(tableStoreIt, tableStoreIt);
-            return tableStoreIt;
+            m_openResources.register(it, it);
+            return it;
 
         } else {
             final BackIntoMemoryIterator backIntoMemoryIt =
@@ -1669,12 +1835,12 @@ final synchronized CloseableRowIterator iteratorWithFilter(final TableFilter fil
                         new FromListRangeIterator(list, fromIndex, toIndex, exec);
 
                     /**
-                     * In a future world (a world of predicates, see AP-11805), the filter might be configured to keep
-                     * only rows with an index between 1000 and 2000 and a value greater than 42 in column 13. The
-                     * rangeIterator will take care of only returning rows with an index between 1000 and 2000. In
-                     * fact, it will return the row with index 1000 as its first row. Therefore, the
-                     * FilterDelegateRowIterator that handles the column-13-greater-than-42-predicate, has to be
-                     * provided with a copied filter with adjusted from- and toRowIndices.
+                     * The filter might be configured to keep only rows with an index between 1000 and 2000 and a
+                     * value greater than 42 in column 13. The rangeIterator will take care of only returning rows
+                     * with an index between 1000 and 2000. In fact, it will return the row with index 1000 as its
+                     * first row. Therefore, the FilterDelegateRowIterator that handles the
+                     * column-13-greater-than-42-predicate, has to be provided with a copied filter with adjusted
+                     * from- and toRowIndices.
                      */
                     final TableFilter offsetFilter = new TableFilter.Builder(filter)//
                         .withFromRowIndex(0)//
@@ -1932,6 +2098,15 @@ Long getUniqueID() {
         return m_uniqueID;
     }
 
+    /**
+     * Get the number of bytes reserved for this buffer in the global memory budget. For testing purposes only.
+     *
+     * @return the reserved bytes, 0 if none
+     */
+    long getReservedMemory() {
+        return CACHE.getReservedMemory(this);
+    }
+
     /**
      * Get the number of open input streams associated with this buffer. For testing purposes only.
      *
@@ -2012,6 +2187,10 @@ synchronized void clear() {
         }
 
         m_lifecycle.onClear();
+        if (m_useMemoryBudget) {
+            /** release the reservation in the memory budget, also if the table never made it into the cache */
+            CACHE.releaseMemory(this);
+        }
     }
 
     private static final int MAX_FILES_TO_CREATE_BEFORE_GC = 10000;
@@ -2057,8 +2236,24 @@ private static void logDebug(final String message, final Throwable t) {
         }
     }
 
+    /** Emits a {@link TraceEventType#TABLE_READ} event for an iteration on the file. */
+    private void traceFileRead() {
+        if (ExecutionTracer.isEnabled()) {
+            ExecutionTracer.emit(TraceEventType.TABLE_READ, getTraceName(), 0, m_size,
+                m_binFile != null ? m_binFile.length() : -1);
+        }
+    }
+
+    /** @return the name used in trace events */
+    private String getTraceName() {
+        return m_binFile != null ? m_binFile.getName() : ("Buffer " + m_bufferID);
+    }
+
     /** Write all rows from list into file. Used while rows are added and if low mem condition is met. */
     synchronized void flushBuffer() {
+        if (m_useMemoryBudget && m_listWhileAddRow != null) {
+            CACHE.releaseMemory(this);
+        }
         writeList(m_listWhileAddRow);
         m_listWhileAddRow = null; // don't write to internal cache any more
     }
@@ -2597,6 +2792,9 @@ private static final class BufferFlusher extends BufferMemoryAlertListener {
 
         private final WeakReference<Buffer> m_bufferRef;
 
+        /** Set once the buffer has been submitted for writing, either on memory alert or by the memory budget. */
+        private final AtomicBoolean m_isFlushed = new AtomicBoolean();
+
         BufferFlusher(final Buffer buffer) {
             m_bufferRef = new WeakReference<>(buffer);
         }
@@ -2604,12 +2802,24 @@ private static final class BufferFlusher extends BufferMemoryAlertListener {
         @Override
         protected boolean memoryAlert(final MemoryAlert alert) {
             final Buffer buffer = m_bufferRef.get();
-            if (buffer != null) {
+            if (buffer != null && m_isFlushed.compareAndSet(false, true)) {
+                ExecutionTracer.emit(TraceEventType.MEMORY_ALERT_FLUSH, buffer.getTraceName(), 0, buffer.size(), -1);
                 ASYNC_EXECUTOR.submit(new ASyncWriteCallable(buffer));
                 LOGGER.debugWithFormat("Writing %d rows in order to free memory.", buffer.size());
             }
             return true;
         }
+
+        /** Called by the {@link BufferCache} to free memory budget for other tables. */
+        void evict() {
+            final Buffer buffer = m_bufferRef.get();
+            if (buffer != null && m_isFlushed.compareAndSet(false, true)) {
+                ASYNC_EXECUTOR.submit(new ASyncWriteCallable(buffer));
+                LOGGER.debugWithFormat("Writing %d rows in order to free memory budget for other tables.",
+                    buffer.size());
+            }
+            unregister();
+        }
     }
 
     /**
@@ -2651,7 +2861,7 @@ interface Lifecycle {
 
         /**
          * Synchronously called after adding a row to this buffer's m_listWhileAddRow if it is larger than
-         * m_maxRowsInMem
+         * m_maxRowsInMem or exceeds the memory budget
          *
          * @throws IOException any kind of I/O error when handling the data row
          */
@@ -2717,8 +2927,10 @@ public void onAddRowToLargeList() {
         public void onCloseIfCached() {
             assert Thread.holdsLock(Buffer.this);
 
-            m_memoryAlertListener = new BufferFlusher(Buffer.this);
-            m_memoryAlertListener.register();
+            final BufferFlusher flusher = new BufferFlusher(Buffer.this);
+            flusher.register();
+            CACHE.setEvictor(Buffer.this, flusher::evict);
+            m_memoryAlertListener = flusher;
         }
 
         @Override
@@ -2795,9 +3007,11 @@ public void onCloseIfCached() {
             m_fitsIntoMemory = true;
             setRestoreIntoMemoryOnCacheMiss();
 
-            if (size() <= m_maxRowsInMem) {
-                m_memoryAlertListener = new BufferFlusher(Buffer.this);
-                m_memoryAlertListener.register();
+            if (isSmall()) {
+                final BufferFlusher flusher = new BufferFlusher(Buffer.this);
+                flusher.register();
+                CACHE.setEvictor(Buffer.this, flusher::evict);
+                m_memoryAlertListener = flusher;
             } else {
                 /**
                  * We'd like to flush early so that we can garbage-collect if memory becomes critical and we don't run out
@@ -2943,31 +3157,39 @@ public final Void call() throws Exception {
                 }
                 // END debug AP-13181 buffers not being cleared when workflow is closed and cleaned up
 
-                buffer.ensureWriterIsOpen();
-                final List<BlobSupportDataRow> list = CACHE.getSilent(buffer).get();
-                final AbstractTableStoreWriter outputWriter = buffer.m_outputWriter;
-                buffer = null;
+                try (ExecutionTracer.Span span =
+                    ExecutionTracer.begin(TraceEventType.TABLE_WRITE, buffer.getTraceName())) {
+                    buffer.ensureWriterIsOpen();
+                    final List<BlobSupportDataRow> list = CACHE.getSilent(buffer).get();
+                    final AbstractTableStoreWriter outputWriter = buffer.m_outputWriter;
+                    buffer = null;
+
+                    if (list != null) {
+                        for (BlobSupportDataRow rowInList : list) {
+                            /** Writer thread has been cancelled during clear(). */
+                            if (Thread.currentThread().isInterrupted()) {
+                                span.discard();
+                                return null;
+                            }
 
-                if (list != null) {
-                    for (BlobSupportDataRow rowInList : list) {
-                        /** Writer thread has been cancelled during clear(). */
-                        if (Thread.currentThread().isInterrupted()) {
-                            return null;
+                            outputWriter.writeRow(rowInList);
                         }
-
-                        outputWriter.writeRow(rowInList);
                     }
-                }
 
-                buffer = m_bufferRef.get();
-                if (buffer == null) {
-                    /** Buffer was already discarded */
-                    return null;
-                }
-                /** Prevent asynchronous clearing of buffer during close. */
-                synchronized (buffer.m_isClearedLock) {
-                    buffer.closeWriterAndWriteMeta();
-                    buffer.m_lifecycle.onWriteSuccessful();
+                    buffer = m_bufferRef.get();
+                    if (buffer == null) {
+                        /** Buffer was already discarded */
+                        span.discard();
+                        return null;
+                    }
+                    /** Prevent asynchronous clearing of buffer during close. */
+                    synchronized (buffer.m_isClearedLock) {
+                        buffer.closeWriterAndWriteMeta();
+                        buffer.m_lifecycle.onWriteSuccessful();
+                    }
+                    if (ExecutionTracer.isEnabled()) {
+                        span.setRowCount(buffer.m_size).setByteCount(buffer.m_binFile.length());
+                    }
                 }
                 buffer = null;
 
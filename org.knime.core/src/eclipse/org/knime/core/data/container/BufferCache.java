@@ -51,16 +51,21 @@
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 
 import org.knime.core.data.util.memory.MemoryAlert;
 import org.knime.core.data.util.memory.MemoryAlertListener;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.LRUCache;
@@ -74,6 +79,12 @@
  * tables are cleared for garbage collection before they have been flushed to disk. How this cache is used by the
  * {@link Buffer} class is specified by means of a Lifecycle.
  *
+ * <p>Optionally, the cache also manages a global memory budget for the hard-referenced tables (see
+ * {@link KNIMEConstants#PROPERTY_TABLE_MEMORY_BUDGET}). Buffers reserve the estimated size of their rows while they are
+ * written; a table is only hard-referenced as a "small" table if its reservation succeeded. If the budget is exhausted,
+ * the least recently used hard-referenced tables are written to disk (and thereby released from the budget) to make
+ * room for new tables.
+ *
  * @author Marc Bux, KNIME GmbH, Berlin, Germany
  */
 final class BufferCache {
@@ -91,9 +102,10 @@ final class BufferCache {
     /**
      * A map of hard references to tables held in this cache. Caution: the garbage collector will not clear these
      * automatically. We use the buffer itself as key, since multiple buffers can have the same id. The Map has to have
-     * weak keys such that unreferenced buffers can be garbage-collected if we forget to clear them.
+     * weak keys such that unreferenced buffers can be garbage-collected if we forget to clear them. The map is in
+     * access order such that the least recently used tables are evicted first when the memory budget is exhausted.
      */
-    private final Map<Long, List<BlobSupportDataRow>> m_hardMap = new HashMap<>();
+    private final Map<Long, List<BlobSupportDataRow>> m_hardMap = new LinkedHashMap<>(16, 0.75f, true);
 
     /**
      * A number that determines how many tables are kept in the soft-references LRU cache before being weak-referenced.
@@ -133,6 +145,33 @@ protected boolean memoryAlert(final MemoryAlert alert) {
         }
     };
 
+    /** The default share of the heap (in percent) that the tables within the memory budget may occupy. */
+    static final int DEF_MEMORY_BUDGET_PERCENT = 10;
+
+    /** The maximum share of the memory budget a single table may occupy. */
+    private static final double MAX_TABLE_SHARE = 0.5;
+
+    /** The memory budget in bytes or 0 if buffers decide by their row count which tables to keep in memory. */
+    private final long m_memoryBudget = initMemoryBudget();
+
+    /** The estimated bytes reserved per buffer, both while the buffer is written and while its table is cached. */
+    private final Map<Long, Long> m_reservedBytes = new HashMap<>();
+
+    /** The sum of {@link #m_reservedBytes}. */
+    private long m_totalReservedBytes = 0;
+
+    /**
+     * Callbacks that asynchronously write tables within the memory budget to disk, thereby releasing their reservation.
+     * An entry is removed once the callback has been invoked.
+     */
+    private final Map<Long, Runnable> m_evictors = new HashMap<>();
+
+    /** The buffers whose tables are currently written to disk in order to free the memory budget. */
+    private final Set<Long> m_evicting = new HashSet<>();
+
+    /** The bytes reserved by the buffers in {@link #m_evicting}. */
+    private long m_evictingBytes = 0;
+
     /** Some counters for instrumentation / statistics. */
     private long m_nTables = 0;
 
@@ -150,12 +189,39 @@ protected boolean memoryAlert(final MemoryAlert alert) {
 
     private long m_nMisses = 0;
 
+    private long m_nEvictedTables = 0;
+
     private long m_timeOfLastLog = System.currentTimeMillis();
 
     BufferCache() {
         MemoryAlertSystem.getInstanceUncollected().addListener(m_memoryAlertListener);
     }
 
+    /**
+     * Initializes the memory budget w.r.t. the defined properties.
+     *
+     * @return the memory budget in bytes
+     */
+    private static long initMemoryBudget() {
+        int percent = DEF_MEMORY_BUDGET_PERCENT;
+        final String envBudget = KNIMEConstants.PROPERTY_TABLE_MEMORY_BUDGET;
+        final String valBudget = System.getProperty(envBudget);
+        if (valBudget != null) {
+            try {
+                final int newPercent = Integer.parseInt(valBudget.trim());
+                if (newPercent < 0 || newPercent > 100) {
+                    throw new NumberFormatException("memory budget not in [0, 100]: " + newPercent);
+                }
+                percent = newPercent;
+                LOGGER.debug("Setting memory budget for tables to " + percent + "% of the heap");
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property " + envBudget + ", using default (" + DEF_MEMORY_BUDGET_PERCENT
+                    + "%)", e);
+            }
+        }
+        return Runtime.getRuntime().maxMemory() / 100 * percent;
+    }
+
     private void logStatistics() {
         while (m_weakCacheRefQueue.poll() != null) {
             m_nGCedTables++;
@@ -180,6 +246,11 @@ private void logStatistics() {
             LOGGER.debugWithFormat("\t%d cache hits (softly referenced)", m_nSoftHits);
             LOGGER.debugWithFormat("\t%d cache hits (weakly referenced)", m_nWeakHits);
             LOGGER.debugWithFormat("\t%d cache misses", m_nMisses);
+            if (isMemoryBudgetEnabled()) {
+                LOGGER.debugWithFormat("\t%d tables written to disk to stay within memory budget", m_nEvictedTables);
+                LOGGER.debugWithFormat("\t%d of %d bytes of memory budget reserved", m_totalReservedBytes,
+                    m_memoryBudget);
+            }
 
             m_timeOfLastLog = time;
             assert m_nAccesses == m_nHardHits + m_nSoftHits + m_nWeakHits + m_nMisses;
@@ -234,6 +305,7 @@ synchronized void clearForGarbageCollection(final Buffer buffer) {
         }
 
         m_hardMap.remove(buffer.getUniqueID());
+        releaseMemoryInternal(buffer.getUniqueID());
     }
 
     /**
@@ -343,6 +415,7 @@ synchronized void invalidate(final Buffer buffer) {
         final Long uniqueId = buffer.getUniqueID();
 
         m_hardMap.remove(uniqueId);
+        releaseMemoryInternal(uniqueId);
         m_LRUCache.remove(uniqueId);
         final WeakReference<List<BlobSupportDataRow>> previousValue = m_weakCache.remove(uniqueId);
 
@@ -351,6 +424,122 @@ synchronized void invalidate(final Buffer buffer) {
         }
     }
 
+    /**
+     * @return whether buffers decide by means of the memory budget which tables are small enough to be kept in memory
+     */
+    boolean isMemoryBudgetEnabled() {
+        return m_memoryBudget > 0;
+    }
+
+    /**
+     * @return the memory budget in bytes, 0 if disabled
+     */
+    long getMemoryBudget() {
+        return m_memoryBudget;
+    }
+
+    /**
+     * Reserves memory for rows that are added to a buffer. If the budget is exhausted, least recently used tables
+     * within the budget are written to disk asynchronously to make room, unless that wouldn't free enough memory or the
+     * buffer would take more than its share of the budget.
+     *
+     * @param buffer the buffer whose table is to be kept in memory
+     * @param bytes the estimated size of the rows in bytes
+     * @param force whether to reserve the memory even if that exceeds the budget
+     * @return <code>true</code> if the memory was reserved, <code>false</code> if the table should not be kept in
+     *         memory
+     */
+    boolean reserveMemory(final Buffer buffer, final long bytes, final boolean force) {
+        CheckUtils.checkArgumentNotNull(buffer);
+        final List<Runnable> evictors = new ArrayList<>();
+        synchronized (this) {
+            final Long uniqueId = buffer.getUniqueID();
+            final long reservedBytes = m_reservedBytes.getOrDefault(uniqueId, 0L);
+            if (!force) {
+                if (reservedBytes + bytes > m_memoryBudget * MAX_TABLE_SHARE) {
+                    return false;
+                }
+                final long excess = m_totalReservedBytes - m_evictingBytes + bytes - m_memoryBudget;
+                if (excess > 0 && !collectEvictors(excess, evictors)) {
+                    return false;
+                }
+            }
+            m_reservedBytes.put(uniqueId, reservedBytes + bytes);
+            m_totalReservedBytes += bytes;
+        }
+        /** Evictors only submit asynchronous writes, they are invoked outside the lock to keep it short. */
+        evictors.forEach(Runnable::run);
+        return true;
+    }
+
+    /** Collects the evictors of least recently used tables that together free at least the given number of bytes. */
+    private boolean collectEvictors(final long bytesToFree, final List<Runnable> evictors) {
+        final List<Long> victims = new ArrayList<>();
+        long freedBytes = 0;
+        for (Long uniqueId : m_hardMap.keySet()) {
+            if (freedBytes >= bytesToFree) {
+                break;
+            }
+            if (m_evictors.containsKey(uniqueId)) {
+                victims.add(uniqueId);
+                freedBytes += m_reservedBytes.getOrDefault(uniqueId, 0L);
+            }
+        }
+        if (freedBytes < bytesToFree) {
+            return false;
+        }
+        for (Long uniqueId : victims) {
+            evictors.add(m_evictors.remove(uniqueId));
+            m_evicting.add(uniqueId);
+            m_evictingBytes += m_reservedBytes.getOrDefault(uniqueId, 0L);
+            m_nEvictedTables++;
+        }
+        return true;
+    }
+
+    /**
+     * Sets the callback that writes the table of a buffer to disk in case its memory is needed for other tables. Only
+     * applies to buffers that have reserved memory and whose table is held in the cache.
+     *
+     * @param buffer the buffer whose table is held in memory
+     * @param evictor a callback that asynchronously writes the table to disk and then clears it for garbage collection
+     *            or invalidates it
+     */
+    synchronized void setEvictor(final Buffer buffer, final Runnable evictor) {
+        final Long uniqueId = buffer.getUniqueID();
+        if (m_reservedBytes.containsKey(uniqueId) && m_hardMap.containsKey(uniqueId)) {
+            m_evictors.put(uniqueId, evictor);
+        }
+    }
+
+    /**
+     * Releases all memory reserved for a buffer, e.g. because its rows were written to disk while adding rows.
+     *
+     * @param buffer the buffer
+     */
+    synchronized void releaseMemory(final Buffer buffer) {
+        releaseMemoryInternal(buffer.getUniqueID());
+    }
+
+    /**
+     * @param buffer the buffer
+     * @return the number of bytes reserved for the buffer, 0 if none
+     */
+    synchronized long getReservedMemory(final Buffer buffer) {
+        return m_reservedBytes.getOrDefault(buffer.getUniqueID(), 0L);
+    }
+
+    private void releaseMemoryInternal(final Long uniqueId) {
+        final Long bytes = m_reservedBytes.remove(uniqueId);
+        if (bytes != null) {
+            m_totalReservedBytes -= bytes;
+            if (m_evicting.remove(uniqueId)) {
+                m_evictingBytes -= bytes;
+            }
+        }
+        m_evictors.remove(uniqueId);
+    }
+
     /**
      * Can be used to adjust the size of the LRU cache at runtime. Should only be used for benchmarking purposes.
      *
@@ -54,20 +54,28 @@
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
 import java.util.zip.GZIPInputStream;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellSerializer;
 import org.knime.core.data.DataType;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
 import org.knime.core.data.container.BlobDataCell.BlobAddress;
 import org.knime.core.data.container.DCObjectInputVersion2.BlockableDCObjectInputVersion2;
 import org.knime.core.data.container.DefaultTableStoreReader.FromFileIterator;
+import org.knime.core.data.container.filter.FilterPredicate;
+import org.knime.core.data.container.filter.RowGroupIndex;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.filestore.FileStoreCell;
 import org.knime.core.data.filestore.FileStoreKey;
 import org.knime.core.data.filestore.FileStoreUtil;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.util.PrefixCounterKey;
 
 /**
  * File iterator to read stream written by a {@link Buffer}.
@@ -101,11 +109,36 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     /** Utility object with designated functionality to deserialize datacell. */
     private DataCellStreamReader m_dataCellStreamReader;
 
+    /** The filter applied while reading, null if all rows and cells are returned. */
+    private final RowFilter m_filter;
+
+    /** The next row to be returned, only used when filtering. */
+    private BlobSupportDataRow m_nextRow;
+
+    /** The key of the previous row if row keys are packed and that key ends with a counter, otherwise null. */
+    private PrefixCounterKey m_previousKey;
+
     /** Inits iterator, opens input stream.
      * @param tableFormatReader The associated buffer.
      * @throws IOException If stream reading fails.
      */
     BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader) throws IOException {
+        this(tableFormatReader, null, null);
+    }
+
+    /**
+     * Inits an iterator that only returns the rows retained by a filter. Rows outside the filter's row range, rows in
+     * groups that can't satisfy the filter's predicate according to the row group statistics, and cells in columns
+     * that are neither materialized nor accessed by the predicate are skipped without being deserialized. Cells after
+     * the last column accessed by the predicate are only deserialized if the row satisfies the predicate.
+     *
+     * @param tableFormatReader The associated buffer.
+     * @param filter the filter to apply, null to return all rows
+     * @param exec the monitor to report progress to, may be null
+     * @throws IOException If stream reading fails.
+     */
+    BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader, final TableFilter filter,
+        final ExecutionMonitor exec) throws IOException {
         // init the pointer
         m_pointer = 0;
 
@@ -122,12 +155,22 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
         // open the input stream
         m_dataCellStreamReader = new DataCellStreamReader(tableFormatReader);
         m_inStream = new BlockableDCObjectInputVersion2(getInputStream(tableFormatReader), m_dataCellStreamReader);
+        m_filter = filter == null ? null : new RowFilter(filter, tableFormatReader, exec);
     }
 
 
     /** {@inheritDoc} */
     @Override
     public synchronized boolean hasNext() {
+        if (m_filter != null) {
+            if (m_nextRow == null && m_inStream != null) {
+                m_nextRow = readNextRetainedRow();
+            }
+            if (m_nextRow == null && m_inStream != null) {
+                close();
+            }
+            return m_nextRow != null;
+        }
         boolean hasNext = m_pointer < m_tableFormatReader.size();
         if (!hasNext && (m_inStream != null)) {
             close();
@@ -141,6 +184,11 @@ public synchronized BlobSupportDataRow next() {
         if (!hasNext()) {
             throw new NoSuchElementException("Iterator at end");
         }
+        if (m_filter != null) {
+            final BlobSupportDataRow row = m_nextRow;
+            m_nextRow = null;
+            return row;
+        }
         final BlockableDCObjectInputVersion2 inStream = m_inStream;
         int colCount = m_tableFormatReader.getTableSpec().getNumColumns();
         if (inStream == null) { // iterator was closed
@@ -154,6 +202,15 @@ public synchronized BlobSupportDataRow next() {
             m_pointer++;
             return new BlobSupportDataRow(key, m_missingCellsForClosedTable);
         }
+        return readRow(inStream, colCount);
+    }
+
+    /**
+     * Reads the row at the current position and advances the position.
+     *
+     * @return the row, or null if it doesn't satisfy the predicate of the filter
+     */
+    private BlobSupportDataRow readRow(final BlockableDCObjectInputVersion2 inStream, final int colCount) {
         RowKey key;
         try {
             key = readRowKeyAndEndBlock(inStream);
@@ -165,11 +222,21 @@ public synchronized BlobSupportDataRow next() {
             key = new RowKey(keyS);
         }
         DataCell[] cells = new DataCell[colCount];
+        BlobSupportDataRow row =
+            key != null ? new BlobSupportDataRow(key, cells) : new PackedKeyDataRow(m_previousKey, cells);
         for (int i = 0; i < colCount; i++) {
+            if (m_filter != null && m_filter.isRejected(row, i)) {
+                skipCellsAndEndRow(inStream, colCount - i);
+                return null;
+            }
             DataCell nextCell;
             try {
                 try {
-                    nextCell = m_dataCellStreamReader.readDataCell(m_inStream);
+                    if (m_filter != null && !m_filter.m_isRead[i]) {
+                        nextCell = UnmaterializedCell.getInstance();
+                    } else {
+                        nextCell = m_dataCellStreamReader.readDataCell(m_inStream);
+                    }
                 } finally {
                     m_inStream.endBlock();
                 }
@@ -179,6 +246,15 @@ public synchronized BlobSupportDataRow next() {
             }
             cells[i] = nextCell;
         }
+        if (m_filter != null && m_filter.isRejected(row, colCount)) {
+            row = null;
+        }
+        readEndOfRow(inStream);
+        return row;
+    }
+
+    /** Reads the row separator and advances the position. */
+    private void readEndOfRow(final BlockableDCObjectInputVersion2 inStream) {
         try {
             byte eoRow = inStream.readControlByte();
             if (eoRow != BYTE_ROW_SEPARATOR) {
@@ -189,14 +265,66 @@ public synchronized BlobSupportDataRow next() {
         } finally {
             m_pointer++;
         }
-        return new BlobSupportDataRow(key, cells);
+    }
+
+    /** Skips the remaining cells of the current row without deserializing them and advances the position. */
+    private void skipCellsAndEndRow(final BlockableDCObjectInputVersion2 inStream, final int cellCount) {
+        try {
+            for (int i = 0; i < cellCount; i++) {
+                inStream.endBlock();
+            }
+        } catch (IOException ioe) {
+            handleReadThrowable(ioe);
+        }
+        readEndOfRow(inStream);
+    }
+
+    /** Skips the row at the current position without deserializing it and advances the position. */
+    private void skipRow(final BlockableDCObjectInputVersion2 inStream, final int colCount) {
+        if (m_tableFormatReader.isReadRowKey()) {
+            try {
+                if (m_tableFormatReader.isPackedRowKeys()) {
+                    // the key of the next row may be the successor of this row's key
+                    readRowKeyAndEndBlock(inStream);
+                } else {
+                    inStream.endBlock();
+                }
+            } catch (IOException ioe) {
+                handleReadThrowable(ioe);
+            }
+        }
+        skipCellsAndEndRow(inStream, colCount);
+    }
+
+    /**
+     * Reads up to the next row retained by the filter.
+     *
+     * @return that row or null if there is none
+     */
+    private BlobSupportDataRow readNextRetainedRow() {
+        final BlockableDCObjectInputVersion2 inStream = m_inStream;
+        final int colCount = m_tableFormatReader.getTableSpec().getNumColumns();
+        final long end = Math.min(m_filter.m_toIndex + 1, m_tableFormatReader.size());
+        while (m_pointer < end) {
+            if (m_pointer < m_filter.m_fromIndex || !m_filter.mayMatch(m_pointer)) {
+                skipRow(inStream, colCount);
+                continue;
+            }
+            final BlobSupportDataRow row = readRow(inStream, colCount);
+            m_filter.reportProgress(m_pointer, end);
+            if (row != null) {
+                return row;
+            }
+        }
+        return null;
     }
 
     /** Reads a row key from the stream and ends the block. In case of buffers
      * that don't persist their row keys ({@link NoKeyBuffer}), it returns
      * a static key.
      * @param inStream To read from
-     * @return The row key as read right from the stream.
+     * @return The row key as read right from the stream or null if the (packed)
+     * key is the successor of the previous key, see {@link #m_previousKey}.
      * @throws IOException If reading fails for IO problems.
      */
     private RowKey readRowKeyAndEndBlock(
@@ -205,12 +333,36 @@ private RowKey readRowKeyAndEndBlock(
             return DUMMY_ROW_KEY;
         }
         try {
+            if (m_tableFormatReader.isPackedRowKeys()) {
+                return readPackedRowKey(inStream);
+            }
             return inStream.readRowKey();
         } finally {
             inStream.endBlock();
         }
     }
 
+    /** Reads a packed row key, see {@link DefaultTableStoreWriter#writeRowKey}, and updates {@link #m_previousKey}.
+     * @return the key or null if it is the successor of the previous key */
+    private RowKey readPackedRowKey(final BlockableDCObjectInputVersion2 inStream) throws IOException {
+        final PrefixCounterKey previousKey = m_previousKey;
+        m_previousKey = null;
+        final byte identifier = inStream.readControlByte();
+        if (identifier == BYTE_ROW_KEY_SUCCESSOR) {
+            if (previousKey == null) {
+                throw new IOException("Row key refers to the previous row's key, which doesn't end with a counter");
+            }
+            m_previousKey = previousKey.next();
+            return null;
+        }
+        if (identifier != BYTE_ROW_KEY_STRING) {
+            throw new IOException("Expected row key identifier, got '" + identifier + "'");
+        }
+        final RowKey key = inStream.readRowKey();
+        m_previousKey = PrefixCounterKey.parse(key.getString());
+        return key;
+    }
+
     /** Handle exceptions, make sure to issue errors only once. */
     private void handleReadThrowable(final Throwable throwable) {
         String warnMessage = "Errors while reading row " + (m_pointer + 1)
@@ -299,6 +451,83 @@ static BlobDataCell readBlobDataCell(final BlobAddress blobAddress, final CellCl
         }
     }
 
+    /** The parts of a {@link TableFilter} applied while reading. */
+    private static final class RowFilter {
+
+        private final long m_fromIndex;
+
+        private final long m_toIndex;
+
+        /** Whether the cells of a column are deserialized, i.e. whether they are materialized or tested. */
+        private final boolean[] m_isRead;
+
+        /** The predicate or null if the filter has none. */
+        private final FilterPredicate m_predicate;
+
+        /** The last column accessed by the predicate, -1 if the filter has no predicate. */
+        private final int m_lastPredicateColumn;
+
+        /** Statistics of groups of rows, null if there are none or if there is no predicate. */
+        private final RowGroupIndex m_rowGroupIndex;
+
+        private final ExecutionMonitor m_exec;
+
+        /** The group for which {@link #m_isGroupMatch} was determined. */
+        private long m_group = -1;
+
+        private boolean m_isGroupMatch;
+
+        RowFilter(final TableFilter filter, final DefaultTableStoreReader reader, final ExecutionMonitor exec) {
+            final int colCount = reader.getTableSpec().getNumColumns();
+            m_fromIndex = filter.getFromRowIndex().orElse(0L);
+            m_toIndex = filter.getToRowIndex().orElse(Long.MAX_VALUE - 1);
+            final Optional<FilterPredicate> predicate = filter.getPredicate();
+            final Set<Integer> predicateColumns = predicate.map(FilterPredicate::getColumnIndices).orElse(null);
+            final Optional<Set<Integer>> materializedColumns = filter.getMaterializeColumnIndices();
+            m_isRead = new boolean[colCount];
+            for (int i = 0; i < colCount; i++) {
+                m_isRead[i] = !materializedColumns.isPresent() || materializedColumns.get().contains(i)
+                    || (predicateColumns != null && predicateColumns.contains(i));
+            }
+            m_predicate = predicate.orElse(null);
+            m_lastPredicateColumn =
+                predicateColumns == null ? -1 : predicateColumns.stream().mapToInt(Integer::intValue).max().orElse(-1);
+            m_rowGroupIndex = predicate.isPresent() ? reader.getRowGroupIndex().orElse(null) : null;
+            m_exec = exec;
+        }
+
+        /**
+         * Tests the predicate once all columns it accesses have been read.
+         *
+         * @param row the row being read
+         * @param readCount the number of columns of the row read so far
+         * @return true if the row is to be skipped because it doesn't satisfy the predicate
+         */
+        boolean isRejected(final BlobSupportDataRow row, final int readCount) {
+            return m_predicate != null && readCount == m_lastPredicateColumn + 1 && !m_predicate.test(row);
+        }
+
+        /** @return false if the statistics of the row's group show that the predicate can't be satisfied */
+        boolean mayMatch(final long rowIndex) {
+            if (m_rowGroupIndex == null) {
+                return true;
+            }
+            final long group = rowIndex / m_rowGroupIndex.getGroupSize();
+            if (group != m_group) {
+                m_group = group;
+                m_isGroupMatch = group >= m_rowGroupIndex.getGroupCount()
+                    || m_rowGroupIndex.mayMatch((int)group, m_predicate);
+            }
+            return m_isGroupMatch;
+        }
+
+        void reportProgress(final long rowCount, final long end) {
+            if (m_exec != null) {
+                m_exec.setProgress((double)rowCount / end, () -> String.format("Row %,d/%,d", rowCount, end));
+            }
+        }
+    }
+
     /** Utility class that separates the logic of reading DataCells from the stream. */
     public static class DataCellStreamReader {
 
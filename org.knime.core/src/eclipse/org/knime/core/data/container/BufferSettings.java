@@ -86,6 +86,9 @@ public final class BufferSettings {
     /** The output table store format. */
     private final TableStoreFormat m_outputFormat;
 
+    /** Whether the buffer is kept in memory according to the global memory budget instead of its row count. */
+    private final boolean m_useMemoryBudget;
+
     /**
      * Default constructor.
      */
@@ -93,6 +96,7 @@ public final class BufferSettings {
         m_enableLRU = initLRU();
         m_lruCacheSize = DEF_LRU_CACHE_SIZE;
         m_outputFormat = TableStoreFormatRegistry.getInstance().getInstanceTableStoreFormat();
+        m_useMemoryBudget = true;
     }
 
     /**
@@ -101,12 +105,15 @@ public final class BufferSettings {
      * @param enableLRU the enable LRU flag
      * @param lruCacheSize the LRU cache size
      * @param outputFormat the output format
+     * @param useMemoryBudget the use memory budget flag
      * @noreference This constructor is not intended to be referenced by clients.
      */
-    private BufferSettings(final boolean enableLRU, final int lruCacheSize, final TableStoreFormat outputFormat) {
+    private BufferSettings(final boolean enableLRU, final int lruCacheSize, final TableStoreFormat outputFormat,
+        final boolean useMemoryBudget) {
         m_enableLRU = enableLRU;
         m_lruCacheSize = lruCacheSize;
         m_outputFormat = outputFormat;
+        m_useMemoryBudget = useMemoryBudget;
     }
 
     /**
@@ -148,6 +155,17 @@ int getLRUCacheSize() {
         return m_lruCacheSize;
     }
 
+    /**
+     * Returns whether the buffer decides by means of the global memory budget (see
+     * {@link KNIMEConstants#PROPERTY_TABLE_MEMORY_BUDGET}) instead of its row count whether its table is small
+     * enough to be kept in memory. Only applies if the budget is enabled.
+     *
+     * @return flag indicating whether to use the memory budget
+     */
+    boolean useMemoryBudget() {
+        return m_useMemoryBudget;
+    }
+
     /**
      * Returns the {@link TableStoreFormat} used to read and write the {@link Buffer Buffer's} content.
      *
@@ -183,7 +201,7 @@ public static BufferSettings getDefault() {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withLRU(final boolean enableLRU) {
-        return new BufferSettings(enableLRU, m_lruCacheSize, m_outputFormat);
+        return new BufferSettings(enableLRU, m_lruCacheSize, m_outputFormat, m_useMemoryBudget);
     }
 
     /**
@@ -194,7 +212,7 @@ public BufferSettings withLRU(final boolean enableLRU) {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withLRUCacheSize(final int lruCacheSize) {
-        return new BufferSettings(m_enableLRU, lruCacheSize, m_outputFormat);
+        return new BufferSettings(m_enableLRU, lruCacheSize, m_outputFormat, m_useMemoryBudget);
     }
 
     /**
@@ -205,7 +223,18 @@ public BufferSettings withLRUCacheSize(final int lruCacheSize) {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withOutputFormat(final TableStoreFormat outputFormat) {
-        return new BufferSettings(m_enableLRU, m_lruCacheSize, outputFormat);
+        return new BufferSettings(m_enableLRU, m_lruCacheSize, outputFormat, m_useMemoryBudget);
+    }
+
+    /**
+     * Creates a new <code>BufferSettings</code> object by replicating the current <code>BufferSettings</code> instance
+     * and solely changes the use memory budget flag.
+     *
+     * @param useMemoryBudget the new use memory budget flag
+     * @return a new instance of {@code BufferSettings}
+     */
+    BufferSettings withMemoryBudget(final boolean useMemoryBudget) {
+        return new BufferSettings(m_enableLRU, m_lruCacheSize, m_outputFormat, useMemoryBudget);
     }
 
 }
@@ -46,13 +46,16 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.RowKey;
 import org.knime.core.data.append.AppendedRowsTable;
 import org.knime.core.data.append.AppendedRowsTable.DuplicatePolicy;
 import org.knime.core.data.container.filter.FilterDelegateRowIterator;
@@ -62,12 +65,15 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.NodeContext;
 import org.knime.core.node.workflow.WorkflowDataRepository;
 import org.knime.core.util.DuplicateChecker;
 import org.knime.core.util.DuplicateKeyException;
+import org.knime.core.util.ThreadPool;
 
 /**
  *
@@ -302,31 +308,104 @@ public static ConcatenateTable create(final ExecutionMonitor mon, final Buffered
         return new ConcatenateTable(tables, null, rowCount);
     }
 
+    /** Number of keys read from one table before they are handed to the (shared) duplicate checker. */
+    private static final int KEY_BATCH_SIZE = 1024;
+
+    /**
+     * Checks the keys of all tables for duplicates. The keys of the different tables are read concurrently (without
+     * decoding any of the cells) and added to a shared {@link DuplicateChecker}, which writes them to disc if needed.
+     */
     private static void checkForDuplicates(final ExecutionMonitor mon, final BufferedDataTable[] tables,
         final long rowCount) throws CanceledExecutionException {
-        DuplicateChecker check = new DuplicateChecker();
-        int r = 0;
-        for (int i = 0; i < tables.length; i++) {
-            for (DataRow row : tables[i]) {
-                RowKey key = row.getKey();
-                try {
-                    check.addKey(key.toString());
-                } catch (DuplicateKeyException | IOException ex) {
-                    throw new IllegalArgumentException("Duplicate row key \"" + key + "\" in table with index " + i);
-                }
-                r++;
-                mon.setProgress(r / (double)rowCount,
-                    "Checking tables, row " + r + "/" + rowCount + " (\"" + row.getKey() + "\")");
+        final DuplicateChecker check = new DuplicateChecker();
+        final AtomicLong rowsChecked = new AtomicLong();
+        if (tables.length <= 1) {
+            for (int i = 0; i < tables.length; i++) {
+                addKeys(mon, check, tables, i, rowsChecked, rowCount);
             }
-            mon.checkCanceled();
+        } else {
+            final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+            final List<Future<Void>> futures = new ArrayList<>(tables.length);
+            final NodeContext context = NodeContext.getContext();
+            for (int i = 0; i < tables.length; i++) {
+                final int index = i;
+                futures.add(pool.enqueue(() -> {
+                    NodeContext.pushContext(context);
+                    try {
+                        addKeys(mon, check, tables, index, rowsChecked, rowCount);
+                        return null;
+                    } finally {
+                        NodeContext.removeLastContext();
+                    }
+                }));
+            }
+            ThreadPool.awaitAll(futures, "checking for duplicate row keys");
         }
         try {
             check.checkForDuplicates();
-        } catch (DuplicateKeyException | IOException ex) {
+        } catch (DuplicateKeyException ex) {
+            throw newDuplicateException(tables, ex.getKey());
+        } catch (IOException ex) {
             throw new IllegalArgumentException("Duplicate row keys");
         }
     }
 
+    /** Reads the keys of a table and adds them in batches to the duplicate checker. */
+    private static void addKeys(final ExecutionMonitor mon, final DuplicateChecker check,
+        final BufferedDataTable[] tables, final int tableIndex, final AtomicLong rowsChecked, final long rowCount)
+        throws CanceledExecutionException {
+        final List<String> batch = new ArrayList<>(KEY_BATCH_SIZE);
+        try (CloseableRowIterator it = tables[tableIndex].filter(TableFilter.materializeCols()).iterator()) {
+            while (it.hasNext()) {
+                batch.add(it.next().getKey().getString());
+                if (batch.size() == KEY_BATCH_SIZE || !it.hasNext()) {
+                    addBatch(check, batch, tables);
+                    final long r = rowsChecked.addAndGet(batch.size());
+                    batch.clear();
+                    mon.setProgress(r / (double)rowCount, () -> "Checking tables, row " + r + "/" + rowCount);
+                    mon.checkCanceled();
+                }
+            }
+        }
+    }
+
+    private static void addBatch(final DuplicateChecker check, final List<String> batch,
+        final BufferedDataTable[] tables) {
+        synchronized (check) {
+            for (String key : batch) {
+                try {
+                    check.addKey(key);
+                } catch (DuplicateKeyException | IOException ex) {
+                    throw newDuplicateException(tables, key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the exception for a duplicate key. The keys of the tables are added concurrently, so the table that
+     * added the key last is not necessarily the one reported when reading the tables one after another; the index is
+     * determined by scanning the keys of the tables in order instead.
+     */
+    private static IllegalArgumentException newDuplicateException(final BufferedDataTable[] tables,
+        final String key) {
+        boolean isSeen = false;
+        for (int i = 0; i < tables.length; i++) {
+            try (CloseableRowIterator it = tables[i].filter(TableFilter.materializeCols()).iterator()) {
+                while (it.hasNext()) {
+                    if (key.equals(it.next().getKey().getString())) {
+                        if (isSeen) {
+                            return new IllegalArgumentException(
+                                "Duplicate row key \"" + key + "\" in table with index " + i);
+                        }
+                        isSeen = true;
+                    }
+                }
+            }
+        }
+        return new IllegalArgumentException("Duplicate row key \"" + key + "\"");
+    }
+
     /** Creates merged table spec.
      * @param specs the argument tables.
      * @return the new spec
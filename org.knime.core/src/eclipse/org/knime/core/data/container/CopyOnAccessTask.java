@@ -72,6 +72,8 @@
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.KNIMETimer;
+import org.knime.core.util.tracing.ExecutionTracer;
+import org.knime.core.util.tracing.TraceEventType;
 
 /**
  * Opens (on demand) a zip file from the workspace location and copies the
@@ -148,8 +150,13 @@ public void run() {
                 }
             };
             KNIMETimer.getInstance().schedule(timerTask, NOTIFICATION_DELAY);
-            return createBuffer(
-                    new BufferedInputStream(new FileInputStream(file)));
+            try (ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.COPY_ON_ACCESS, file.getName())) {
+                final Buffer buffer = createBuffer(new BufferedInputStream(new FileInputStream(file)));
+                if (ExecutionTracer.isEnabled()) {
+                    span.setRowCount(buffer.size()).setByteCount(file.length());
+                }
+                return buffer;
+            }
         } finally {
             if (timerTask != null) {
                 timerTask.cancel();
@@ -396,8 +396,15 @@ public DataContainer(final DataTableSpec spec, final DataContainerSettings setti
         m_size = 0;
         // how many rows will occupy MAX_CELLS_IN_MEMORY
         final int colCount = spec.getNumColumns();
-        m_maxRowsInMemory = settings.getMaxCellsInMemory() / ((colCount > 0) ? colCount : 1);
-        m_bufferCreator = new BufferCreator(settings.getBufferSettings());
+        final int maxCellsInMemory = settings.getMaxCellsInMemory();
+        m_maxRowsInMemory = maxCellsInMemory / ((colCount > 0) ? colCount : 1);
+        // the default cell count is replaced by the global memory budget (if enabled); explicitly set cell counts,
+        // including the ones to keep a table in memory or on disk, are respected
+        final boolean useMemoryBudget = settings.isDefaultMaxCellsInMemory() && maxCellsInMemory > 0;
+        if (useMemoryBudget) {
+            m_maxRowsInMemory = Math.max(m_maxRowsInMemory, 1);
+        }
+        m_bufferCreator = new BufferCreator(settings.getBufferSettings().withMemoryBudget(useMemoryBudget));
     }
 
     private void addRowToTableWrite(final DataRow row) {
@@ -107,6 +107,9 @@ private static class Builder {
         /** The maximum number of cells in memory. */
         private int m_maxCellsInMemory;
 
+        /** Whether the maximum number of cells in memory is the built-in default. */
+        private boolean m_isDefaultMaxCellsInMemory;
+
         /** The sequential write flag. */
         private boolean m_sequentialIO;
 
@@ -135,6 +138,7 @@ private static class Builder {
          */
         Builder(final DataContainerSettings settings) {
             m_maxCellsInMemory = settings.m_maxCellsInMemory;
+            m_isDefaultMaxCellsInMemory = settings.m_isDefaultMaxCellsInMemory;
             m_sequentialIO = settings.m_sequentialIO;
             m_maxDataContainerThreads = settings.m_maxDataContainerThreads;
             m_maxThreadsPerDataContainer = settings.m_maxThreadsPerDataContainer;
@@ -145,7 +149,10 @@ private static class Builder {
         }
 
         Builder setMaxCellsInMemory(final int maxCellsInMemory) {
-            m_maxCellsInMemory = maxCellsInMemory;
+            if (maxCellsInMemory != m_maxCellsInMemory) {
+                m_maxCellsInMemory = maxCellsInMemory;
+                m_isDefaultMaxCellsInMemory = false;
+            }
             return this;
         }
 
@@ -204,6 +211,12 @@ DataContainerSettings build() {
     /** The maximum number of cells in memory. */
     private final int m_maxCellsInMemory;
 
+    /**
+     * Whether the maximum number of cells in memory is the built-in default, i.e. it has neither been set via
+     * {@link KNIMEConstants#PROPERTY_CELLS_IN_MEMORY} nor changed via {@link #withMaxCellsInMemory(int)}.
+     */
+    private final boolean m_isDefaultMaxCellsInMemory;
+
     /** The sequential write flag. */
     private final boolean m_sequentialIO;
 
@@ -232,6 +245,7 @@ private DataContainerSettings() {
         m_duplicateCheckerCreator = () -> new DuplicateChecker(Integer.MAX_VALUE);
         m_tableDomainCreatorFunction = (spec, initDomain) -> new DataTableDomainCreator(spec, initDomain);
         m_maxCellsInMemory = initMaxCellsInMemory();
+        m_isDefaultMaxCellsInMemory = System.getProperty(KNIMEConstants.PROPERTY_CELLS_IN_MEMORY) == null;
         m_sequentialIO = initSequentialIO();
         m_maxDataContainerThreads = initMaxDataContainerThreads();
         int maxThreadsPerDataContainer = initThreadsPerDataContainerInstance();
@@ -257,6 +271,7 @@ private DataContainerSettings(final Builder builder) {
         m_duplicateCheckerCreator = () -> new DuplicateChecker(Integer.MAX_VALUE);
         m_tableDomainCreatorFunction = (spec, initDomain) -> new DataTableDomainCreator(spec, initDomain);
         m_maxCellsInMemory = builder.m_maxCellsInMemory;
+        m_isDefaultMaxCellsInMemory = builder.m_isDefaultMaxCellsInMemory;
         m_sequentialIO = builder.m_sequentialIO;
         m_maxDataContainerThreads = builder.m_maxDataContainerThreads;
         m_maxThreadsPerDataContainer = builder.m_maxThreadsPerDataContainer;
@@ -293,6 +308,18 @@ public int getMaxCellsInMemory() {
         return m_maxCellsInMemory;
     }
 
+    /**
+     * Returns whether the maximum number of cells kept in memory is the built-in default, i.e. it has neither been set
+     * via {@link KNIMEConstants#PROPERTY_CELLS_IN_MEMORY} nor changed via {@link #withMaxCellsInMemory(int)}. Only
+     * then the global memory budget (see {@link KNIMEConstants#PROPERTY_TABLE_MEMORY_BUDGET}) decides which tables
+     * are kept in memory.
+     *
+     * @return flag indicating whether the default maximum number of cells in memory applies
+     */
+    boolean isDefaultMaxCellsInMemory() {
+        return m_isDefaultMaxCellsInMemory;
+    }
+
     /**
      * Returns whether to force rows to be handled sequentially, i.e. one row after another. Handling a row encompasses
      * (1) validation against a given table spec, (2) updating the table's domain, (3) checking for duplicates among row
@@ -382,7 +409,8 @@ public BufferSettings getBufferSettings() {
 
     /**
      * Creates a new <code>DataContainerSetting</code> object by replicating the current
-     * <code>DataContainerSetting</code> instance and solely changes the maximum number of cells in memory.
+     * <code>DataContainerSetting</code> instance and solely changes the maximum number of cells in memory. A value
+     * different from the current one disables the global memory budget for containers using these settings.
      *
      * @param maxCellsInMemory the new maximum number of cells in memory
      * @return a new instance of {@code DataContainerSettings}
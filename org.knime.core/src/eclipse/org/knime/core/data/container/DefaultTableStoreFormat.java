@@ -94,6 +94,9 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
     /** Compression format. */
     private static final String CFG_COMPRESSION = "container.compression";
 
+    /** Config key (boolean) whether row keys are packed, only evaluated for container version 13 and later. */
+    static final String CFG_PACKED_ROW_KEYS = "container.packed.rowkeys";
+
     /**
      * Checked function interface throwing an IOException.
      *
@@ -50,11 +50,15 @@
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Optional;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.filter.RowGroupIndex;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeSettingsRO;
 
@@ -72,6 +76,12 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
 
     private final boolean m_isReadRowKey;
 
+    /** Whether row keys are packed, see {@link DefaultTableStoreWriter#writeRowKey}. */
+    private final boolean m_isPackedRowKeys;
+
+    /** Statistics of groups of rows, not available for tables written by older versions. */
+    private final Optional<RowGroupIndex> m_rowGroupIndex;
+
     /**
      * Constructs a reader for materializing serialized KNIME tables.
      *
@@ -108,6 +118,9 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
             cF = CompressionFormat.GZIP;
         }
         m_compressionFormat = cF;
+        m_rowGroupIndex = RowGroupIndex.load(settings, spec);
+        // packed row keys were added with version 13, the flag tells whether they were disabled when writing
+        m_isPackedRowKeys = version >= 13 && settings.getBoolean(DefaultTableStoreFormat.CFG_PACKED_ROW_KEYS, false);
     }
 
     @Override
@@ -119,14 +132,34 @@ public TableStoreCloseableRowIterator iterator() {
                 return new BufferFromFileIteratorVersion20(this);
             }
         } catch (IOException ioe) {
-            StringBuilder b = new StringBuilder("Cannot read file \"");
-            b.append(m_binFile != null ? m_binFile.getName() : "<unknown>");
-            b.append("\"");
-            checkAndReportOpenFiles(ioe);
-            throw new RuntimeException(b.toString(), ioe);
+            throw createReadException(ioe);
         }
     }
 
+    /**
+     * {@inheritDoc} Starting with the 2.0 format, rows and cells not retained by the filter are skipped without being
+     * deserialized.
+     */
+    @Override
+    public TableStoreCloseableRowIterator iteratorWithFilter(final TableFilter filter, final ExecutionMonitor exec) {
+        if (getReadVersion() <= 5) {
+            return super.iteratorWithFilter(filter, exec);
+        }
+        try {
+            return new BufferFromFileIteratorVersion20(this, filter, exec);
+        } catch (IOException ioe) {
+            throw createReadException(ioe);
+        }
+    }
+
+    private RuntimeException createReadException(final IOException ioe) {
+        StringBuilder b = new StringBuilder("Cannot read file \"");
+        b.append(m_binFile != null ? m_binFile.getName() : "<unknown>");
+        b.append("\"");
+        checkAndReportOpenFiles(ioe);
+        return new RuntimeException(b.toString(), ioe);
+    }
+
     /** @return Whether stream is zipped. */
     CompressionFormat getBinFileCompressionFormat() {
         return m_compressionFormat;
@@ -146,6 +179,16 @@ boolean isReadRowKey() {
         return m_isReadRowKey;
     }
 
+    /** @return whether each row key is preceded by a control byte and omitted if it is the previous key's successor */
+    boolean isPackedRowKeys() {
+        return m_isPackedRowKeys;
+    }
+
+    /** @return statistics of groups of rows, if recorded when the table was written */
+    Optional<RowGroupIndex> getRowGroupIndex() {
+        return m_rowGroupIndex;
+    }
+
     /**
      * @return number of records
      * @see org.knime.core.data.container.Buffer#size()
@@ -54,11 +54,13 @@
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.RowKey;
 import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.filter.RowGroupIndex;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.util.PrefixCounterKey;
 
 /**
  * The default table store writer used to write tables to disc.
@@ -66,6 +68,10 @@
  */
 final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements KNIMEStreamConstants {
 
+    /** See {@link KNIMEConstants#PROPERTY_TABLE_PACKED_ROW_KEYS}. */
+    private static final boolean PACK_ROW_KEYS =
+        !"false".equalsIgnoreCase(System.getProperty(KNIMEConstants.PROPERTY_TABLE_PACKED_ROW_KEYS));
+
     /**
      * the stream that writes to the file, it's a special object output stream, in which we can mark the end of an entry
      * (to figure out when a cell implementation reads too many or too few bytes).
@@ -75,6 +81,19 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
     /** The compression format. */
     private final CompressionFormat m_compFormat;
 
+    /** Collects statistics of groups of rows, which allow readers to skip rows not matching a filter predicate; null
+     * if {@linkplain RowGroupIndex#isEnabled() disabled}. */
+    private final RowGroupIndex.Builder m_rowGroupIndexBuilder;
+
+    /**
+     * Whether row keys are packed, i.e. preceded by a control byte and omitted if they are the successor of the
+     * previous row's key.
+     */
+    private final boolean m_isPackRowKeys;
+
+    /** The key of the previous row, if row keys are packed and that key ends with a counter. */
+    private PrefixCounterKey m_previousKey;
+
     /**
      * Constructs a writer for writing KNIME tables to disk using the given compression format.
      *
@@ -88,6 +107,8 @@ public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outp
         final CompressionFormat compFormat) throws IOException {
         super(spec, writeRowKey);
         m_compFormat = compFormat;
+        m_rowGroupIndexBuilder = RowGroupIndex.isEnabled() ? new RowGroupIndex.Builder(spec) : null;
+        m_isPackRowKeys = writeRowKey && PACK_ROW_KEYS;
         m_outStream = initOutFile(new BufferedOutputStream(outputStream));
     }
 
@@ -98,8 +119,7 @@ public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outp
      */
     @Override
     public void writeRow(final DataRow row) throws IOException {
-        RowKey id = row.getKey();
-        writeRowKey(id, m_outStream);
+        writeRowKey(row, m_outStream);
         for (int i = 0; i < row.getNumCells(); i++) {
             DataCell cell =
                 row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(i) : row.getCell(i);
@@ -107,21 +127,37 @@ public void writeRow(final DataRow row) throws IOException {
             m_outStream.endBlock();
         }
         m_outStream.endRow();
+        if (m_rowGroupIndexBuilder != null) {
+            m_rowGroupIndexBuilder.update(row);
+        }
     }
 
     /**
-     * Writes the row key to the out stream. This method is overridden in {@link NoKeyBuffer} in order to skip the row
-     * key.
+     * Writes the row key to the out stream unless row keys are skipped (as for {@link NoKeyBuffer}). Packed keys that
+     * are the successor of the previous row's key are written as a single control byte.
      *
-     * @param key The key to write.
+     * @param row The row whose key to write.
      * @param outStream To write to.
      * @throws IOException If that fails.
      */
-    void writeRowKey(final RowKey key, final BlockableDCObjectOutputVersion2 outStream) throws IOException {
-        if (isWriteRowKey()) {
-            outStream.writeRowKey(key);
-            outStream.endBlock();
+    void writeRowKey(final DataRow row, final BlockableDCObjectOutputVersion2 outStream) throws IOException {
+        if (!isWriteRowKey()) {
+            return;
+        }
+        if (m_isPackRowKeys) {
+            final PrefixCounterKey key = row instanceof PackedKeyDataRow ? ((PackedKeyDataRow)row).getPackedKey()
+                : PrefixCounterKey.parse(row.getKey().getString());
+            if (key != null && key.isSuccessorOf(m_previousKey)) {
+                outStream.writeControlByte(BYTE_ROW_KEY_SUCCESSOR);
+            } else {
+                outStream.writeControlByte(BYTE_ROW_KEY_STRING);
+                outStream.writeRowKey(row.getKey());
+            }
+            m_previousKey = key;
+        } else {
+            outStream.writeRowKey(row.getKey());
         }
+        outStream.endBlock();
     }
 
     /**
@@ -138,6 +174,12 @@ private BlockableDCObjectOutputVersion2 initOutFile(final OutputStream outStream
     public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
         m_compFormat.saveSettings(settings);
         super.writeMetaInfoAfterWrite(settings);
+        if (m_rowGroupIndexBuilder != null) {
+            m_rowGroupIndexBuilder.build().save(settings);
+        }
+        if (m_isPackRowKeys) {
+            settings.addBoolean(DefaultTableStoreFormat.CFG_PACKED_ROW_KEYS, true);
+        }
     }
 
     /** {@inheritDoc} */
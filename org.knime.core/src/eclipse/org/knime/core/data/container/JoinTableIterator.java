@@ -133,7 +133,11 @@ public void close() {
         m_itReference.close();
     }
 
-    private static DataCell getUnwrappedCell(final DataRow row, final int i) {
+    /** Gets the cell without unwrapping blobs, used by {@link TableLineagePlan} as well.
+     * @param row the row to get the cell from.
+     * @param i the column index.
+     * @return the (possibly wrapped) cell. */
+    static DataCell getUnwrappedCell(final DataRow row, final int i) {
         if (row instanceof PartlyMaterializedBlobSupportRow) {
             return ((PartlyMaterializedBlobSupportRow)row).getRawCellUnsafe(i);
         } else if (row instanceof BlobSupportDataRow) {
@@ -55,6 +55,7 @@
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.filter.FilterDelegateRowIterator;
 import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
@@ -130,6 +131,12 @@ public CloseableRowIterator iterator() {
 
     @Override
     public CloseableRowIterator iteratorWithFilter(final TableFilter filter, final ExecutionMonitor exec) {
+        // rows of the left and right table must stay aligned, so the predicate is applied to the joined rows
+        if (filter.getPredicate().isPresent()) {
+            return new FilterDelegateRowIterator(iteratorWithFilter(filter.withoutPredicate(), exec),
+                TableFilter.filterRows(filter.getPredicate().get()), size(), null);
+        }
+
         // apply row index filter to left and right tables
         final TableFilter.Builder leftFilterBuilder = new TableFilter.Builder(filter);
         final TableFilter.Builder rightFilterBuilder = new TableFilter.Builder(filter);
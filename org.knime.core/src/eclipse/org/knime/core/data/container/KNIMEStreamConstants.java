@@ -81,5 +81,11 @@ public interface KNIMEStreamConstants {
     /** Separator for different rows. */
     static final byte BYTE_ROW_SEPARATOR = BYTE_TYPE_MISSING + 3;
 
+    /** Row key stored as string, followed by the string (only if row keys are packed). */
+    static final byte BYTE_ROW_KEY_STRING = BYTE_TYPE_MISSING + 4;
+
+    /** Row key that is the successor of the previous row's key, no further data (only if row keys are packed). */
+    static final byte BYTE_ROW_KEY_SUCCESSOR = BYTE_TYPE_MISSING + 5;
+
 
 }
@@ -0,0 +1,247 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.container.storage.AbstractTableStoreReader.TableStoreCloseableRowIterator;
+import org.knime.core.node.workflow.NodeContext;
+
+/**
+ * An iterator that reads (i.e. decompresses and deserializes) the rows of a table store iterator in a background
+ * thread. Rows are read in batches into a bounded queue, from which they are handed out to the consumer. The background
+ * task ends whenever the queue is full and is resubmitted once the consumer has taken half of the queued batches. Hence
+ * no thread is blocked by an iterator that is consumed slowly or abandoned without being closed.
+ *
+ * <p>Like any other row iterator, instances are meant to be used by a single consumer thread.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ReadAheadRowIterator extends TableStoreCloseableRowIterator {
+
+    /** Number of rows read at once by the background task. */
+    static final int BATCH_SIZE = 128;
+
+    /** Number of batches read ahead at most. */
+    private static final int MAX_QUEUED_BATCHES = 4;
+
+    /** Marks the end of the table in the queue. */
+    private static final List<DataRow> END = Collections.emptyList();
+
+    private final TableStoreCloseableRowIterator m_delegate;
+
+    private final Executor m_executor;
+
+    private final NodeContext m_nodeContext;
+
+    /** Queued batches of rows, the {@link #END} marker, or a {@link Failure}. One slot is reserved for the latter. */
+    private final BlockingQueue<Object> m_queue = new ArrayBlockingQueue<>(MAX_QUEUED_BATCHES + 1);
+
+    /** Set while a background task is submitted or running, and by whoever closes the delegate. */
+    private final AtomicBoolean m_isReading = new AtomicBoolean();
+
+    private volatile boolean m_isClosed;
+
+    /** Whether the background task has queued the end of the table (or a failure), only accessed by the task. */
+    private boolean m_isReadCompleted;
+
+    /** The batch currently consumed and the index of the next row in it, only accessed by the consumer. */
+    private List<DataRow> m_batch = Collections.emptyList();
+
+    private int m_index;
+
+    private boolean m_isConsumed;
+
+    /**
+     * @param delegate the iterator to read rows from, must not be used by anybody else
+     * @param executor runs the background tasks
+     */
+    ReadAheadRowIterator(final TableStoreCloseableRowIterator delegate, final Executor executor) {
+        m_delegate = delegate;
+        m_executor = executor;
+        // may be null if the table is read outside a node's context (e.g. in unit tests)
+        m_nodeContext = NodeContext.getContext();
+        scheduleReadIfNeeded();
+    }
+
+    @Override
+    public void setBuffer(final Buffer buffer) {
+        super.setBuffer(buffer);
+        m_delegate.setBuffer(buffer);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (m_index < m_batch.size()) {
+            return true;
+        }
+        if (m_isConsumed) {
+            return false;
+        }
+        if (m_isClosed) {
+            throw new IllegalStateException("Iterator has been closed.");
+        }
+        final Object next;
+        try {
+            next = m_queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for rows to be read", e);
+        }
+        scheduleReadIfNeeded();
+        if (next instanceof Failure) {
+            m_isConsumed = true;
+            ((Failure)next).rethrow();
+        }
+        @SuppressWarnings("unchecked")
+        final List<DataRow> batch = (List<DataRow>)next;
+        if (batch == END) {
+            m_isConsumed = true;
+            m_batch = Collections.emptyList();
+            m_index = 0;
+            return false;
+        }
+        m_batch = batch;
+        m_index = 0;
+        return true;
+    }
+
+    @Override
+    public DataRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows");
+        }
+        return m_batch.get(m_index++);
+    }
+
+    @Override
+    public boolean performClose() throws IOException {
+        m_isClosed = true;
+        m_queue.clear();
+        if (m_isReading.compareAndSet(false, true)) {
+            return m_delegate.performClose();
+        }
+        // the background task closes the delegate once it's done with the current batch
+        return true;
+    }
+
+    /** Submits a background task unless the queue is still well filled or a task is already running. */
+    private void scheduleReadIfNeeded() {
+        if (!m_isClosed && !m_isConsumed && m_queue.size() <= MAX_QUEUED_BATCHES / 2
+            && m_isReading.compareAndSet(false, true)) {
+            m_executor.execute(this::read);
+        }
+    }
+
+    /** Reads batches until the queue is full, the table is read completely, or the iterator is closed. */
+    private void read() {
+        NodeContext.pushContext(m_nodeContext);
+        try {
+            while (!m_isClosed && !m_isReadCompleted && m_queue.size() < MAX_QUEUED_BATCHES) {
+                final List<DataRow> batch = new ArrayList<>(BATCH_SIZE);
+                while (batch.size() < BATCH_SIZE && m_delegate.hasNext()) {
+                    batch.add(m_delegate.next());
+                }
+                if (!batch.isEmpty()) {
+                    m_queue.add(batch);
+                }
+                if (batch.size() < BATCH_SIZE) {
+                    m_queue.add(END);
+                    m_isReadCompleted = true;
+                }
+            }
+        } catch (Throwable t) { // NOSONAR the consumer decides how to handle
+            // the loop condition guarantees that there is space left
+            m_queue.add(new Failure(t));
+            m_isReadCompleted = true;
+        } finally {
+            NodeContext.removeLastContext();
+            m_isReading.set(false);
+        }
+        if (m_isClosed) {
+            if (m_isReading.compareAndSet(false, true)) {
+                try {
+                    m_delegate.performClose();
+                } catch (IOException e) {
+                    // same as closing any other iterator twice or after a failure, nothing we can do about it
+                }
+            }
+        } else if (!m_isReadCompleted) {
+            // the consumer may have drained the queue after the loop ended but before the flag was reset
+            scheduleReadIfNeeded();
+        }
+    }
+
+    /** An exception thrown while reading, rethrown in the consumer thread. */
+    private static final class Failure {
+
+        private final Throwable m_throwable;
+
+        Failure(final Throwable throwable) {
+            m_throwable = throwable;
+        }
+
+        void rethrow() {
+            if (m_throwable instanceof RuntimeException) {
+                throw (RuntimeException)m_throwable;
+            } else if (m_throwable instanceof Error) {
+                throw (Error)m_throwable;
+            }
+            throw new RuntimeException(m_throwable.getMessage(), m_throwable);
+        }
+    }
+}
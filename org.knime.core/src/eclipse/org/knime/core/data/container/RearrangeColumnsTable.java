@@ -49,35 +49,48 @@
 
 import static org.knime.core.data.container.filter.TableFilter.materializeCols;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
+import java.util.zip.ZipOutputStream;
 
+import org.knime.core.data.BoundedValue;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellTypeConverter;
+import org.knime.core.data.DataColumnDomain;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.IDataRepository;
+import org.knime.core.data.NominalValue;
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.ColumnRearranger.SpecAndFactoryObject;
+import org.knime.core.data.container.filter.FilterDelegateRowIterator;
 import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.container.storage.TableStoreFormat;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.filestore.FileStoreFactory;
 import org.knime.core.data.filestore.internal.IWriteFileStoreHandler;
+import org.knime.core.data.filestore.internal.NotInWorkflowWriteFileStoreHandler;
 import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
@@ -85,6 +98,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
@@ -138,6 +152,31 @@ public void close() {
 
     private static final String CFG_FLAGS = "table_internal_flags";
 
+    /** Default for {@link KNIMEConstants#PROPERTY_VIRTUAL_COLUMNS_MAX_DEPTH}. */
+    private static final int DEF_MAX_VIRTUAL_DEPTH = 4;
+
+    /** Maximum number of virtual tables on top of each other, see {@link #getVirtualDepth()}. */
+    static final int MAX_VIRTUAL_DEPTH;
+
+    static {
+        int maxVirtualDepth = DEF_MAX_VIRTUAL_DEPTH;
+        String maxDepth = System.getProperty(KNIMEConstants.PROPERTY_VIRTUAL_COLUMNS_MAX_DEPTH);
+        if (maxDepth != null) {
+            try {
+                int newDepth = Integer.parseInt(maxDepth.trim());
+                if (newDepth < 0) {
+                    throw new NumberFormatException("max virtual depth < 0: " + newDepth);
+                }
+                maxVirtualDepth = newDepth;
+                LOGGER.debug("Setting max depth of virtual columns to " + maxVirtualDepth);
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property \"" + KNIMEConstants.PROPERTY_VIRTUAL_COLUMNS_MAX_DEPTH
+                    + "\", using default (" + DEF_MAX_VIRTUAL_DEPTH + ")", e);
+            }
+        }
+        MAX_VIRTUAL_DEPTH = maxVirtualDepth;
+    }
+
     private final DataTableSpec m_spec;
 
     private final BufferedDataTable m_reference;
@@ -148,17 +187,41 @@ public void close() {
 
     private final ContainerTable m_appendTable;
 
+    /** The producers of the new columns if they are computed on the fly (null otherwise), see
+     * {@link AbstractCellFactory#setVirtual(boolean)}. */
+    private final NewColumnsProducerMapping m_virtualMapping;
+
+    /** The spec of the new columns if they are computed on the fly, null otherwise. */
+    private final DataTableSpec m_virtualAppendSpec;
+
+    /** See {@link #getVirtualDepth()}. */
+    private final int m_virtualDepth;
+
+    /** The ID of the buffer the virtual columns are saved in (also the ID of the table), -1 if not virtual. */
+    private final int m_virtualBufferID;
+
+    /** The repository used when saving the virtual columns (blobs and file stores of the input are referenced rather
+     * than copied), null if not virtual. */
+    private final IDataRepository m_virtualDataRepository;
+
     /*
      * Used from the factory method, see below.
      * @see #create(ColumnRearranger, BufferedDataTable, ExecutionMonitor)
      */
     private RearrangeColumnsTable(final BufferedDataTable reference, final int[] map, final boolean[] isFromRefTable,
-        final DataTableSpec spec, final ContainerTable appendTbl) {
+        final DataTableSpec spec, final ContainerTable appendTbl, final NewColumnsProducerMapping virtualMapping,
+        final DataTableSpec virtualAppendSpec, final int virtualDepth, final int virtualBufferID,
+        final IDataRepository virtualDataRepository) {
         m_spec = spec;
         m_reference = reference;
         m_appendTable = appendTbl;
         m_map = map;
         m_isFromRefTable = isFromRefTable;
+        m_virtualMapping = virtualMapping;
+        m_virtualAppendSpec = virtualAppendSpec;
+        m_virtualDepth = virtualDepth;
+        m_virtualBufferID = virtualBufferID;
+        m_virtualDataRepository = virtualDataRepository;
     }
 
     /**
@@ -188,6 +251,12 @@ public RearrangeColumnsTable(final ReferencedFile f, final NodeSettingsRO settin
         m_reference = BufferedDataTable.getDataTable(tblRep, refTableID, dataRepository);
         m_map = subSettings.getIntArray(CFG_MAP);
         m_isFromRefTable = subSettings.getBooleanArray(CFG_FLAGS);
+        // virtual columns are materialized when saved
+        m_virtualMapping = null;
+        m_virtualAppendSpec = null;
+        m_virtualDepth = 0;
+        m_virtualBufferID = -1;
+        m_virtualDataRepository = null;
         DataColumnSpec[] appendColSpecs;
         int appendColCount = 0;
         for (int i = 0; i < m_isFromRefTable.length; i++) {
@@ -253,7 +322,7 @@ public BufferedDataTable[] getReferenceTables() {
     /**
      * Get reference to the appended table. This table must not be used publicly as the append table is corrupted: It
      * does not contain proper row keys (it contains only the appended columns). This method returns null if this table
-     * only filters out some of the columns.
+     * only filters out some of the columns or if the new columns are {@link #isVirtual() virtual}.
      *
      * @return Reference to append table.
      */
@@ -261,6 +330,73 @@ public ContainerTable getAppendTable() {
         return m_appendTable;
     }
 
+    /** @return for each column its index in the reference or the append table, see {@link #getIsFromRefTable()}. */
+    int[] getMap() {
+        return m_map;
+    }
+
+    /** @return for each column whether it's taken from the reference table (or from the append table). */
+    boolean[] getIsFromRefTable() {
+        return m_isFromRefTable;
+    }
+
+    /**
+     * Whether the new columns of this table are not stored but computed whenever the table is iterated, see
+     * {@link AbstractCellFactory#setVirtual(boolean)}. They are materialized when the table is saved.
+     *
+     * @return that property
+     * @since 4.2
+     */
+    public boolean isVirtual() {
+        return m_virtualMapping != null;
+    }
+
+    /**
+     * The number of virtual tables in the chain of reference tables ending with this table, i.e. 0 if this table is
+     * not {@link #isVirtual() virtual}, 1 if this table is virtual but its reference isn't, etc.
+     *
+     * @return the depth of this table in a chain of virtual tables
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public int getVirtualDepth() {
+        return m_virtualDepth;
+    }
+
+    /**
+     * The ID of the buffer the new columns are saved in, i.e. the ID of the {@link #getAppendTable() append table} or,
+     * if the columns are {@link #isVirtual() virtual}, the ID assigned when the table was created.
+     *
+     * @return that ID or an empty optional if there are no new columns
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public OptionalInt getAppendBufferID() {
+        if (m_appendTable != null) {
+            return OptionalInt.of(m_appendTable.getBufferID());
+        } else if (m_virtualMapping != null) {
+            return OptionalInt.of(m_virtualBufferID);
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * The format in which the new columns are saved, either the format of the {@link #getAppendTable() append table}
+     * or, if the columns are {@link #isVirtual() virtual}, the format they will be materialized in.
+     *
+     * @return that format or an empty optional if there are no new columns
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public Optional<TableStoreFormat> getAppendTableStoreFormat() {
+        if (m_appendTable != null) {
+            return Optional.of(m_appendTable.getTableStoreFormat());
+        } else if (m_virtualAppendSpec != null) {
+            return Optional.of(BufferSettings.getDefault().getOutputFormat(m_virtualAppendSpec));
+        }
+        return Optional.empty();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -275,6 +411,10 @@ public DataTableSpec getDataTableSpec() {
     @Override
     @SuppressWarnings("resource")
     public CloseableRowIterator iterator() {
+        if (m_virtualMapping != null) {
+            // the factories may access any column of the input
+            return new VirtualColumnsIterator(m_reference.iterator());
+        }
         // determine iterator for appended table
         CloseableRowIterator appendIt = EMPTY_ITERATOR;
         if (m_appendTable != null) {
@@ -299,6 +439,18 @@ public CloseableRowIterator iterator() {
     @Override
     @SuppressWarnings("resource")
     public CloseableRowIterator iteratorWithFilter(final TableFilter filter, final ExecutionMonitor exec) {
+        if (filter.getPredicate().isPresent()) {
+            // reference and appended table are read in lock step (and column indices differ), hence rows can't be
+            // skipped in either of them; evaluate the predicate on the assembled rows instead
+            return new FilterDelegateRowIterator(iteratorWithFilter(filter.withoutPredicate(), exec),
+                TableFilter.filterRows(filter.getPredicate().get()), size(), null);
+        }
+        if (m_virtualMapping != null) {
+            final int[] allRefIndices = IntStream.range(0, m_reference.getDataTableSpec().getNumColumns()).toArray();
+            final TableFilter refFilter =
+                new TableFilter.Builder(filter).withMaterializeColumnIndices(allRefIndices).build();
+            return new VirtualColumnsIterator(m_reference.filter(refFilter, exec).iterator());
+        }
 
         final Supplier<IntStream> indicesSup = () -> filter.getMaterializeColumnIndices()
             .map(o -> o.stream().mapToInt(i -> i)).orElse(IntStream.range(0, m_map.length));
@@ -334,6 +486,32 @@ public CloseableRowIterator iteratorWithFilter(final TableFilter filter, final E
      */
     public static RearrangeColumnsTable create(final ColumnRearranger rearranger, final BufferedDataTable table,
         final ExecutionMonitor subProgress, final ExecutionContext context) throws CanceledExecutionException {
+        // depth of the input not known, don't create a virtual table
+        return create(rearranger, table, subProgress, context, MAX_VIRTUAL_DEPTH, null);
+    }
+
+    /**
+     * This factory method is intended to be used immediately before the {@link BufferedDataTable} is created. If all
+     * cell factories of the rearranger are {@link AbstractCellFactory#isVirtual() virtual}, the specs of the new
+     * columns contain their domain, and the input table isn't the end of a too long chain of virtual tables, the new
+     * columns are not computed but the returned table computes them whenever it is iterated.
+     *
+     * @param rearranger The meta information how to assemble everything.
+     * @param table The reference table.
+     * @param subProgress The progress monitor for progress/cancel.
+     * @param context Used for data container creation.
+     * @param referenceVirtualDepth The {@link #getVirtualDepth() virtual depth} of the reference table.
+     * @param dataRepository The repository of the context, used to assign the ID of a virtual table and when saving
+     *            it. If null, the table is never virtual.
+     * @return The newly created table.
+     * @throws CanceledExecutionException If canceled.
+     * @throws IllegalArgumentException If the spec is not equal to the spec of the rearranger.
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static RearrangeColumnsTable create(final ColumnRearranger rearranger, final BufferedDataTable table,
+        final ExecutionMonitor subProgress, final ExecutionContext context, final int referenceVirtualDepth,
+        final IDataRepository dataRepository) throws CanceledExecutionException {
         DataTableSpec originalSpec = rearranger.getOriginalSpec();
         Vector<SpecAndFactoryObject> includes = rearranger.getIncludes();
         // names and types of the specs must match
@@ -341,7 +519,6 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
             throw new IllegalArgumentException("The argument table's spec does not match the original "
                 + "spec passed in the constructor.");
         }
-        int size = includes.size();
         ArrayList<DataColumnSpec> newColSpecsList = new ArrayList<DataColumnSpec>();
         // the reduced set of SpecAndFactoryObject that models newly
         // appended/inserted columns; this vector is in most cases
@@ -363,11 +540,16 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
             }
             newColSpecsList.add(s.getColSpec());
         }
-        initProcessing(newColsProducerMapping, context);
         final int newColCount = newColSpecsList.size();
         DataColumnSpec[] newColSpecs = newColSpecsList.toArray(new DataColumnSpec[newColSpecsList.size()]);
+        if (newColCount > 0 && dataRepository != null && referenceVirtualDepth < MAX_VIRTUAL_DEPTH
+            && allFactoriesVirtual(newColsProducerMapping) && hasDomain(newColSpecs)) {
+            // the cells are computed when the table is read
+            return createTable(includes, originalSpec, table, new DataTableSpec(newColSpecs), null,
+                newColsProducerMapping, referenceVirtualDepth + 1, dataRepository.generateNewID(), dataRepository);
+        }
+        initProcessing(newColsProducerMapping, context);
         ContainerTable appendTable;
-        DataTableSpec appendTableSpec;
         // for a pure filter (a table that just hides some columns from
         // the reference table but does not add any new column we avoid to scan
         // the entire table (nothing is written anyway))
@@ -386,38 +568,167 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
                 finishProcessing(newColsProducerMapping);
             }
             appendTable = container.getBufferedTable();
-            appendTableSpec = appendTable.getDataTableSpec();
         } else {
             appendTable = null;
-            appendTableSpec = new DataTableSpec();
         }
+        return createTable(includes, originalSpec, table, appendTable);
+    }
+
+    /**
+     * Assembles the table from the reference table and the table containing the new columns.
+     *
+     * @param includes the includes of the rearranger
+     * @param originalSpec the spec of the reference table
+     * @param reference the reference table
+     * @param appendTable the table containing the new and converted columns, null if there are none
+     */
+    private static RearrangeColumnsTable createTable(final Vector<SpecAndFactoryObject> includes,
+        final DataTableSpec originalSpec, final BufferedDataTable reference, final ContainerTable appendTable) {
+        final DataTableSpec appendTableSpec =
+            appendTable != null ? appendTable.getDataTableSpec() : new DataTableSpec();
+        return createTable(includes, originalSpec, reference, appendTableSpec, appendTable, null, 0, -1, null);
+    }
+
+    /**
+     * Assembles the table from the reference table and the new columns, which are either contained in the append
+     * table or computed on the fly by the virtual mapping.
+     */
+    private static RearrangeColumnsTable createTable(final Vector<SpecAndFactoryObject> includes,
+        final DataTableSpec originalSpec, final BufferedDataTable reference, final DataTableSpec appendTableSpec,
+        final ContainerTable appendTable, final NewColumnsProducerMapping virtualMapping, final int virtualDepth,
+        final int virtualBufferID, final IDataRepository virtualDataRepository) {
+        final int size = includes.size();
         boolean[] isFromRefTable = new boolean[size];
         int[] includesIndex = new int[size];
+        mapIncludes(includes, includesIndex, isFromRefTable);
         // create the new spec. Do not use rearranger.createSpec because
         // that might lack the domain information!
         DataColumnSpec[] colSpecs = new DataColumnSpec[size];
-        int newColIndex = 0;
         for (int i = 0; i < size; i++) {
+            colSpecs[i] = isFromRefTable[i] ? originalSpec.getColumnSpec(includesIndex[i])
+                : appendTableSpec.getColumnSpec(includesIndex[i]);
+        }
+        DataTableSpec spec = new DataTableSpec(colSpecs);
+        return new RearrangeColumnsTable(reference, includesIndex, isFromRefTable, spec, appendTable, virtualMapping,
+            virtualMapping != null ? appendTableSpec : null, virtualDepth, virtualBufferID, virtualDataRepository);
+    }
+
+    /**
+     * Determines for each column of the output where it comes from: the reference table or the table containing the
+     * new (and converted) columns, along with the column index in the respective table.
+     */
+    private static void mapIncludes(final Vector<SpecAndFactoryObject> includes, final int[] includesIndex,
+        final boolean[] isFromRefTable) {
+        int newColIndex = 0;
+        for (int i = 0; i < includes.size(); i++) {
             SpecAndFactoryObject c = includes.get(i);
-            if (c.isConvertedColumn()) {
-                isFromRefTable[i] = false;
-                includesIndex[i] = newColIndex;
-                colSpecs[i] = appendTableSpec.getColumnSpec(newColIndex);
-                newColIndex++;
-            } else if (c.isNewColumn()) {
+            if (c.isConvertedColumn() || c.isNewColumn()) {
                 isFromRefTable[i] = false;
                 includesIndex[i] = newColIndex;
-                colSpecs[i] = appendTableSpec.getColumnSpec(newColIndex);
                 newColIndex++;
             } else {
                 isFromRefTable[i] = true;
-                int originalIndex = c.getOriginalIndex();
-                includesIndex[i] = originalIndex;
-                colSpecs[i] = originalSpec.getColumnSpec(originalIndex);
+                includesIndex[i] = c.getOriginalIndex();
             }
         }
-        DataTableSpec spec = new DataTableSpec(colSpecs);
-        return new RearrangeColumnsTable(table, includesIndex, isFromRefTable, spec, appendTable);
+    }
+
+    /**
+     * Applies several rearrangers one after another in a single pass over the input table. This is equivalent to
+     * calling {@link #create(ColumnRearranger, BufferedDataTable, ExecutionMonitor, ExecutionContext)} for each
+     * rearranger on the result of the previous one, but the input is only read once and the intermediate results
+     * are never read back: each row is passed through all rearrangers in memory, each of them only storing its new
+     * columns (as it would do otherwise).
+     *
+     * @param rearrangers the rearrangers, rearranger <i>i</i> must be created for the output spec of rearranger
+     *            <i>i-1</i> (the first one for the spec of <code>table</code>)
+     * @param table the input of the first rearranger
+     * @param subProgress for progress and cancellation
+     * @param contexts the contexts to create the data containers of rearranger <i>i</i>, one per rearranger
+     * @param tableFactory turns the table of rearranger <i>i</i> (first argument) into the buffered data table that is
+     *            referenced by the table of rearranger <i>i+1</i>
+     * @return the buffered data tables as returned by the table factory, one per rearranger
+     * @throws CanceledExecutionException if canceled
+     * @throws IllegalArgumentException if the spec of a rearranger doesn't fit its input
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static BufferedDataTable[] createFused(final ColumnRearranger[] rearrangers,
+        final BufferedDataTable table, final ExecutionMonitor subProgress, final ExecutionContext[] contexts,
+        final BiFunction<Integer, RearrangeColumnsTable, BufferedDataTable> tableFactory)
+        throws CanceledExecutionException {
+        final FusedStage[] stages = new FusedStage[rearrangers.length];
+        DataTableSpec spec = table.getDataTableSpec();
+        try {
+            for (int i = 0; i < stages.length; i++) {
+                if (!spec.equalStructure(rearrangers[i].getOriginalSpec())) {
+                    throw new IllegalArgumentException("The spec of rearranger " + i
+                        + " does not match the output of its predecessor.");
+                }
+                stages[i] = new FusedStage(rearrangers[i], contexts[i]);
+                spec = rearrangers[i].createSpec();
+            }
+            final long rowCount = table.size();
+            long r = 0;
+            try (CloseableRowIterator it = table.iterator()) {
+                while (it.hasNext()) {
+                    DataRow row = it.next();
+                    for (int i = 0; i < stages.length; i++) {
+                        row = stages[i].process(row, i < stages.length - 1);
+                    }
+                    r++;
+                    final long rowIndex = r;
+                    subProgress.setProgress(rowIndex / (double)rowCount, () -> "Row " + rowIndex + "/" + rowCount);
+                    subProgress.checkCanceled();
+                }
+            }
+        } finally {
+            for (FusedStage stage : stages) {
+                if (stage != null) {
+                    stage.finishProcessing();
+                }
+            }
+        }
+        final BufferedDataTable[] result = new BufferedDataTable[stages.length];
+        BufferedDataTable reference = table;
+        for (int i = 0; i < stages.length; i++) {
+            result[i] = tableFactory.apply(i, stages[i].createTable(reference));
+            reference = result[i];
+        }
+        return result;
+    }
+
+    /**
+     * Whether the new columns can be computed on the fly, i.e. there are no converters and all factories are
+     * {@link AbstractCellFactory#isVirtual() virtual}.
+     */
+    private static boolean allFactoriesVirtual(final NewColumnsProducerMapping newColsProducerMapping) {
+        if (!newColsProducerMapping.getConverterToIndexMap().isEmpty()
+            || newColsProducerMapping.getFactoryCount() == 0) {
+            return false;
+        }
+        for (CellFactory factory : newColsProducerMapping.getUniqueCellFactoryMap().keySet()) {
+            if (!(factory instanceof AbstractCellFactory) || !((AbstractCellFactory)factory).isVirtual()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the specs contain the domain that the data container would compute for the columns (bounds for
+     * {@link BoundedValue} and possible values for {@link NominalValue} columns). Virtual columns are never scanned, so
+     * their domain is the one declared by the cell factory.
+     */
+    private static boolean hasDomain(final DataColumnSpec[] colSpecs) {
+        for (DataColumnSpec colSpec : colSpecs) {
+            final DataColumnDomain domain = colSpec.getDomain();
+            if ((colSpec.getType().isCompatible(BoundedValue.class) && !domain.hasBounds())
+                || (colSpec.getType().isCompatible(NominalValue.class) && !domain.hasValues())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /** Set a file store factory on the {@link AbstractCellFactory}.
@@ -656,6 +967,42 @@ public void saveToFile(final File f, final NodeSettingsWO s, final ExecutionMoni
         if (m_appendTable != null) {
             // subSettings argument is ignored in ContainerTable
             m_appendTable.saveToFile(f, subSettings, exec);
+        } else if (m_virtualMapping != null) {
+            saveVirtualColumns(f, exec);
+        }
+    }
+
+    /**
+     * Materializes the virtual columns and writes them in the same format as the append table of a non-virtual table
+     * so that the table is restored as an ordinary (non-virtual) table.
+     */
+    private void saveVirtualColumns(final File f, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        // same ID as the table, which is the ID the append table is restored with; the factories don't create file
+        // stores (see AbstractCellFactory#setVirtual), cells passed through are referenced via the repository
+        final Buffer buffer = new NoKeyBuffer(m_virtualAppendSpec, 0, m_virtualBufferID, m_virtualDataRepository,
+            new HashMap<Integer, ContainerTable>(), NotInWorkflowWriteFileStoreHandler.create());
+        try {
+            final ExecutionMonitor calcExec = exec.createSubProgress(0.8);
+            final long rowCount = size();
+            long r = 0;
+            try (CloseableRowIterator it = m_reference.iterator()) {
+                while (it.hasNext()) {
+                    DataRow row = it.next();
+                    buffer.addRow(calcNewCellsForRow(row, m_virtualMapping), false, false);
+                    r++;
+                    final long rowIndex = r;
+                    calcExec.setProgress(rowIndex / (double)rowCount,
+                        () -> "Computing virtual columns, row " + rowIndex + "/" + rowCount);
+                    calcExec.checkCanceled();
+                }
+            }
+            buffer.close(m_virtualAppendSpec);
+            try (ZipOutputStream zipOut = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(f)))) {
+                buffer.addToZipFile(zipOut, exec.createSubProgress(0.2));
+            }
+        } finally {
+            buffer.clear();
         }
     }
 
@@ -787,6 +1134,114 @@ protected void processFinished(final ComputationTask task) throws ExecutionExcep
 
     }
 
+    /** One rearranger within {@link RearrangeColumnsTable#createFused}. */
+    private static final class FusedStage {
+
+        private final ColumnRearranger m_rearranger;
+
+        private final NewColumnsProducerMapping m_producerMapping;
+
+        private final DataContainer m_container;
+
+        private final int[] m_includesIndex;
+
+        private final boolean[] m_isFromRefTable;
+
+        private boolean m_isFinished;
+
+        FusedStage(final ColumnRearranger rearranger, final ExecutionContext context) {
+            m_rearranger = rearranger;
+            final Vector<SpecAndFactoryObject> includes = rearranger.getIncludes();
+            m_producerMapping = createNewColumnsProducerMapping(includes);
+            m_includesIndex = new int[includes.size()];
+            m_isFromRefTable = new boolean[includes.size()];
+            mapIncludes(includes, m_includesIndex, m_isFromRefTable);
+            final List<SpecAndFactoryObject> newColumns = m_producerMapping.getAllNewColumnsList();
+            initProcessing(m_producerMapping, context);
+            if (newColumns.isEmpty()) {
+                m_container = null;
+            } else {
+                final DataColumnSpec[] newColSpecs = new DataColumnSpec[newColumns.size()];
+                for (int i = 0; i < newColSpecs.length; i++) {
+                    newColSpecs[i] = newColumns.get(i).getColSpec();
+                }
+                m_container = context.createDataContainer(new DataTableSpec(newColSpecs));
+                m_container.setBufferCreator(new NoKeyBufferCreator());
+            }
+        }
+
+        /**
+         * Computes and stores the new cells of the row.
+         *
+         * @param row the row of the input table of this stage
+         * @param needsOutput whether the output row is needed (i.e. there is a next stage)
+         * @return the output row of this stage or null if not needed
+         */
+        DataRow process(final DataRow row, final boolean needsOutput) {
+            final DataRow append;
+            if (m_container != null) {
+                append = calcNewCellsForRow(row, m_producerMapping);
+                m_container.addRowToTable(append);
+            } else {
+                append = null;
+            }
+            if (!needsOutput) {
+                return null;
+            }
+            final DataCell[] cells = new DataCell[m_includesIndex.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = m_isFromRefTable[i] ? row.getCell(m_includesIndex[i]) : append.getCell(m_includesIndex[i]);
+            }
+            return new DefaultRow(row.getKey(), cells);
+        }
+
+        /** Closes the container and releases the cell factories, can be called multiple times. */
+        void finishProcessing() {
+            if (!m_isFinished) {
+                m_isFinished = true;
+                try {
+                    if (m_container != null) {
+                        m_container.close();
+                    }
+                } finally {
+                    RearrangeColumnsTable.finishProcessing(m_producerMapping);
+                }
+            }
+        }
+
+        RearrangeColumnsTable createTable(final BufferedDataTable reference) {
+            return RearrangeColumnsTable.createTable(m_rearranger.getIncludes(), m_rearranger.getOriginalSpec(),
+                reference, m_container != null ? m_container.getBufferedTable() : null);
+        }
+    }
+
+    /** Computes the new columns of a virtual table while iterating its reference table. */
+    private final class VirtualColumnsIterator extends CloseableRowIterator {
+
+        private final CloseableRowIterator m_itReference;
+
+        VirtualColumnsIterator(final CloseableRowIterator itReference) {
+            m_itReference = itReference;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_itReference.hasNext();
+        }
+
+        @Override
+        public DataRow next() {
+            final DataRow ref = m_itReference.next();
+            final DataRow app = calcNewCellsForRow(ref, m_virtualMapping);
+            return JoinTableIterator.createOutputRow(ref, app, m_map, m_isFromRefTable);
+        }
+
+        @Override
+        public void close() {
+            m_itReference.close();
+        }
+    }
+
     /**
      * A class that helps to distinguish SpecAndFactoryObjects. There are three kinds: representing input columns,
      * created with a cell factory, created with a converter (often molecular type adapter)
@@ -0,0 +1,234 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Estimates the heap size of rows kept in memory by a {@link Buffer}. Cells of common fixed-size types and strings are
+ * estimated directly. The size of all other cells is derived from the length of their serialized representation; as
+ * serializing each cell would be too costly, only a sample of the cells of each column is serialized and the average
+ * is used for the remaining ones.
+ *
+ * <p>Instances are not thread-safe; each buffer uses its own estimator.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowSizeEstimator {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RowSizeEstimator.class);
+
+    /** Size of an object header. */
+    private static final int OBJECT_HEADER = 16;
+
+    /** Size of an (uncompressed) object reference. */
+    private static final int REFERENCE = 8;
+
+    /** Size of the row object, its cell array and its key (excluding the key's characters). */
+    private static final int ROW_OVERHEAD = 3 * OBJECT_HEADER + 4 * REFERENCE;
+
+    /** Size of an empty string (object and char array). */
+    private static final int STRING_OVERHEAD = 2 * OBJECT_HEADER + 8;
+
+    /** Size of cells whose data is not held in memory (blob wrappers) or whose size can't be determined. */
+    private static final int DEFAULT_CELL_SIZE = 64;
+
+    /** Number of cells per column that are always serialized before sampling begins. */
+    private static final int MIN_SAMPLES = 16;
+
+    /** Every n-th cell of a column is serialized after the {@link #MIN_SAMPLES initial samples}. */
+    private static final int SAMPLE_INTERVAL = 64;
+
+    /** Sizes of cells which don't depend on the cell content. */
+    private static final Map<Class<? extends DataCell>, Integer> FIXED_SIZES = new HashMap<>();
+
+    static {
+        FIXED_SIZES.put(IntCell.class, OBJECT_HEADER);
+        FIXED_SIZES.put(DoubleCell.class, OBJECT_HEADER + 8);
+        FIXED_SIZES.put(LongCell.class, OBJECT_HEADER + 8);
+        // shared instances
+        FIXED_SIZES.put(BooleanCell.class, 0);
+        FIXED_SIZES.put(BlobWrapperDataCell.class, DEFAULT_CELL_SIZE);
+    }
+
+    private final long[] m_cellCounts;
+
+    private final long[] m_sampleCounts;
+
+    private final long[] m_sampleSizes;
+
+    private boolean m_hasLoggedProblem;
+
+    /**
+     * @param numColumns the number of columns of the rows to be estimated
+     */
+    RowSizeEstimator(final int numColumns) {
+        m_cellCounts = new long[numColumns];
+        m_sampleCounts = new long[numColumns];
+        m_sampleSizes = new long[numColumns];
+    }
+
+    /**
+     * Estimates the number of bytes the argument row occupies on the heap.
+     *
+     * @param row the row as it is kept in memory by the buffer
+     * @return the estimated size in bytes
+     */
+    long estimate(final BlobSupportDataRow row) {
+        final int numCells = row.getNumCells();
+        long size = ROW_OVERHEAD + (long)REFERENCE * numCells + estimateString(row.getKey().getString());
+        for (int i = 0; i < numCells; i++) {
+            size += estimate(row.getRawCell(i), i);
+        }
+        return size;
+    }
+
+    private long estimate(final DataCell cell, final int column) {
+        final Integer fixedSize = FIXED_SIZES.get(cell.getClass());
+        if (fixedSize != null) {
+            return fixedSize;
+        } else if (cell instanceof StringCell) {
+            return OBJECT_HEADER + estimateString(((StringCell)cell).getStringValue());
+        } else if (cell instanceof MissingCell) {
+            final String error = ((MissingCell)cell).getError();
+            return OBJECT_HEADER + (error == null ? 0 : estimateString(error));
+        } else if (column >= m_cellCounts.length) {
+            return estimateSerializedSize(cell);
+        }
+        final long count = m_cellCounts[column]++;
+        if (m_sampleCounts[column] < MIN_SAMPLES || count % SAMPLE_INTERVAL == 0) {
+            m_sampleSizes[column] += estimateSerializedSize(cell);
+            m_sampleCounts[column]++;
+        }
+        return m_sampleSizes[column] / m_sampleCounts[column];
+    }
+
+    private static long estimateString(final String s) {
+        return STRING_OVERHEAD + 2L * s.length();
+    }
+
+    private long estimateSerializedSize(final DataCell cell) {
+        try (SizeCountingOutput out = new SizeCountingOutput()) {
+            out.writeCell(cell);
+            out.flush();
+            return OBJECT_HEADER + out.getCount();
+        } catch (IOException | RuntimeException e) {
+            if (!m_hasLoggedProblem) {
+                m_hasLoggedProblem = true;
+                LOGGER.debug("Unable to estimate size of cell " + cell.getClass().getName() + ": " + e.getMessage(), e);
+            }
+            return DEFAULT_CELL_SIZE;
+        }
+    }
+
+    /** Output that discards the serialized cell and only counts its bytes. */
+    private static final class SizeCountingOutput extends DataOutputStream implements DataCellDataOutput {
+
+        SizeCountingOutput() {
+            super(new CountingOutputStream());
+        }
+
+        long getCount() {
+            return ((CountingOutputStream)out).m_count;
+        }
+
+        void writeCell(final DataCell cell) throws IOException {
+            final Optional<DataCellSerializer<DataCell>> serializer =
+                DataTypeRegistry.getInstance().getSerializer(cell.getClass());
+            if (serializer.isPresent()) {
+                serializer.get().serialize(cell, this);
+            } else {
+                // not using try-with-resources as closing would close this stream
+                @SuppressWarnings("resource")
+                final ObjectOutputStream objOut = new ObjectOutputStream(out);
+                objOut.writeObject(cell);
+                objOut.flush();
+            }
+        }
+
+        @Override
+        public void writeDataCell(final DataCell cell) throws IOException {
+            writeUTF(cell.getClass().getName());
+            writeCell(cell);
+        }
+    }
+
+    /** Stream that counts and discards all bytes. */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long m_count;
+
+        @Override
+        public void write(final int b) {
+            m_count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            m_count += len;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.container.filter.FilterDelegateRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Flat representation of a stack of column-wise wrapper tables, i.e. {@link RearrangeColumnsTable},
+ * {@link JoinedTable}, {@link TableSpecReplacerTable}, and {@link WrappedTable}. Each output column is resolved to a
+ * column of a source table, which is either the append table of a rearrange table or any table that is not a
+ * column-wise wrapper (a container table, a concatenated table, a rearrange table with virtual columns, ...).
+ *
+ * <p>
+ * None of the wrappers changes the number or order of the rows, hence the sources are read in lock step. An iterator
+ * on the plan reads each source once and assembles the output rows directly instead of passing each row through one
+ * iterator (and one intermediate row object) per wrapper. Plans are only created for stacks of at least two wrappers;
+ * the flattening can be switched off using {@link KNIMEConstants#PROPERTY_TABLE_FLATTENING}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class TableLineagePlan {
+
+    private static final boolean IS_ENABLED =
+        !"false".equalsIgnoreCase(System.getProperty(KNIMEConstants.PROPERTY_TABLE_FLATTENING));
+
+    /** Stacks of fewer wrappers are iterated as they are, their iterators are flat already. */
+    private static final int MIN_WRAPPER_COUNT = 2;
+
+    /** The distinct source tables, the first one provides the row keys. */
+    private final KnowsRowCountTable[] m_sources;
+
+    /** For each output column the index of its source in {@link #m_sources}. */
+    private final int[] m_sourceIndices;
+
+    /** For each output column its index in the source table. */
+    private final int[] m_sourceColumns;
+
+    private TableLineagePlan(final KnowsRowCountTable[] sources, final int[] sourceIndices,
+        final int[] sourceColumns) {
+        m_sources = sources;
+        m_sourceIndices = sourceIndices;
+        m_sourceColumns = sourceColumns;
+    }
+
+    /**
+     * Resolves the wrapper stack of the argument table.
+     *
+     * @param table the table to flatten
+     * @param delegateAccess provides the underlying table of a {@link BufferedDataTable}
+     * @return the plan or an empty optional if the table isn't (worth) flattening
+     */
+    public static Optional<TableLineagePlan> create(final KnowsRowCountTable table,
+        final Function<BufferedDataTable, KnowsRowCountTable> delegateAccess) {
+        if (!IS_ENABLED || !isWrapper(table)) {
+            return Optional.empty();
+        }
+        final Planner planner = new Planner(delegateAccess);
+        planner.resolveKeySource(table);
+        final int colCount = table.getDataTableSpec().getNumColumns();
+        final int[] sourceIndices = new int[colCount];
+        final int[] sourceColumns = new int[colCount];
+        for (int i = 0; i < colCount; i++) {
+            planner.resolve(table, i);
+            sourceIndices[i] = planner.m_resolvedSource;
+            sourceColumns[i] = planner.m_resolvedColumn;
+        }
+        if (planner.m_wrappers.size() < MIN_WRAPPER_COUNT) {
+            return Optional.empty();
+        }
+        final long size = table.size();
+        for (KnowsRowCountTable source : planner.m_sources) {
+            if (source.size() != size) {
+                // inconsistent lineage, let the wrappers deal with it
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new TableLineagePlan(
+            planner.m_sources.toArray(new KnowsRowCountTable[planner.m_sources.size()]), sourceIndices,
+            sourceColumns));
+    }
+
+    private static boolean isWrapper(final KnowsRowCountTable table) {
+        return (table instanceof RearrangeColumnsTable && !((RearrangeColumnsTable)table).isVirtual())
+            || table instanceof JoinedTable || table instanceof TableSpecReplacerTable
+            || table instanceof WrappedTable;
+    }
+
+    /** @return the number of distinct tables read by an iterator on this plan. */
+    int getSourceCount() {
+        return m_sources.length;
+    }
+
+    /** @return an iterator reading all columns. */
+    public CloseableRowIterator iterator() {
+        return iteratorWithFilter(new TableFilter.Builder().build(), null);
+    }
+
+    /**
+     * Creates an iterator that applies the row range of the filter to all sources and materializes only those
+     * columns of the sources that are needed by the materialized output columns. A predicate of the filter is
+     * evaluated on the output rows.
+     *
+     * @param filter the filter to apply
+     * @param exec the monitor to report progress to, may be null
+     * @return a new iterator
+     */
+    public CloseableRowIterator iteratorWithFilter(final TableFilter filter, final ExecutionMonitor exec) {
+        if (filter.getPredicate().isPresent()) {
+            // the sources are read in lock step, the predicate refers to the output columns
+            return new FilterDelegateRowIterator(iteratorWithFilter(filter.withoutPredicate(), exec),
+                TableFilter.filterRows(filter.getPredicate().get()), m_sources[0].size(), null);
+        }
+        final Optional<Set<Integer>> outputColumns = filter.getMaterializeColumnIndices();
+        final IntStream materialized = outputColumns.isPresent()
+            ? outputColumns.get().stream().mapToInt(Integer::intValue) : IntStream.range(0, m_sourceIndices.length);
+        // several output columns may share a source column (e.g. a table joined with itself)
+        final List<Set<Integer>> sourceColumns = new ArrayList<>(m_sources.length);
+        for (int s = 0; s < m_sources.length; s++) {
+            sourceColumns.add(new HashSet<>());
+        }
+        materialized.forEach(i -> sourceColumns.get(m_sourceIndices[i]).add(m_sourceColumns[i]));
+        final CloseableRowIterator[] iterators = new CloseableRowIterator[m_sources.length];
+        try {
+            for (int s = 0; s < m_sources.length; s++) {
+                final TableFilter sourceFilter = new TableFilter.Builder(filter)
+                    .withMaterializeColumnIndices(sourceColumns.get(s).stream().mapToInt(Integer::intValue).toArray())
+                    .build();
+                // progress is reported by the key source only
+                iterators[s] = m_sources[s].iteratorWithFilter(sourceFilter, s == 0 ? exec : null);
+            }
+        } catch (RuntimeException e) {
+            for (CloseableRowIterator it : iterators) {
+                if (it != null) {
+                    it.close();
+                }
+            }
+            throw e;
+        }
+        return new FlatRowIterator(iterators);
+    }
+
+    /** Reads the sources in lock step and assembles the output rows. */
+    private final class FlatRowIterator extends CloseableRowIterator {
+
+        private final CloseableRowIterator[] m_iterators;
+
+        private final DataRow[] m_rows;
+
+        FlatRowIterator(final CloseableRowIterator[] iterators) {
+            m_iterators = iterators;
+            m_rows = new DataRow[iterators.length];
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean hasNext = true;
+            for (CloseableRowIterator it : m_iterators) {
+                // call hasNext on all iterators so that they can close their resources at the end, see AP-8055
+                hasNext &= it.hasNext();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public DataRow next() {
+            for (int s = 0; s < m_iterators.length; s++) {
+                m_rows[s] = m_iterators[s].next();
+            }
+            final DataCell[] cells = new DataCell[m_sourceIndices.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = JoinTableIterator.getUnwrappedCell(m_rows[m_sourceIndices[i]], m_sourceColumns[i]);
+            }
+            return new BlobSupportDataRow(m_rows[0].getKey(), cells);
+        }
+
+        @Override
+        public void close() {
+            for (CloseableRowIterator it : m_iterators) {
+                it.close();
+            }
+        }
+    }
+
+    /** Walks the wrapper stack, collecting the distinct sources and visited wrappers. */
+    private static final class Planner {
+
+        private final Function<BufferedDataTable, KnowsRowCountTable> m_delegateAccess;
+
+        private final List<KnowsRowCountTable> m_sources = new ArrayList<>();
+
+        private final Map<KnowsRowCountTable, Integer> m_sourceIndexMap = new IdentityHashMap<>();
+
+        private final Map<KnowsRowCountTable, Object> m_wrappers = new IdentityHashMap<>();
+
+        private int m_resolvedSource;
+
+        private int m_resolvedColumn;
+
+        Planner(final Function<BufferedDataTable, KnowsRowCountTable> delegateAccess) {
+            m_delegateAccess = delegateAccess;
+        }
+
+        /** Adds the table providing the row keys as first source. */
+        void resolveKeySource(final KnowsRowCountTable table) {
+            KnowsRowCountTable t = table;
+            while (isWrapper(t)) {
+                m_wrappers.put(t, null);
+                // the first reference provides the keys for all wrappers (the left table for joined tables)
+                t = m_delegateAccess.apply(t.getReferenceTables()[0]);
+            }
+            addSource(t);
+        }
+
+        /** Resolves the column of the table to its source, see {@link #m_resolvedSource}. */
+        void resolve(final KnowsRowCountTable table, final int column) {
+            KnowsRowCountTable t = table;
+            int c = column;
+            while (isWrapper(t)) {
+                m_wrappers.put(t, null);
+                if (t instanceof RearrangeColumnsTable) {
+                    final RearrangeColumnsTable r = (RearrangeColumnsTable)t;
+                    final boolean isFromRefTable = r.getIsFromRefTable()[c];
+                    c = r.getMap()[c];
+                    t = isFromRefTable ? m_delegateAccess.apply(r.getReferenceTables()[0]) : r.getAppendTable();
+                } else if (t instanceof JoinedTable) {
+                    final BufferedDataTable[] references = t.getReferenceTables();
+                    final int leftColCount = references[0].getDataTableSpec().getNumColumns();
+                    if (c < leftColCount) {
+                        t = m_delegateAccess.apply(references[0]);
+                    } else {
+                        c -= leftColCount;
+                        t = m_delegateAccess.apply(references[1]);
+                    }
+                } else {
+                    // spec replacer and wrapped tables don't touch the columns
+                    t = m_delegateAccess.apply(t.getReferenceTables()[0]);
+                }
+            }
+            m_resolvedSource = addSource(t);
+            m_resolvedColumn = c;
+        }
+
+        private int addSource(final KnowsRowCountTable source) {
+            return m_sourceIndexMap.computeIfAbsent(source, s -> {
+                m_sources.add(s);
+                return m_sources.size() - 1;
+            });
+        }
+    }
+}
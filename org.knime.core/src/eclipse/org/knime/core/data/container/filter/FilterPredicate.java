@@ -0,0 +1,703 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container.filter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.filter.RowGroupIndex.Group;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * A condition on the cells of a {@link DataRow} that can be used to retain only some rows of a table, see
+ * {@link TableFilter#filterRows(FilterPredicate)}. Predicates compare the cells of a single column with constant values
+ * and can be combined via {@link #and(FilterPredicate...)} and {@link #or(FilterPredicate...)}.
+ *
+ * <p>
+ * Numeric comparisons are done on the {@link DoubleValue#getDoubleValue() double value} of cells, string comparisons
+ * on their {@link StringValue#getStringValue() string value} in lexicographic order. Like in SQL, missing cells never
+ * satisfy a comparison or an IN-list, they can only be tested for via {@link #isMissing(int)}. NaN is not equal to,
+ * smaller, or larger than any value.
+ *
+ * <p>
+ * Tables written to disk keep statistics about the values of consecutive rows, which allow readers to skip rows that
+ * cannot satisfy a predicate without deserializing them.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public abstract class FilterPredicate {
+
+    /** Only the predicates defined in this class are supported by the table readers. */
+    FilterPredicate() {
+    }
+
+    /**
+     * Evaluates this predicate on a row. The cells in all columns returned by {@link #getColumnIndices()} must be
+     * materialized.
+     *
+     * @param row the row to test
+     * @return whether the row satisfies this predicate
+     */
+    public abstract boolean test(DataRow row);
+
+    /**
+     * @return the indices of the columns this predicate accesses
+     */
+    public final Set<Integer> getColumnIndices() {
+        final Set<Integer> indices = new TreeSet<>();
+        collectColumnIndices(indices);
+        return indices;
+    }
+
+    /**
+     * Validates this predicate against a {@link DataTableSpec}.
+     *
+     * @param spec the spec to validate against
+     * @throws IndexOutOfBoundsException when any column index is out of bounds
+     * @throws IllegalArgumentException when the type of a column doesn't support the comparison
+     */
+    public abstract void validate(DataTableSpec spec);
+
+    abstract void collectColumnIndices(Set<Integer> indices);
+
+    /**
+     * @param group statistics of some rows
+     * @return <code>false</code> if none of the rows can satisfy this predicate, <code>true</code> if some may
+     */
+    abstract boolean mayMatch(Group group);
+
+    /**
+     * Creates a predicate that is satisfied by rows whose cell in the given column is missing.
+     *
+     * @param column the index of the column
+     * @return a new predicate
+     */
+    public static FilterPredicate isMissing(final int column) {
+        return new MissingTest(column, true);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose cell in the given column is not missing.
+     *
+     * @param column the index of the column
+     * @return a new predicate
+     */
+    public static FilterPredicate isNotMissing(final int column) {
+        return new MissingTest(column, false);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose numeric cell in the given column is equal to a value.
+     *
+     * @param column the index of a column compatible with {@link DoubleValue}
+     * @param value the value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate equal(final int column, final double value) {
+        return new NumericComparison(column, Operator.EQ, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose numeric cell in the given column is not equal to a value.
+     *
+     * @param column the index of a column compatible with {@link DoubleValue}
+     * @param value the value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate notEqual(final int column, final double value) {
+        return new NumericComparison(column, Operator.NE, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose numeric cell in the given column is smaller than a value.
+     *
+     * @param column the index of a column compatible with {@link DoubleValue}
+     * @param value the value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate lessThan(final int column, final double value) {
+        return new NumericComparison(column, Operator.LT, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose numeric cell in the given column is smaller than or equal to
+     * a value.
+     *
+     * @param column the index of a column compatible with {@link DoubleValue}
+     * @param value the value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate lessOrEqual(final int column, final double value) {
+        return new NumericComparison(column, Operator.LE, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose numeric cell in the given column is larger than a value.
+     *
+     * @param column the index of a column compatible with {@link DoubleValue}
+     * @param value the value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate greaterThan(final int column, final double value) {
+        return new NumericComparison(column, Operator.GT, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose numeric cell in the given column is larger than or equal to
+     * a value.
+     *
+     * @param column the index of a column compatible with {@link DoubleValue}
+     * @param value the value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate greaterOrEqual(final int column, final double value) {
+        return new NumericComparison(column, Operator.GE, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose string cell in the given column is equal to a value.
+     *
+     * @param column the index of a column compatible with {@link StringValue}
+     * @param value the non-null value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate equal(final int column, final String value) {
+        return new StringComparison(column, Operator.EQ, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose string cell in the given column is not equal to a value.
+     *
+     * @param column the index of a column compatible with {@link StringValue}
+     * @param value the non-null value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate notEqual(final int column, final String value) {
+        return new StringComparison(column, Operator.NE, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose string cell in the given column is lexicographically smaller
+     * than a value.
+     *
+     * @param column the index of a column compatible with {@link StringValue}
+     * @param value the non-null value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate lessThan(final int column, final String value) {
+        return new StringComparison(column, Operator.LT, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose string cell in the given column is lexicographically smaller
+     * than or equal to a value.
+     *
+     * @param column the index of a column compatible with {@link StringValue}
+     * @param value the non-null value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate lessOrEqual(final int column, final String value) {
+        return new StringComparison(column, Operator.LE, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose string cell in the given column is lexicographically larger
+     * than a value.
+     *
+     * @param column the index of a column compatible with {@link StringValue}
+     * @param value the non-null value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate greaterThan(final int column, final String value) {
+        return new StringComparison(column, Operator.GT, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose string cell in the given column is lexicographically larger
+     * than or equal to a value.
+     *
+     * @param column the index of a column compatible with {@link StringValue}
+     * @param value the non-null value to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate greaterOrEqual(final int column, final String value) {
+        return new StringComparison(column, Operator.GE, value);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose numeric cell in the given column is equal to any of the
+     * given values.
+     *
+     * @param column the index of a column compatible with {@link DoubleValue}
+     * @param values the values to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate in(final int column, final double... values) {
+        return new NumericIn(column, CheckUtils.checkArgumentNotNull(values, "Values must not be null"));
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows whose string cell in the given column is equal to any of the
+     * given values.
+     *
+     * @param column the index of a column compatible with {@link StringValue}
+     * @param values the non-null values to compare with
+     * @return a new predicate
+     */
+    public static FilterPredicate in(final int column, final String... values) {
+        CheckUtils.checkArgumentNotNull(values, "Values must not be null");
+        CheckUtils.checkArgument(Arrays.stream(values).allMatch(v -> v != null), "Values must not be null");
+        return new StringIn(column, values);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows that satisfy all of the given predicates.
+     *
+     * @param predicates the predicates to combine, at least one
+     * @return a new predicate
+     */
+    public static FilterPredicate and(final FilterPredicate... predicates) {
+        return new Junction(predicates, true);
+    }
+
+    /**
+     * Creates a predicate that is satisfied by rows that satisfy any of the given predicates.
+     *
+     * @param predicates the predicates to combine, at least one
+     * @return a new predicate
+     */
+    public static FilterPredicate or(final FilterPredicate... predicates) {
+        return new Junction(predicates, false);
+    }
+
+    /** The comparison operators. */
+    private enum Operator {
+        EQ("="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">=");
+
+        private final String m_symbol;
+
+        Operator(final String symbol) {
+            m_symbol = symbol;
+        }
+
+        /** Whether the comparison is satisfied, NaN (i.e. a NaN operand) satisfies only {@link #NE}. */
+        boolean test(final double value, final double operand) {
+            switch (this) {
+                case EQ:
+                    return value == operand;
+                case NE:
+                    return value != operand; // NOSONAR exact comparison intended
+                case LT:
+                    return value < operand;
+                case LE:
+                    return value <= operand;
+                case GT:
+                    return value > operand;
+                default:
+                    return value >= operand;
+            }
+        }
+
+        /** Whether the result of {@link Comparable#compareTo(Object)} satisfies the comparison. */
+        boolean test(final int comparison) {
+            switch (this) {
+                case EQ:
+                    return comparison == 0;
+                case NE:
+                    return comparison != 0;
+                case LT:
+                    return comparison < 0;
+                case LE:
+                    return comparison <= 0;
+                case GT:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        /**
+         * Whether any of the values between min and max (inclusive, both attained) may satisfy the comparison, given
+         * the comparisons of min and max with the operand. {@link #NE} can only be ruled out if it's also known that
+         * there are no values outside the bounds, such as NaN.
+         */
+        boolean mayTest(final int minComparison, final int maxComparison, final boolean isBoundsComplete) {
+            switch (this) {
+                case EQ:
+                    return minComparison <= 0 && maxComparison >= 0;
+                case NE:
+                    return !(isBoundsComplete && minComparison == 0 && maxComparison == 0);
+                case LT:
+                    return minComparison < 0;
+                case LE:
+                    return minComparison <= 0;
+                case GT:
+                    return maxComparison > 0;
+                default:
+                    return maxComparison >= 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return m_symbol;
+        }
+    }
+
+    /** Super class of predicates on a single column. */
+    private abstract static class ColumnPredicate extends FilterPredicate {
+
+        private final int m_column;
+
+        ColumnPredicate(final int column) {
+            if (column < 0) {
+                throw new IndexOutOfBoundsException("Column index must be at least 0.");
+            }
+            m_column = column;
+        }
+
+        final int getColumn() {
+            return m_column;
+        }
+
+        /** @return the cell in the column, or null if it's missing */
+        final DataCell getCell(final DataRow row) {
+            final DataCell cell = row.getCell(m_column);
+            return cell.isMissing() ? null : cell;
+        }
+
+        @Override
+        final void collectColumnIndices(final Set<Integer> indices) {
+            indices.add(m_column);
+        }
+
+        @Override
+        public void validate(final DataTableSpec spec) {
+            if (m_column >= spec.getNumColumns()) {
+                throw new IndexOutOfBoundsException(
+                    "Column index " + m_column + " must be smaller than " + spec.getNumColumns());
+            }
+        }
+
+        /** Validates that the column type is compatible with the given value class. */
+        final void validate(final DataTableSpec spec, final Class<? extends DataValue> valueClass) {
+            validate(spec);
+            CheckUtils.checkArgument(spec.getColumnSpec(m_column).getType().isCompatible(valueClass),
+                "Column \"%s\" is not compatible with %s", spec.getColumnSpec(m_column).getName(),
+                valueClass.getSimpleName());
+        }
+
+        final String getColumnString() {
+            return "$" + m_column + "$";
+        }
+    }
+
+    private static final class MissingTest extends ColumnPredicate {
+
+        private final boolean m_isMissing;
+
+        MissingTest(final int column, final boolean isMissing) {
+            super(column);
+            m_isMissing = isMissing;
+        }
+
+        @Override
+        public boolean test(final DataRow row) {
+            return row.getCell(getColumn()).isMissing() == m_isMissing;
+        }
+
+        @Override
+        boolean mayMatch(final Group group) {
+            return m_isMissing ? group.getMissingCount(getColumn()) > 0 : group.getNonMissingCount(getColumn()) > 0;
+        }
+
+        @Override
+        public String toString() {
+            return getColumnString() + (m_isMissing ? " IS MISSING" : " IS NOT MISSING");
+        }
+    }
+
+    private static final class NumericComparison extends ColumnPredicate {
+
+        private final Operator m_operator;
+
+        private final double m_value;
+
+        NumericComparison(final int column, final Operator operator, final double value) {
+            super(column);
+            m_operator = operator;
+            m_value = value;
+        }
+
+        @Override
+        public boolean test(final DataRow row) {
+            final DataCell cell = getCell(row);
+            return cell instanceof DoubleValue && m_operator.test(((DoubleValue)cell).getDoubleValue(), m_value);
+        }
+
+        @Override
+        public void validate(final DataTableSpec spec) {
+            validate(spec, DoubleValue.class);
+        }
+
+        @Override
+        boolean mayMatch(final Group group) {
+            return mayMatch(group, getColumn(), m_operator, m_value);
+        }
+
+        static boolean mayMatch(final Group group, final int column, final Operator operator, final double value) {
+            if (group.getNonMissingCount(column) == 0) {
+                return false;
+            }
+            if (!group.hasNumericBounds(column)) {
+                return true;
+            }
+            final double min = group.getMin(column);
+            final double max = group.getMax(column);
+            if (Double.isNaN(value) || Double.isNaN(min)) {
+                // only NE is satisfied by NaN operands; min is NaN if there are only NaN values
+                return operator == Operator.NE;
+            }
+            return operator.mayTest(compare(min, value), compare(max, value), !group.hasNaN(column));
+        }
+
+        /** Compares like the primitive operators do, i.e. 0.0 and -0.0 are equal. Arguments must not be NaN. */
+        private static int compare(final double a, final double b) {
+            return a < b ? -1 : (a > b ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            return getColumnString() + " " + m_operator + " " + m_value;
+        }
+    }
+
+    private static final class StringComparison extends ColumnPredicate {
+
+        private final Operator m_operator;
+
+        private final String m_value;
+
+        StringComparison(final int column, final Operator operator, final String value) {
+            super(column);
+            m_operator = operator;
+            m_value = CheckUtils.checkArgumentNotNull(value, "Value must not be null");
+        }
+
+        @Override
+        public boolean test(final DataRow row) {
+            final DataCell cell = getCell(row);
+            return cell instanceof StringValue
+                && m_operator.test(((StringValue)cell).getStringValue().compareTo(m_value));
+        }
+
+        @Override
+        public void validate(final DataTableSpec spec) {
+            validate(spec, StringValue.class);
+        }
+
+        @Override
+        boolean mayMatch(final Group group) {
+            return mayMatch(group, getColumn(), m_operator, m_value);
+        }
+
+        static boolean mayMatch(final Group group, final int column, final Operator operator, final String value) {
+            if (group.getNonMissingCount(column) == 0) {
+                return false;
+            }
+            if (!group.hasStringBounds(column)) {
+                return true;
+            }
+            final String min = group.getMinString(column);
+            final String max = group.getMaxString(column);
+            return operator.mayTest(min.compareTo(value), max.compareTo(value), true);
+        }
+
+        @Override
+        public String toString() {
+            return getColumnString() + " " + m_operator + " \"" + m_value + "\"";
+        }
+    }
+
+    private static final class NumericIn extends ColumnPredicate {
+
+        private final double[] m_values;
+
+        NumericIn(final int column, final double[] values) {
+            super(column);
+            m_values = values.clone();
+            Arrays.sort(m_values);
+        }
+
+        @Override
+        public boolean test(final DataRow row) {
+            final DataCell cell = getCell(row);
+            if (!(cell instanceof DoubleValue)) {
+                return false;
+            }
+            final double value = ((DoubleValue)cell).getDoubleValue();
+            // NaN is never equal, 0.0 and -0.0 are
+            return !Double.isNaN(value) && (Arrays.binarySearch(m_values, value) >= 0
+                || (value == 0.0 && Arrays.binarySearch(m_values, -value) >= 0));
+        }
+
+        @Override
+        public void validate(final DataTableSpec spec) {
+            validate(spec, DoubleValue.class);
+        }
+
+        @Override
+        boolean mayMatch(final Group group) {
+            return Arrays.stream(m_values)
+                .anyMatch(v -> NumericComparison.mayMatch(group, getColumn(), Operator.EQ, v));
+        }
+
+        @Override
+        public String toString() {
+            return getColumnString() + " IN " + Arrays.toString(m_values);
+        }
+    }
+
+    private static final class StringIn extends ColumnPredicate {
+
+        private final Set<String> m_values;
+
+        StringIn(final int column, final String[] values) {
+            super(column);
+            m_values = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(values)));
+        }
+
+        @Override
+        public boolean test(final DataRow row) {
+            final DataCell cell = getCell(row);
+            return cell instanceof StringValue && m_values.contains(((StringValue)cell).getStringValue());
+        }
+
+        @Override
+        public void validate(final DataTableSpec spec) {
+            validate(spec, StringValue.class);
+        }
+
+        @Override
+        boolean mayMatch(final Group group) {
+            return m_values.stream().anyMatch(v -> StringComparison.mayMatch(group, getColumn(), Operator.EQ, v));
+        }
+
+        @Override
+        public String toString() {
+            return getColumnString() + " IN "
+                + m_values.stream().map(v -> "\"" + v + "\"").collect(Collectors.joining(", ", "[", "]"));
+        }
+    }
+
+    private static final class Junction extends FilterPredicate {
+
+        private final FilterPredicate[] m_predicates;
+
+        private final boolean m_isAnd;
+
+        Junction(final FilterPredicate[] predicates, final boolean isAnd) {
+            CheckUtils.checkArgument(predicates != null && predicates.length > 0, "At least one predicate required");
+            CheckUtils.checkArgument(Arrays.stream(predicates).allMatch(p -> p != null),
+                "Predicates must not be null");
+            m_predicates = predicates.clone();
+            m_isAnd = isAnd;
+        }
+
+        @Override
+        public boolean test(final DataRow row) {
+            for (FilterPredicate predicate : m_predicates) {
+                if (predicate.test(row) != m_isAnd) {
+                    return !m_isAnd;
+                }
+            }
+            return m_isAnd;
+        }
+
+        @Override
+        public void validate(final DataTableSpec spec) {
+            for (FilterPredicate predicate : m_predicates) {
+                predicate.validate(spec);
+            }
+        }
+
+        @Override
+        void collectColumnIndices(final Set<Integer> indices) {
+            for (FilterPredicate predicate : m_predicates) {
+                predicate.collectColumnIndices(indices);
+            }
+        }
+
+        @Override
+        boolean mayMatch(final Group group) {
+            for (FilterPredicate predicate : m_predicates) {
+                if (predicate.mayMatch(group) != m_isAnd) {
+                    return !m_isAnd;
+                }
+            }
+            return m_isAnd;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(m_predicates).map(p -> "(" + p + ")")
+                .collect(Collectors.joining(m_isAnd ? " AND " : " OR "));
+        }
+    }
+}
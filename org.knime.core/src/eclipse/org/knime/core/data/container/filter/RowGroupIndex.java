@@ -0,0 +1,507 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.container.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Statistics about the values of consecutive rows of a table (also known as zone maps). For each group of rows, the
+ * number of missing cells per column as well as the minimum and maximum value of numeric and string columns are
+ * recorded while the table is written. A reader can then skip all rows of a group if the statistics show that none of
+ * them can satisfy a {@link FilterPredicate}.
+ *
+ * <p>
+ * Groups initially comprise {@value #INITIAL_GROUP_SIZE} rows. In order to bound the size of the statistics for large
+ * tables, adjacent groups are merged (and the group size is doubled) whenever there are {@value #MAX_GROUP_COUNT}
+ * groups. As the statistics are part of the table's meta information, groups are merged further when saving if they
+ * exceed {@value #MAX_SERIALIZED_SIZE} bytes (and they are dropped if a single group is larger than that, e.g. for
+ * tables with very many columns).
+ *
+ * <p>
+ * Statistics are only recorded if enabled via {@link KNIMEConstants#PROPERTY_TABLE_ROW_GROUP_STATISTICS}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class RowGroupIndex {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RowGroupIndex.class);
+
+    /** Config key for the serialized statistics in the meta information of a table store. */
+    private static final String CFG_ROW_GROUP_INDEX = "row_group_index";
+
+    /** Version of the serialized form. */
+    private static final int SERIAL_VERSION = 1;
+
+    /** The number of rows in a group before any merging. */
+    static final int INITIAL_GROUP_SIZE = 1024;
+
+    /** The number of groups that triggers merging adjacent groups, must be even. */
+    static final int MAX_GROUP_COUNT = 1024;
+
+    /** Upper bound for the size of the serialized statistics (before Base64 encoding). */
+    static final int MAX_SERIALIZED_SIZE = 64 * 1024;
+
+    private static final boolean IS_ENABLED =
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_TABLE_ROW_GROUP_STATISTICS);
+
+    /** Strings longer than this are not kept as bounds (the bounds of the group are unknown then). */
+    private static final int MAX_STRING_LENGTH = 256;
+
+    /** Column kinds: only missing cells are counted. */
+    private static final byte KIND_OTHER = 0;
+
+    /** Column kinds: {@link DoubleValue} columns, bounds are kept as double. */
+    private static final byte KIND_NUMERIC = 1;
+
+    /** Column kinds: {@link StringCell} columns, bounds are kept as strings. */
+    private static final byte KIND_STRING = 2;
+
+    private final byte[] m_kinds;
+
+    private final int m_groupSize;
+
+    private final List<Group> m_groups;
+
+    private RowGroupIndex(final byte[] kinds, final int groupSize, final List<Group> groups) {
+        m_kinds = kinds;
+        m_groupSize = groupSize;
+        m_groups = groups;
+    }
+
+    /**
+     * @return whether statistics are recorded when tables are written, see
+     *         {@link KNIMEConstants#PROPERTY_TABLE_ROW_GROUP_STATISTICS}
+     */
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * @return the number of rows in each group (except for the last one), groups start at row 0
+     */
+    public int getGroupSize() {
+        return m_groupSize;
+    }
+
+    /**
+     * @return the number of groups
+     */
+    public int getGroupCount() {
+        return m_groups.size();
+    }
+
+    /**
+     * @param groupIndex the index of the group, i.e. the index of its first row divided by {@link #getGroupSize()}
+     * @param predicate the predicate to test
+     * @return <code>false</code> if no row in the group can satisfy the predicate
+     */
+    public boolean mayMatch(final int groupIndex, final FilterPredicate predicate) {
+        return predicate.mayMatch(m_groups.get(groupIndex));
+    }
+
+    /**
+     * Saves the statistics into the meta information of a table store. Adjacent groups are merged until the
+     * statistics don't exceed {@value #MAX_SERIALIZED_SIZE} bytes; nothing is saved if even a single group does.
+     *
+     * @param settings to save to
+     */
+    public void save(final NodeSettingsWO settings) {
+        int groupSize = m_groupSize;
+        List<Group> groups = m_groups;
+        byte[] bytes = serialize(m_kinds, groupSize, groups);
+        while (bytes.length > MAX_SERIALIZED_SIZE && groups.size() > 1) {
+            final List<Group> merged = new ArrayList<>((groups.size() + 1) / 2);
+            for (int i = 0; i < groups.size(); i += 2) {
+                merged.add(i + 1 < groups.size() ? Group.merge(groups.get(i), groups.get(i + 1)) : groups.get(i));
+            }
+            groups = merged;
+            groupSize *= 2;
+            bytes = serialize(m_kinds, groupSize, groups);
+        }
+        if (bytes.length > MAX_SERIALIZED_SIZE) {
+            LOGGER.debugWithFormat("Not saving row group statistics of %d columns, they exceed %d bytes",
+                m_kinds.length, MAX_SERIALIZED_SIZE);
+            return;
+        }
+        settings.addString(CFG_ROW_GROUP_INDEX, Base64.getEncoder().encodeToString(bytes));
+    }
+
+    private static byte[] serialize(final byte[] kinds, final int groupSize, final List<Group> groups) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SERIAL_VERSION);
+            out.writeInt(kinds.length);
+            out.write(kinds);
+            out.writeInt(groupSize);
+            out.writeInt(groups.size());
+            for (Group group : groups) {
+                group.write(out, kinds);
+            }
+        } catch (IOException e) {
+            // can't happen with a byte array output stream
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Loads the statistics from the meta information of a table store. Tables written by older versions don't have
+     * statistics; broken statistics are ignored as they are only used to speed up reading.
+     *
+     * @param settings to load from
+     * @param spec the spec of the table
+     * @return the statistics or an empty optional if there are none (or if they don't fit the spec)
+     */
+    public static Optional<RowGroupIndex> load(final NodeSettingsRO settings, final DataTableSpec spec) {
+        final String serialized = settings.getString(CFG_ROW_GROUP_INDEX, null);
+        if (serialized == null) {
+            return Optional.empty();
+        }
+        try (DataInputStream in =
+            new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(serialized)))) {
+            if (in.readInt() != SERIAL_VERSION) {
+                return Optional.empty();
+            }
+            final byte[] kinds = new byte[in.readInt()];
+            in.readFully(kinds);
+            if (!Arrays.equals(kinds, getKinds(spec))) {
+                return Optional.empty();
+            }
+            final int groupSize = in.readInt();
+            final int groupCount = in.readInt();
+            final List<Group> groups = new ArrayList<>(groupCount);
+            for (int i = 0; i < groupCount; i++) {
+                groups.add(Group.read(in, kinds));
+            }
+            return Optional.of(new RowGroupIndex(kinds, groupSize, Collections.unmodifiableList(groups)));
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.debug("Ignoring invalid row group statistics: " + e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] getKinds(final DataTableSpec spec) {
+        final byte[] kinds = new byte[spec.getNumColumns()];
+        for (int i = 0; i < kinds.length; i++) {
+            final DataType type = spec.getColumnSpec(i).getType();
+            if (type.isCompatible(DoubleValue.class)) {
+                kinds[i] = KIND_NUMERIC;
+            } else if (type.equals(StringCell.TYPE)) {
+                kinds[i] = KIND_STRING;
+            } else {
+                kinds[i] = KIND_OTHER;
+            }
+        }
+        return kinds;
+    }
+
+    /**
+     * Collects the statistics while a table is written.
+     *
+     * @noreference This class is not intended to be referenced by clients.
+     */
+    public static final class Builder {
+
+        private final byte[] m_kinds;
+
+        private final List<Group> m_groups = new ArrayList<>();
+
+        private int m_groupSize = INITIAL_GROUP_SIZE;
+
+        private Group m_current;
+
+        /**
+         * @param spec the spec of the table to be written
+         */
+        public Builder(final DataTableSpec spec) {
+            m_kinds = getKinds(spec);
+            m_current = new Group(m_kinds.length);
+        }
+
+        /**
+         * Adds the values of a row to the statistics. Blobs are not read, i.e. the raw cells of a
+         * {@link BlobSupportDataRow} are used.
+         *
+         * @param row the next row of the table
+         */
+        public void update(final DataRow row) {
+            final BlobSupportDataRow blobRow = row instanceof BlobSupportDataRow ? (BlobSupportDataRow)row : null;
+            for (int i = 0; i < m_kinds.length; i++) {
+                m_current.update(i, m_kinds[i], blobRow != null ? blobRow.getRawCell(i) : row.getCell(i));
+            }
+            if (++m_current.m_rowCount == m_groupSize) {
+                m_groups.add(m_current);
+                m_current = new Group(m_kinds.length);
+                if (m_groups.size() == MAX_GROUP_COUNT) {
+                    for (int i = 0; i < MAX_GROUP_COUNT / 2; i++) {
+                        m_groups.set(i, Group.merge(m_groups.get(2 * i), m_groups.get(2 * i + 1)));
+                    }
+                    m_groups.subList(MAX_GROUP_COUNT / 2, MAX_GROUP_COUNT).clear();
+                    m_groupSize *= 2;
+                }
+            }
+        }
+
+        /**
+         * @return the statistics of all rows added so far
+         */
+        public RowGroupIndex build() {
+            final List<Group> groups = new ArrayList<>(m_groups);
+            if (m_current.m_rowCount > 0) {
+                groups.add(m_current.copy());
+            }
+            return new RowGroupIndex(m_kinds.clone(), m_groupSize, Collections.unmodifiableList(groups));
+        }
+    }
+
+    /** Statistics of a single group, only modified by the {@link Builder}. */
+    static final class Group {
+
+        private int m_rowCount;
+
+        private final int[] m_missingCounts;
+
+        /** Whether the bounds of a column are unknown, e.g. because of unexpected cells or long strings. */
+        private final boolean[] m_isUnbounded;
+
+        private final boolean[] m_hasNaN;
+
+        /** Bounds of numeric columns, NaN if there is no (non-NaN) value. */
+        private final double[] m_min;
+
+        private final double[] m_max;
+
+        /** Bounds of string columns, null if there is no value. */
+        private final String[] m_minString;
+
+        private final String[] m_maxString;
+
+        private Group(final int columnCount) {
+            m_missingCounts = new int[columnCount];
+            m_isUnbounded = new boolean[columnCount];
+            m_hasNaN = new boolean[columnCount];
+            m_min = new double[columnCount];
+            m_max = new double[columnCount];
+            Arrays.fill(m_min, Double.NaN);
+            Arrays.fill(m_max, Double.NaN);
+            m_minString = new String[columnCount];
+            m_maxString = new String[columnCount];
+        }
+
+        int getMissingCount(final int column) {
+            return m_missingCounts[column];
+        }
+
+        int getNonMissingCount(final int column) {
+            return m_rowCount - m_missingCounts[column];
+        }
+
+        /** @return whether {@link #getMin(int)} and {@link #getMax(int)} are valid bounds for the column */
+        boolean hasNumericBounds(final int column) {
+            // neither bounds nor NaN are recorded for non-numeric columns
+            return !m_isUnbounded[column] && (!Double.isNaN(m_min[column]) || m_hasNaN[column]);
+        }
+
+        /** @return whether there are NaN values (which are not reflected by min and max) */
+        boolean hasNaN(final int column) {
+            return m_hasNaN[column];
+        }
+
+        /** @return the minimum value, NaN if all non-missing values are NaN */
+        double getMin(final int column) {
+            return m_min[column];
+        }
+
+        double getMax(final int column) {
+            return m_max[column];
+        }
+
+        /** @return whether {@link #getMinString(int)} and {@link #getMaxString(int)} are valid bounds */
+        boolean hasStringBounds(final int column) {
+            return !m_isUnbounded[column] && m_minString[column] != null;
+        }
+
+        String getMinString(final int column) {
+            return m_minString[column];
+        }
+
+        String getMaxString(final int column) {
+            return m_maxString[column];
+        }
+
+        private void update(final int column, final byte kind, final DataCell cell) {
+            if (cell.isMissing()) {
+                m_missingCounts[column]++;
+            } else if (m_isUnbounded[column]) {
+                return;
+            } else if (kind == KIND_NUMERIC) {
+                if (cell instanceof DoubleValue) {
+                    final double value = ((DoubleValue)cell).getDoubleValue();
+                    if (Double.isNaN(value)) {
+                        m_hasNaN[column] = true;
+                    } else {
+                        updateNumeric(column, value, value);
+                    }
+                } else {
+                    m_isUnbounded[column] = true;
+                }
+            } else if (kind == KIND_STRING) {
+                if (cell instanceof StringCell && ((StringCell)cell).getStringValue().length() <= MAX_STRING_LENGTH) {
+                    final String value = ((StringCell)cell).getStringValue();
+                    updateString(column, value, value);
+                } else {
+                    m_isUnbounded[column] = true;
+                }
+            }
+        }
+
+        private void updateNumeric(final int column, final double min, final double max) {
+            if (Double.isNaN(m_min[column]) || min < m_min[column]) {
+                m_min[column] = min;
+            }
+            if (Double.isNaN(m_max[column]) || max > m_max[column]) {
+                m_max[column] = max;
+            }
+        }
+
+        private void updateString(final int column, final String min, final String max) {
+            if (m_minString[column] == null || min.compareTo(m_minString[column]) < 0) {
+                m_minString[column] = min;
+            }
+            if (m_maxString[column] == null || max.compareTo(m_maxString[column]) > 0) {
+                m_maxString[column] = max;
+            }
+        }
+
+        private Group copy() {
+            return merge(this, new Group(m_missingCounts.length));
+        }
+
+        private static Group merge(final Group a, final Group b) {
+            final int columnCount = a.m_missingCounts.length;
+            final Group merged = new Group(columnCount);
+            merged.m_rowCount = a.m_rowCount + b.m_rowCount;
+            for (final Group g : new Group[]{a, b}) {
+                for (int i = 0; i < columnCount; i++) {
+                    merged.m_missingCounts[i] += g.m_missingCounts[i];
+                    merged.m_isUnbounded[i] |= g.m_isUnbounded[i];
+                    merged.m_hasNaN[i] |= g.m_hasNaN[i];
+                    if (!Double.isNaN(g.m_min[i])) {
+                        merged.updateNumeric(i, g.m_min[i], g.m_max[i]);
+                    }
+                    if (g.m_minString[i] != null) {
+                        merged.updateString(i, g.m_minString[i], g.m_maxString[i]);
+                    }
+                }
+            }
+            return merged;
+        }
+
+        private void write(final DataOutputStream out, final byte[] kinds) throws IOException {
+            out.writeInt(m_rowCount);
+            for (int i = 0; i < kinds.length; i++) {
+                out.writeInt(m_missingCounts[i]);
+                out.writeBoolean(m_isUnbounded[i]);
+                if (kinds[i] == KIND_NUMERIC) {
+                    out.writeBoolean(m_hasNaN[i]);
+                    out.writeDouble(m_min[i]);
+                    out.writeDouble(m_max[i]);
+                } else if (kinds[i] == KIND_STRING) {
+                    final boolean hasBounds = m_minString[i] != null;
+                    out.writeBoolean(hasBounds);
+                    if (hasBounds) {
+                        out.writeUTF(m_minString[i]);
+                        out.writeUTF(m_maxString[i]);
+                    }
+                }
+            }
+        }
+
+        private static Group read(final DataInputStream in, final byte[] kinds) throws IOException {
+            final Group group = new Group(kinds.length);
+            group.m_rowCount = in.readInt();
+            for (int i = 0; i < kinds.length; i++) {
+                group.m_missingCounts[i] = in.readInt();
+                group.m_isUnbounded[i] = in.readBoolean();
+                if (kinds[i] == KIND_NUMERIC) {
+                    group.m_hasNaN[i] = in.readBoolean();
+                    group.m_min[i] = in.readDouble();
+                    group.m_max[i] = in.readDouble();
+                } else if (kinds[i] == KIND_STRING && in.readBoolean()) {
+                    group.m_minString[i] = in.readUTF();
+                    group.m_maxString[i] = in.readUTF();
+                }
+            }
+            return group;
+        }
+    }
+}
@@ -49,6 +49,7 @@
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
@@ -62,19 +63,20 @@
  * A class for specifying filters over {@link BufferedDataTable BufferedDataTables}. The filter may restrict which rows
  * and columns to materialize by an {@link AbstractTableStoreReader}. The filter will leave the {@link DataTableSpec}
  * and order of rows of the table unchanged, but might reduce the amount of {@link DataRow DataRows} retrieved by a
- * filtered iterator obtained via {@link BufferedDataTable#filter(TableFilter)}.
+ * filtered iterator obtained via {@link BufferedDataTable#filter(TableFilter)}. Rows can be restricted by a range of
+ * row indices and by a {@link FilterPredicate}; the predicate is only evaluated on rows within the range.
  *
  * @author Marc Bux, KNIME GmbH, Berlin, Germany
  * @since 4.0
  */
 public final class TableFilter {
 
-    // Additional filter options are planned for the future, see AP-11805
     private TableFilter(final Optional<Set<Integer>> columnIndices, final Optional<Long> fromRowIndex,
-        final Optional<Long> toRowIndex) {
+        final Optional<Long> toRowIndex, final Optional<FilterPredicate> predicate) {
         m_columnIndices = columnIndices;
         m_fromRowIndex = fromRowIndex;
         m_toRowIndex = toRowIndex;
+        m_predicate = predicate;
     }
 
     private final Optional<Set<Integer>> m_columnIndices;
@@ -83,6 +85,8 @@ private TableFilter(final Optional<Set<Integer>> columnIndices, final Optional<L
 
     private final Optional<Long> m_toRowIndex;
 
+    private final Optional<FilterPredicate> m_predicate;
+
     /**
      * A method that can be used to obtain the indices of columns that should be materialized. The returned
      * {@link Optional} will be empty if all indices are to be materialized.
@@ -113,6 +117,38 @@ public Optional<Long> getToRowIndex() {
         return m_toRowIndex;
     }
 
+    /**
+     * A method that can be used to obtain the predicate that rows have to satisfy in order to be kept. The returned
+     * {@link Optional} will be empty if rows are not filtered by a predicate.
+     *
+     * @return an optional predicate of to-be-kept rows
+     * @since 4.2
+     */
+    public Optional<FilterPredicate> getPredicate() {
+        return m_predicate;
+    }
+
+    /**
+     * Creates a copy of this filter without its predicate. If only some columns are materialized, the copy also
+     * materializes the columns accessed by the predicate, so that the predicate can be evaluated on the rows retrieved
+     * with the copy. Used by tables that read several tables in lock step and hence can't skip rows in any of them.
+     *
+     * @return a filter with the same row index range and no predicate
+     * @since 4.2
+     */
+    public TableFilter withoutPredicate() {
+        if (!m_predicate.isPresent()) {
+            return this;
+        }
+        Optional<Set<Integer>> columnIndices = m_columnIndices;
+        if (columnIndices.isPresent()) {
+            final Set<Integer> indices = new TreeSet<>(columnIndices.get());
+            indices.addAll(m_predicate.get().getColumnIndices());
+            columnIndices = Optional.of(indices);
+        }
+        return new TableFilter(columnIndices, m_fromRowIndex, m_toRowIndex, Optional.empty());
+    }
+
     /**
      * Validates this {@link TableFilter} against a {@link DataTableSpec}.
      *
@@ -131,6 +167,10 @@ public void validate(final DataTableSpec spec, final long size) {
         if (m_columnIndices.isPresent()) {
             spec.verifyIndices(m_columnIndices.get().stream().mapToInt(i -> i).toArray());
         }
+
+        if (m_predicate.isPresent()) {
+            m_predicate.get().validate(spec);
+        }
     }
 
     /**
@@ -192,6 +232,19 @@ public static TableFilter filterRangeOfRows(final long fromIndex, final long toI
         return (new Builder()).withFromRowIndex(fromIndex).withToRowIndex(toIndex).build();
     }
 
+    /**
+     * Static factory method for creating a {@link TableFilter} that retains only rows satisfying a predicate. The
+     * predicate may be evaluated on statistics kept for groups of rows first, so that rows that can't satisfy it are
+     * not even deserialized.
+     *
+     * @param predicate the predicate of rows to keep
+     * @return a new table filter
+     * @since 4.2
+     */
+    public static TableFilter filterRows(final FilterPredicate predicate) {
+        return (new Builder()).withPredicate(predicate).build();
+    }
+
     /**
      * Implementation of the builder design pattern for the {@link TableFilter} class.
      */
@@ -203,6 +256,8 @@ public final static class Builder {
 
         private Optional<Long> m_toRowIndex;
 
+        private Optional<FilterPredicate> m_predicate;
+
         /**
          * Constructs a new builder.
          */
@@ -210,6 +265,7 @@ public Builder() {
             m_columnIndices = Optional.empty();
             m_fromRowIndex = Optional.empty();
             m_toRowIndex = Optional.empty();
+            m_predicate = Optional.empty();
         }
 
         /**
@@ -221,6 +277,7 @@ public Builder(final TableFilter filter) {
             m_columnIndices = filter.getMaterializeColumnIndices();
             m_fromRowIndex = filter.getFromRowIndex();
             m_toRowIndex = filter.getToRowIndex();
+            m_predicate = filter.getPredicate();
         }
 
         /**
@@ -284,13 +341,27 @@ public Builder withToRowIndex(final long index) {
             return this;
         }
 
+        /**
+         * Configure the builder to provide {@link TableFilter TableFilters} that retain only rows satisfying a
+         * predicate. Replaces any predicate configured before; use {@link FilterPredicate#and(FilterPredicate...)} to
+         * combine predicates.
+         *
+         * @param predicate the predicate of rows to keep
+         * @return the same builder with updated parameters
+         * @since 4.2
+         */
+        public Builder withPredicate(final FilterPredicate predicate) {
+            m_predicate = Optional.of(CheckUtils.checkArgumentNotNull(predicate));
+            return this;
+        }
+
         /**
          * Builds a new table filter with the paramaters configured in this builder.
          *
          * @return a new table filter
          */
         public TableFilter build() {
-            return new TableFilter(m_columnIndices, m_fromRowIndex, m_toRowIndex);
+            return new TableFilter(m_columnIndices, m_fromRowIndex, m_toRowIndex, m_predicate);
         }
 
     }
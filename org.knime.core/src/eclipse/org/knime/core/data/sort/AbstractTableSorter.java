@@ -77,6 +77,8 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.util.tracing.ExecutionTracer;
+import org.knime.core.util.tracing.TraceEventType;
 
 /**
  * Class to sort a table. See <a href="package.html">package description</a> for details.
@@ -615,22 +617,27 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
                 // sort buffer
                 Collections.sort(buffer, m_rowComparator);
                 // write buffer to disk
-                openChunk();
-                final int totalBufferSize = buffer.size();
-                for (int i = 0; i < totalBufferSize; i++) {
-                    exec.setMessage("Writing temporary table -- " + i + "/" + totalBufferSize);
-                    // must not use Iterator#remove as it causes
-                    // array copies
-                    DataRow next = buffer.set(i, null);
-                    addRowToChunk(next);
-                    exec.checkCanceled();
-                    if (m_rowsInInputTable > 0) {
-                        m_progress += m_incProgress;
-                        exec.setProgress(m_progress);
+                final String spanName =
+                    ExecutionTracer.isEnabled() ? ("Chunk [" + chunkStartRow + ":" + counter + "]") : null;
+                try (ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.SORT_SPILL, spanName)) {
+                    span.setRowCount(buffer.size());
+                    openChunk();
+                    final int totalBufferSize = buffer.size();
+                    for (int i = 0; i < totalBufferSize; i++) {
+                        exec.setMessage("Writing temporary table -- " + i + "/" + totalBufferSize);
+                        // must not use Iterator#remove as it causes
+                        // array copies
+                        DataRow next = buffer.set(i, null);
+                        addRowToChunk(next);
+                        exec.checkCanceled();
+                        if (m_rowsInInputTable > 0) {
+                            m_progress += m_incProgress;
+                            exec.setProgress(m_progress);
+                        }
                     }
+                    buffer.clear();
+                    closeChunk();
                 }
-                buffer.clear();
-                closeChunk();
 
                 LOGGER.debug("Wrote chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
                 chunkStartRow = counter + 1;
@@ -0,0 +1,414 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * A mergeable streaming quantile sketch for double values, following the KLL sketch by Karnin, Lang and Liberty
+ * ("Optimal Quantile Approximation in Streams", FOCS 2016). Values are added in a single pass and memory is bounded by
+ * O(k) values independent of the stream length. Sketches computed on disjoint parts of a data set (e.g. row ranges
+ * processed in parallel) can be combined with {@link #merge(QuantileSketch)}.
+ *
+ * <p>
+ * The normalized rank error of a quantile query is bounded by {@link #getNormalizedRankError()} with a probability of
+ * 99% (about 1.3% for the default k of 200). The minimum and maximum are tracked exactly. <code>NaN</code> values are
+ * ignored.
+ *
+ * <p>
+ * This class is not thread-safe; use one sketch per thread and merge them afterwards.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class QuantileSketch {
+
+    /** Default value for the accuracy parameter k. */
+    public static final int DEFAULT_K = 200;
+
+    /** Capacity decay per level, see KLL paper. */
+    private static final double C = 2.0 / 3.0;
+
+    /** Smallest capacity of a compactor. */
+    private static final int MIN_CAPACITY = 2;
+
+    private final int m_k;
+
+    private final Random m_random;
+
+    /** One compactor per level; items at level h have weight 2^h. */
+    private double[][] m_levels;
+
+    private int[] m_levelSizes;
+
+    private int m_numLevels;
+
+    /** Number of items retained in all compactors. */
+    private int m_size;
+
+    /** Number of items the sketch may hold before it compacts. */
+    private int m_maxSize;
+
+    private long m_count;
+
+    private double m_min = Double.NaN;
+
+    private double m_max = Double.NaN;
+
+    /** Creates a sketch with the {@link #DEFAULT_K default accuracy}. */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates a sketch with the given accuracy parameter.
+     *
+     * @param k accuracy parameter, larger values give smaller errors and use more memory; must be at least 8
+     * @throws IllegalArgumentException if k is smaller than 8
+     */
+    public QuantileSketch(final int k) {
+        CheckUtils.checkArgument(k >= 8, "k must be at least 8: %d", k);
+        m_k = k;
+        // fixed seed so that results are reproducible
+        m_random = new Random(k);
+        m_levels = new double[0][];
+        m_levelSizes = new int[0];
+        grow();
+    }
+
+    /** Copy constructor. */
+    private QuantileSketch(final QuantileSketch toCopy) {
+        m_k = toCopy.m_k;
+        m_random = new Random(toCopy.m_k + toCopy.m_count);
+        m_numLevels = toCopy.m_numLevels;
+        m_levels = new double[toCopy.m_levels.length][];
+        for (int h = 0; h < m_levels.length; h++) {
+            m_levels[h] = toCopy.m_levels[h].clone();
+        }
+        m_levelSizes = toCopy.m_levelSizes.clone();
+        m_size = toCopy.m_size;
+        m_maxSize = toCopy.m_maxSize;
+        m_count = toCopy.m_count;
+        m_min = toCopy.m_min;
+        m_max = toCopy.m_max;
+    }
+
+    /** @return a deep copy of this sketch */
+    public QuantileSketch copy() {
+        return new QuantileSketch(this);
+    }
+
+    /** @return the accuracy parameter k */
+    public int getK() {
+        return m_k;
+    }
+
+    /**
+     * Upper bound of the normalized rank error (with 99% confidence) of quantile queries on sketches with the given k.
+     * Empirical approximation as used by the Apache DataSketches implementation of KLL.
+     *
+     * @param k the accuracy parameter
+     * @return the error as fraction, e.g. 0.013 for 1.3%
+     */
+    public static double getNormalizedRankError(final int k) {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    /** @return the normalized rank error of this sketch, see {@link #getNormalizedRankError(int)} */
+    public double getNormalizedRankError() {
+        return getNormalizedRankError(m_k);
+    }
+
+    /** @return the number of (non-NaN) values added */
+    public long getCount() {
+        return m_count;
+    }
+
+    /** @return true if no value has been added */
+    public boolean isEmpty() {
+        return m_count == 0;
+    }
+
+    /** @return the exact minimum or NaN if the sketch is empty */
+    public double getMin() {
+        return m_min;
+    }
+
+    /** @return the exact maximum or NaN if the sketch is empty */
+    public double getMax() {
+        return m_max;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value the value, ignored if NaN
+     */
+    public void update(final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (m_count == 0) {
+            m_min = value;
+            m_max = value;
+        } else {
+            m_min = Math.min(m_min, value);
+            m_max = Math.max(m_max, value);
+        }
+        m_count++;
+        append(0, value);
+        m_size++;
+        if (m_size >= m_maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Merges the argument sketch into this sketch. The argument isn't modified.
+     *
+     * @param other the sketch to merge, must have the same k
+     * @throws IllegalArgumentException if the sketches use different k
+     */
+    public void merge(final QuantileSketch other) {
+        CheckUtils.checkArgument(other.m_k == m_k, "Can't merge sketches with different k (%d vs. %d)", m_k,
+            other.m_k);
+        if (other.m_count == 0) {
+            return;
+        }
+        while (m_numLevels < other.m_numLevels) {
+            grow();
+        }
+        for (int h = 0; h < other.m_numLevels; h++) {
+            for (int i = 0; i < other.m_levelSizes[h]; i++) {
+                append(h, other.m_levels[h][i]);
+            }
+            m_size += other.m_levelSizes[h];
+        }
+        if (m_count == 0) {
+            m_min = other.m_min;
+            m_max = other.m_max;
+        } else {
+            m_min = Math.min(m_min, other.m_min);
+            m_max = Math.max(m_max, other.m_max);
+        }
+        m_count += other.m_count;
+        while (m_size >= m_maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Estimates the fraction of values smaller than or equal to the argument.
+     *
+     * @param value the value
+     * @return the normalized rank in [0, 1], or NaN if the sketch is empty
+     */
+    public double getRank(final double value) {
+        if (m_count == 0) {
+            return Double.NaN;
+        }
+        long weight = 0;
+        for (int h = 0; h < m_numLevels; h++) {
+            final double[] level = m_levels[h];
+            for (int i = 0; i < m_levelSizes[h]; i++) {
+                if (level[i] <= value) {
+                    weight += 1L << h;
+                }
+            }
+        }
+        return weight / (double)getTotalWeight();
+    }
+
+    /**
+     * Estimates the quantile for the given fraction.
+     *
+     * @param fraction in [0, 1]; 0 returns the minimum, 1 the maximum
+     * @return the estimated quantile or NaN if the sketch is empty
+     * @throws IllegalArgumentException if the fraction is not in [0, 1]
+     */
+    public double getQuantile(final double fraction) {
+        return getQuantiles(new double[]{fraction})[0];
+    }
+
+    /**
+     * Estimates the quantiles for the given fractions, which is cheaper than individual calls of
+     * {@link #getQuantile(double)}.
+     *
+     * @param fractions values in [0, 1], need not be sorted
+     * @return the estimated quantiles in the order of the argument (all NaN if the sketch is empty)
+     * @throws IllegalArgumentException if a fraction is not in [0, 1]
+     */
+    public double[] getQuantiles(final double[] fractions) {
+        for (double f : fractions) {
+            CheckUtils.checkArgument(f >= 0.0 && f <= 1.0, "Fraction must be in [0, 1]: %f", f);
+        }
+        final double[] result = new double[fractions.length];
+        if (m_count == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        // sorted view of all retained items with their weights
+        final double[] items = new double[m_size];
+        final long[] weights = new long[m_size];
+        final Integer[] order = new Integer[m_size];
+        int n = 0;
+        for (int h = 0; h < m_numLevels; h++) {
+            for (int i = 0; i < m_levelSizes[h]; i++) {
+                items[n] = m_levels[h][i];
+                weights[n] = 1L << h;
+                order[n] = n;
+                n++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(items[a], items[b]));
+        final long totalWeight = getTotalWeight();
+        for (int q = 0; q < fractions.length; q++) {
+            final double f = fractions[q];
+            if (f == 0.0) {
+                result[q] = m_min;
+            } else if (f == 1.0) {
+                result[q] = m_max;
+            } else {
+                final double target = f * totalWeight;
+                long cumulative = 0;
+                double value = m_max;
+                for (int i = 0; i < n; i++) {
+                    cumulative += weights[order[i]];
+                    if (cumulative >= target) {
+                        value = items[order[i]];
+                        break;
+                    }
+                }
+                result[q] = value;
+            }
+        }
+        return result;
+    }
+
+    /** @return number of values currently retained, mainly for testing */
+    int getRetainedItems() {
+        return m_size;
+    }
+
+    private long getTotalWeight() {
+        long weight = 0;
+        for (int h = 0; h < m_numLevels; h++) {
+            weight += ((long)m_levelSizes[h]) << h;
+        }
+        return weight;
+    }
+
+    private int capacity(final int level) {
+        final int depth = m_numLevels - level - 1;
+        return Math.max(MIN_CAPACITY, (int)Math.ceil(m_k * Math.pow(C, depth)));
+    }
+
+    private void grow() {
+        m_numLevels++;
+        if (m_levels.length < m_numLevels) {
+            m_levels = Arrays.copyOf(m_levels, m_numLevels);
+            m_levelSizes = Arrays.copyOf(m_levelSizes, m_numLevels);
+            m_levels[m_numLevels - 1] = new double[MIN_CAPACITY];
+        }
+        int maxSize = 0;
+        for (int h = 0; h < m_numLevels; h++) {
+            maxSize += capacity(h);
+        }
+        m_maxSize = maxSize;
+    }
+
+    private void append(final int level, final double value) {
+        double[] l = m_levels[level];
+        if (m_levelSizes[level] == l.length) {
+            l = Arrays.copyOf(l, Math.max(MIN_CAPACITY, 2 * l.length));
+            m_levels[level] = l;
+        }
+        l[m_levelSizes[level]++] = value;
+    }
+
+    /** Compacts the lowest level that exceeds its capacity, promoting half of its items to the next level. */
+    private void compress() {
+        for (int h = 0; h < m_numLevels; h++) {
+            if (m_levelSizes[h] >= capacity(h)) {
+                if (h + 1 >= m_numLevels) {
+                    grow();
+                }
+                final double[] level = m_levels[h];
+                int size = m_levelSizes[h];
+                // an odd item stays at this level
+                final boolean odd = (size & 1) == 1;
+                if (odd) {
+                    size--;
+                }
+                Arrays.sort(level, 0, size);
+                final int offset = m_random.nextBoolean() ? 1 : 0;
+                for (int i = offset; i < size; i += 2) {
+                    append(h + 1, level[i]);
+                }
+                if (odd) {
+                    level[0] = level[size];
+                    m_levelSizes[h] = 1;
+                } else {
+                    m_levelSizes[h] = 0;
+                }
+                m_size -= size / 2;
+                return;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "QuantileSketch [k=" + m_k + ", count=" + m_count + ", retained=" + m_size + ", min=" + m_min
+            + ", max=" + m_max + "]";
+    }
+}
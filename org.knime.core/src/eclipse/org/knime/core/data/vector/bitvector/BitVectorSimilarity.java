@@ -0,0 +1,140 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Similarity measures for bit vectors (such as chemical fingerprints) that are computed from the cardinalities of two
+ * vectors and of their intersection. Besides the similarity each measure provides an upper bound that only depends on
+ * the two cardinalities, which allows to skip most candidates in a search, see {@link DenseBitVectorStore}.
+ *
+ * <p>
+ * Two empty vectors have a similarity of 0.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public enum BitVectorSimilarity {
+
+    /** Tanimoto (Jaccard) similarity, <code>c / (a + b - c)</code>. */
+    TANIMOTO {
+        @Override
+        public double similarity(final long card1, final long card2, final long cardIntersection) {
+            final long union = card1 + card2 - cardIntersection;
+            return union == 0 ? 0.0 : cardIntersection / (double)union;
+        }
+
+        @Override
+        public double upperBound(final long card1, final long card2) {
+            final long max = Math.max(card1, card2);
+            return max == 0 ? 0.0 : Math.min(card1, card2) / (double)max;
+        }
+    },
+
+    /** Dice similarity, <code>2c / (a + b)</code>. */
+    DICE {
+        @Override
+        public double similarity(final long card1, final long card2, final long cardIntersection) {
+            final long sum = card1 + card2;
+            return sum == 0 ? 0.0 : 2 * cardIntersection / (double)sum;
+        }
+
+        @Override
+        public double upperBound(final long card1, final long card2) {
+            return similarity(card1, card2, Math.min(card1, card2));
+        }
+    },
+
+    /** Cosine similarity, <code>c / sqrt(a * b)</code>. */
+    COSINE {
+        @Override
+        public double similarity(final long card1, final long card2, final long cardIntersection) {
+            return card1 == 0 || card2 == 0 ? 0.0 : cardIntersection / Math.sqrt((double)card1 * card2);
+        }
+
+        @Override
+        public double upperBound(final long card1, final long card2) {
+            return similarity(card1, card2, Math.min(card1, card2));
+        }
+    };
+
+    /**
+     * Computes the similarity from the cardinalities.
+     *
+     * @param card1 the number of ones in the first vector
+     * @param card2 the number of ones in the second vector
+     * @param cardIntersection the number of ones in both vectors
+     * @return the similarity in [0, 1]
+     */
+    public abstract double similarity(long card1, long card2, long cardIntersection);
+
+    /**
+     * Returns the maximum similarity two vectors with the given cardinalities can have.
+     *
+     * @param card1 the number of ones in the first vector
+     * @param card2 the number of ones in the second vector
+     * @return an upper bound of the similarity
+     */
+    public abstract double upperBound(long card1, long card2);
+
+    /**
+     * Computes the similarity of two bit vectors. This doesn't allocate any memory if both vectors are
+     * {@link DenseBitVectorCell}s or both are {@link SparseBitVectorCell}s.
+     *
+     * @param bv1 the first vector
+     * @param bv2 the second vector
+     * @return the similarity in [0, 1]
+     * @see BitVectorUtil#cardinalityOfIntersection(BitVectorValue, BitVectorValue)
+     */
+    public double similarity(final BitVectorValue bv1, final BitVectorValue bv2) {
+        CheckUtils.checkNotNull(bv1, "Bit vector must not be null");
+        CheckUtils.checkNotNull(bv2, "Bit vector must not be null");
+        return similarity(bv1.cardinality(), bv2.cardinality(), BitVectorUtil.cardinalityOfIntersection(bv1, bv2));
+    }
+}
@@ -218,6 +218,90 @@ public static long cardinalityOfRelativeComplement(final BitVectorValue bv1, fin
         return toReturn;
     }
 
+    /**
+     * Computes the number of ones in a range of words as used by {@link DenseBitVector#getAllBits()}.
+     *
+     * @param words the words
+     * @param offset the index of the first word
+     * @param wordCount the number of words
+     * @return the cardinality of the words in the range
+     * @since 4.2
+     */
+    public static long cardinality(final long[] words, final int offset, final int wordCount) {
+        long c0 = 0;
+        long c1 = 0;
+        int i = offset;
+        final int end = offset + wordCount;
+        // two independent accumulators allow the popcounts to be executed in parallel
+        for (; i < end - 1; i += 2) {
+            c0 += Long.bitCount(words[i]);
+            c1 += Long.bitCount(words[i + 1]);
+        }
+        if (i < end) {
+            c0 += Long.bitCount(words[i]);
+        }
+        return c0 + c1;
+    }
+
+    /**
+     * Computes the cardinality of the bitwise AND of two ranges of words, without allocating any memory. The words are
+     * in the format of {@link DenseBitVector#getAllBits()}; typically one range is the query and the other one is
+     * the storage of a fingerprint in a {@link DenseBitVectorStore}.
+     *
+     * @param words1 the words of the first vector
+     * @param offset1 the index of the first word of the first vector
+     * @param words2 the words of the second vector
+     * @param offset2 the index of the first word of the second vector
+     * @param wordCount the number of words to compare
+     * @return cardinality of the bitwise AND of the two ranges
+     * @since 4.2
+     */
+    public static long cardinalityOfIntersection(final long[] words1, final int offset1, final long[] words2,
+        final int offset2, final int wordCount) {
+        long c0 = 0;
+        long c1 = 0;
+        long c2 = 0;
+        long c3 = 0;
+        int i = 0;
+        // unrolled with independent accumulators so that the JIT can use several popcount units
+        for (; i < wordCount - 3; i += 4) {
+            c0 += Long.bitCount(words1[offset1 + i] & words2[offset2 + i]);
+            c1 += Long.bitCount(words1[offset1 + i + 1] & words2[offset2 + i + 1]);
+            c2 += Long.bitCount(words1[offset1 + i + 2] & words2[offset2 + i + 2]);
+            c3 += Long.bitCount(words1[offset1 + i + 3] & words2[offset2 + i + 3]);
+        }
+        for (; i < wordCount; i++) {
+            c0 += Long.bitCount(words1[offset1 + i] & words2[offset2 + i]);
+        }
+        return c0 + c1 + c2 + c3;
+    }
+
+    /**
+     * Computes the number of common elements of two sorted index arrays as used by
+     * {@link SparseBitVector#getAllOneIndices()}, without allocating any memory.
+     *
+     * @param indices1 the sorted indices of the ones in the first vector
+     * @param indices2 the sorted indices of the ones in the second vector
+     * @return cardinality of the bitwise AND of the two vectors
+     * @since 4.2
+     */
+    public static long cardinalityOfIntersection(final long[] indices1, final long[] indices2) {
+        long result = 0;
+        int i1 = 0;
+        int i2 = 0;
+        while (i1 < indices1.length && i2 < indices2.length) {
+            final long v1 = indices1[i1];
+            final long v2 = indices2[i2];
+            if (v1 == v2) {
+                result++;
+            }
+            // advance both on equality
+            i1 += v1 <= v2 ? 1 : 0;
+            i2 += v2 <= v1 ? 1 : 0;
+        }
+        return result;
+    }
+
     private static int sparseBitVectorCellCount(final BitVectorValue bv1, final BitVectorValue bv2) {
         int count = 0;
         if (bv1 instanceof SparseBitVectorCell) {
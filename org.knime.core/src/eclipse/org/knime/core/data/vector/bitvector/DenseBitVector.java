@@ -1251,6 +1251,18 @@ public String dumpBits() {
         return result.toString();
     }
 
+    /**
+     * Copies the words of this vector into the given array (in the format of {@link #getAllBits()}). Words beyond the
+     * storage of this vector are left untouched.
+     *
+     * @param dest the array to copy to
+     * @param offset the index in dest of the first word
+     * @param wordCount the maximum number of words to copy
+     */
+    void copyWordsTo(final long[] dest, final int offset, final int wordCount) {
+        System.arraycopy(m_storage, 0, dest, offset, Math.min(wordCount, m_storage.length));
+    }
+
     /**
      * Computes the cardinality of the intersection with the given bitVector.
      *
@@ -216,6 +216,15 @@ long cardinalityOfIntersection(final DenseBitVectorCell bitVectorCell) {
         return m_bitVector.cardinalityOfIntersection(bitVectorCell.m_bitVector);
     }
 
+    /**
+     * Copies the words of this cell without creating an intermediate vector.
+     *
+     * @see DenseBitVector#copyWordsTo(long[], int, int)
+     */
+    void copyWordsTo(final long[] dest, final int offset, final int wordCount) {
+        m_bitVector.copyWordsTo(dest, offset, wordCount);
+    }
+
     /**
      * @see BitVectorUtil#cardinalityOfRelativeComplement(BitVectorValue, BitVectorValue)
      * @param bitVectorCell the other cell containing the operand
@@ -0,0 +1,456 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.RowIterator;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * An in-memory store of the bit vectors of a column, e.g. chemical fingerprints, for fast similarity searches. All
+ * vectors are kept in one contiguous <code>long[]</code> (one fixed size block of words per vector, in the format of
+ * {@link DenseBitVector#getAllBits()}) along with their cardinalities, so a search against millions of vectors doesn't
+ * allocate any memory per vector. Candidates whose cardinality doesn't allow them to reach the threshold (or to enter
+ * the current top k) are skipped without looking at their words, see {@link BitVectorSimilarity#upperBound(long,
+ * long)}. Searches of large stores are run concurrently in the {@link KNIMEConstants#GLOBAL_THREAD_POOL}.
+ *
+ * <p>
+ * Stores are immutable and can be searched concurrently, they are created with a {@link Builder} or from a table
+ * column using {@link #create(DataTable, int, ExecutionMonitor)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class DenseBitVectorStore {
+
+    /** Searches of fewer vectors are not split into concurrent tasks. */
+    private static final int MIN_VECTORS_PER_TASK = 1 << 15;
+
+    /** The mask of the vector index after which cancellation is checked. */
+    private static final int CANCEL_CHECK_MASK = 0xFFF;
+
+    /** The order of search results: descending similarity, then ascending index. */
+    private static final Comparator<Hit> HIT_ORDER =
+        Comparator.comparingDouble(Hit::getSimilarity).reversed().thenComparingInt(Hit::getIndex);
+
+    private final long[] m_words;
+
+    private final int m_wordsPerVector;
+
+    private final long m_length;
+
+    /** The number of ones of each vector, -1 for missing values. */
+    private final int[] m_cardinalities;
+
+    private final RowKey[] m_rowKeys;
+
+    private final int m_size;
+
+    private DenseBitVectorStore(final Builder builder) {
+        m_words = builder.m_words;
+        m_wordsPerVector = builder.m_wordsPerVector;
+        m_length = builder.m_length;
+        m_cardinalities = builder.m_cardinalities;
+        m_rowKeys = builder.m_rowKeys;
+        m_size = builder.m_size;
+    }
+
+    /**
+     * Reads the bit vectors of a column into a new store. Only the argument column is read from a
+     * {@link BufferedDataTable}.
+     *
+     * @param table the table to read
+     * @param columnIndex the index of a column compatible with {@link BitVectorValue}
+     * @param exec for progress and cancellation
+     * @return a new store, the indices of the vectors correspond to the row indices
+     * @throws CanceledExecutionException if canceled
+     * @throws IllegalArgumentException if the column is not a bit vector column
+     */
+    public static DenseBitVectorStore create(final DataTable table, final int columnIndex,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        CheckUtils.checkArgument(
+            table.getDataTableSpec().getColumnSpec(columnIndex).getType().isCompatible(BitVectorValue.class),
+            "Column at index %d is not a bit vector column", columnIndex);
+        final long rowCount = table instanceof BufferedDataTable ? ((BufferedDataTable)table).size() : -1;
+        final Builder builder = new Builder();
+        final RowIterator it = table instanceof BufferedDataTable
+            ? ((BufferedDataTable)table).filter(TableFilter.materializeCols(columnIndex)).iterator() : table.iterator();
+        try {
+            long row = 0;
+            while (it.hasNext()) {
+                final DataRow r = it.next();
+                final DataCell cell = r.getCell(columnIndex);
+                builder.add(r.getKey(), cell.isMissing() ? null : (BitVectorValue)cell);
+                row++;
+                if ((row & CANCEL_CHECK_MASK) == 0) {
+                    exec.checkCanceled();
+                    if (rowCount > 0) {
+                        exec.setProgress(row / (double)rowCount);
+                    }
+                }
+            }
+        } finally {
+            if (it instanceof CloseableRowIterator) {
+                ((CloseableRowIterator)it).close();
+            }
+        }
+        return builder.build();
+    }
+
+    /** @return the number of vectors (including missing values) in the store */
+    public int size() {
+        return m_size;
+    }
+
+    /** @return the length of the longest vector in the store */
+    public long length() {
+        return m_length;
+    }
+
+    /**
+     * @param index the index of a vector
+     * @return the row key the vector was added with
+     */
+    public RowKey getRowKey(final int index) {
+        return m_rowKeys[index];
+    }
+
+    /**
+     * @param index the index of a vector
+     * @return the number of ones of the vector or -1 if the vector is missing
+     */
+    public int getCardinality(final int index) {
+        return m_cardinalities[index];
+    }
+
+    /**
+     * @param index the index of a vector
+     * @return a copy of the vector or <code>null</code> if the vector is missing
+     */
+    public DenseBitVector getBitVector(final int index) {
+        if (m_cardinalities[index] < 0) {
+            return null;
+        }
+        final int offset = index * m_wordsPerVector;
+        return new DenseBitVector(Arrays.copyOfRange(m_words, offset, offset + m_wordsPerVector), m_length);
+    }
+
+    /**
+     * Returns all vectors whose similarity to the query is at least the given threshold.
+     *
+     * @param query the query vector
+     * @param similarity the similarity measure
+     * @param minSimilarity the threshold
+     * @param exec for cancellation, may be <code>null</code>
+     * @return the hits, sorted by descending similarity and ascending index
+     * @throws CanceledExecutionException if canceled
+     */
+    public List<Hit> searchThreshold(final BitVectorValue query, final BitVectorSimilarity similarity,
+        final double minSimilarity, final ExecutionMonitor exec) throws CanceledExecutionException {
+        return search(query, similarity, minSimilarity, Integer.MAX_VALUE, exec);
+    }
+
+    /**
+     * Returns the k vectors most similar to the query. Ties are broken in favor of smaller indices.
+     *
+     * @param query the query vector
+     * @param similarity the similarity measure
+     * @param k the maximum number of hits
+     * @param exec for cancellation, may be <code>null</code>
+     * @return the hits, sorted by descending similarity and ascending index
+     * @throws CanceledExecutionException if canceled
+     */
+    public List<Hit> searchTopK(final BitVectorValue query, final BitVectorSimilarity similarity, final int k,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        CheckUtils.checkArgument(k > 0, "k must be positive: %d", k);
+        return search(query, similarity, 0.0, k, exec);
+    }
+
+    private List<Hit> search(final BitVectorValue query, final BitVectorSimilarity similarity,
+        final double minSimilarity, final int k, final ExecutionMonitor exec) throws CanceledExecutionException {
+        CheckUtils.checkArgumentNotNull(query, "Query must not be null");
+        CheckUtils.checkArgumentNotNull(similarity, "Similarity must not be null");
+        final long[] queryWords = new long[m_wordsPerVector];
+        setBits(query, queryWords, 0, m_wordsPerVector);
+        // bits beyond the length of the store don't intersect but are still part of the query
+        final long queryCard = query.cardinality();
+        final int taskCount =
+            Math.max(1, Math.min(KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads(), m_size / MIN_VECTORS_PER_TASK));
+        final List<Hit> hits;
+        if (taskCount == 1) {
+            hits = searchRange(queryWords, queryCard, similarity, minSimilarity, k, 0, m_size, exec);
+        } else {
+            final int chunkSize = (m_size + taskCount - 1) / taskCount;
+            final List<Callable<List<Hit>>> tasks = new ArrayList<>(taskCount);
+            for (int from = 0; from < m_size; from += chunkSize) {
+                final int start = from;
+                final int end = Math.min(m_size, from + chunkSize);
+                tasks.add(() -> searchRange(queryWords, queryCard, similarity, minSimilarity, k, start, end, exec));
+            }
+            hits = new ArrayList<>();
+            runConcurrently(tasks).forEach(hits::addAll);
+        }
+        hits.sort(HIT_ORDER);
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+    }
+
+    /** Searches the vectors in [from, to), returns at most k hits in no particular order. */
+    private List<Hit> searchRange(final long[] queryWords, final long queryCard,
+        final BitVectorSimilarity similarity, final double minSimilarity, final int k, final int from, final int to,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        final boolean isTopK = k < Integer.MAX_VALUE;
+        // min heap of the best k hits so far, its head is the hit to replace next
+        final PriorityQueue<Hit> best = isTopK ? new PriorityQueue<>(k + 1, HIT_ORDER.reversed()) : null;
+        final List<Hit> hits = isTopK ? null : new ArrayList<>();
+        double threshold = minSimilarity;
+        for (int i = from; i < to; i++) {
+            if (exec != null && (i & CANCEL_CHECK_MASK) == 0) {
+                exec.checkCanceled();
+            }
+            final int card = m_cardinalities[i];
+            if (card < 0) {
+                continue;
+            }
+            final double bound = similarity.upperBound(queryCard, card);
+            // once the heap is full, candidates must be strictly better (ties go to the smaller index seen before)
+            final boolean isFull = isTopK && best.size() == k;
+            if (bound < threshold || (isFull && bound <= threshold)) {
+                continue;
+            }
+            final long intersection =
+                BitVectorUtil.cardinalityOfIntersection(queryWords, 0, m_words, i * m_wordsPerVector, m_wordsPerVector);
+            final double sim = similarity.similarity(queryCard, card, intersection);
+            if (sim < threshold || (isFull && sim <= threshold)) {
+                continue;
+            }
+            final Hit hit = new Hit(i, m_rowKeys[i], sim);
+            if (isTopK) {
+                best.add(hit);
+                if (best.size() > k) {
+                    best.poll();
+                }
+                if (best.size() == k) {
+                    threshold = Math.max(minSimilarity, best.peek().getSimilarity());
+                }
+            } else {
+                hits.add(hit);
+            }
+        }
+        return isTopK ? new ArrayList<>(best) : hits;
+    }
+
+    /** Sets the bits of the vector in the given range of words, bits beyond the range are ignored. */
+    private static void setBits(final BitVectorValue bv, final long[] dest, final int offset, final int wordCount) {
+        if (bv instanceof DenseBitVectorCell) {
+            ((DenseBitVectorCell)bv).copyWordsTo(dest, offset, wordCount);
+        } else if (bv instanceof SparseBitVectorCell) {
+            ((SparseBitVectorCell)bv).setBitsIn(dest, offset, wordCount);
+        } else {
+            final long maxIdx = 64L * wordCount;
+            for (long i = bv.nextSetBit(0); i >= 0 && i < maxIdx; i = bv.nextSetBit(i + 1)) {
+                dest[offset + (int)(i >>> 6)] |= 1L << i;
+            }
+        }
+    }
+
+    /** Runs the tasks in the global thread pool and returns their results in task order. */
+    private static <T> List<T> runConcurrently(final List<Callable<T>> tasks) throws CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(pool.enqueue(task));
+        }
+        return ThreadPool.awaitAll(futures, "searching bit vectors");
+    }
+
+    /** A vector found by a search. */
+    public static final class Hit {
+
+        private final int m_index;
+
+        private final RowKey m_rowKey;
+
+        private final double m_similarity;
+
+        Hit(final int index, final RowKey rowKey, final double similarity) {
+            m_index = index;
+            m_rowKey = rowKey;
+            m_similarity = similarity;
+        }
+
+        /** @return the index of the vector in the store */
+        public int getIndex() {
+            return m_index;
+        }
+
+        /** @return the row key of the vector */
+        public RowKey getRowKey() {
+            return m_rowKey;
+        }
+
+        /** @return the similarity to the query */
+        public double getSimilarity() {
+            return m_similarity;
+        }
+
+        @Override
+        public String toString() {
+            return m_rowKey + " (" + m_similarity + ")";
+        }
+    }
+
+    /**
+     * Collects bit vectors for a new {@link DenseBitVectorStore}. The number of words per vector is determined by the
+     * longest vector; shorter vectors are padded with zeros.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] m_words = new long[0];
+
+        private int m_wordsPerVector;
+
+        private long m_length;
+
+        private int[] m_cardinalities = new int[INITIAL_CAPACITY];
+
+        private RowKey[] m_rowKeys = new RowKey[INITIAL_CAPACITY];
+
+        private int m_size;
+
+        private boolean m_isBuilt;
+
+        /**
+         * Adds a vector.
+         *
+         * @param key the row key of the vector
+         * @param bv the vector or <code>null</code> for a missing value
+         * @return this
+         */
+        public Builder add(final RowKey key, final BitVectorValue bv) {
+            CheckUtils.checkState(!m_isBuilt, "Store has already been built");
+            if (bv != null) {
+                final long words = bv.length() == 0 ? 0 : ((bv.length() - 1) >>> 6) + 1;
+                CheckUtils.checkArgument(words <= Integer.MAX_VALUE / 64, "Bit vector too long: %d", bv.length());
+                if (words > m_wordsPerVector) {
+                    widen((int)words);
+                }
+                m_length = Math.max(m_length, bv.length());
+            }
+            ensureCapacity(m_size + 1);
+            m_rowKeys[m_size] = key;
+            if (bv == null) {
+                m_cardinalities[m_size] = -1;
+            } else {
+                final int offset = m_size * m_wordsPerVector;
+                setBits(bv, m_words, offset, m_wordsPerVector);
+                m_cardinalities[m_size] = (int)BitVectorUtil.cardinality(m_words, offset, m_wordsPerVector);
+            }
+            m_size++;
+            return this;
+        }
+
+        /** @return a new store with all added vectors, the builder can't be used afterwards */
+        public DenseBitVectorStore build() {
+            CheckUtils.checkState(!m_isBuilt, "Store has already been built");
+            m_isBuilt = true;
+            m_words = Arrays.copyOf(m_words, wordCount(m_size, m_wordsPerVector));
+            m_cardinalities = Arrays.copyOf(m_cardinalities, m_size);
+            m_rowKeys = Arrays.copyOf(m_rowKeys, m_size);
+            return new DenseBitVectorStore(this);
+        }
+
+        private void ensureCapacity(final int size) {
+            if (size > m_cardinalities.length) {
+                final int capacity = (int)Math.min(Integer.MAX_VALUE - 8, 2L * m_cardinalities.length);
+                CheckUtils.checkState(size <= capacity, "Too many bit vectors");
+                m_cardinalities = Arrays.copyOf(m_cardinalities, capacity);
+                m_rowKeys = Arrays.copyOf(m_rowKeys, capacity);
+            }
+            final int required = wordCount(size, m_wordsPerVector);
+            if (required > m_words.length) {
+                m_words = Arrays.copyOf(m_words, (int)Math.min(Integer.MAX_VALUE - 8, 2L * required));
+            }
+        }
+
+        /** Changes the layout to the given number of words per vector. */
+        private void widen(final int wordsPerVector) {
+            final long[] words = new long[wordCount(Math.max(m_size, INITIAL_CAPACITY), wordsPerVector)];
+            for (int i = 0; i < m_size; i++) {
+                System.arraycopy(m_words, i * m_wordsPerVector, words, i * wordsPerVector, m_wordsPerVector);
+            }
+            m_words = words;
+            m_wordsPerVector = wordsPerVector;
+        }
+
+        private static int wordCount(final int size, final int wordsPerVector) {
+            final long count = (long)size * wordsPerVector;
+            CheckUtils.checkState(count <= Integer.MAX_VALUE - 8, "Too many bit vectors to keep in memory");
+            return (int)count;
+        }
+    }
+}
@@ -1003,6 +1003,20 @@ public long[] getAllOneIndices() {
         return Arrays.copyOf(m_idxStorage, m_lastIdx + 1);
     }
 
+    /**
+     * Sets the ones of this vector in the given array of words (in the format of {@link DenseBitVector#getAllBits()}).
+     * Ones beyond the given number of words are ignored.
+     *
+     * @param dest the array of words
+     * @param offset the index in dest of the first word
+     * @param wordCount the number of words
+     */
+    void setBitsIn(final long[] dest, final int offset, final int wordCount) {
+        for (int i = 0; i <= m_lastIdx && (m_idxStorage[i] >>> 6) < wordCount; i++) {
+            dest[offset + (int)(m_idxStorage[i] >>> 6)] |= 1L << m_idxStorage[i];
+        }
+    }
+
     /**
      * Computes the cardinality of the intersection with the given bitVector.
      *
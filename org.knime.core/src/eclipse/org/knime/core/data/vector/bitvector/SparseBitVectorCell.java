@@ -223,6 +223,15 @@ long cardinalityOfIntersection(final SparseBitVectorCell bitVectorCell) {
         return m_bitVector.cardinalityOfIntersection(bitVectorCell.m_bitVector);
     }
 
+    /**
+     * Sets the bits of this cell without creating an intermediate vector.
+     *
+     * @see SparseBitVector#setBitsIn(long[], int, int)
+     */
+    void setBitsIn(final long[] dest, final int offset, final int wordCount) {
+        m_bitVector.setBitsIn(dest, offset, wordCount);
+    }
+
     /**
      * @see BitVectorUtil#cardinalityOfRelativeComplement(BitVectorValue, BitVectorValue)
      * @param bitVectorCell the other cell containing the operand
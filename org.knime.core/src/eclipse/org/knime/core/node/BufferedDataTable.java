@@ -62,6 +62,7 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import javax.swing.JComponent;
@@ -83,6 +84,7 @@
 import org.knime.core.data.container.DefaultTableStoreFormat;
 import org.knime.core.data.container.JoinedTable;
 import org.knime.core.data.container.RearrangeColumnsTable;
+import org.knime.core.data.container.TableLineagePlan;
 import org.knime.core.data.container.TableSpecReplacerTable;
 import org.knime.core.data.container.VoidTable;
 import org.knime.core.data.container.WrappedTable;
@@ -181,6 +183,8 @@ static PortObjectSerializer<BufferedDataTable> getPortObjectSerializer() {
 
     private final MutableBoolean m_isCleared = new MutableBoolean(false);
     private final KnowsRowCountTable m_delegate;
+    /** Lazily created flat view on the delegate, see {@link #getLineagePlan()}. */
+    private volatile Optional<TableLineagePlan> m_lineagePlan;
     private int m_tableID;
     private Node m_owner;
 
@@ -201,8 +205,7 @@ static PortObjectSerializer<BufferedDataTable> getPortObjectSerializer() {
      * @param dataRepository the data repository (needed for blobs, file stores, and table ids)
      */
     BufferedDataTable(final RearrangeColumnsTable table, final IDataRepository dataRepository) {
-        this(table,
-            table.getAppendTable() != null ? table.getAppendTable().getBufferID() : dataRepository.generateNewID(), dataRepository);
+        this(table, table.getAppendBufferID().orElseGet(dataRepository::generateNewID), dataRepository);
     }
 
     /**
@@ -286,6 +289,18 @@ private BufferedDataTable(final KnowsRowCountTable table, final int id,
         return m_delegate;
     }
 
+    /**
+     * Whether this is a "void" table, which has a spec but no data as its rows were streamed into the consuming node
+     * rather than stored (see {@link ExecutionContext#createVoidTable(DataTableSpec)}).
+     *
+     * @return that property
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 4.2
+     */
+    public boolean isVoid() {
+        return m_delegate instanceof VoidTable;
+    }
+
     /** Called after execution of node has finished to put the tables that
      * are returned from the execute method into a global table repository.
      * @param dataRepository The repository from the workflow
@@ -346,7 +361,21 @@ public String getSummary() {
     /** {@inheritDoc} */
     @Override
     public CloseableRowIterator iterator() {
-        return m_delegate.iterator();
+        final Optional<TableLineagePlan> plan = getLineagePlan();
+        return plan.isPresent() ? plan.get().iterator() : m_delegate.iterator();
+    }
+
+    /** The flattened stack of wrapper tables underneath this table (if any), used to read the underlying tables
+     * directly rather than through all the intermediate tables. The plan is created on first access.
+     * @return the plan or an empty optional if the delegate is not a (deep enough) stack of wrapper tables. */
+    private Optional<TableLineagePlan> getLineagePlan() {
+        Optional<TableLineagePlan> plan = m_lineagePlan;
+        if (plan == null) {
+            // concurrent invocations create equal plans
+            plan = TableLineagePlan.create(m_delegate, BufferedDataTable::getDelegate);
+            m_lineagePlan = plan;
+        }
+        return plan;
     }
 
     /**
@@ -380,7 +409,9 @@ public CloseableDataRowIterable filter(final TableFilter filter, final Execution
         return new CloseableDataRowIterable() {
             @Override
             public CloseableRowIterator iterator() {
-                return m_delegate.iteratorWithFilter(filter, exec);
+                final Optional<TableLineagePlan> plan = getLineagePlan();
+                return plan.isPresent() ? plan.get().iteratorWithFilter(filter, exec)
+                    : m_delegate.iteratorWithFilter(filter, exec);
             }
         };
     }
@@ -580,14 +611,16 @@ void save(final File dir, final Set<Integer> savedTableIDs, final ExecutionMonit
             m_delegate.saveToFile(outFile, s, exec);
         } else {
             if (m_delegate instanceof RearrangeColumnsTable) {
-                final ContainerTable appendTable = ((RearrangeColumnsTable)m_delegate).getAppendTable();
-                if (appendTable != null) {
-                    final TableStoreFormat format = appendTable.getTableStoreFormat();
+                // virtual columns are materialized in the format of an append table
+                final Optional<TableStoreFormat> appendFormat =
+                    ((RearrangeColumnsTable)m_delegate).getAppendTableStoreFormat();
+                if (appendFormat.isPresent()) {
+                    final TableStoreFormat format = appendFormat.get();
                     if (!DefaultTableStoreFormat.class.equals(format.getClass())) {
                         // use different identifier to cause old versions of KNIME to fail loading newer workflows
                         s.addString(CFG_TABLE_TYPE, TABLE_TYPE_REARRANGE_COLUMN_CUSTOM);
-                        s.addString(CFG_TABLE_CONTAINER_FORMAT, appendTable.getTableStoreFormat().getClass().getName());
-                        s.addString(CFG_TABLE_CONTAINER_FORMAT_VERSION, appendTable.getTableStoreFormat().getVersion());
+                        s.addString(CFG_TABLE_CONTAINER_FORMAT, format.getClass().getName());
+                        s.addString(CFG_TABLE_CONTAINER_FORMAT_VERSION, format.getVersion());
                     } else {
                         final DefaultTableStoreFormat defaultFormat = (DefaultTableStoreFormat)format;
                         if (!Arrays.asList(NONE, GZIP).contains(defaultFormat.getCompressionFormat())) {
@@ -889,6 +922,21 @@ void setOwnerRecursively(final Node owner) {
         }
     }
 
+    /** Reads the files of this table and all referenced tables in the background so that a subsequent iteration
+     * finds them in the file system cache. Tables that are held in memory or not yet restored from the workflow
+     * are skipped (see {@link org.knime.core.data.container.Buffer#prefetch()}). */
+    void prefetch() {
+        if (m_delegate instanceof ContainerTable) {
+            final ContainerTable table = (ContainerTable)m_delegate;
+            if (table.isOpen()) {
+                table.getBuffer().prefetch();
+            }
+        }
+        for (BufferedDataTable reference : m_delegate.getReferenceTables()) {
+            reference.prefetch();
+        }
+    }
+
     /** Finds all tables owned by the argument node, which are directly
      * reachable (including this table).
      * @param dataOwner The owner.
@@ -382,13 +382,44 @@ public BufferedDataTable createColumnRearrangeTable(
             final BufferedDataTable in, final ColumnRearranger rearranger,
             final ExecutionMonitor subProgressMon)
             throws CanceledExecutionException {
+        final BufferedDataTable.KnowsRowCountTable inDelegate = in.getDelegate();
+        final int inVirtualDepth = inDelegate instanceof RearrangeColumnsTable
+            ? ((RearrangeColumnsTable)inDelegate).getVirtualDepth() : 0;
         RearrangeColumnsTable t = RearrangeColumnsTable.create(
-                rearranger, in, subProgressMon, this);
+                rearranger, in, subProgressMon, this, inVirtualDepth, getDataRepository());
         BufferedDataTable out = new BufferedDataTable(t, getDataRepository());
         out.setOwnerRecursively(m_node);
         return out;
     }
 
+    /**
+     * Applies a sequence of column rearrangers to a table in a single pass. The result is the same as calling
+     * {@link #createColumnRearrangeTable(BufferedDataTable, ColumnRearranger, ExecutionMonitor)} with rearranger
+     * <i>i</i> on the output of rearranger <i>i-1</i> using context <i>i</i>, but the input is read only once
+     * (instead of once per rearranger and nesting level).
+     *
+     * @param in The input table of the first rearranger.
+     * @param rearrangers The rearrangers, each created for the output spec of its predecessor.
+     * @param contexts The contexts owning the output tables, one per rearranger.
+     * @param subProgressMon The execution monitor to report progress to.
+     * @return The output tables, one per rearranger.
+     * @throws CanceledExecutionException If canceled.
+     * @throws IllegalArgumentException If the array lengths don't match or a rearranger doesn't fit its input.
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static BufferedDataTable[] createFusedColumnRearrangeTables(final BufferedDataTable in,
+        final ColumnRearranger[] rearrangers, final ExecutionContext[] contexts,
+        final ExecutionMonitor subProgressMon) throws CanceledExecutionException {
+        CheckUtils.checkArgument(rearrangers.length == contexts.length,
+            "Number of rearrangers (%d) and contexts (%d) don't match", rearrangers.length, contexts.length);
+        return RearrangeColumnsTable.createFused(rearrangers, in, subProgressMon, contexts, (i, t) -> {
+            BufferedDataTable out = new BufferedDataTable(t, contexts[i].getDataRepository());
+            out.setOwnerRecursively(contexts[i].m_node);
+            return out;
+        });
+    }
+
     /**
      * Creates a new <code>BufferedDataTable</code> based on a given input table
      * (<code>in</code>) whereby only the table spec of it has changed.
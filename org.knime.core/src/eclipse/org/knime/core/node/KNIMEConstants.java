@@ -110,6 +110,26 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_MAX_THREAD_COUNT = "org.knime.core.maxThreads";
 
+    /**
+     * Java property to switch the {@link org.knime.core.util.ThreadPool} (including the {@link #GLOBAL_THREAD_POOL})
+     * to work stealing: each worker thread has its own queue of tasks it submitted and idle workers take tasks from the
+     * queues of busy ones, instead of all tasks being kept in a single queue. Recommended for machines with many cores.
+     * Set to <code>true</code> to enable, the default is <code>false</code>.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_THREAD_POOL_WORK_STEALING = "knime.threadpool.workstealing";
+
+    /**
+     * Java property to specify the number of threads delivering workflow events to
+     * {@link org.knime.core.node.workflow.WorkflowListener}s. Events of one workflow project are always delivered in
+     * order by one thread at a time, more threads allow events of different projects to be delivered concurrently.
+     * The default is the number of available processors but at most 4.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_WORKFLOW_NOTIFIER_THREADS = "knime.workflow.notifier.threads";
+
     /**
      * Java property name to specify the default temp directory for KNIME temp files (such as data files). This can be
      * changed in the preference pages and is by default the same as the java.io.tmpdir
@@ -196,6 +216,69 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_TABLE_CACHE = "knime.table.cache";
 
+    /**
+     * Java property to set the share of the heap (in percent) that tables kept in memory by the
+     * {@code "Keep only small tables in memory"} policy may occupy in total. Whether a table is small is then decided
+     * by the estimated size of its rows instead of the {@link #PROPERTY_CELLS_IN_MEMORY cell count}; if the budget is
+     * exhausted, the least recently used tables are written to disk to make room. Set to 0 to revert to the fixed
+     * cell count. The budget only applies to containers using the default cell count, i.e. it is not used if
+     * {@link #PROPERTY_CELLS_IN_MEMORY} is set or a container's cell count is set explicitly. The default is
+     * {@value org.knime.core.data.container.BufferCache#DEF_MEMORY_BUDGET_PERCENT}.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_TABLE_MEMORY_BUDGET = "knime.table.memory.budget";
+
+    /**
+     * Java property to set the maximum number of virtual column tables (see
+     * {@link org.knime.core.data.container.AbstractCellFactory#setVirtual(boolean)}) that are stacked on top of each
+     * other. The columns of a rearrange table whose input already has that many virtual ancestors are materialized.
+     * Set to 0 to always materialize new columns. The default is 4.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_VIRTUAL_COLUMNS_MAX_DEPTH = "knime.table.virtualcolumns.maxdepth";
+
+    /**
+     * Java property to disable the flattening of nested tables. By default, iterating a table that is the result of
+     * several column manipulations (e.g. a rearrange table on top of a joined table) reads the underlying tables
+     * directly instead of passing each row through all intermediate tables. Set to <code>false</code> to disable.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_TABLE_FLATTENING = "knime.table.flatten";
+
+    /**
+     * Java property to disable reading tables from disk ahead of their consumer. By default, rows of tables that are
+     * not held in memory are decompressed and deserialized in a background thread while the consumer is still
+     * processing the previous rows, and the files of a node's input tables are read into the operating system's file
+     * cache when the node is queued for execution. Set to <code>false</code> to disable.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_TABLE_READ_AHEAD = "knime.table.readahead";
+
+    /**
+     * Java property to enable recording statistics of groups of rows (minimum, maximum and missing count per column)
+     * when tables are written to disk, which allows readers to skip rows not matching a filter predicate (see
+     * {@link org.knime.core.data.container.filter.TableFilter.Builder#withPredicate(
+     * org.knime.core.data.container.filter.FilterPredicate)}). Disabled by default as it adds to the cost of writing
+     * every table. Set to <code>true</code> to enable.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_TABLE_ROW_GROUP_STATISTICS = "knime.table.rowgroupstatistics";
+
+    /**
+     * Java property to disable the packed storage of row keys. By default, a row key that consists of the same prefix
+     * as the previous row's key and a counter incremented by one (such as "Row0", "Row1", ...) is not written to disk
+     * as string but only marked as successor. Set to <code>false</code> to disable. Either way, tables are written with
+     * container version 13, which versions prior to 4.2 don't know.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_TABLE_PACKED_ROW_KEYS = "knime.table.packedrowkeys";
+
     /**
      * Java property to discourage KNIME from triggering a full stop-the-world garbage collection. Note that (a)
      * individual nodes are allowed to disregard this setting and (b) the garbage collector may independently decide
@@ -370,6 +453,43 @@ public final class KNIMEConstants {
     * @since 3.0 */
    public static final String PROPERTY_HIGH_DPI_SUPPORT = "knime.highdpi.support";
 
+    /**
+     * Java property to write an execution trace (node execution and configuration, table I/O, sorter spills, lock waits
+     * and memory alert flushes) to the given file in the Chrome trace event format. Disabled by default.
+     *
+     * @see org.knime.core.util.tracing.ExecutionTracer
+     * @since 4.2
+     */
+    public static final String PROPERTY_TRACING_FILE = "knime.tracing.file";
+
+    /**
+     * Java property to enable the node output cache. If set to a directory, outputs of executed nodes are stored
+     * there and restored when a node is executed again with identical settings, flow variables and input data, instead
+     * of executing the node. Only nodes whose model implements {@link CacheableNodeModel} are cached. Disabled by
+     * default.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_NODE_OUTPUT_CACHE_DIR = "knime.node.outputcache.dir";
+
+    /**
+     * Java property to set the maximum size of the node output cache in MB (see
+     * {@link #PROPERTY_NODE_OUTPUT_CACHE_DIR}). Least recently used entries are evicted when it is exceeded. The
+     * default is 10240.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_NODE_OUTPUT_CACHE_MAX_SIZE = "knime.node.outputcache.maxsize";
+
+    /**
+     * Java property to disable the node description index. By default the names, icons, and port and view names of
+     * nodes are read from an index file in the KNIME home directory and the XML node description is only parsed when
+     * the full description is needed. Set to <code>false</code> to always parse the XML file.
+     *
+     * @since 4.2
+     */
+    public static final String PROPERTY_NODE_DESCRIPTION_INDEX = "knime.nodedescription.index";
+
     /**
      * The minimum refresh interval in ms, e.g. to refresh the node progress or the state of the remote job view.
      *
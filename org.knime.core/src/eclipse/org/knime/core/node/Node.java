@@ -132,6 +132,8 @@
 import org.knime.core.node.workflow.execresult.NodeExecutionResult;
 import org.knime.core.node.workflow.virtual.subnode.VirtualSubNodeInputNodeModel;
 import org.knime.core.util.FileUtil;
+import org.knime.core.util.tracing.ExecutionTracer;
+import org.knime.core.util.tracing.TraceEventType;
 import org.w3c.dom.Element;
 
 /**
@@ -950,6 +952,13 @@ public boolean execute(final PortObject[] rawData, final ExecutionContext exec)
      * @since 2.8
      */
     public boolean execute(final PortObject[] rawInData, final ExecutionEnvironment exEnv, final ExecutionContext exec) {
+        try (ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.NODE_EXECUTE, getName())) {
+            return executeInternal(rawInData, exEnv, exec);
+        }
+    }
+
+    private boolean executeInternal(final PortObject[] rawInData, final ExecutionEnvironment exEnv,
+        final ExecutionContext exec) {
         LOGGER.assertLog(NodeContext.getContext() != null,
             "No node context available, please check call hierarchy and fix it");
 
@@ -1013,7 +1022,7 @@ public boolean execute(final PortObject[] rawInData, final ExecutionEnvironment
             try {
                 // INVOKE MODEL'S EXECUTE
                 // (warnings will now be processed "automatically" - we listen)
-                rawOutData = invokeFullyNodeModelExecute(exec, exEnv, newInData);
+                rawOutData = executeWithOutputCache(exec, exEnv, newInData);
             } catch (Throwable th) {
                 boolean isCanceled = th instanceof CanceledExecutionException;
                 isCanceled = isCanceled || th instanceof InterruptedException;
@@ -1236,6 +1245,40 @@ public PortObject[] invokeFullyNodeModelExecute(final ExecutionContext exec, fin
         return m_model.executeModel(inData, exEnv, exec);
     }
 
+    /** Calls {@link #invokeFullyNodeModelExecute(ExecutionContext, ExecutionEnvironment, PortObject[])} unless the
+     * {@link NodeOutputCache} is enabled and holds the output for identical settings and input.
+     * @param exec The execution context.
+     * @param exEnv The execution environment.
+     * @param inData The input data to the node (including flow var port)
+     * @return The output of node, including flow variable port
+     * @throws Exception An exception thrown by the client.
+     */
+    private PortObject[] executeWithOutputCache(final ExecutionContext exec, final ExecutionEnvironment exEnv,
+        final PortObject[] inData) throws Exception {
+        final NodeOutputCache cache = NodeOutputCache.getInstance();
+        if (cache == null || (exEnv != null && exEnv.reExecute())) {
+            return invokeFullyNodeModelExecute(exec, exEnv, inData);
+        }
+        final String key = cache.createKey(this, inData, exec.createSubProgress(0.0));
+        if (key != null) {
+            final PortObject[] cached = cache.restore(key, m_model, exec);
+            if (cached != null) {
+                LOGGER.debug("Restored output of node \"" + getName() + "\" from node output cache");
+                m_model.setHasContent(true);
+                return cached;
+            }
+        }
+        final FlowObjectStack outStack = getOutgoingFlowObjectStack();
+        final Map<String, FlowVariable> varsBefore =
+            outStack == null ? null : new HashMap<>(outStack.getAllAvailableFlowVariables());
+        final PortObject[] outData = invokeFullyNodeModelExecute(exec, exEnv, inData);
+        // flow variables pushed during execute can't be restored
+        if (key != null && outStack != null && varsBefore.equals(outStack.getAllAvailableFlowVariables())) {
+            cache.store(key, m_model, outData);
+        }
+        return outData;
+    }
+
     /** Invokes the corresponding package scope method in class NodeModel. Put here to avoid adding API.
      * @param model to call on.
      * @return result of that call
@@ -1654,6 +1697,20 @@ public void addToTemporaryTables(final Set<ContainerTable> tempTables) {
         m_localTempTables.addAll(tempTables);
     }
 
+    /** Starts reading the given input tables of a node that is about to be executed into the file system cache. This
+     * method delegates from the NodeContainer class to access a package-scope method in BufferedDataTable.
+     * @param inData The input objects of the node, non-table objects and <code>null</code> are ignored.
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 4.2
+     */
+    public static void prefetchInputTables(final PortObject[] inData) {
+        for (PortObject portObject : inData) {
+            if (portObject instanceof BufferedDataTable) {
+                ((BufferedDataTable)portObject).prefetch();
+            }
+        }
+    }
+
     /** Enumerates the output tables and puts them into the global workflow repository of tables. This method delegates
      * from the NodeContainer class to access a package-scope method in BufferedDataTable.
      * @param repository The global repository.
@@ -1773,6 +1830,12 @@ public boolean configure(final PortObjectSpec[] inSpecs) {
      * @noreference This method is not intended to be referenced by clients.
      */
     public boolean configure(final PortObjectSpec[] rawInSpecs, final NodeConfigureHelper configureHelper) {
+        try (ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.NODE_CONFIGURE, getName())) {
+            return configureInternal(rawInSpecs, configureHelper);
+        }
+    }
+
+    private boolean configureInternal(final PortObjectSpec[] rawInSpecs, final NodeConfigureHelper configureHelper) {
         boolean success = false;
         LOGGER.assertLog(NodeContext.getContext() != null,
                 "No node context available, please check call hierarchy and fix it");
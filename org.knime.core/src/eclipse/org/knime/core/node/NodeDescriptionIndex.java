@@ -0,0 +1,447 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.knime.core.eclipseUtil.OSGIHelper;
+import org.knime.core.node.NodeFactory.NodeType;
+import org.knime.core.node.context.ports.ModifiablePortsConfiguration;
+import org.osgi.framework.Bundle;
+import org.w3c.dom.Element;
+
+/**
+ * An index of the parts of node descriptions that are needed when nodes are created or listed in the node repository:
+ * the node name, icon, type, and port and view names. Looking them up here avoids parsing the XML description of every
+ * node factory instance; the XML is only parsed once the full description is actually requested (e.g. for display).
+ *
+ * <p>
+ * Entries are kept in memory for the lifetime of the application. Entries of factories in released bundles are also
+ * stored in a binary file in the KNIME home directory, keyed by factory class and bundle version, and read from there
+ * in subsequent runs. Factories in bundles with an unresolved version qualifier (i.e. run from the development
+ * environment) are not persisted as their descriptions may change without a version change. The index can be switched
+ * off with {@link KNIMEConstants#PROPERTY_NODE_DESCRIPTION_INDEX}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeDescriptionIndex {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeDescriptionIndex.class);
+
+    private static final String FILE_NAME = "node-description-index.bin";
+
+    /** Magic number and format version of the index file. */
+    private static final int MAGIC = 0x4B4E4449; // "KNDI"
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** Port indices checked when creating an entry; ports beyond are looked up in the full description. */
+    private static final int MAX_PORTS = 64;
+
+    private static final NodeDescriptionIndex INSTANCE = new NodeDescriptionIndex(
+        !"false".equalsIgnoreCase(System.getProperty(KNIMEConstants.PROPERTY_NODE_DESCRIPTION_INDEX)),
+        Paths.get(KNIMEConstants.getKNIMEHomeDir(), FILE_NAME));
+
+    private final boolean m_isEnabled;
+
+    private final Path m_file;
+
+    private final Map<String, Entry> m_entries = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> m_persistentEntries = new ConcurrentHashMap<>();
+
+    private boolean m_isFileRead;
+
+    private boolean m_isShutdownHookRegistered;
+
+    /**
+     * @param isEnabled whether the index is used at all
+     * @param file the file persistent entries are read from and written to, null to keep entries in memory only
+     */
+    NodeDescriptionIndex(final boolean isEnabled, final Path file) {
+        m_isEnabled = isEnabled;
+        m_file = file;
+    }
+
+    /** @return the singleton used by all node factories */
+    static NodeDescriptionIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the node description for a factory that reads its description from the XML file next to its class.
+     *
+     * @param factoryClass the class of the factory
+     * @param parser parses the XML file, also (re-)adding any data the factory adds to it; called at most once, either
+     *            right away if the factory is not in the index or later when the full description is requested
+     * @return the description, not null
+     */
+    @SuppressWarnings("rawtypes")
+    NodeDescription getDescription(final Class<? extends NodeFactory> factoryClass,
+        final Supplier<NodeDescription> parser) {
+        if (!m_isEnabled) {
+            return parser.get();
+        }
+        final String version = getBundleVersion(factoryClass);
+        final String key = version == null ? factoryClass.getName() : (factoryClass.getName() + "@" + version);
+        Entry entry = m_entries.get(key);
+        if (entry == null && version != null) {
+            readFile();
+            entry = m_entries.get(key);
+        }
+        if (entry != null) {
+            return new IndexedNodeDescription(entry, parser);
+        }
+        final NodeDescription description = parser.get();
+        if (!(description instanceof NoDescriptionProxy)) {
+            entry = Entry.create(description);
+            m_entries.put(key, entry);
+            if (version != null) {
+                m_persistentEntries.put(key, entry);
+                scheduleWrite();
+            }
+        }
+        return description;
+    }
+
+    /**
+     * Returns symbolic name and version of the factory's bundle, or null if the bundle is unknown or its version not
+     * final.
+     */
+    private static String getBundleVersion(final Class<?> factoryClass) {
+        final Bundle bundle = OSGIHelper.getBundle(factoryClass);
+        if (bundle == null || "qualifier".equals(bundle.getVersion().getQualifier())) {
+            return null;
+        }
+        return bundle.getSymbolicName() + "_" + bundle.getVersion();
+    }
+
+    private synchronized void readFile() {
+        if (m_isFileRead || m_file == null) {
+            return;
+        }
+        m_isFileRead = true;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(m_file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                LOGGER.debug("Ignoring node description index " + m_file + " with unknown format");
+                return;
+            }
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final String key = in.readUTF();
+                final Entry entry = Entry.read(in);
+                m_entries.putIfAbsent(key, entry);
+                m_persistentEntries.putIfAbsent(key, entry);
+            }
+        } catch (NoSuchFileException e) {
+            // first run
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Unable to read node description index " + m_file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** New entries are written when the application shuts down. */
+    private synchronized void scheduleWrite() {
+        if (!m_isShutdownHookRegistered && m_file != null) {
+            m_isShutdownHookRegistered = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(this::writeFile, "KNIME-Node-Description-Index-Writer"));
+        }
+    }
+
+    /** Writes all persistent entries, including the ones read from the file (for other installed bundles). */
+    synchronized void writeFile() {
+        if (m_file == null) {
+            return;
+        }
+        readFile();
+        final List<Map.Entry<String, Entry>> entries = new ArrayList<>(m_persistentEntries.entrySet());
+        try {
+            Files.createDirectories(m_file.toAbsolutePath().getParent());
+            final Path tmpFile = Files.createTempFile(m_file.toAbsolutePath().getParent(), FILE_NAME, ".tmp");
+            try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> e : entries) {
+                    out.writeUTF(e.getKey());
+                    e.getValue().write(out);
+                }
+            }
+            Files.move(tmpFile, m_file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Unable to write node description index " + m_file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** The indexed parts of a node description, immutable. */
+    static final class Entry {
+
+        private final String m_nodeName;
+
+        private final String m_iconPath;
+
+        private final NodeType m_type;
+
+        private final String m_interactiveViewName;
+
+        private final boolean m_isDeprecated;
+
+        private final String[] m_inportNames;
+
+        private final String[] m_outportNames;
+
+        private final String[] m_viewNames;
+
+        private Entry(final String nodeName, final String iconPath, final NodeType type,
+            final String interactiveViewName, final boolean isDeprecated, final String[] inportNames,
+            final String[] outportNames, final String[] viewNames) {
+            m_nodeName = nodeName;
+            m_iconPath = iconPath;
+            m_type = type;
+            m_interactiveViewName = interactiveViewName;
+            m_isDeprecated = isDeprecated;
+            m_inportNames = inportNames;
+            m_outportNames = outportNames;
+            m_viewNames = viewNames;
+        }
+
+        static Entry create(final NodeDescription description) {
+            final List<String> inportNames = new ArrayList<>();
+            for (int i = 0; i < MAX_PORTS && description.getInportName(i) != null; i++) {
+                inportNames.add(description.getInportName(i));
+            }
+            final List<String> outportNames = new ArrayList<>();
+            for (int i = 0; i < MAX_PORTS && description.getOutportName(i) != null; i++) {
+                outportNames.add(description.getOutportName(i));
+            }
+            final String[] viewNames = new String[description.getViewCount()];
+            for (int i = 0; i < viewNames.length; i++) {
+                viewNames[i] = description.getViewName(i);
+            }
+            return new Entry(description.getNodeName(), description.getIconPath(), description.getType(),
+                description.getInteractiveViewName(), description.isDeprecated(),
+                inportNames.toArray(new String[0]), outportNames.toArray(new String[0]), viewNames);
+        }
+
+        static Entry read(final DataInputStream in) throws IOException {
+            final String nodeName = readString(in);
+            final String iconPath = readString(in);
+            final String type = readString(in);
+            final String interactiveViewName = readString(in);
+            final boolean isDeprecated = in.readBoolean();
+            return new Entry(nodeName, iconPath, type == null ? null : NodeType.valueOf(type), interactiveViewName,
+                isDeprecated, readStrings(in), readStrings(in), readStrings(in));
+        }
+
+        void write(final DataOutputStream out) throws IOException {
+            writeString(out, m_nodeName);
+            writeString(out, m_iconPath);
+            writeString(out, m_type == null ? null : m_type.name());
+            writeString(out, m_interactiveViewName);
+            out.writeBoolean(m_isDeprecated);
+            writeStrings(out, m_inportNames);
+            writeStrings(out, m_outportNames);
+            writeStrings(out, m_viewNames);
+        }
+
+        private static String readString(final DataInputStream in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        private static String[] readStrings(final DataInputStream in) throws IOException {
+            final String[] result = new String[in.readInt()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = readString(in);
+            }
+            return result;
+        }
+
+        private static void writeString(final DataOutputStream out, final String s) throws IOException {
+            out.writeBoolean(s != null);
+            if (s != null) {
+                out.writeUTF(s);
+            }
+        }
+
+        private static void writeStrings(final DataOutputStream out, final String[] strings) throws IOException {
+            out.writeInt(strings.length);
+            for (String s : strings) {
+                writeString(out, s);
+            }
+        }
+    }
+
+    /**
+     * A node description answering the indexed parts from an {@link Entry} and everything else from the full
+     * description, which is only parsed on first access.
+     */
+    static final class IndexedNodeDescription extends NodeDescription {
+
+        private final Entry m_entry;
+
+        private Supplier<NodeDescription> m_parser;
+
+        private NodeDescription m_fullDescription;
+
+        IndexedNodeDescription(final Entry entry, final Supplier<NodeDescription> parser) {
+            m_entry = entry;
+            m_parser = parser;
+            super.setIsDeprecated(entry.m_isDeprecated);
+        }
+
+        /** @return whether the XML description has been parsed */
+        synchronized boolean isParsed() {
+            return m_fullDescription != null;
+        }
+
+        private synchronized NodeDescription getFullDescription() {
+            if (m_fullDescription == null) {
+                m_fullDescription = m_parser.get();
+                m_parser = null;
+                if (m_fullDescription.isDeprecated() != isDeprecated()) {
+                    m_fullDescription.setIsDeprecated(isDeprecated());
+                }
+            }
+            return m_fullDescription;
+        }
+
+        @Override
+        public String getIconPath() {
+            return m_entry.m_iconPath;
+        }
+
+        @Override
+        public String getInportDescription(final int index) {
+            return getFullDescription().getInportDescription(index);
+        }
+
+        @Override
+        public String getInportName(final int index) {
+            return index >= 0 && index < m_entry.m_inportNames.length ? m_entry.m_inportNames[index]
+                : getFullDescription().getInportName(index);
+        }
+
+        @Override
+        public String getInteractiveViewName() {
+            return m_entry.m_interactiveViewName;
+        }
+
+        @Override
+        public String getNodeName() {
+            return m_entry.m_nodeName;
+        }
+
+        @Override
+        public String getOutportDescription(final int index) {
+            return getFullDescription().getOutportDescription(index);
+        }
+
+        @Override
+        public String getOutportName(final int index) {
+            return index >= 0 && index < m_entry.m_outportNames.length ? m_entry.m_outportNames[index]
+                : getFullDescription().getOutportName(index);
+        }
+
+        @Override
+        public NodeType getType() {
+            return m_entry.m_type;
+        }
+
+        @Override
+        public int getViewCount() {
+            return m_entry.m_viewNames.length;
+        }
+
+        @Override
+        public String getViewDescription(final int index) {
+            return getFullDescription().getViewDescription(index);
+        }
+
+        @Override
+        public String getViewName(final int index) {
+            return index >= 0 && index < m_entry.m_viewNames.length ? m_entry.m_viewNames[index]
+                : getFullDescription().getViewName(index);
+        }
+
+        @Override
+        public Element getXMLDescription() {
+            return getFullDescription().getXMLDescription();
+        }
+
+        @Override
+        protected synchronized void setIsDeprecated(final boolean b) {
+            super.setIsDeprecated(b);
+            if (m_fullDescription != null) {
+                m_fullDescription.setIsDeprecated(b);
+            }
+        }
+
+        @Override
+        NodeDescription createUpdatedNodeDescription(final ModifiablePortsConfiguration portsConfiguration) {
+            if (portsConfiguration == null || portsConfiguration.getExtendablePorts().isEmpty()) {
+                return this;
+            }
+            return getFullDescription().createUpdatedNodeDescription(portsConfiguration);
+        }
+    }
+}
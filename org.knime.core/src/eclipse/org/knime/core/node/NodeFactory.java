@@ -142,6 +142,23 @@ public static enum NodeType {
         PARSER = p;
     }
 
+    /**
+     * Whether a factory class reads its description from the XML file next to it, i.e. does not override
+     * {@link #createNodeDescription()}. Only then the description can be taken from the {@link NodeDescriptionIndex}.
+     */
+    private static final ClassValue<Boolean> USES_DEFAULT_DESCRIPTION = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            for (Class<?> c = type; c != NodeFactory.class && c != null; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("createNodeDescription");
+                    return Boolean.FALSE;
+                } catch (NoSuchMethodException e) { /* not overridden in this class */ }
+            }
+            return Boolean.TRUE;
+        }
+    };
+
     private NodeDescription m_nodeDescription;
 
     private URL m_icon;
@@ -198,20 +215,12 @@ public synchronized void init() {
             m_logger.debug("Factory is already initialized. Nothing to do.");
             return;
         }
-        try {
-            m_nodeDescription = createNodeDescription();
-        } catch (SAXException ex) {
-            m_logger.error("Broken XML file for node description of " + getClass().getName() + ": " + ex.getMessage(),
-                ex);
-            m_nodeDescription = new NoDescriptionProxy(getClass());
-        } catch (IOException ex) {
-            m_logger.error(
-                "I/O error while reading node description of " + getClass().getName() + ": " + ex.getMessage(), ex);
-            m_nodeDescription = new NoDescriptionProxy(getClass());
-        } catch (XmlException ex) {
-            m_logger.error("Node description of " + getClass().getName() + " does not conform to used XML schema: "
-                + ex.getMessage(), ex);
-            m_nodeDescription = new NoDescriptionProxy(getClass());
+        if (USES_DEFAULT_DESCRIPTION.get(getClass())) {
+            // the XML file is only parsed when the full description is requested, see NodeDescriptionIndex
+            m_nodeDescription =
+                NodeDescriptionIndex.getInstance().getDescription(getClass(), this::parseNodeDescription);
+        } else {
+            m_nodeDescription = parseNodeDescription();
         }
 
         m_icon = resolveIcon(m_nodeDescription.getIconPath());
@@ -221,11 +230,36 @@ public synchronized void init() {
         // constructor - local fields in the derived NodeFactory have
         // not been initialized
 
-        addBundleInformation();
         addLoadedFactory(getClass());
         m_initialized = true;
     }
 
+    /**
+     * Creates the node description via {@link #createNodeDescription()} and adds the bundle information to it.
+     *
+     * @return the description, never null
+     */
+    private NodeDescription parseNodeDescription() {
+        NodeDescription description;
+        try {
+            description = createNodeDescription();
+        } catch (SAXException ex) {
+            m_logger.error("Broken XML file for node description of " + getClass().getName() + ": " + ex.getMessage(),
+                ex);
+            description = new NoDescriptionProxy(getClass());
+        } catch (IOException ex) {
+            m_logger.error(
+                "I/O error while reading node description of " + getClass().getName() + ": " + ex.getMessage(), ex);
+            description = new NoDescriptionProxy(getClass());
+        } catch (XmlException ex) {
+            m_logger.error("Node description of " + getClass().getName() + " does not conform to used XML schema: "
+                + ex.getMessage(), ex);
+            description = new NoDescriptionProxy(getClass());
+        }
+        addBundleInformation(description);
+        return description;
+    }
+
     /**
      * Creates an input stream containing the properties for the node. This
      * can be overridden by subclasses to provide this information dynamically.
@@ -265,8 +299,8 @@ NodeDescription getNodeDescription() {
      * Adds information about the bundle/feature in which this node resides to the XML description tree. Note that the
      * bundle information does not have a namespace!
      */
-    private void addBundleInformation() {
-        Element root = m_nodeDescription.getXMLDescription();
+    private void addBundleInformation(final NodeDescription description) {
+        Element root = description.getXMLDescription();
 
         if ((root != null) && !(this instanceof MissingNodeFactory)) { // for running in non-osgi context
             NodeAndBundleInformationPersistor nodeInfo = NodeAndBundleInformationPersistor.create(this);
@@ -67,6 +67,7 @@
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Appender;
+import org.apache.log4j.ConsoleAppender;
 import org.apache.log4j.FileAppender;
 import org.apache.log4j.Layout;
 import org.apache.log4j.Level;
@@ -1327,6 +1328,25 @@ public static void setAppenderLevelRange(final String appenderName, final LEVEL
         updateLog4JKNIMELoggerLevel();
     }
 
+    /**
+     * Lets the {@link #STDOUT_APPENDER} write to <code>System.err</code> instead of <code>System.out</code>, e.g.
+     * if standard output is used to answer requests. Has no effect if the appender doesn't exist or isn't a console
+     * appender.
+     *
+     * @param toStdErr <code>true</code> to write to <code>System.err</code>, <code>false</code> to write to
+     *            <code>System.out</code> again
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static void redirectStdoutAppender(final boolean toStdErr) {
+        Appender appender = Logger.getRootLogger().getAppender(STDOUT_APPENDER);
+        if (appender instanceof ConsoleAppender) {
+            ConsoleAppender consoleAppender = (ConsoleAppender)appender;
+            consoleAppender.setTarget(toStdErr ? ConsoleAppender.SYSTEM_ERR : ConsoleAppender.SYSTEM_OUT);
+            consoleAppender.activateOptions();
+        }
+    }
+
     /**
      * Allows to enable/disable logging in the workflow directory. If enabled log messages that belong to workflow
      * are logged into a log file within the workflow directory itself in addition to the global KNIME log file.
@@ -0,0 +1,556 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.filestore.FileStoreCell;
+import org.knime.core.data.filestore.FileStorePortObject;
+import org.knime.core.node.interactive.InteractiveNode;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectHolder;
+import org.knime.core.node.port.PortObject.PortObjectSerializer;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortObjectSpec.PortObjectSpecSerializer;
+import org.knime.core.node.port.PortObjectSpecZipOutputStream;
+import org.knime.core.node.port.PortObjectZipOutputStream;
+import org.knime.core.node.port.PortTypeRegistry;
+import org.knime.core.node.port.PortUtil;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.port.inactive.InactiveBranchPortObject;
+import org.knime.core.node.workflow.FlowObjectStack;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.ScopeEndNode;
+import org.knime.core.node.workflow.ScopeStartNode;
+
+/**
+ * An opt-in, content-addressed cache of node outputs. If enabled via {@link KNIMEConstants#PROPERTY_NODE_OUTPUT_CACHE_DIR}
+ * the output of a successful execution is stored in a local directory under a key derived from the node factory, the
+ * node's model settings, the flow variables visible to the node and fingerprints of the input port objects. A later
+ * execution with an identical key restores the stored outputs instead of calling the node model's execute method.
+ *
+ * <p>
+ * Only node models that implement {@link CacheableNodeModel} are cached, and only if they have a data output, no
+ * views, no interactive views, no internally held tables and no scope. Outputs with file stores and executions that
+ * push flow variables aren't cached.
+ *
+ * <p>
+ * Input fingerprints are derived from the cache key of the upstream node if the input was created or restored while
+ * the cache was enabled. Nodes with other input tables aren't cached, as scanning the input data on every execution
+ * would cost about as much as executing the node. Other port objects are serialized.
+ *
+ * <p>
+ * Entries are written in the background such that storing doesn't delay the execution of the workflow. An entry whose
+ * output tables are cleared (e.g. as the node is reset) before they are written is dropped.
+ *
+ * <p>
+ * The cache size is bounded by {@link KNIMEConstants#PROPERTY_NODE_OUTPUT_CACHE_MAX_SIZE}; least recently used
+ * entries are evicted.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeOutputCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeOutputCache.class);
+
+    private static final String ENTRY_FILE = "entry.xml";
+
+    private static final String TABLE_SUFFIX = ".table";
+
+    private static final String PORT_OBJECT_SUFFIX = ".portobject";
+
+    /** Default maximum size in MB. */
+    private static final long DEFAULT_MAX_SIZE_MB = 10 * 1024;
+
+    /** A single-threaded daemon executor writing the entries. The thread times out when idle. */
+    private static final ThreadPoolExecutor STORE_EXECUTOR;
+    static {
+        STORE_EXECUTOR = new ThreadPoolExecutor(1, 1, 10L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactory() {
+                private final AtomicInteger m_threadCount = new AtomicInteger();
+
+                /** {@inheritDoc} */
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread t = new Thread(r, "KNIME-NodeOutputCache-" + m_threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        STORE_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private static final NodeOutputCache INSTANCE = createInstance();
+
+    private final File m_cacheDir;
+
+    private final long m_maxSizeInBytes;
+
+    /** Entry directory name &rarr; size in bytes, in access order (eldest first). */
+    private final LinkedHashMap<String, Long> m_entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long m_totalSize;
+
+    /** Keys of the entries currently written in the background, guarded by m_entries. */
+    private final Set<String> m_pendingKeys = new HashSet<>();
+
+    /** Fingerprints of port objects created or restored by nodes that were subject to caching. */
+    private final Map<PortObject, String> m_knownFingerprints = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param cacheDir the directory to store the entries in, must exist
+     * @param maxSizeInBytes the maximum size of all entries
+     */
+    NodeOutputCache(final File cacheDir, final long maxSizeInBytes) {
+        m_cacheDir = cacheDir;
+        m_maxSizeInBytes = maxSizeInBytes;
+        final File[] entryDirs = cacheDir.listFiles(f -> f.isDirectory() && new File(f, ENTRY_FILE).isFile());
+        if (entryDirs != null) {
+            Arrays.sort(entryDirs, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+            for (File entryDir : entryDirs) {
+                final long size = FileUtils.sizeOfDirectory(entryDir);
+                m_entries.put(entryDir.getName(), size);
+                m_totalSize += size;
+            }
+        }
+    }
+
+    private static NodeOutputCache createInstance() {
+        final String dir = System.getProperty(KNIMEConstants.PROPERTY_NODE_OUTPUT_CACHE_DIR);
+        if (dir == null || dir.trim().isEmpty()) {
+            return null;
+        }
+        long maxSizeMB = DEFAULT_MAX_SIZE_MB;
+        final String maxSize = System.getProperty(KNIMEConstants.PROPERTY_NODE_OUTPUT_CACHE_MAX_SIZE);
+        if (maxSize != null) {
+            try {
+                maxSizeMB = Long.parseLong(maxSize.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property " + KNIMEConstants.PROPERTY_NODE_OUTPUT_CACHE_MAX_SIZE
+                    + ", using default (" + DEFAULT_MAX_SIZE_MB + " MB)", e);
+            }
+        }
+        final File cacheDir = new File(dir.trim());
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            LOGGER.warn("Unable to create node output cache directory \"" + cacheDir.getAbsolutePath()
+                + "\", cache is disabled");
+            return null;
+        }
+        LOGGER.debug("Node output cache enabled in \"" + cacheDir.getAbsolutePath() + "\" (" + maxSizeMB + " MB)");
+        return new NodeOutputCache(cacheDir, maxSizeMB * 1024 * 1024);
+    }
+
+    /**
+     * @return the cache or <code>null</code> if not enabled
+     */
+    static NodeOutputCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Computes the cache key for an execution of the argument node.
+     *
+     * @param node the node about to be executed
+     * @param inData the input data including the flow variable port
+     * @param exec for cancellation
+     * @return the key or <code>null</code> if the node or its input are not cacheable
+     * @throws CanceledExecutionException if canceled while scanning the input
+     */
+    String createKey(final Node node, final PortObject[] inData, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        if (!isCacheable(node)) {
+            return null;
+        }
+        final MessageDigest digest = newDigest();
+        final DigestOutputStream out = new DigestOutputStream(NullOutputStream.NULL_OUTPUT_STREAM, digest);
+        try {
+            update(digest, node.getFactory().getClass().getName());
+            final NodeSettings settings = new NodeSettings("model");
+            node.saveModelSettingsTo(settings);
+            settings.saveToXML(out);
+            // sorted for a stable key
+            final FlowObjectStack stack = node.getFlowObjectStack();
+            final Map<String, FlowVariable> variables =
+                stack == null ? Collections.emptyMap() : new TreeMap<>(stack.getAllAvailableFlowVariables());
+            for (FlowVariable v : variables.values()) {
+                update(digest, v.getName());
+                update(digest, v.getVariableType().toString());
+                update(digest, v.getValueAsString());
+            }
+            for (int i = 1; i < inData.length; i++) {
+                final PortObject po = inData[i];
+                if (po == null) {
+                    update(digest, "<null>");
+                    continue;
+                }
+                final String fingerprint = getFingerprint(po, exec);
+                if (fingerprint == null) {
+                    return null;
+                }
+                update(digest, fingerprint);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to compute node output cache key: " + e.getMessage(), e);
+            return null;
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Restores the outputs stored under the key.
+     *
+     * @param key the key as per {@link #createKey(Node, PortObject[], ExecutionMonitor)}
+     * @param model the model of the node being executed
+     * @param exec to create the output tables
+     * @return the output including the flow variable port, or <code>null</code> if there is no entry
+     * @throws CanceledExecutionException if canceled
+     */
+    PortObject[] restore(final String key, final NodeModel model, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final File entryDir = new File(m_cacheDir, key);
+        synchronized (m_entries) {
+            if (m_entries.get(key) == null) {
+                return null;
+            }
+        }
+        final PortObject[] result = new PortObject[model.getNrOutPorts() + 1];
+        result[0] = FlowVariablePortObject.INSTANCE;
+        try (InputStream in = new FileInputStream(new File(entryDir, ENTRY_FILE))) {
+            final ModelContentRO entry = ModelContent.loadFromXML(in);
+            if (entry.getInt("port_count") != model.getNrOutPorts()) {
+                return null;
+            }
+            for (int p = 1; p < result.length; p++) {
+                final ExecutionContext subExec = exec.createSubExecutionContext(1.0 / model.getNrOutPorts());
+                final File tableFile = new File(entryDir, "port_" + p + TABLE_SUFFIX);
+                if (tableFile.isFile()) {
+                    final ContainerTable table = DataContainer.readFromZip(tableFile);
+                    try {
+                        result[p] = exec.createBufferedDataTable(table, subExec);
+                    } finally {
+                        table.clear();
+                    }
+                } else {
+                    result[p] = PortUtil.readObjectFromFile(new File(entryDir, "port_" + p + PORT_OBJECT_SUFFIX),
+                        subExec);
+                }
+                m_knownFingerprints.put(result[p], key + ":" + p);
+            }
+            model.setWarningMessage(entry.getString("warning", null));
+        } catch (IOException | InvalidSettingsException e) {
+            LOGGER.warn("Unable to restore node output from cache entry \"" + entryDir.getAbsolutePath()
+                + "\", executing node", e);
+            remove(key);
+            return null;
+        }
+        touch(key, entryDir);
+        return result;
+    }
+
+    /**
+     * Stores the output of a successful execution. The fingerprints of the output are assigned right away, the entry
+     * is written in the background.
+     *
+     * @param key the key as per {@link #createKey(Node, PortObject[], ExecutionMonitor)}
+     * @param model the model of the node that was executed
+     * @param outData the output including the flow variable port
+     * @return the future of the background write or <code>null</code> if the output isn't written
+     */
+    Future<?> store(final String key, final NodeModel model, final PortObject[] outData) {
+        for (int p = 1; p < outData.length; p++) {
+            if (!isCacheable(outData[p])) {
+                return null;
+            }
+        }
+        // fingerprints are assigned even if the entry can't be written so downstream nodes are cached, too
+        for (int p = 1; p < outData.length; p++) {
+            m_knownFingerprints.put(outData[p], key + ":" + p);
+        }
+        synchronized (m_entries) {
+            if (m_entries.containsKey(key) || !m_pendingKeys.add(key)) {
+                return null;
+            }
+        }
+        final String warning = model.getWarningMessage();
+        return STORE_EXECUTOR.submit(() -> {
+            try {
+                write(key, warning, outData);
+            } finally {
+                synchronized (m_entries) {
+                    m_pendingKeys.remove(key);
+                }
+            }
+        });
+    }
+
+    private void write(final String key, final String warning, final PortObject[] outData) {
+        final ExecutionMonitor exec = new ExecutionMonitor();
+        final File tmpDir = new File(m_cacheDir, key + ".tmp");
+        final File entryDir = new File(m_cacheDir, key);
+        try {
+            FileUtils.deleteDirectory(tmpDir);
+            if (!tmpDir.mkdirs()) {
+                throw new IOException("Unable to create directory " + tmpDir.getAbsolutePath());
+            }
+            for (int p = 1; p < outData.length; p++) {
+                final ExecutionMonitor subExec = exec.createSubProgress(1.0 / (outData.length - 1));
+                if (outData[p] instanceof BufferedDataTable) {
+                    DataContainer.writeToZip((BufferedDataTable)outData[p], new File(tmpDir, "port_" + p + TABLE_SUFFIX),
+                        subExec);
+                } else {
+                    PortUtil.writeObjectToFile(outData[p], new File(tmpDir, "port_" + p + PORT_OBJECT_SUFFIX),
+                        subExec);
+                }
+            }
+            final ModelContent entry = new ModelContent("entry");
+            entry.addInt("port_count", outData.length - 1);
+            entry.addString("warning", warning);
+            try (OutputStream out = new FileOutputStream(new File(tmpDir, ENTRY_FILE))) {
+                entry.saveToXML(out);
+            }
+            if (!tmpDir.renameTo(entryDir)) {
+                // concurrently stored by another process sharing the cache directory
+                FileUtils.deleteDirectory(tmpDir);
+                return;
+            }
+        } catch (IOException | CanceledExecutionException | RuntimeException e) {
+            // runtime exceptions if the tables are cleared while being written
+            LOGGER.debug("Unable to store node output in cache: " + e.getMessage(), e);
+            FileUtils.deleteQuietly(tmpDir);
+            return;
+        }
+        final long size = FileUtils.sizeOfDirectory(entryDir);
+        synchronized (m_entries) {
+            m_entries.put(key, size);
+            m_totalSize += size;
+            evict();
+        }
+    }
+
+    /**
+     * @param node the node to check
+     * @return whether the outputs of the node may be cached, see class documentation
+     */
+    static boolean isCacheable(final Node node) {
+        final NodeModel model = node.getNodeModel();
+        if (!(model instanceof CacheableNodeModel) || !((CacheableNodeModel)model).isOutputCacheable()
+            || node.getNrViews() > 0 || model instanceof InteractiveNode
+            || model instanceof ScopeStartNode || model instanceof ScopeEndNode
+            || model instanceof BufferedDataTableHolder || model instanceof PortObjectHolder) {
+            return false;
+        }
+        // port 0 is the flow variable port
+        for (int p = 1; p < node.getNrOutPorts(); p++) {
+            if (BufferedDataTable.class.isAssignableFrom(node.getOutputType(p).getPortObjectClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCacheable(final PortObject po) {
+        if (po == null || po instanceof InactiveBranchPortObject || po instanceof FileStorePortObject) {
+            return false;
+        }
+        if (po instanceof BufferedDataTable) {
+            for (DataColumnSpec col : ((BufferedDataTable)po).getDataTableSpec()) {
+                final Class<? extends DataCell> cellClass = col.getType().getCellClass();
+                if (cellClass != null && FileStoreCell.class.isAssignableFrom(cellClass)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void touch(final String key, final File entryDir) {
+        synchronized (m_entries) {
+            // access order
+            m_entries.get(key);
+        }
+        if (!entryDir.setLastModified(System.currentTimeMillis())) {
+            LOGGER.debug("Unable to update modification time of " + entryDir.getAbsolutePath());
+        }
+    }
+
+    private void remove(final String key) {
+        synchronized (m_entries) {
+            final Long size = m_entries.remove(key);
+            if (size != null) {
+                m_totalSize -= size;
+            }
+        }
+        FileUtils.deleteQuietly(new File(m_cacheDir, key));
+    }
+
+    /** Called with lock on m_entries. */
+    private void evict() {
+        final Iterator<Map.Entry<String, Long>> it = m_entries.entrySet().iterator();
+        while (m_totalSize > m_maxSizeInBytes && it.hasNext()) {
+            final Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            m_totalSize -= eldest.getValue();
+            FileUtils.deleteQuietly(new File(m_cacheDir, eldest.getKey()));
+        }
+    }
+
+    private String getFingerprint(final PortObject po, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        final String known = m_knownFingerprints.get(po);
+        if (known != null) {
+            return known;
+        }
+        final String fingerprint;
+        if (po instanceof InactiveBranchPortObject) {
+            fingerprint = "<inactive>";
+        } else if (po instanceof FileStorePortObject) {
+            return null;
+        } else if (po instanceof BufferedDataTable) {
+            // not created by a cached node, scanning the content would read all input data on every execution
+            return null;
+        } else {
+            fingerprint = getPortObjectFingerprint(po, exec);
+        }
+        m_knownFingerprints.put(po, fingerprint);
+        return fingerprint;
+    }
+
+    private static String getPortObjectFingerprint(final PortObject po, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        final MessageDigest digest = newDigest();
+        final PortObjectSpec spec = po.getSpec();
+        update(digest, po.getClass().getName());
+        final PortObjectSpecSerializer<PortObjectSpec> specSer =
+            PortTypeRegistry.getInstance().getSpecSerializer(spec.getClass()).get();
+        final ByteArrayOutputStream specBytes = new ByteArrayOutputStream();
+        try (PortObjectSpecZipOutputStream specOut = PortUtil.getPortObjectSpecZipOutputStream(specBytes)) {
+            specSer.savePortObjectSpec(spec, specOut);
+        }
+        updateZipContent(digest, specBytes.toByteArray());
+        final PortObjectSerializer<PortObject> objSer =
+            PortTypeRegistry.getInstance().getObjectSerializer(po.getClass()).get();
+        final ByteArrayOutputStream objBytes = new ByteArrayOutputStream();
+        try (PortObjectZipOutputStream objOut = PortUtil.getPortObjectZipOutputStream(objBytes)) {
+            objSer.savePortObject(po, objOut, exec);
+        }
+        updateZipContent(digest, objBytes.toByteArray());
+        return "object:" + toHex(digest.digest());
+    }
+
+    /** Digests names and content of the zip entries, ignoring zip meta data such as time stamps. */
+    private static void updateZipContent(final MessageDigest digest, final byte[] zip) throws IOException {
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            final byte[] buffer = new byte[8192];
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                update(digest, entry.getName());
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        final byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        final int length = value == null ? -1 : bytes.length;
+        digest.update(new byte[]{(byte)(length >>> 24), (byte)(length >>> 16), (byte)(length >>> 8), (byte)length});
+        digest.update(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder b = new StringBuilder(bytes.length * 2);
+        for (byte v : bytes) {
+            b.append(Character.forDigit((v >> 4) & 0xF, 16)).append(Character.forDigit(v & 0xF, 16));
+        }
+        return b.toString();
+    }
+}
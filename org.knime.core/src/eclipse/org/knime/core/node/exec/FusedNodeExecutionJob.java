@@ -0,0 +1,376 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.filestore.internal.IFileStoreHandler;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeModelWarningListener;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObjectSpec;
+import org.knime.core.node.streamable.simple.SimpleStreamableFunctionNodeModel;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.execresult.NodeContainerExecutionStatus;
+import org.knime.core.util.tracing.ExecutionTracer;
+import org.knime.core.util.tracing.ExecutionTracer.Span;
+import org.knime.core.util.tracing.TraceEventType;
+
+/**
+ * Job created by the {@link StreamingNodeExecutionJobManager} for a chain of consecutive
+ * {@link SimpleStreamableFunctionNodeModel row-wise nodes}. Rather than running one thread per node and passing rows
+ * through queues, the column rearrangers of all nodes are applied in a single scan over the input of the first node,
+ * see {@link ExecutionContext#createFusedColumnRearrangeTables(BufferedDataTable, ColumnRearranger[],
+ * ExecutionContext[], org.knime.core.node.ExecutionMonitor)}. The non-leading nodes are then queued one after
+ * another while their predecessor is still executing (see {@link StreamingNodeExecutionJobManager#queueConsumer}),
+ * their jobs only load the result computed in the pass. The file store handlers of these nodes are set up and opened
+ * by this job as they write their output now, not when they are executed.
+ *
+ * <p>
+ * A successor is only fused if its rearranger doesn't depend on the domain of its input (see
+ * {@link SimpleStreamableFunctionNodeModel#getFusableColumnRearranger(DataTableSpec, boolean)}) as the domain of the
+ * columns computed by its predecessor is only known after the pass. If the fused pass fails, the partial output is
+ * discarded and the nodes are executed one after another.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class FusedNodeExecutionJob extends LocalNodeExecutionJob {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(FusedNodeExecutionJob.class);
+
+    private final StreamingNodeExecutionJobManager m_jobManager;
+
+    private final List<NativeNodeContainer> m_chain;
+
+    /**
+     * Creates a new job.
+     *
+     * @param jobManager the manager to queue the non-leading nodes with
+     * @param chain the nodes, all with a {@link SimpleStreamableFunctionNodeModel}, each one consuming the output of
+     *            its predecessor; the first element is the node to execute
+     * @param data the input of the first node
+     */
+    FusedNodeExecutionJob(final StreamingNodeExecutionJobManager jobManager, final List<NativeNodeContainer> chain,
+        final PortObject[] data) {
+        super(chain.get(0), data);
+        m_jobManager = jobManager;
+        m_chain = chain;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeContainerExecutionStatus mainExecute() {
+        final NativeNodeContainer head = m_chain.get(0);
+        final BufferedDataTable in = (BufferedDataTable)getPortObjects()[1];
+        final List<ColumnRearranger> rearrangers;
+        try {
+            rearrangers = createRearrangers(in.getDataTableSpec());
+        } catch (Exception e) {
+            return StreamingNodeExecutionJob.handleFailure(head, e);
+        }
+        if (rearrangers.size() < 2) {
+            // the rearranger of a successor could not be determined, execute as usual
+            return super.mainExecute();
+        }
+        final int count = rearrangers.size();
+        LOGGER.debugWithFormat("Fusing execution of %d nodes, starting at %s", count, head.getNameWithID());
+
+        final ExecutionContext[] contexts = new ExecutionContext[count];
+        final List<List<String>> warnings = new ArrayList<>(count);
+        final NodeModelWarningListener[] listeners = new NodeModelWarningListener[count];
+        BufferedDataTable[] outs = null;
+        Exception failure = null;
+        NodeContext.pushContext(head);
+        try (Span span = ExecutionTracer.begin(TraceEventType.NODE_EXECUTE, "Fused execute", head)) {
+            for (int i = 0; i < count; i++) {
+                final NativeNodeContainer nnc = m_chain.get(i);
+                if (i > 0) {
+                    // the handler of the head is set up by beforeExecute, successors aren't submitted yet
+                    nnc.initLocalFileStoreHandler();
+                }
+                contexts[i] = nnc.createExecutionContext();
+                nnc.getNode().openFileStoreHandler(contexts[i]);
+                final List<String> nodeWarnings = Collections.synchronizedList(new ArrayList<>());
+                warnings.add(nodeWarnings);
+                listeners[i] = w -> {
+                    if (w != null) {
+                        nodeWarnings.add(w);
+                    }
+                };
+                nnc.getNodeModel().addWarningListener(listeners[i]);
+            }
+            outs = ExecutionContext.createFusedColumnRearrangeTables(in,
+                rearrangers.toArray(new ColumnRearranger[count]), contexts, contexts[0]);
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            for (int i = 0; i < count; i++) {
+                if (listeners[i] != null) {
+                    m_chain.get(i).getNodeModel().removeWarningListener(listeners[i]);
+                }
+            }
+            NodeContext.removeLastContext();
+        }
+        if (failure instanceof CanceledExecutionException) {
+            discardOutputs(contexts);
+            return StreamingNodeExecutionJob.handleFailure(head, failure);
+        } else if (failure != null) {
+            // the problem may be caused by any of the nodes, execute them one by one to attribute it correctly
+            LOGGER.debug("Fused execution starting at " + head.getNameWithID() + " failed, executing nodes "
+                + "individually: " + failure.getMessage(), failure);
+            discardOutputs(contexts);
+            // fresh handler for the head, the old one may contain file stores of the failed pass
+            head.initLocalFileStoreHandler();
+            return super.mainExecute();
+        }
+
+        final FusedResults results = new FusedResults(contexts, outs, warnings);
+        final NodeContainerExecutionStatus status;
+        try {
+            status = StreamingNodeExecutionJob.loadResult(head, contexts[0], outObjects(outs[0]), outSpecs(outs[0]),
+                warnings.get(0));
+        } catch (Exception e) {
+            results.discard(1);
+            return StreamingNodeExecutionJob.handleFailure(head, e);
+        }
+        results.queue(1);
+        return status;
+    }
+
+    /**
+     * Disposes the tables written in the fused pass and the file store handlers of the successors (the handler of the
+     * head is taken care of by the caller).
+     */
+    private void discardOutputs(final ExecutionContext[] contexts) {
+        for (int i = 0; i < contexts.length; i++) {
+            if (contexts[i] == null) {
+                continue;
+            }
+            clearLocalTables(contexts[i]);
+            if (i > 0) {
+                m_chain.get(i).clearFileStoreHandler();
+            }
+        }
+    }
+
+    private static void clearLocalTables(final ExecutionContext exec) {
+        final Map<Integer, ContainerTable> localTables = Node.getLocalTableRepositoryFromContext(exec);
+        localTables.values().forEach(ContainerTable::clear);
+        localTables.clear();
+    }
+
+    /**
+     * Creates the rearrangers of the chain members, each for the output of its predecessor. Stops at the first node
+     * that can't be fused. Only the input of the head has a domain, the successors get the spec created by the
+     * rearranger of their predecessor.
+     */
+    private List<ColumnRearranger> createRearrangers(final DataTableSpec inSpec) throws Exception {
+        final List<ColumnRearranger> result = new ArrayList<>();
+        DataTableSpec spec = inSpec;
+        for (NativeNodeContainer nnc : m_chain) {
+            final SimpleStreamableFunctionNodeModel model = (SimpleStreamableFunctionNodeModel)nnc.getNodeModel();
+            NodeContext.pushContext(nnc);
+            final ColumnRearranger rearranger;
+            try {
+                rearranger = model.getFusableColumnRearranger(spec, result.isEmpty());
+            } catch (Exception e) {
+                if (result.isEmpty()) {
+                    throw e;
+                }
+                // the successor will fail with the same problem when executed on its own
+                break;
+            } finally {
+                NodeContext.removeLastContext();
+            }
+            if (rearranger == null) {
+                break;
+            }
+            result.add(rearranger);
+            spec = rearranger.createSpec();
+        }
+        return result;
+    }
+
+    private static PortObject[] outObjects(final BufferedDataTable table) {
+        return new PortObject[]{FlowVariablePortObject.INSTANCE, table};
+    }
+
+    private static PortObjectSpec[] outSpecs(final BufferedDataTable table) {
+        return new PortObjectSpec[]{FlowVariablePortObjectSpec.INSTANCE, table.getDataTableSpec()};
+    }
+
+    /** The outputs of the fused pass, the non-leading nodes are queued with them one after another. */
+    private final class FusedResults {
+
+        private final ExecutionContext[] m_contexts;
+
+        private final BufferedDataTable[] m_outs;
+
+        private final List<List<String>> m_warnings;
+
+        /** The file store handlers the nodes wrote their output with. */
+        private final IFileStoreHandler[] m_handlers;
+
+        FusedResults(final ExecutionContext[] contexts, final BufferedDataTable[] outs,
+            final List<List<String>> warnings) {
+            m_contexts = contexts;
+            m_outs = outs;
+            m_warnings = warnings;
+            m_handlers = new IFileStoreHandler[contexts.length];
+            for (int i = 0; i < contexts.length; i++) {
+                m_handlers[i] = m_chain.get(i).getNode().getFileStoreHandler();
+            }
+        }
+
+        /**
+         * Queues the i-th node, its job loads the result and queues the next node. If the node can't be queued (e.g.
+         * it has been canceled in the meantime) its result and the ones of the following nodes are discarded.
+         */
+        void queue(final int i) {
+            if (i >= m_outs.length) {
+                return;
+            }
+            final NativeNodeContainer nnc = m_chain.get(i);
+            if (!m_jobManager.queueConsumer(nnc, 1, m_outs[i - 1],
+                data -> m_jobManager.enqueue(new FusedResultJob(this, i, data)))) {
+                LOGGER.debugWithFormat("%s could not be queued, discarding its fused result", nnc.getNameWithID());
+                discard(i);
+            }
+        }
+
+        /** Disposes the tables and file stores written for the i-th and all following nodes. */
+        void discard(final int from) {
+            for (int i = from; i < m_contexts.length; i++) {
+                clearLocalTables(m_contexts[i]);
+                final NativeNodeContainer nnc = m_chain.get(i);
+                // unless the node has been reset and set up a new handler in the meantime
+                if (nnc.getNode().getFileStoreHandler() == m_handlers[i]) {
+                    nnc.clearFileStoreHandler();
+                }
+            }
+        }
+
+        NativeNodeContainer getNode(final int i) {
+            return m_chain.get(i);
+        }
+    }
+
+    /** Job of a non-leading node, it loads the result of the node computed in the fused pass. */
+    private static final class FusedResultJob extends LocalNodeExecutionJob {
+
+        private final FusedResults m_results;
+
+        private final int m_index;
+
+        /** Set once the job either loads or discards the result. */
+        private final AtomicBoolean m_isDone = new AtomicBoolean();
+
+        FusedResultJob(final FusedResults results, final int index, final PortObject[] data) {
+            super(results.getNode(index), data);
+            m_results = results;
+            m_index = index;
+        }
+
+        /** {@inheritDoc} Keeps the file store handler, it holds the file stores written in the fused pass. */
+        @Override
+        protected void beforeExecute() {
+            // nothing to set up
+        }
+
+        /** {@inheritDoc} Discards the result if canceled while queued, the job won't run. */
+        @Override
+        public boolean cancel() {
+            if (m_isDone.compareAndSet(false, true)) {
+                m_results.discard(m_index);
+            }
+            return super.cancel();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NodeContainerExecutionStatus mainExecute() {
+            final NativeNodeContainer nnc = m_results.getNode(m_index);
+            if (!m_isDone.compareAndSet(false, true)) {
+                return NodeContainerExecutionStatus.FAILURE;
+            }
+            final BufferedDataTable out = m_results.m_outs[m_index];
+            final NodeContainerExecutionStatus status;
+            try {
+                status = StreamingNodeExecutionJob.loadResult(nnc, m_results.m_contexts[m_index], outObjects(out),
+                    outSpecs(out), m_results.m_warnings.get(m_index));
+            } catch (Exception e) {
+                m_results.discard(m_index);
+                return StreamingNodeExecutionJob.handleFailure(nnc, e);
+            }
+            m_results.queue(m_index + 1);
+            return status;
+        }
+
+        /** {@inheritDoc} Discards the result if the execution failed before it was loaded. */
+        @Override
+        protected void afterExecute() {
+            if (m_isDone.compareAndSet(false, true)) {
+                m_results.discard(m_index);
+            }
+        }
+    }
+}
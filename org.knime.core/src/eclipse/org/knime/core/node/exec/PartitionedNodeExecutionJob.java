@@ -0,0 +1,460 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeModelWarningListener;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObjectSpec;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.MergeOperator;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortObjectOutput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.streamable.StreamableOperatorInternals;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.execresult.NodeContainerExecutionStatus;
+import org.knime.core.util.ThreadPool;
+import org.knime.core.util.tracing.ExecutionTracer;
+import org.knime.core.util.tracing.ExecutionTracer.Span;
+import org.knime.core.util.tracing.TraceEventType;
+
+/**
+ * Job created by the {@link StreamingNodeExecutionJobManager} for a single node with distributable inputs. The
+ * distributable input tables are split into consecutive row ranges; one {@link StreamableOperator} per range runs
+ * concurrently, each with its own {@link PartitionInfo} (the operators are created one after another by the job
+ * thread). The partial outputs are concatenated in partition order and the operator internals are combined through
+ * the node's {@link MergeOperator} (hierarchically, if supported). If the row keys of the partial outputs clash, they
+ * are discarded and the node is executed again in a single partition.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class PartitionedNodeExecutionJob extends LocalNodeExecutionJob {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PartitionedNodeExecutionJob.class);
+
+    /** Number of internals merged in one step of a hierarchical merge. */
+    private static final int MERGE_FAN_IN = 2;
+
+    private final int m_partitionCount;
+
+    /**
+     * @param nnc the node to execute
+     * @param data its input
+     * @param partitionCount the number of partitions, at least 2 and not larger than the row count of any
+     *            distributable input
+     */
+    PartitionedNodeExecutionJob(final NativeNodeContainer nnc, final PortObject[] data, final int partitionCount) {
+        super(nnc, data);
+        m_partitionCount = partitionCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeContainerExecutionStatus mainExecute() {
+        final NativeNodeContainer nnc = (NativeNodeContainer)getNodeContainer();
+        final NodeModel model = nnc.getNodeModel();
+        final List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+        final NodeModelWarningListener warningListener = w -> {
+            if (w != null) {
+                warnings.add(w);
+            }
+        };
+        final ExecutionContext exec = nnc.createExecutionContext();
+        nnc.getNode().openFileStoreHandler(exec);
+        NodeContext.pushContext(nnc);
+        model.addWarningListener(warningListener);
+        try (Span span = ExecutionTracer.begin(TraceEventType.NODE_EXECUTE, "Partitioned execute", nnc)) {
+            PortObject[] outObjects;
+            try {
+                outObjects = execute(nnc, exec, m_partitionCount);
+            } catch (RowKeyClashException e) {
+                LOGGER.debug(e.getMessage() + ", executing " + nnc.getNameWithID() + " in a single partition", e);
+                warnings.clear();
+                outObjects = execute(nnc, exec, 1);
+            }
+            final PortObjectSpec[] outSpecs = new PortObjectSpec[outObjects.length];
+            outSpecs[0] = FlowVariablePortObjectSpec.INSTANCE;
+            for (int i = 1; i < outObjects.length; i++) {
+                outSpecs[i] = outObjects[i] == null ? null : outObjects[i].getSpec();
+            }
+            return StreamingNodeExecutionJob.loadResult(nnc, exec, outObjects, outSpecs, new ArrayList<>(warnings));
+        } catch (Exception e) {
+            return StreamingNodeExecutionJob.handleFailure(nnc, e);
+        } finally {
+            model.removeWarningListener(warningListener);
+            NodeContext.removeLastContext();
+        }
+    }
+
+    /**
+     * Runs the partitions and returns the output, including the flow variable port.
+     *
+     * @throws RowKeyClashException if the row keys of the partial outputs clash, the partial outputs are cleared
+     */
+    private PortObject[] execute(final NativeNodeContainer nnc, final ExecutionContext exec, final int n)
+        throws Exception {
+        final NodeModel model = nnc.getNodeModel();
+        final PortObject[] data = getPortObjects();
+        final InputPortRole[] inRoles = model.getInputPortRoles();
+        final OutputPortRole[] outRoles = model.getOutputPortRoles();
+        final PortObjectSpec[] inSpecs = new PortObjectSpec[data.length - 1];
+        final PortObject[] inObjects = new PortObject[data.length - 1];
+        for (int i = 1; i < data.length; i++) {
+            if (data[i] != null) {
+                inSpecs[i - 1] = data[i].getSpec();
+                // same as in Node#execute: non-table input is copied to protect it from modifications
+                inObjects[i - 1] = data[i] instanceof BufferedDataTable ? data[i] : Node.copyPortObject(data[i], exec);
+            }
+        }
+        final MergeOperator mergeOperator = model.createMergeOperator();
+
+        StreamableOperatorInternals internals = model.createInitialStreamableOperatorInternals();
+        while (model.iterate(internals)) {
+            exec.checkCanceled();
+            final StreamableOperatorInternals current = internals;
+            final StreamableOperator[] operators = createOperators(model, n, inSpecs);
+            final StreamableOperatorInternals[] partials = runPartitions(n, i -> {
+                final StreamableOperator operator = operators[i];
+                if (mergeOperator != null) {
+                    operator.loadInternals(current);
+                }
+                final PortInput[] inputs = createInputs(inRoles, inObjects, i, n);
+                try {
+                    operator.runIntermediate(inputs, exec.createSilentSubExecutionContext(0.0));
+                } finally {
+                    closeInputs(inputs);
+                }
+                return mergeOperator != null ? operator.saveInternals() : null;
+            });
+            if (mergeOperator != null) {
+                internals = merge(mergeOperator, partials, false);
+            }
+        }
+
+        final PortObjectSpec[] outSpecs = model.computeFinalOutputSpecs(internals, inSpecs);
+        final BufferedDataTableRowOutput[][] partitionOutputs = new BufferedDataTableRowOutput[n][outRoles.length];
+        final ExecutionContext[] partitionExecs = new ExecutionContext[n];
+        for (int i = 0; i < n; i++) {
+            partitionExecs[i] = exec.createSubExecutionContext(0.9 / n);
+            for (int j = 0; j < outRoles.length; j++) {
+                if (outRoles[j].isDistributable()) {
+                    partitionOutputs[i][j] = new BufferedDataTableRowOutput(
+                        partitionExecs[i].createDataContainer(getTableSpec(outSpecs, j)));
+                }
+            }
+        }
+        final StreamableOperatorInternals initial = internals;
+        final StreamableOperator[] operators = createOperators(model, n, inSpecs);
+        final StreamableOperatorInternals[] partials = runPartitions(n, i -> {
+            final StreamableOperator operator = operators[i];
+            if (mergeOperator != null) {
+                operator.loadInternals(initial);
+            }
+            // only the distributed outputs are set, the others are filled in NodeModel#finishStreamableExecution
+            final PortInput[] inputs = createInputs(inRoles, inObjects, i, n);
+            try {
+                operator.runFinal(inputs, Arrays.copyOf(partitionOutputs[i], outRoles.length, PortOutput[].class),
+                    partitionExecs[i]);
+            } finally {
+                closeInputs(inputs);
+            }
+            for (BufferedDataTableRowOutput output : partitionOutputs[i]) {
+                if (output != null) {
+                    output.close();
+                }
+            }
+            return mergeOperator != null ? operator.saveInternals() : null;
+        });
+
+        final PortObject[] result = new PortObject[outRoles.length + 1];
+        result[0] = FlowVariablePortObject.INSTANCE;
+        final ExecutionContext concatenateExec = exec.createSubExecutionContext(0.1);
+        for (int j = 0; j < outRoles.length; j++) {
+            if (!outRoles[j].isDistributable()) {
+                continue;
+            }
+            final BufferedDataTable[] tables = new BufferedDataTable[n];
+            for (int i = 0; i < n; i++) {
+                tables[i] = partitionOutputs[i][j].getDataTable();
+            }
+            if (n == 1) {
+                result[j + 1] = tables[0];
+                continue;
+            }
+            // keys passed through are unique across partitions as they stem from disjoint ranges of the input,
+            // operators generating keys need to use the PartitionInfo to avoid clashes - which is checked here
+            try {
+                result[j + 1] = exec.createConcatenateTable(concatenateExec.createSubExecutionContext(
+                    1.0 / outRoles.length), Optional.empty(), true, tables);
+            } catch (IllegalArgumentException e) {
+                clearTables(exec, result, partitionOutputs);
+                throw new RowKeyClashException("Output " + (j + 1) + " of the partitions can't be combined, the "
+                    + "node doesn't create unique row keys when executed in partitions: " + e.getMessage(), e);
+            }
+        }
+
+        final PortOutput[] nonDistributedOutputs = new PortOutput[outRoles.length];
+        if (mergeOperator != null) {
+            internals = merge(mergeOperator, partials, true);
+            for (int j = 0; j < outRoles.length; j++) {
+                if (!outRoles[j].isDistributable()) {
+                    nonDistributedOutputs[j] = outSpecs != null && outSpecs[j] instanceof DataTableSpec
+                        ? new BufferedDataTableRowOutput(exec.createDataContainer((DataTableSpec)outSpecs[j]))
+                        : new PortObjectOutput();
+                }
+            }
+            model.finishStreamableExecution(internals, exec, nonDistributedOutputs);
+        }
+
+        for (int j = 0; j < outRoles.length; j++) {
+            if (nonDistributedOutputs[j] instanceof BufferedDataTableRowOutput) {
+                final BufferedDataTableRowOutput output = (BufferedDataTableRowOutput)nonDistributedOutputs[j];
+                output.close();
+                result[j + 1] = output.getDataTable();
+            } else if (nonDistributedOutputs[j] instanceof PortObjectOutput) {
+                result[j + 1] = ((PortObjectOutput)nonDistributedOutputs[j]).getPortObject();
+            }
+        }
+        exec.setProgress(1.0);
+        return result;
+    }
+
+    /** Clears the concatenated and the partial output tables. */
+    private static void clearTables(final ExecutionContext exec, final PortObject[] result,
+        final BufferedDataTableRowOutput[][] partitionOutputs) {
+        for (PortObject o : result) {
+            if (o instanceof BufferedDataTable) {
+                exec.clearTable((BufferedDataTable)o);
+            }
+        }
+        for (BufferedDataTableRowOutput[] outputs : partitionOutputs) {
+            for (BufferedDataTableRowOutput output : outputs) {
+                if (output != null) {
+                    exec.clearTable(output.getDataTable());
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the operators of all partitions. This is done in the calling thread as the node model is not required
+     * to be thread-safe; only the operators run concurrently.
+     */
+    private static StreamableOperator[] createOperators(final NodeModel model, final int partitionCount,
+        final PortObjectSpec[] inSpecs) throws Exception {
+        final StreamableOperator[] operators = new StreamableOperator[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            operators[i] = model.createStreamableOperator(new PartitionInfo(i, partitionCount), inSpecs);
+        }
+        return operators;
+    }
+
+    private static DataTableSpec getTableSpec(final PortObjectSpec[] outSpecs, final int port) {
+        if (outSpecs == null || !(outSpecs[port] instanceof DataTableSpec)) {
+            throw new IllegalStateException("Output spec at port " + (port + 1)
+                + " is not known, which is required for distributed outputs");
+        }
+        return (DataTableSpec)outSpecs[port];
+    }
+
+    /**
+     * Creates the input of one partition: a row range of each distributable input table, the full input otherwise.
+     */
+    private static PortInput[] createInputs(final InputPortRole[] roles, final PortObject[] inObjects,
+        final int partition, final int partitionCount) {
+        final PortInput[] inputs = new PortInput[inObjects.length];
+        for (int i = 0; i < inObjects.length; i++) {
+            final PortObject o = inObjects[i];
+            if (o == null) {
+                continue; // unconnected optional input
+            }
+            if (o instanceof BufferedDataTable && roles[i].isStreamable()) {
+                final BufferedDataTable table = (BufferedDataTable)o;
+                if (roles[i].isDistributable()) {
+                    final long size = table.size();
+                    final long from = size * partition / partitionCount;
+                    final long to = size * (partition + 1) / partitionCount - 1;
+                    inputs[i] = new RowRangeInput(table, from, to);
+                } else {
+                    inputs[i] = new DataTableRowInput(table);
+                }
+            } else {
+                inputs[i] = new PortObjectInput(o);
+            }
+        }
+        return inputs;
+    }
+
+    private static void closeInputs(final PortInput[] inputs) {
+        for (PortInput input : inputs) {
+            if (input instanceof RowInput) {
+                ((RowInput)input).close();
+            }
+        }
+    }
+
+    /** Merges the internals, in a parallel tree of {@link #MERGE_FAN_IN}-sized groups if hierarchical. */
+    private static StreamableOperatorInternals merge(final MergeOperator mergeOperator,
+        final StreamableOperatorInternals[] partials, final boolean isFinal) throws Exception {
+        StreamableOperatorInternals[] current = partials;
+        if (mergeOperator.isHierarchical()) {
+            while (current.length > MERGE_FAN_IN) {
+                final StreamableOperatorInternals[] level = current;
+                current = runPartitions((level.length + MERGE_FAN_IN - 1) / MERGE_FAN_IN,
+                    g -> mergeGroup(mergeOperator, Arrays.copyOfRange(level, g * MERGE_FAN_IN,
+                        Math.min(level.length, (g + 1) * MERGE_FAN_IN)), isFinal));
+            }
+        }
+        return mergeGroup(mergeOperator, current, isFinal);
+    }
+
+    private static StreamableOperatorInternals mergeGroup(final MergeOperator mergeOperator,
+        final StreamableOperatorInternals[] group, final boolean isFinal) {
+        return isFinal ? mergeOperator.mergeFinal(group) : mergeOperator.mergeIntermediate(group);
+    }
+
+    /** A task run for one partition (or merge group). */
+    @FunctionalInterface
+    private interface PartitionTask {
+        StreamableOperatorInternals run(int partition) throws Exception;
+    }
+
+    /**
+     * Runs the task for each partition in the global thread pool and returns the results in partition order. The
+     * calling thread doesn't occupy a slot of the pool while waiting.
+     */
+    private static StreamableOperatorInternals[] runPartitions(final int count, final PartitionTask task)
+        throws Exception {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final List<Future<StreamableOperatorInternals>> futures = new ArrayList<>(count);
+        final NativeNodeContainer nnc = (NativeNodeContainer)NodeContext.getContext().getNodeContainer();
+        for (int i = 0; i < count; i++) {
+            final int partition = i;
+            futures.add(pool.enqueue(() -> {
+                NodeContext.pushContext(nnc);
+                try {
+                    return task.run(partition);
+                } finally {
+                    NodeContext.removeLastContext();
+                }
+            }));
+        }
+        return ThreadPool.awaitAll(futures, Exception.class, "waiting for partitions")
+            .toArray(new StreamableOperatorInternals[count]);
+    }
+
+    /** Reads a range of rows of a table without copying it. */
+    private static final class RowRangeInput extends RowInput {
+
+        private final DataTableSpec m_spec;
+
+        private final CloseableRowIterator m_iterator;
+
+        /**
+         * @param table the table
+         * @param from the index of the first row
+         * @param to the index of the last row (inclusive)
+         */
+        RowRangeInput(final BufferedDataTable table, final long from, final long to) {
+            m_spec = table.getDataTableSpec();
+            m_iterator = table.filter(TableFilter.filterRangeOfRows(from, to)).iterator();
+        }
+
+        @Override
+        public DataTableSpec getDataTableSpec() {
+            return m_spec;
+        }
+
+        @Override
+        public DataRow poll() throws InterruptedException {
+            return m_iterator.hasNext() ? m_iterator.next() : null;
+        }
+
+        @Override
+        public void close() {
+            m_iterator.close();
+        }
+    }
+
+    /** Thrown if the row keys of the partial outputs clash. */
+    private static final class RowKeyClashException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        RowKeyClashException(final String message, final Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.streamable.RowInput;
+
+/**
+ * A bounded in-memory hand-over of rows between two nodes that run concurrently as part of a pipelined (streamed)
+ * execution. The producer thread calls {@link #put(DataRow)} and {@link #close()}, the consumer reads the rows through
+ * the {@link RowInput} returned by {@link #getInput()}.
+ *
+ * <p>
+ * Rows are handed over in batches so that the synchronization cost of the underlying queue is paid once per batch
+ * rather than once per row. The producer blocks if the consumer lags behind more than the capacity of the pipe. If the
+ * consumer stops early (because it is done or failed) rows are silently dropped so that the producer can finish. If
+ * the producer fails it {@link #abort(Throwable) aborts} the pipe, which lets the consumer fail, too; rows not yet
+ * handed over are lost in this case.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowPipe {
+
+    /** Maximum number of rows per batch. */
+    static final int MAX_BATCH_SIZE = 128;
+
+    /** Marker object put into the queue when the producer is done. */
+    private static final DataRow[] END_OF_STREAM = new DataRow[0];
+
+    /** Interval in which blocked threads check whether the other side has gone away. */
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final BlockingQueue<DataRow[]> m_queue;
+
+    private final DataTableSpec m_spec;
+
+    private final int m_batchSize;
+
+    private volatile Throwable m_producerFailure;
+
+    private volatile boolean m_isConsumerDone;
+
+    /** The batch currently being filled by the producer. */
+    private DataRow[] m_pending;
+
+    private int m_pendingCount;
+
+    private boolean m_isClosed;
+
+    /**
+     * @param spec the spec of the rows passed through the pipe, not null
+     * @param capacity the maximum number of rows held in the pipe, &gt; 0
+     */
+    RowPipe(final DataTableSpec spec, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        m_spec = spec;
+        m_batchSize = Math.min(capacity, MAX_BATCH_SIZE);
+        m_queue = new ArrayBlockingQueue<>(Math.max(1, capacity / m_batchSize));
+        m_pending = new DataRow[m_batchSize];
+    }
+
+    /**
+     * Hands the row to the consumer, blocking if the pipe is full.
+     *
+     * @param row the row to add
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void put(final DataRow row) throws InterruptedException {
+        if (m_isClosed) {
+            throw new IllegalStateException("Pipe has been closed");
+        }
+        m_pending[m_pendingCount++] = row;
+        if (m_pendingCount == m_batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands the first <code>count</code> rows of the array to the consumer, blocking if the pipe is full.
+     *
+     * @param rows the rows to add, the array is not retained
+     * @param count the number of rows to add
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void put(final DataRow[] rows, final int count) throws InterruptedException {
+        if (m_isClosed) {
+            throw new IllegalStateException("Pipe has been closed");
+        }
+        int offset = 0;
+        while (offset < count) {
+            final int length = Math.min(count - offset, m_batchSize - m_pendingCount);
+            System.arraycopy(rows, offset, m_pending, m_pendingCount, length);
+            m_pendingCount += length;
+            offset += length;
+            if (m_pendingCount == m_batchSize) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Signals the end of the stream to the consumer; subsequent calls are ignored.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void close() throws InterruptedException {
+        if (!m_isClosed) {
+            m_isClosed = true;
+            if (m_pendingCount > 0) {
+                flush();
+            }
+            offer(END_OF_STREAM);
+        }
+    }
+
+    private void flush() throws InterruptedException {
+        final DataRow[] batch;
+        if (m_pendingCount == m_batchSize) {
+            batch = m_pending;
+            m_pending = new DataRow[m_batchSize];
+        } else {
+            batch = new DataRow[m_pendingCount];
+            System.arraycopy(m_pending, 0, batch, 0, m_pendingCount);
+        }
+        m_pendingCount = 0;
+        offer(batch);
+    }
+
+    private void offer(final DataRow[] batch) throws InterruptedException {
+        while (!m_isConsumerDone) {
+            if (m_queue.offer(batch, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Called by the producer if it failed. A consumer waiting for rows will fail with an exception.
+     *
+     * @param cause the cause of the failure
+     */
+    void abort(final Throwable cause) {
+        m_producerFailure = cause;
+    }
+
+    /** Called when the consumer won't read any more rows, subsequent rows are dropped. */
+    void setConsumerDone() {
+        m_isConsumerDone = true;
+        m_queue.clear();
+    }
+
+    /** @return true if {@link #setConsumerDone()} was called */
+    boolean isConsumerDone() {
+        return m_isConsumerDone;
+    }
+
+    /** @return the input to be used by the consuming node */
+    RowInput getInput() {
+        return new PipeRowInput();
+    }
+
+    /** The consumer view of the pipe. */
+    private final class PipeRowInput extends RowInput {
+
+        private DataRow[] m_batch = new DataRow[0];
+
+        private int m_index;
+
+        private boolean m_isEndReached;
+
+        @Override
+        public DataTableSpec getDataTableSpec() {
+            return m_spec;
+        }
+
+        @Override
+        public DataRow poll() throws InterruptedException {
+            if (m_index == m_batch.length && !nextBatch()) {
+                return null;
+            }
+            return m_batch[m_index++];
+        }
+
+        @Override
+        public int poll(final DataRow[] buffer) throws InterruptedException {
+            if (m_index == m_batch.length && !nextBatch()) {
+                return 0;
+            }
+            final int count = Math.min(buffer.length, m_batch.length - m_index);
+            System.arraycopy(m_batch, m_index, buffer, 0, count);
+            m_index += count;
+            return count;
+        }
+
+        /** Waits for the next batch, returns false if the end of the stream has been reached. */
+        private boolean nextBatch() throws InterruptedException {
+            if (m_isEndReached || m_isConsumerDone) {
+                return false;
+            }
+            while (true) {
+                final DataRow[] batch = m_queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (batch == END_OF_STREAM) {
+                    m_isEndReached = true;
+                    return false;
+                } else if (batch != null) {
+                    m_batch = batch;
+                    m_index = 0;
+                    return true;
+                }
+                final Throwable failure = m_producerFailure;
+                if (failure != null) {
+                    throw new IllegalStateException("Upstream node failed: " + failure.getMessage(), failure);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            setConsumerDone();
+        }
+    }
+
+}
@@ -0,0 +1,600 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.DataContainerException;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeModelWarningListener;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObjectSpec;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.workflow.ConnectionContainer;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeMessage;
+import org.knime.core.node.workflow.WorkflowPersistor;
+import org.knime.core.node.workflow.execresult.NativeNodeContainerExecutionResult;
+import org.knime.core.node.workflow.execresult.NodeContainerExecutionStatus;
+import org.knime.core.node.workflow.execresult.NodeExecutionResult;
+import org.knime.core.util.ThreadPool;
+import org.knime.core.util.tracing.ExecutionTracer;
+import org.knime.core.util.tracing.ExecutionTracer.Span;
+import org.knime.core.util.tracing.TraceEventType;
+
+/**
+ * Job created by the {@link StreamingNodeExecutionJobManager} for a node that streams its output into its consumer or
+ * consumes the streamed output of its predecessor (or both). Before the node's streamable operator is run, the
+ * consumer is queued (see {@link StreamingNodeExecutionJobManager#queueConsumer}) and its job runs in a pool thread
+ * reserved for it, reading the rows through a {@link RowPipe}. The streamed output of the node is a void table, all
+ * other outputs are written to tables.
+ *
+ * <p>
+ * The nodes of a chain succeed or fail together: a node waits for its consumer to process all rows before it reports
+ * its result (a failing consumer fails the node, too, as the streamed rows are gone) and a consumer waits for the
+ * result of its producer before loading its own. The nodes hence end up executed in the order of the chain.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StreamingNodeExecutionJob extends LocalNodeExecutionJob {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(StreamingNodeExecutionJob.class);
+
+    private final StreamingNodeExecutionJobManager m_jobManager;
+
+    /** The link to the node whose output is streamed into this node, null for the first node of a chain. */
+    private final StreamLink m_inLink;
+
+    /** The position of the node in the chain, 1 for the first node. */
+    private final int m_chainPosition;
+
+    private final List<String> m_warnings = Collections.synchronizedList(new ArrayList<>());
+
+    /** Set when the thread reserved for a consumer starts to run its job. */
+    private volatile boolean m_isStarted;
+
+    /**
+     * Creates a job for the first node of a chain.
+     *
+     * @param jobManager the manager to queue the consumer with
+     * @param nnc the node to execute
+     * @param data its input
+     */
+    StreamingNodeExecutionJob(final StreamingNodeExecutionJobManager jobManager, final NativeNodeContainer nnc,
+        final PortObject[] data) {
+        this(jobManager, nnc, data, null, 1);
+    }
+
+    private StreamingNodeExecutionJob(final StreamingNodeExecutionJobManager jobManager,
+        final NativeNodeContainer nnc, final PortObject[] data, final StreamLink inLink, final int chainPosition) {
+        super(nnc, data);
+        m_jobManager = jobManager;
+        m_inLink = inLink;
+        m_chainPosition = chainPosition;
+    }
+
+    /**
+     * {@inheritDoc} Also releases the producer of a consumer that is canceled before its job started, the job may not
+     * run at all.
+     */
+    @Override
+    public boolean cancel() {
+        if (m_inLink != null && !m_isStarted) {
+            m_inLink.setConsumerResult(false);
+        }
+        return super.cancel();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeContainerExecutionStatus mainExecute() {
+        final NativeNodeContainer nnc = (NativeNodeContainer)getNodeContainer();
+        ExecutionContext exec = null;
+        StreamLink outLink = null;
+        StreamedRowOutput[] outputs = null;
+        Throwable failure = null;
+        boolean isSuccess = false;
+        try {
+            try {
+                exec = nnc.createExecutionContext();
+                nnc.getNode().openFileStoreHandler(exec);
+                outLink = queueConsumer(nnc, exec);
+                outputs = createOutputs(nnc, exec, outLink);
+                runOperator(nnc, exec, outputs);
+            } catch (Throwable t) {
+                failure = t;
+                if (outLink != null) {
+                    outLink.m_pipe.abort(t);
+                }
+            } finally {
+                if (m_inLink != null) {
+                    m_inLink.m_pipe.setConsumerDone();
+                }
+            }
+            failure = awaitChain(outLink, failure);
+            if (failure != null) {
+                discardOutputs(outputs);
+                return handleFailure(nnc, failure);
+            }
+            exec.checkCanceled();
+            final NodeContainerExecutionStatus status =
+                loadResult(nnc, exec, getOutObjects(outputs), getOutSpecs(outputs), m_warnings);
+            isSuccess = status.isSuccess();
+            return status;
+        } catch (Exception e) {
+            return handleFailure(nnc, e);
+        } finally {
+            if (outLink != null) {
+                outLink.m_producerResult.complete(isSuccess);
+            }
+        }
+    }
+
+    /**
+     * Queues the consumer of the node's output and returns the link to it, or null if the output isn't streamed (no
+     * streamable consumer, chain too long or no free thread in the pool).
+     */
+    private StreamLink queueConsumer(final NativeNodeContainer nnc, final ExecutionContext exec) {
+        if (m_chainPosition >= StreamingNodeExecutionJobManager.MAX_CHAIN_LENGTH) {
+            return null;
+        }
+        final NativeNodeContainer consumer = m_jobManager.getStreamableSuccessor(nnc);
+        if (consumer == null) {
+            return null;
+        }
+        // the consumer must not wait for a thread, this node blocks once the pipe is full and the pool may be busy
+        // with other nodes doing the same
+        final ReservedThread thread = ReservedThread.reserve(m_jobManager.getPool());
+        if (thread == null) {
+            LOGGER.debugWithFormat("No free thread to stream into %s, it will be executed on its own",
+                consumer.getNameWithID());
+            return null;
+        }
+        final int inPort = inPortOf(consumer);
+        final int outPort = nnc.getParent().getIncomingConnectionFor(consumer.getID(), inPort).getSourcePort();
+        final DataTableSpec spec = (DataTableSpec)nnc.getOutPort(outPort).getPortObjectSpec();
+        final StreamLink link = new StreamLink(nnc, consumer, outPort, inPort,
+            new RowPipe(spec, m_jobManager.getQueueCapacity()), exec.createVoidTable(spec));
+        final boolean isQueued = m_jobManager.queueConsumer(consumer, inPort, link.m_voidTable,
+            data -> thread.start(
+                new StreamingNodeExecutionJob(m_jobManager, consumer, data, link, m_chainPosition + 1)));
+        if (!isQueued) {
+            thread.release();
+            return null;
+        }
+        return link;
+    }
+
+    /** Creates the outputs of the node, the one linked to the consumer only hands the rows over. */
+    private static StreamedRowOutput[] createOutputs(final NativeNodeContainer nnc, final ExecutionContext exec,
+        final StreamLink outLink) {
+        final StreamedRowOutput[] outputs = new StreamedRowOutput[nnc.getNrOutPorts() - 1];
+        for (int i = 0; i < outputs.length; i++) {
+            final DataTableSpec spec = (DataTableSpec)nnc.getOutPort(i + 1).getPortObjectSpec();
+            outputs[i] = outLink != null && outLink.m_outPort == i + 1 ? new StreamedRowOutput(exec, spec, outLink)
+                : new StreamedRowOutput(exec, spec, null);
+        }
+        return outputs;
+    }
+
+    private PortInput[] createInputs(final NativeNodeContainer nnc, final ExecutionContext exec,
+        final PortObjectSpec[] inSpecs) throws CanceledExecutionException {
+        final PortObject[] data = getPortObjects();
+        final InputPortRole[] roles = nnc.getNodeModel().getInputPortRoles();
+        final PortInput[] inputs = new PortInput[data.length - 1];
+        for (int i = 1; i < data.length; i++) {
+            final PortObject o = data[i];
+            if (o == null) {
+                continue; // unconnected optional input
+            }
+            inSpecs[i - 1] = o.getSpec();
+            if (m_inLink != null && i == m_inLink.m_inPort) {
+                // the void table the producer will have as output
+                inputs[i - 1] = m_inLink.m_pipe.getInput();
+            } else if (o instanceof BufferedDataTable) {
+                inputs[i - 1] = roles[i - 1].isStreamable() ? new DataTableRowInput((BufferedDataTable)o)
+                    : new PortObjectInput(o);
+            } else {
+                inputs[i - 1] = new PortObjectInput(Node.copyPortObject(o, exec));
+            }
+        }
+        return inputs;
+    }
+
+    /** Runs the node's streamable operator. */
+    private void runOperator(final NativeNodeContainer nnc, final ExecutionContext exec,
+        final StreamedRowOutput[] outputs) throws Exception {
+        final NodeModel model = nnc.getNodeModel();
+        final NodeModelWarningListener warningListener = w -> {
+            if (w != null) {
+                m_warnings.add(w);
+            }
+        };
+        model.addWarningListener(warningListener);
+        try (Span span = ExecutionTracer.begin(TraceEventType.NODE_EXECUTE, "Streamed execute", nnc)) {
+            final PortObjectSpec[] inSpecs = new PortObjectSpec[nnc.getNrInPorts() - 1];
+            final PortInput[] inputs = createInputs(nnc, exec, inSpecs);
+            final StreamableOperator operator = model.createStreamableOperator(new PartitionInfo(0, 1), inSpecs);
+            operator.runFinal(inputs, Arrays.copyOf(outputs, outputs.length, PortOutput[].class), exec);
+            for (StreamedRowOutput output : outputs) {
+                output.close();
+            }
+        } finally {
+            model.removeWarningListener(warningListener);
+        }
+    }
+
+    /**
+     * Waits for the consumer to finish and, if this node consumes a stream itself, reports to the producer and waits
+     * for its result. Returns the failure the node fails with, if any.
+     */
+    private Throwable awaitChain(final StreamLink outLink, final Throwable failure) {
+        Throwable result = failure;
+        try {
+            if (outLink != null && !StreamLink.await(outLink.m_consumerResult) && result == null) {
+                result = new IllegalStateException(
+                    "Node " + outLink.m_consumerName + " consuming the streamed output failed");
+            }
+            if (m_inLink != null) {
+                m_inLink.setConsumerResult(result == null);
+                if (!StreamLink.await(m_inLink.m_producerResult) && result == null) {
+                    result = new IllegalStateException(
+                        "Node " + m_inLink.m_producerName + " streaming its output into this node failed");
+                }
+            }
+        } catch (InterruptedException e) {
+            if (result == null) {
+                result = e;
+            }
+            if (m_inLink != null) {
+                m_inLink.setConsumerResult(false);
+            }
+        }
+        return result;
+    }
+
+    private static PortObject[] getOutObjects(final StreamedRowOutput[] outputs) {
+        final PortObject[] result = new PortObject[outputs.length + 1];
+        result[0] = FlowVariablePortObject.INSTANCE;
+        for (int i = 0; i < outputs.length; i++) {
+            result[i + 1] = outputs[i].getTable();
+        }
+        return result;
+    }
+
+    private static PortObjectSpec[] getOutSpecs(final StreamedRowOutput[] outputs) {
+        final PortObjectSpec[] result = new PortObjectSpec[outputs.length + 1];
+        result[0] = FlowVariablePortObjectSpec.INSTANCE;
+        for (int i = 0; i < outputs.length; i++) {
+            result[i + 1] = outputs[i].getTable().getDataTableSpec();
+        }
+        return result;
+    }
+
+    private static void discardOutputs(final StreamedRowOutput[] outputs) {
+        if (outputs != null) {
+            for (StreamedRowOutput output : outputs) {
+                output.discard();
+            }
+        }
+    }
+
+    /** The index of the only connected input port of a consumer. */
+    private static int inPortOf(final NativeNodeContainer nnc) {
+        for (int i = 1; i < nnc.getNrInPorts(); i++) {
+            final ConnectionContainer cc = nnc.getParent().getIncomingConnectionFor(nnc.getID(), i);
+            if (cc != null) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No connected input at node " + nnc.getNameWithID());
+    }
+
+    /** Sets an error (or warning if canceled) on the node and returns the failure status. */
+    static NodeContainerExecutionStatus handleFailure(final NativeNodeContainer nnc, final Throwable e) {
+        boolean isCanceled = e instanceof CanceledExecutionException || e instanceof InterruptedException
+            || (e instanceof DataContainerException && e.getCause() instanceof InterruptedException);
+        if (isCanceled) {
+            nnc.setNodeMessage(NodeMessage.newWarning("Execution canceled"));
+        } else {
+            nnc.getNode().createErrorMessageAndNotify("Execute failed: " + e.getMessage(), e);
+        }
+        return NodeContainerExecutionStatus.FAILURE;
+    }
+
+    /** Loads the output into the node, the same way as it is done for remotely executed nodes. */
+    static NodeContainerExecutionStatus loadResult(final NativeNodeContainer nnc, final ExecutionContext exec,
+        final PortObject[] outObjects, final PortObjectSpec[] outSpecs, final List<String> warnings)
+        throws CanceledExecutionException {
+        final NativeNodeContainerExecutionResult execResult = nnc.createExecutionResult(exec);
+        final NodeExecutionResult nodeExecResult = execResult.getNodeExecutionResult();
+        nodeExecResult.setInternalHeldPortObjects(null);
+        nodeExecResult.setNodeInternDir(null);
+        nodeExecResult.setPortObjects(outObjects);
+        nodeExecResult.setPortObjectSpecs(outSpecs);
+        execResult.setSuccess(true);
+        nnc.loadExecutionResult(execResult, exec, new WorkflowPersistor.LoadResult("streamed execution result"));
+        if (!warnings.isEmpty()) {
+            final NodeMessage message = NodeMessage.newWarning(String.join("\n", warnings));
+            nnc.setNodeMessage(message);
+            execResult.setMessage(message);
+        }
+        return execResult;
+    }
+
+    /** Connects a node to the consumer its output is streamed into. */
+    private static final class StreamLink {
+
+        private final String m_producerName;
+
+        private final String m_consumerName;
+
+        /** The index of the streamed output port of the producer (including flow variable port). */
+        private final int m_outPort;
+
+        /** The index of the streamed input port of the consumer (including flow variable port). */
+        private final int m_inPort;
+
+        private final RowPipe m_pipe;
+
+        /** The output of the producer at the streamed port. */
+        private final BufferedDataTable m_voidTable;
+
+        /** Completed by the consumer once it (and its own consumer) processed all rows, true if successful. */
+        private final CompletableFuture<Boolean> m_consumerResult = new CompletableFuture<>();
+
+        /** Completed by the producer once its result is loaded, true if successful. */
+        private final CompletableFuture<Boolean> m_producerResult = new CompletableFuture<>();
+
+        StreamLink(final NativeNodeContainer producer, final NativeNodeContainer consumer, final int outPort,
+            final int inPort, final RowPipe pipe, final BufferedDataTable voidTable) {
+            m_producerName = producer.getNameWithID();
+            m_consumerName = consumer.getNameWithID();
+            m_outPort = outPort;
+            m_inPort = inPort;
+            m_pipe = pipe;
+            m_voidTable = voidTable;
+        }
+
+        /** Reports the result of the consumer (only the first call counts), a failed consumer drops further rows. */
+        void setConsumerResult(final boolean isSuccess) {
+            if (!isSuccess) {
+                m_pipe.setConsumerDone();
+            }
+            m_consumerResult.complete(isSuccess);
+        }
+
+        static boolean await(final CompletableFuture<Boolean> result) throws InterruptedException {
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                // never completed exceptionally
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A pool thread reserved for a consumer before it is queued, it runs the consumer's job once the node is
+     * submitted.
+     */
+    private static final class ReservedThread implements Runnable {
+
+        private final CompletableFuture<StreamingNodeExecutionJob> m_job = new CompletableFuture<>();
+
+        private Future<?> m_future;
+
+        /** @return a thread running the job passed to {@link #start}, or null if the pool has no free thread */
+        static ReservedThread reserve(final ThreadPool pool) {
+            final ReservedThread thread = new ReservedThread();
+            thread.m_future = pool.trySubmit(thread);
+            return thread.m_future == null ? null : thread;
+        }
+
+        StreamingNodeExecutionJob start(final StreamingNodeExecutionJob job) {
+            job.setFuture(m_future);
+            m_job.complete(job);
+            return job;
+        }
+
+        /** Frees the thread without running a job. */
+        void release() {
+            m_job.complete(null);
+        }
+
+        @Override
+        public void run() {
+            final StreamingNodeExecutionJob job = m_job.join();
+            if (job != null) {
+                job.m_isStarted = true;
+                try {
+                    job.run();
+                } finally {
+                    // in case the job ended before the execution, e.g. canceled
+                    job.m_inLink.setConsumerResult(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * A row output that hands the rows to the consuming node, in which case the output of the node is a void table, or
+     * writes them into a table if the output isn't streamed.
+     */
+    private static final class StreamedRowOutput extends RowOutput {
+
+        private final ExecutionContext m_exec;
+
+        private final DataTableSpec m_spec;
+
+        /** The link to the consuming node or null if this output is not streamed. */
+        private final StreamLink m_link;
+
+        private BufferedDataContainer m_container;
+
+        private BufferedDataTable m_table;
+
+        StreamedRowOutput(final ExecutionContext exec, final DataTableSpec spec, final StreamLink link) {
+            m_exec = exec;
+            m_spec = spec;
+            m_link = link;
+        }
+
+        @Override
+        public void push(final DataRow row) throws InterruptedException {
+            if (m_table != null) {
+                throw new IllegalStateException("Output has been set fully or closed");
+            }
+            if (m_link != null) {
+                m_link.m_pipe.put(row);
+            } else {
+                getContainer().addRowToTable(row);
+            }
+        }
+
+        @Override
+        public void push(final DataRow[] rows, final int count) throws InterruptedException {
+            if (m_table != null) {
+                throw new IllegalStateException("Output has been set fully or closed");
+            }
+            if (m_link != null) {
+                m_link.m_pipe.put(rows, count);
+            } else {
+                final BufferedDataContainer container = getContainer();
+                for (int i = 0; i < count; i++) {
+                    container.addRowToTable(rows[i]);
+                }
+            }
+        }
+
+        private BufferedDataContainer getContainer() {
+            if (m_container == null) {
+                m_container = m_exec.createDataContainer(m_spec);
+            }
+            return m_container;
+        }
+
+        /** {@inheritDoc} The table is kept as output even if streamed, it doesn't need to be written. */
+        @Override
+        public void setFully(final BufferedDataTable table) throws InterruptedException {
+            if (m_container != null || m_table != null) {
+                throw new IllegalStateException("Rows have been added previously");
+            }
+            m_table = table;
+            if (m_link != null) {
+                final RowPipe pipe = m_link.m_pipe;
+                for (DataRow row : table) {
+                    if (pipe.isConsumerDone()) {
+                        break;
+                    }
+                    pipe.put(row);
+                }
+            }
+            close();
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            if (m_table == null) {
+                if (m_link != null) {
+                    m_table = m_link.m_voidTable;
+                } else {
+                    getContainer().close();
+                    m_table = m_container.getTable();
+                }
+            }
+            if (m_link != null) {
+                m_link.m_pipe.close();
+            }
+        }
+
+        BufferedDataTable getTable() {
+            if (m_table == null) {
+                throw new IllegalStateException("Output has not been closed");
+            }
+            return m_table;
+        }
+
+        void discard() {
+            if (m_table == null && m_container != null) {
+                m_container.close();
+                m_table = m_container.getTable();
+            }
+            if (m_table != null && (m_link == null || m_table != m_link.m_voidTable)) {
+                try {
+                    m_exec.clearTable(m_table);
+                } catch (IllegalStateException e) {
+                    // not created by this node (set fully with an input table)
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.exec;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTableHolder;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectHolder;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.inactive.InactiveBranchPortObject;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.StreamableOperatorInternals;
+import org.knime.core.node.streamable.simple.SimpleStreamableFunctionNodeModel;
+import org.knime.core.node.workflow.ConnectionContainer;
+import org.knime.core.node.workflow.ConnectionContainer.ConnectionType;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeExecutionJob;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.ScopeEndNode;
+import org.knime.core.node.workflow.ScopeStartNode;
+import org.knime.core.node.workflow.WorkflowLock;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.virtual.subnode.VirtualSubNodeInputNodeModel;
+import org.knime.core.node.workflow.virtual.subnode.VirtualSubNodeOutputNodeModel;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * A job manager that pipelines rows between streamable nodes. It is meant to be set on a component or metanode; the
+ * contained nodes inherit it.
+ *
+ * <p>
+ * When a node is submitted whose output is consumed by a streamable node that is marked for execution, too (having a
+ * single data input connected to the node, which in turn has no other successors), the consumer is queued right away
+ * while the node is still executing (see {@link WorkflowManager#queueConsumer(NodeID, int, PortObject)}). Both run
+ * concurrently and the rows are handed from one node to the next via a bounded in-memory queue (see {@link RowPipe})
+ * instead of being written to a table by one node and read back by the next. The consumer in turn does the same with
+ * its consumer, so that a linear chain of streamable nodes is executed at once. The streamed output of a node is a
+ * void table (see {@link ExecutionContext#createVoidTable(DataTableSpec)}), only outputs that are not streamed are
+ * stored. The nodes of a chain therefore succeed or fail together, and a node whose input was streamed can only be
+ * executed again along with its predecessor.
+ *
+ * <p>
+ * If the chain starts with several nodes that merely apply a column rearranger to their input (see
+ * {@link SimpleStreamableFunctionNodeModel}), these are fused instead: all rearrangers are applied in a single scan of
+ * the input table by one thread (see {@link FusedNodeExecutionJob}).
+ *
+ * <p>
+ * If a partition count larger than 1 is configured (setting <code>partition_count</code>, disabled by default), a node
+ * that is not part of such a chain but declares distributable streamable inputs (see
+ * {@link InputPortRole#DISTRIBUTED_STREAMABLE}) is executed with data parallelism: its input is split into row ranges
+ * that are processed concurrently (see {@link PartitionedNodeExecutionJob}).
+ *
+ * <p>
+ * All other nodes as well as component and metanode executions are executed as with the
+ * {@link ThreadNodeExecutionJobManager}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class StreamingNodeExecutionJobManager extends ThreadNodeExecutionJobManager {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(StreamingNodeExecutionJobManager.class);
+
+    /** Default number of rows buffered between two nodes of a chain. */
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /** Upper bound for the number of nodes streamed in one chain (each running in its own thread). */
+    static final int MAX_CHAIN_LENGTH = 32;
+
+    private static final String CFG_QUEUE_CAPACITY = "queue_capacity";
+
+    private static final String CFG_PARTITION_COUNT = "partition_count";
+
+    /** Default maximum number of partitions a node with distributable input is split into, i.e. not partitioned. */
+    static final int DEFAULT_PARTITION_COUNT = 1;
+
+    private final ThreadPool m_pool;
+
+    /** Creates (and starts) the jobs of the nodes currently being queued by {@link #queueConsumer}. */
+    private final Map<NodeID, Function<PortObject[], LocalNodeExecutionJob>> m_consumerJobFactories = new HashMap<>();
+
+    private int m_queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private int m_partitionCount = DEFAULT_PARTITION_COUNT;
+
+    /** Creates a new job manager using the global thread pool. */
+    public StreamingNodeExecutionJobManager() {
+        this(KNIMEConstants.GLOBAL_THREAD_POOL);
+    }
+
+    /**
+     * Creates a new job manager using the given pool to run the jobs.
+     *
+     * @param pool the pool, not null
+     */
+    public StreamingNodeExecutionJobManager(final ThreadPool pool) {
+        super(pool);
+        m_pool = pool;
+    }
+
+    /** @return the pool the jobs are run in */
+    ThreadPool getPool() {
+        return m_pool;
+    }
+
+    /** @return the number of rows buffered between two nodes of a chain */
+    public int getQueueCapacity() {
+        return m_queueCapacity;
+    }
+
+    /** @return the maximum number of partitions a node with distributable input is split into, 1 if disabled */
+    public int getPartitionCount() {
+        return m_partitionCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeExecutionJob submitJob(final NodeContainer nc, final PortObject[] data) {
+        if (!(nc instanceof NativeNodeContainer)) {
+            return super.submitJob(nc, data);
+        }
+        final NativeNodeContainer nnc = (NativeNodeContainer)nc;
+        final Function<PortObject[], LocalNodeExecutionJob> consumerJobFactory;
+        synchronized (m_consumerJobFactories) {
+            consumerJobFactory = m_consumerJobFactories.remove(nnc.getID());
+        }
+        if (consumerJobFactory != null) {
+            // queued by the job of its predecessor
+            return consumerJobFactory.apply(data);
+        }
+        checkInputStored(nnc, data);
+        final List<NativeNodeContainer> chain = createChain(nnc, data);
+        final List<NativeNodeContainer> fusable = getFusablePrefix(chain);
+        final LocalNodeExecutionJob job;
+        if (fusable.size() > 1) {
+            job = new FusedNodeExecutionJob(this, fusable, data);
+        } else if (chain.size() > 1) {
+            LOGGER.debugWithFormat("Streaming execution of up to %d nodes, starting at %s", chain.size(),
+                nnc.getNameWithID());
+            job = new StreamingNodeExecutionJob(this, nnc, data);
+        } else {
+            final int partitionCount = getPartitionCount(nnc, data);
+            if (partitionCount < 2) {
+                return super.submitJob(nc, data);
+            }
+            LOGGER.debugWithFormat("Executing %s in %d partitions", nnc.getNameWithID(), partitionCount);
+            job = new PartitionedNodeExecutionJob(nnc, data, partitionCount);
+        }
+        return enqueue(job);
+    }
+
+    /** Runs the job in the pool. */
+    LocalNodeExecutionJob enqueue(final LocalNodeExecutionJob job) {
+        Future<?> future = m_pool.enqueue(job);
+        job.setFuture(future);
+        return job;
+    }
+
+    /**
+     * Fails if an input is a void table, i.e. the node is executed again after it has been reset without its
+     * predecessor, whose output was streamed into the node and hence not stored.
+     */
+    private static void checkInputStored(final NativeNodeContainer nnc, final PortObject[] data) {
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] instanceof BufferedDataTable && ((BufferedDataTable)data[i]).isVoid()) {
+                final WorkflowManager parent = nnc.getParent();
+                final ConnectionContainer cc = parent.getIncomingConnectionFor(nnc.getID(), i);
+                final String source =
+                    cc == null ? "the predecessor" : parent.getNodeContainer(cc.getSource()).getNameWithID();
+                throw new IllegalStateException("The input at port " + i + " was streamed and not stored, reset "
+                    + source + " and execute it again");
+            }
+        }
+    }
+
+    /**
+     * Determines the nodes that can be streamed with the argument node. The returned list contains the argument as
+     * first element, followed by the successors that are going to consume the output of their respective predecessor.
+     */
+    private List<NativeNodeContainer> createChain(final NativeNodeContainer head, final PortObject[] data) {
+        if (!isStreamableHead(head, data)) {
+            return Collections.singletonList(head);
+        }
+        final List<NativeNodeContainer> chain = new ArrayList<>();
+        chain.add(head);
+        NativeNodeContainer next = getStreamableSuccessor(head);
+        while (next != null && chain.size() < MAX_CHAIN_LENGTH) {
+            chain.add(next);
+            next = getStreamableSuccessor(next);
+        }
+        return chain;
+    }
+
+    /**
+     * The node the output of the argument node can be streamed into: the only node connected to its outputs, which is
+     * a streamable node with no other inputs, marked for execution and using this job manager.
+     *
+     * @param nnc the node
+     * @return the consumer or null if there is none
+     */
+    NativeNodeContainer getStreamableSuccessor(final NativeNodeContainer nnc) {
+        final WorkflowManager parent = nnc.getParent();
+        try (WorkflowLock lock = parent.lock()) {
+            final Set<ConnectionContainer> outgoing = parent.getOutgoingConnectionsFor(nnc.getID());
+            if (outgoing.size() != 1) {
+                return null;
+            }
+            final ConnectionContainer cc = outgoing.iterator().next();
+            if (cc.getType() != ConnectionType.STD || cc.getSourcePort() == 0) {
+                return null;
+            }
+            final NodeContainer dest = parent.getNodeContainer(cc.getDest());
+            if (dest instanceof NativeNodeContainer
+                && isStreamableSuccessor((NativeNodeContainer)dest, cc.getDestPort())) {
+                return (NativeNodeContainer)dest;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The leading part of the chain whose nodes only apply a {@link ColumnRearranger} to their input. These nodes are
+     * executed in a single scan of the input table rather than in separate threads.
+     */
+    private static List<NativeNodeContainer> getFusablePrefix(final List<NativeNodeContainer> chain) {
+        int length = 0;
+        while (length < chain.size()
+            && chain.get(length).getNodeModel() instanceof SimpleStreamableFunctionNodeModel) {
+            length++;
+        }
+        return chain.subList(0, length);
+    }
+
+    /**
+     * Determines the number of partitions the node's input is split into. Returns 1 if the node has no distributable
+     * table input or can't be executed in partitions; the count is bounded by the row count of the distributable
+     * inputs so that each partition gets at least one row.
+     */
+    private int getPartitionCount(final NativeNodeContainer nnc, final PortObject[] data) {
+        if (m_partitionCount < 2 || !isPartitionableNode(nnc, data)) {
+            return 1;
+        }
+        final InputPortRole[] inRoles = nnc.getNodeModel().getInputPortRoles();
+        long count = m_partitionCount;
+        boolean hasDistributedInput = false;
+        for (int i = 1; i < data.length; i++) {
+            if (inRoles[i - 1].isDistributable() && data[i] != null) {
+                if (!(data[i] instanceof BufferedDataTable) || !inRoles[i - 1].isStreamable()) {
+                    return 1;
+                }
+                hasDistributedInput = true;
+                count = Math.min(count, ((BufferedDataTable)data[i]).size());
+            }
+        }
+        return hasDistributedInput ? (int)count : 1;
+    }
+
+    /**
+     * Checks whether the streamable operators of the node can run in partitions. Without merge operator all outputs
+     * need to be distributed as there is no other way to fill them.
+     */
+    private static boolean isPartitionableNode(final NativeNodeContainer nnc, final PortObject[] data) {
+        final NodeModel model = nnc.getNodeModel();
+        if (!isSupportedModel(model)) {
+            return false;
+        }
+        for (PortObject o : data) {
+            if (o instanceof InactiveBranchPortObject) {
+                return false;
+            }
+        }
+        final OutputPortRole[] outRoles = model.getOutputPortRoles();
+        final boolean hasMergeOperator = model.createMergeOperator() != null;
+        if (!hasMergeOperator && (overrides(model, "iterate", StreamableOperatorInternals.class)
+            || overrides(model, "finishStreamableExecution", StreamableOperatorInternals.class,
+                ExecutionContext.class, PortOutput[].class))) {
+            return false;
+        }
+        for (int i = 1; i < nnc.getNrOutPorts(); i++) {
+            if (outRoles[i - 1].isDistributable()) {
+                if (!isTablePort(nnc.getOutPort(i).getPortType())
+                    || !(nnc.getOutPort(i).getPortObjectSpec() instanceof DataTableSpec)) {
+                    return false;
+                }
+            } else if (!hasMergeOperator) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isStreamableHead(final NativeNodeContainer nnc, final PortObject[] data) {
+        for (PortObject o : data) {
+            if (o instanceof InactiveBranchPortObject) {
+                return false;
+            }
+        }
+        return isStreamableNode(nnc);
+    }
+
+    private boolean isStreamableSuccessor(final NativeNodeContainer nnc, final int inPort) {
+        if (nnc.findJobManager() != this || !nnc.getNodeContainerState().isWaitingToBeExecuted()
+            || !isStreamableNode(nnc)) {
+            return false;
+        }
+        final WorkflowManager parent = nnc.getParent();
+        for (int i = 0; i < nnc.getNrInPorts(); i++) {
+            if (i != inPort && parent.getIncomingConnectionFor(nnc.getID(), i) != null) {
+                return false;
+            }
+        }
+        final InputPortRole[] inRoles = nnc.getNodeModel().getInputPortRoles();
+        return inPort > 0 && inPort <= inRoles.length && inRoles[inPort - 1].isStreamable()
+            && isTablePort(nnc.getInPort(inPort).getPortType());
+    }
+
+    /** Checks properties common to all chain members, in particular that all outputs are tables with known spec. */
+    private static boolean isStreamableNode(final NativeNodeContainer nnc) {
+        final NodeModel model = nnc.getNodeModel();
+        if (!isSupportedModel(model) || nnc.getNrOutPorts() < 2 || model.createMergeOperator() != null
+            || overrides(model, "iterate", StreamableOperatorInternals.class)) {
+            return false;
+        }
+        for (int i = 1; i < nnc.getNrOutPorts(); i++) {
+            if (!isTablePort(nnc.getOutPort(i).getPortType())
+                || !(nnc.getOutPort(i).getPortObjectSpec() instanceof DataTableSpec)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Loop and scope nodes, component input and output nodes and nodes holding internal tables are excluded. */
+    private static boolean isSupportedModel(final NodeModel model) {
+        return !(model instanceof ScopeStartNode || model instanceof ScopeEndNode
+            || model instanceof VirtualSubNodeInputNodeModel || model instanceof VirtualSubNodeOutputNodeModel
+            || model instanceof BufferedDataTableHolder || model instanceof PortObjectHolder);
+    }
+
+    private static boolean isTablePort(final PortType type) {
+        return BufferedDataTable.TYPE.equals(type) || BufferedDataTable.TYPE_OPTIONAL.equals(type);
+    }
+
+    private static boolean overrides(final NodeModel model, final String name, final Class<?>... parameterTypes) {
+        try {
+            final Method method = model.getClass().getMethod(name, parameterTypes);
+            return !NodeModel.class.equals(method.getDeclaringClass());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Queues a node consuming the output of a node that is still executing, see
+     * {@link WorkflowManager#queueConsumer(NodeID, int, PortObject)}. The workflow manager submits the node to this job
+     * manager before this method returns; its job is then created by the given factory.
+     *
+     * @param consumer the node to queue
+     * @param inPort its input port connected to the executing node
+     * @param inObject the object the executing node is going to have at its output
+     * @param jobFactory creates and starts the job of the consumer given its input
+     * @return whether the node was queued, if not the factory isn't called
+     */
+    boolean queueConsumer(final NativeNodeContainer consumer, final int inPort, final PortObject inObject,
+        final Function<PortObject[], LocalNodeExecutionJob> jobFactory) {
+        if (consumer.findJobManager() != this) {
+            return false;
+        }
+        final NodeID id = consumer.getID();
+        synchronized (m_consumerJobFactories) {
+            m_consumerJobFactories.put(id, jobFactory);
+        }
+        try {
+            return consumer.getParent().queueConsumer(id, inPort, inObject);
+        } finally {
+            synchronized (m_consumerJobFactories) {
+                m_consumerJobFactories.remove(id);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getID() {
+        return StreamingNodeExecutionJobManagerFactory.INSTANCE.getID();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void save(final NodeSettingsWO settings) {
+        settings.addInt(CFG_QUEUE_CAPACITY, m_queueCapacity);
+        settings.addInt(CFG_PARTITION_COUNT, m_partitionCount);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void load(final NodeSettingsRO settings) throws InvalidSettingsException {
+        final int capacity = settings.getInt(CFG_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY);
+        if (capacity <= 0) {
+            throw new InvalidSettingsException("Queue capacity must be positive: " + capacity);
+        }
+        final int partitionCount = settings.getInt(CFG_PARTITION_COUNT, DEFAULT_PARTITION_COUNT);
+        if (partitionCount <= 0) {
+            throw new InvalidSettingsException("Partition count must be positive: " + partitionCount);
+        }
+        m_queueCapacity = capacity;
+        m_partitionCount = partitionCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "Streaming Job Manager";
+    }
+
+}
@@ -56,20 +56,25 @@
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.OutputStream;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellDataInput;
 import org.knime.core.data.DataCellDataOutput;
 import org.knime.core.data.DataCellSerializer;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataTypeRegistry;
 import org.knime.core.data.container.BlobDataCell;
 import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.filestore.FileStoreCell;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -83,6 +88,8 @@
 import org.knime.core.node.exec.SandboxedNodeCreator;
 import org.knime.core.node.exec.dataexchange.in.PortObjectInNodeModel;
 import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.port.inactive.InactiveBranchPortObject;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.core.node.workflow.FlowVariable.Scope;
@@ -95,6 +102,11 @@
  * Static repository of {@link PortObject PortObjects}. It is used to virtually set output objects of port object
  * in node models.
  *
+ * <p>The repository is safe for concurrent use without global locking. Entries are reference counted; adding the
+ * same object again shares its entry. Consumers that {@link #copy(int, ExecutionContext, ExecutionMonitor) copy} an
+ * immutable object, including tables without blob and file store cells, share it by handle and hold a reference
+ * to its entry instead.
+ *
  * @author Bernd Wiswedel, University of Konstanz
  * @noreference This class is not intended to be referenced by clients.
  * @since 3.1
@@ -103,58 +115,130 @@ public final class PortObjectRepository {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(PortObjectRepository.class);
 
-    private static final Map<Integer, PortObject> MAP = new HashMap<>();
+    /** Entries by ID, read without locking. */
+    private static final Map<Integer, Entry> MAP = new ConcurrentHashMap<>();
+
+    /** Entries by (identity of) their port object, used to share an entry if the same object is added again. */
+    private static final Map<ObjectKey, Entry> BY_OBJECT = new ConcurrentHashMap<>();
 
-    private static int nextID;
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
 
     private PortObjectRepository() {
         // empty
     }
 
-    /** Add new port object to repository.
+    /** Add new port object to repository. If the very same object is already contained, its reference count is
+     * incremented and the existing id is returned. Each call needs to be balanced by a call to {@link #remove(int)}.
      * @param object Object to be added
      * @return the unique id this object is associated with
      * @throws NullPointerException If argument is null.
      */
-    public static synchronized int add(final PortObject object) {
+    public static int add(final PortObject object) {
         CheckUtils.checkArgumentNotNull(object);
-        int id = nextID;
-        nextID += 1;
-        assert !MAP.containsKey(id) : "Map contains ID " + id;
-        MAP.put(id, object);
+        final Entry entry = BY_OBJECT.compute(new ObjectKey(object), (key, old) -> {
+            if (old != null) {
+                old.m_refCount.incrementAndGet();
+                return old;
+            }
+            Entry e = new Entry(NEXT_ID.getAndIncrement(), object);
+            MAP.put(e.m_id, e);
+            return e;
+        });
         LOGGER.debug("Added port object (" + object.getClass().getSimpleName()
-                + ") to static repository, assigned ID " + id
-                + " (total count " + MAP.size() + ")");
-        return id;
+                + ") to static repository, assigned ID " + entry.m_id
+                + " (reference count " + entry.m_refCount.get() + ", total count " + MAP.size() + ")");
+        return entry.m_id;
     }
 
-    /** Remove the port object that is associated with the given id.
+    /** Increments the reference count of the port object associated with the given id. Each call needs to be
+     * balanced by a call to {@link #remove(int)}.
      * @param id The id of the object
-     * @return The removed object or null if it was not contained.
+     * @return The object or null if it is not contained.
+     * @since 4.2
      */
-    public static synchronized PortObject remove(final int id) {
-        PortObject object = MAP.remove(id);
-        if (object != null) {
-            LOGGER.debug("Removed port object with id " + id + " ("
-                    + object.getClass().getSimpleName()
-                    + ") from static repository (" + MAP.size()
-                    + " remaining)");
-        } else {
+    public static PortObject retain(final int id) {
+        final Entry entry = MAP.get(id);
+        if (entry == null) {
+            return null;
+        }
+        final Entry retained = BY_OBJECT.computeIfPresent(new ObjectKey(entry.m_object), (key, e) -> {
+            if (e == entry) {
+                e.m_refCount.incrementAndGet();
+            }
+            return e;
+        });
+        return retained == entry ? entry.m_object : null;
+    }
+
+    /** Releases one reference to the port object that is associated with the given id. The object is removed from
+     * the repository once the last reference is released.
+     * @param id The id of the object
+     * @return The object if the last reference was released, or null if other references remain (i.e. the object is
+     * still in use) or it was not contained.
+     */
+    public static PortObject remove(final int id) {
+        final Entry entry = MAP.get(id);
+        if (entry == null) {
             LOGGER.debug("Failed to remove port object with id " + id
                     + " from repository, no such id");
+            return null;
         }
-        return object;
+        final AtomicBoolean isRemoved = new AtomicBoolean();
+        BY_OBJECT.computeIfPresent(new ObjectKey(entry.m_object), (key, e) -> {
+            if (e != entry || e.m_refCount.decrementAndGet() > 0) {
+                return e;
+            }
+            MAP.remove(id);
+            isRemoved.set(true);
+            return null;
+        });
+        if (!isRemoved.get()) {
+            return null;
+        }
+        LOGGER.debug("Removed port object with id " + id + " ("
+                + entry.m_object.getClass().getSimpleName()
+                + ") from static repository (" + MAP.size()
+                + " remaining)");
+        return entry.m_object;
     }
 
     /** Get the port object that is associated with the given id.
      * @param id The id of the object
      * @return The object or null if it is not contained.
      */
-    public static synchronized PortObject get(final int id) {
-        return MAP.get(id);
+    public static PortObject get(final int id) {
+        final Entry entry = MAP.get(id);
+        return entry == null ? null : entry.m_object;
     }
 
-    /** Copies the argument object by means of the associated serializer.
+    /** Copies the port object associated with the given id into the context of the calling node. Each consumer gets
+     * its own copy, which is owned by the consumer's node and hence disposed with it. Immutable objects, including
+     * tables without blob and file store cells, are shared by handle instead: a reference to the entry is retained
+     * on behalf of the caller, which needs to release it via {@link #remove(int)} once it no longer holds the object.
+     * Shared tables remain owned by the node that created them.
+     * @param id The id of the object
+     * @param exec Host for BDTs being created
+     * @param progress For progress/cancelation
+     * @return The shared object (the same as returned by {@link #get(int)}), the copy or null if there is no object
+     * for the id.
+     * @throws IOException In case of exceptions while accessing the streams
+     * @throws CanceledExecutionException If canceled.
+     * @since 4.2
+     */
+    public static PortObject copy(final int id, final ExecutionContext exec, final ExecutionMonitor progress)
+        throws IOException, CanceledExecutionException {
+        final Entry entry = MAP.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (isShareable(entry.m_object)) {
+            return retain(id);
+        }
+        return copy(entry.m_object, exec, progress);
+    }
+
+    /** Copies the argument object by means of the associated serializer. Immutable objects that don't reference any
+     * workflow-local data are returned as is; tables are copied row by row and only blob cells are deep-cloned.
      * @param object The port object to be copied.
      * @param exec Host for BDTs being created
      * @param progress For progress/cancelation
@@ -164,6 +248,9 @@ public static synchronized PortObject get(final int id) {
      */
     public static final PortObject copy(final PortObject object, final ExecutionContext exec,
         final ExecutionMonitor progress) throws IOException, CanceledExecutionException {
+        if (isImmutable(object)) {
+            return object;
+        }
         if (object instanceof BufferedDataTable) {
             // need to copy the table cell by cell
             // this is to workaround the standard knime philosophy according
@@ -172,27 +259,34 @@ public static final PortObject copy(final PortObject object, final ExecutionCont
             BufferedDataTable in = (BufferedDataTable)object;
             BufferedDataContainer con = exec.createDataContainer(
                     in.getSpec(), true, 0);
+            final boolean[] isBlobColumn = getPotentialBlobColumns(in.getSpec());
+            final boolean hasBlobColumns = IntStream.range(0, isBlobColumn.length).anyMatch(i -> isBlobColumn[i]);
             final long rowCount = in.size();
             long row = 0;
             boolean hasLoggedCloneProblem = false;
             for (DataRow r : in) {
-                DataCell[] cells = new DataCell[r.getNumCells()];
-                for (int i = 0; i < cells.length; i++) {
-                    DataCell c = r.getCell(i); // deserialize blob
-                    if (c instanceof BlobDataCell) {
-                        try {
-                            c = cloneBlobCell(c);
-                        } catch (Exception e) {
-                            if (!hasLoggedCloneProblem) {
-                                LOGGER.warn("Can't clone blob object: " + e.getMessage(), e);
-                                hasLoggedCloneProblem = true;
-                                LOGGER.debug("Suppressing futher warnings.");
+                if (!hasBlobColumns) {
+                    // nothing to clone, the container copies the cell content anyway
+                    con.addRowToTable(r);
+                } else {
+                    DataCell[] cells = new DataCell[r.getNumCells()];
+                    for (int i = 0; i < cells.length; i++) {
+                        DataCell c = r.getCell(i); // deserialize blob
+                        if (isBlobColumn[i] && c instanceof BlobDataCell) {
+                            try {
+                                c = cloneBlobCell(c);
+                            } catch (Exception e) {
+                                if (!hasLoggedCloneProblem) {
+                                    LOGGER.warn("Can't clone blob object: " + e.getMessage(), e);
+                                    hasLoggedCloneProblem = true;
+                                    LOGGER.debug("Suppressing futher warnings.");
+                                }
                             }
                         }
+                        cells[i] = c;
                     }
-                    cells[i] = c;
+                    con.addRowToTable(new DefaultRow(r.getKey(), cells));
                 }
-                con.addRowToTable(new DefaultRow(r.getKey(), cells));
                 progress.setProgress(row / (double)rowCount, "Copied row " + row + "/" + rowCount);
                 progress.checkCanceled();
                 row++;
@@ -204,6 +298,43 @@ public static final PortObject copy(final PortObject object, final ExecutionCont
         return Node.copyPortObject(object, exec);
     }
 
+    /** Whether the argument can be handed out to other workflows without copying, that is, it's immutable and doesn't
+     * reference any data owned by a workflow (such as tables or file stores). */
+    private static boolean isImmutable(final PortObject object) {
+        return object == FlowVariablePortObject.INSTANCE || object == InactiveBranchPortObject.INSTANCE;
+    }
+
+    /** Whether the argument can be shared by consumers that hold a reference to its entry. Tables are never modified
+     * once created, only blob and file store cells are bound to the workflow the table was created in. */
+    private static boolean isShareable(final PortObject object) {
+        if (isImmutable(object)) {
+            return true;
+        }
+        if (!(object instanceof BufferedDataTable)) {
+            return false;
+        }
+        final DataTableSpec spec = ((BufferedDataTable)object).getDataTableSpec();
+        final boolean[] isBlobColumn = getPotentialBlobColumns(spec);
+        for (int i = 0; i < isBlobColumn.length; i++) {
+            final Class<? extends DataCell> cellClass = spec.getColumnSpec(i).getType().getCellClass();
+            if (isBlobColumn[i] || FileStoreCell.class.isAssignableFrom(cellClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Columns whose cells may be {@link BlobDataCell BlobDataCells}, i.e. need to be cloned to get rid of their
+     * blob address. */
+    private static boolean[] getPotentialBlobColumns(final DataTableSpec spec) {
+        final boolean[] result = new boolean[spec.getNumColumns()];
+        for (int i = 0; i < result.length; i++) {
+            final Class<? extends DataCell> cellClass = spec.getColumnSpec(i).getType().getCellClass();
+            result[i] = cellClass == null || BlobDataCell.class.isAssignableFrom(cellClass);
+        }
+        return result;
+    }
+
     /**
      * Adds a "Port Object Reference Reader" node to the workflow, which will read the object passed in as argument.
      *
@@ -284,6 +415,41 @@ private static DataCell cloneBlobCell(final DataCell blobCell)
         }
     }
 
+    /** A port object in the repository along with its reference count. */
+    private static final class Entry {
+
+        private final int m_id;
+
+        private final PortObject m_object;
+
+        private final AtomicInteger m_refCount = new AtomicInteger(1);
+
+        Entry(final int id, final PortObject object) {
+            m_id = id;
+            m_object = object;
+        }
+    }
+
+    /** Identity-based key of a port object (port objects may implement equals by content). */
+    private static final class ObjectKey {
+
+        private final PortObject m_object;
+
+        ObjectKey(final PortObject object) {
+            m_object = object;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof ObjectKey && ((ObjectKey)obj).m_object == m_object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(m_object);
+        }
+    }
+
     /** Input stream used for cloning the a data cell. */
     private static final class DataCellCloneObjectInputStream
         extends ObjectInputStream implements DataCellDataInput {
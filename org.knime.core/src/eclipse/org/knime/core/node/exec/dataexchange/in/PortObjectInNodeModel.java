@@ -86,6 +86,9 @@ public final class PortObjectInNodeModel extends NodeModel {
 
     private PortObjectIDSettings m_portObjectIDSettings;
 
+    /** Repository id of the object shared rather than copied during execute, released on reset, or null. */
+    private Integer m_sharedID;
+
     /** Set no input, one specified output.
      * @param type to represent.
      */
@@ -143,12 +146,20 @@ private PortObject getPortObject(final ExecutionContext exec)
             case REPOSITORY:
             default:
                 int id = m_portObjectIDSettings.getId();
-                PortObject obj = PortObjectRepository.get(id);
-                if (obj == null) {
+                PortObject cloneOrSelf;
+                if (m_portObjectIDSettings.isCopyData()) {
+                    releaseSharedObject();
+                    cloneOrSelf = PortObjectRepository.copy(id, exec, exec);
+                    if (cloneOrSelf != null && cloneOrSelf == PortObjectRepository.get(id)) {
+                        // shared rather than copied, this node holds a reference until reset
+                        m_sharedID = id;
+                    }
+                } else {
+                    cloneOrSelf = PortObjectRepository.get(id);
+                }
+                if (cloneOrSelf == null) {
                     throw new RuntimeException("No port object for id " + id);
                 }
-                PortObject cloneOrSelf =
-                    m_portObjectIDSettings.isCopyData() ? PortObjectRepository.copy(obj, exec, exec) : obj;
                 return cloneOrSelf;
         }
     }
@@ -187,10 +198,24 @@ private PortObject readPOFromURI(final ExecutionContext exec)
         return po;
     }
 
+    /** Releases the reference to the object shared during execute, if any. */
+    private void releaseSharedObject() {
+        if (m_sharedID != null) {
+            PortObjectRepository.remove(m_sharedID);
+            m_sharedID = null;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void reset() {
-        // empty
+        releaseSharedObject();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void onDispose() {
+        releaseSharedObject();
     }
 
     /** {@inheritDoc} */
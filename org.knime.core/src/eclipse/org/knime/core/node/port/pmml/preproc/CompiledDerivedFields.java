@@ -0,0 +1,780 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.port.pmml.preproc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.dmg.pmml.DATATYPE;
+import org.dmg.pmml.DerivedFieldDocument.DerivedField;
+import org.dmg.pmml.DiscretizeBinDocument.DiscretizeBin;
+import org.dmg.pmml.DiscretizeDocument.Discretize;
+import org.dmg.pmml.FieldColumnPairDocument.FieldColumnPair;
+import org.dmg.pmml.FieldRefDocument.FieldRef;
+import org.dmg.pmml.IntervalDocument.Interval;
+import org.dmg.pmml.LinearNormDocument.LinearNorm;
+import org.dmg.pmml.MapValuesDocument.MapValues;
+import org.dmg.pmml.NormContinuousDocument.NormContinuous;
+import org.dmg.pmml.NormDiscreteDocument.NormDiscrete;
+import org.dmg.pmml.OUTLIERTREATMENTMETHOD;
+import org.dmg.pmml.RowDocument.Row;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.BooleanCell.BooleanCellFactory;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.pmml.PMMLDataDictionaryTranslator;
+import org.knime.core.node.port.pmml.PMMLPortObject;
+import org.w3c.dom.Node;
+
+/**
+ * The {@link DerivedField}s of a PMML document compiled into a row function that operates directly on the column
+ * indices of an input table. The XMLBeans model is only walked once during {@link #compile(DerivedField[],
+ * DataTableSpec)}; applying the transformations to a row doesn't touch the XML model anymore.
+ *
+ * <p>
+ * Supported expressions are <code>FieldRef</code>, <code>Constant</code>, <code>NormContinuous</code>,
+ * <code>NormDiscrete</code>, <code>Discretize</code> and <code>MapValues</code> (with an inline table). Derived fields
+ * may refer to input columns and to previously defined derived fields. Instances are immutable and thread-safe, use
+ * {@link #createCellFactory()} to apply them to a table, optionally in parallel.
+ *
+ * <p>
+ * Constants of the PMML document (constant values, bin values, mapped values and replacements of missing values) are
+ * converted to numbers once during compilation. Values of string columns are not converted to numbers, numeric
+ * operations on them yield missing values.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class CompiledDerivedFields {
+
+    private final CompiledField[] m_fields;
+
+    private final DataColumnSpec[] m_columnSpecs;
+
+    private final ThreadLocal<Frame> m_frames;
+
+    private CompiledDerivedFields(final CompiledField[] fields, final DataColumnSpec[] columnSpecs) {
+        m_fields = fields;
+        m_columnSpecs = columnSpecs;
+        m_frames = ThreadLocal.withInitial(() -> new Frame(fields.length));
+    }
+
+    /**
+     * Compiles all derived fields of the transformation dictionary and the local transformations of the argument
+     * PMML.
+     *
+     * @param pmml the PMML port object containing the derived fields
+     * @param spec the spec of the table the transformations will be applied to
+     * @return the compiled transformations
+     * @throws InvalidSettingsException if a field refers to an unknown column or uses an unsupported expression
+     */
+    public static CompiledDerivedFields compile(final PMMLPortObject pmml, final DataTableSpec spec)
+        throws InvalidSettingsException {
+        return compile(pmml.getDerivedFields(), spec);
+    }
+
+    /**
+     * Compiles the argument derived fields. The fields are evaluated in the order given.
+     *
+     * @param derivedFields the fields to compile
+     * @param spec the spec of the table the transformations will be applied to
+     * @return the compiled transformations
+     * @throws InvalidSettingsException if a field refers to an unknown column or uses an unsupported expression
+     */
+    public static CompiledDerivedFields compile(final DerivedField[] derivedFields, final DataTableSpec spec)
+        throws InvalidSettingsException {
+        final Map<String, Integer> slots = new HashMap<String, Integer>();
+        final CompiledField[] fields = new CompiledField[derivedFields.length];
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[derivedFields.length];
+        DataTableSpec outSpec = spec;
+        for (int i = 0; i < derivedFields.length; i++) {
+            final DerivedField df = derivedFields[i];
+            fields[i] = compileField(df, i, spec, slots);
+            final String colName = DataTableSpec.getUniqueColumnName(outSpec, df.getName());
+            colSpecs[i] = new DataColumnSpecCreator(colName, fields[i].m_type).createSpec();
+            outSpec = new DataTableSpec(outSpec, new DataTableSpec(colSpecs[i]));
+            // later definitions of the same name take precedence, same as in DerivedFieldMapper
+            slots.put(df.getName(), i);
+        }
+        return new CompiledDerivedFields(fields, colSpecs);
+    }
+
+    /**
+     * @return the specs of the columns created for the derived fields, named after the derived fields (made unique
+     *         with respect to the input spec)
+     */
+    public DataColumnSpec[] getColumnSpecs() {
+        return m_columnSpecs.clone();
+    }
+
+    /** @return the number of derived fields */
+    public int getNumberOfFields() {
+        return m_fields.length;
+    }
+
+    /**
+     * Evaluates all derived fields on the argument row.
+     *
+     * @param row a row of a table with the spec used during compilation
+     * @return one cell per derived field
+     */
+    public DataCell[] apply(final DataRow row) {
+        final DataCell[] result = new DataCell[m_fields.length];
+        apply(row, result);
+        return result;
+    }
+
+    /**
+     * Evaluates all derived fields on the argument row and writes the results into an existing array.
+     *
+     * @param row a row of a table with the spec used during compilation
+     * @param result the array to fill, with length of at least {@link #getNumberOfFields()}
+     */
+    public void apply(final DataRow row, final DataCell[] result) {
+        final Frame frame = m_frames.get();
+        for (int i = 0; i < m_fields.length; i++) {
+            m_fields[i].evaluate(row, frame);
+            result[i] = m_fields[i].toCell(frame);
+        }
+    }
+
+    /**
+     * Creates a cell factory appending one column per derived field. Enable parallel processing with
+     * {@link org.knime.core.data.container.AbstractCellFactory#setParallelProcessing(boolean)} if desired, the
+     * compiled fields don't keep per-row state.
+     *
+     * @return a new cell factory
+     */
+    public DerivedFieldsCellFactory createCellFactory() {
+        return new DerivedFieldsCellFactory(this);
+    }
+
+    /* ----------------------------------------------------------------------
+     * Compilation
+     * ---------------------------------------------------------------------- */
+
+    private static CompiledField compileField(final DerivedField df, final int slot, final DataTableSpec spec,
+        final Map<String, Integer> slots) throws InvalidSettingsException {
+        final DataType type = PMMLDataDictionaryTranslator.getKNIMEDataType(df.getDataType());
+        if (df.isSetFieldRef()) {
+            final FieldRef ref = df.getFieldRef();
+            final String mapMissingTo = ref.isSetMapMissingTo() ? ref.getMapMissingTo() : null;
+            return new FieldRefField(slot, type, resolve(ref.getField(), spec, slots), Value.of(mapMissingTo));
+        } else if (df.isSetConstant()) {
+            return new ConstantField(slot, type, Value.of(df.getConstant().getStringValue()));
+        } else if (df.isSetNormContinuous()) {
+            return compileNormContinuous(df.getNormContinuous(), slot, type, spec, slots);
+        } else if (df.isSetNormDiscrete()) {
+            final NormDiscrete nd = df.getNormDiscrete();
+            final double mapMissingTo = nd.isSetMapMissingTo() ? nd.getMapMissingTo() : Double.NaN;
+            return new NormDiscreteField(slot, type, resolve(nd.getField(), spec, slots), nd.getValue(),
+                mapMissingTo);
+        } else if (df.isSetDiscretize()) {
+            return compileDiscretize(df.getDiscretize(), slot, type, spec, slots);
+        } else if (df.isSetMapValues()) {
+            return compileMapValues(df.getMapValues(), slot, type, spec, slots);
+        }
+        throw new InvalidSettingsException(
+            "The expression of derived field \"" + df.getName() + "\" is not supported by the compiler.");
+    }
+
+    private static Operand resolve(final String field, final DataTableSpec spec, final Map<String, Integer> slots)
+        throws InvalidSettingsException {
+        final Integer slot = slots.get(field);
+        if (slot != null) {
+            return new SlotOperand(slot);
+        }
+        final int colIndex = spec.findColumnIndex(field);
+        if (colIndex < 0) {
+            throw new InvalidSettingsException("Field \"" + field + "\" is neither a column of the input table nor "
+                + "a previously defined derived field.");
+        }
+        final DataType colType = spec.getColumnSpec(colIndex).getType();
+        return new ColumnOperand(colIndex, colType.isCompatible(DoubleValue.class),
+            colType.isCompatible(StringValue.class));
+    }
+
+    private static CompiledField compileNormContinuous(final NormContinuous nc, final int slot, final DataType type,
+        final DataTableSpec spec, final Map<String, Integer> slots) throws InvalidSettingsException {
+        final LinearNorm[] norms = nc.getLinearNormArray();
+        if (norms.length < 2) {
+            throw new InvalidSettingsException(
+                "NormContinuous on field \"" + nc.getField() + "\" needs at least two LinearNorm elements.");
+        }
+        final double[] orig = new double[norms.length];
+        final double[] norm = new double[norms.length];
+        for (int i = 0; i < norms.length; i++) {
+            orig[i] = norms[i].getOrig();
+            norm[i] = norms[i].getNorm();
+            if (i > 0 && orig[i] <= orig[i - 1]) {
+                throw new InvalidSettingsException("LinearNorm elements of field \"" + nc.getField()
+                    + "\" are not sorted by strictly ascending 'orig' values.");
+            }
+        }
+        final int outliers = nc.isSetOutliers() ? nc.getOutliers().intValue() : OUTLIERTREATMENTMETHOD.INT_AS_IS;
+        final double mapMissingTo = nc.isSetMapMissingTo() ? nc.getMapMissingTo() : Double.NaN;
+        return new NormContinuousField(slot, type, resolve(nc.getField(), spec, slots), orig, norm, outliers,
+            mapMissingTo);
+    }
+
+    private static CompiledField compileDiscretize(final Discretize d, final int slot, final DataType type,
+        final DataTableSpec spec, final Map<String, Integer> slots) throws InvalidSettingsException {
+        final DiscretizeBin[] bins = d.getDiscretizeBinArray();
+        final double[] left = new double[bins.length];
+        final double[] right = new double[bins.length];
+        final boolean[] leftClosed = new boolean[bins.length];
+        final boolean[] rightClosed = new boolean[bins.length];
+        final Value[] values = new Value[bins.length];
+        for (int i = 0; i < bins.length; i++) {
+            final Interval interval = bins[i].getInterval();
+            left[i] = interval.isSetLeftMargin() ? interval.getLeftMargin() : Double.NEGATIVE_INFINITY;
+            right[i] = interval.isSetRightMargin() ? interval.getRightMargin() : Double.POSITIVE_INFINITY;
+            final int closure = interval.getClosure().intValue();
+            leftClosed[i] =
+                closure == Interval.Closure.INT_CLOSED_OPEN || closure == Interval.Closure.INT_CLOSED_CLOSED;
+            rightClosed[i] =
+                closure == Interval.Closure.INT_OPEN_CLOSED || closure == Interval.Closure.INT_CLOSED_CLOSED;
+            values[i] = Value.of(bins[i].getBinValue());
+        }
+        return new DiscretizeField(slot, type, resolve(d.getField(), spec, slots), left, right, leftClosed,
+            rightClosed, values, Value.of(d.isSetDefaultValue() ? d.getDefaultValue() : null),
+            Value.of(d.isSetMapMissingTo() ? d.getMapMissingTo() : null));
+    }
+
+    private static CompiledField compileMapValues(final MapValues mv, final int slot, final DataType type,
+        final DataTableSpec spec, final Map<String, Integer> slots) throws InvalidSettingsException {
+        if (!mv.isSetInlineTable()) {
+            throw new InvalidSettingsException("MapValues is only supported with an InlineTable.");
+        }
+        final FieldColumnPair[] pairs = mv.getFieldColumnPairArray();
+        final Operand[] operands = new Operand[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            operands[i] = resolve(pairs[i].getField(), spec, slots);
+        }
+        final Map<String, Value> table = new HashMap<String, Value>();
+        for (Row row : mv.getInlineTable().getRowArray()) {
+            final Map<String, String> cells = new LinkedHashMap<String, String>();
+            for (Node n = row.getDomNode().getFirstChild(); n != null; n = n.getNextSibling()) {
+                if (n.getNodeType() == Node.ELEMENT_NODE) {
+                    final String name = n.getLocalName() != null ? n.getLocalName() : n.getNodeName();
+                    cells.put(name, n.getTextContent());
+                }
+            }
+            final String[] key = new String[pairs.length];
+            for (int i = 0; i < pairs.length; i++) {
+                key[i] = cells.get(pairs[i].getColumn());
+            }
+            final String output = cells.get(mv.getOutputColumn());
+            if (output != null && !Arrays.asList(key).contains(null)) {
+                // the first matching row wins
+                table.putIfAbsent(MapValuesField.toKey(key), Value.of(output));
+            }
+        }
+        return new MapValuesField(slot, type, operands, table,
+            Value.of(mv.isSetDefaultValue() ? mv.getDefaultValue() : null),
+            Value.of(mv.isSetMapMissingTo() ? mv.getMapMissingTo() : null));
+    }
+
+    /* ----------------------------------------------------------------------
+     * Runtime
+     * ---------------------------------------------------------------------- */
+
+    /** A constant of the PMML document, converted to a number once during compilation. */
+    private static final class Value {
+        private final String m_string;
+
+        private final double m_number;
+
+        private Value(final String string, final double number) {
+            m_string = string;
+            m_number = number;
+        }
+
+        /** @return the value, or null if the argument is null (= missing) */
+        static Value of(final String string) {
+            if (string == null) {
+                return null;
+            }
+            double number;
+            try {
+                number = Double.parseDouble(string);
+            } catch (NumberFormatException e) {
+                number = Double.NaN;
+            }
+            return new Value(string, number);
+        }
+    }
+
+    /** Per-thread scratch space holding the intermediate values of all derived fields of the current row. */
+    private static final class Frame {
+        private final boolean[] m_missing;
+
+        private final double[] m_numbers;
+
+        private final String[] m_strings;
+
+        Frame(final int size) {
+            m_missing = new boolean[size];
+            m_numbers = new double[size];
+            m_strings = new String[size];
+        }
+
+        void setMissing(final int slot) {
+            m_missing[slot] = true;
+            m_strings[slot] = null;
+        }
+
+        void setNumber(final int slot, final double value) {
+            m_missing[slot] = false;
+            m_numbers[slot] = value;
+            m_strings[slot] = null;
+        }
+
+        /** Sets a string value read from the input, which has no numeric representation. */
+        void setString(final int slot, final String value) {
+            m_missing[slot] = false;
+            m_strings[slot] = value;
+            m_numbers[slot] = Double.NaN;
+        }
+
+        /** Sets a constant value, which may be null (= missing). */
+        void setValue(final int slot, final Value value) {
+            if (value == null) {
+                setMissing(slot);
+            } else {
+                m_missing[slot] = false;
+                m_strings[slot] = value.m_string;
+                m_numbers[slot] = value.m_number;
+            }
+        }
+    }
+
+    /** Access to an input value, either a column of the row or a previously computed derived field. */
+    private interface Operand {
+        boolean isMissing(DataRow row, Frame frame);
+
+        boolean isNumeric(DataRow row, Frame frame);
+
+        double getDouble(DataRow row, Frame frame);
+
+        String getString(DataRow row, Frame frame);
+    }
+
+    private static final class ColumnOperand implements Operand {
+        private final int m_index;
+
+        private final boolean m_isNumeric;
+
+        private final boolean m_isString;
+
+        /** The type flags are derived from the column spec, all non-missing cells of the column comply with them. */
+        ColumnOperand(final int index, final boolean isNumeric, final boolean isString) {
+            m_index = index;
+            m_isNumeric = isNumeric;
+            m_isString = isString;
+        }
+
+        @Override
+        public boolean isMissing(final DataRow row, final Frame frame) {
+            return row.getCell(m_index).isMissing();
+        }
+
+        @Override
+        public boolean isNumeric(final DataRow row, final Frame frame) {
+            return m_isNumeric;
+        }
+
+        @Override
+        public double getDouble(final DataRow row, final Frame frame) {
+            return m_isNumeric ? ((DoubleValue)row.getCell(m_index)).getDoubleValue() : Double.NaN;
+        }
+
+        @Override
+        public String getString(final DataRow row, final Frame frame) {
+            final DataCell cell = row.getCell(m_index);
+            if (m_isString) {
+                return ((StringValue)cell).getStringValue();
+            } else if (m_isNumeric) {
+                return formatNumber(((DoubleValue)cell).getDoubleValue());
+            }
+            return cell.toString();
+        }
+    }
+
+    private static final class SlotOperand implements Operand {
+        private final int m_slot;
+
+        SlotOperand(final int slot) {
+            m_slot = slot;
+        }
+
+        @Override
+        public boolean isMissing(final DataRow row, final Frame frame) {
+            return frame.m_missing[m_slot];
+        }
+
+        @Override
+        public boolean isNumeric(final DataRow row, final Frame frame) {
+            return frame.m_strings[m_slot] == null;
+        }
+
+        @Override
+        public double getDouble(final DataRow row, final Frame frame) {
+            return frame.m_numbers[m_slot];
+        }
+
+        @Override
+        public String getString(final DataRow row, final Frame frame) {
+            final String s = frame.m_strings[m_slot];
+            return s != null ? s : formatNumber(frame.m_numbers[m_slot]);
+        }
+    }
+
+    private abstract static class CompiledField {
+        private final int m_slot;
+
+        private final DataType m_type;
+
+        CompiledField(final int slot, final DataType type) {
+            m_slot = slot;
+            m_type = type;
+        }
+
+        final int slot() {
+            return m_slot;
+        }
+
+        /** Evaluates this field on the row and stores the result in the frame. */
+        abstract void evaluate(DataRow row, Frame frame);
+
+        final DataCell toCell(final Frame frame) {
+            if (frame.m_missing[m_slot]) {
+                return DataType.getMissingCell();
+            }
+            final double d = frame.m_numbers[m_slot];
+            if (m_type.equals(DoubleCell.TYPE)) {
+                return Double.isNaN(d) && frame.m_strings[m_slot] != null ? DataType.getMissingCell()
+                    : new DoubleCell(d);
+            } else if (m_type.equals(IntCell.TYPE)) {
+                return Double.isNaN(d) ? DataType.getMissingCell() : new IntCell((int)Math.round(d));
+            } else if (m_type.equals(BooleanCell.TYPE)) {
+                return toBooleanCell(frame.m_strings[m_slot], d);
+            }
+            final String s = frame.m_strings[m_slot];
+            return new StringCell(s != null ? s : formatNumber(d));
+        }
+    }
+
+    /** Numbers are true unless 0, strings must be "true" or "false", anything else is a missing value. */
+    private static DataCell toBooleanCell(final String s, final double d) {
+        if (!Double.isNaN(d)) {
+            return BooleanCellFactory.create(d != 0.0);
+        } else if ("true".equalsIgnoreCase(s)) {
+            return BooleanCellFactory.create(true);
+        } else if ("false".equalsIgnoreCase(s)) {
+            return BooleanCellFactory.create(false);
+        }
+        return DataType.getMissingCell();
+    }
+
+    private static String formatNumber(final double d) {
+        if (d == Math.rint(d) && !Double.isInfinite(d) && Math.abs(d) < 1e15) {
+            return Long.toString((long)d);
+        }
+        return Double.toString(d);
+    }
+
+    private static final class ConstantField extends CompiledField {
+        private final Value m_value;
+
+        ConstantField(final int slot, final DataType type, final Value value) {
+            super(slot, type);
+            m_value = value;
+        }
+
+        @Override
+        void evaluate(final DataRow row, final Frame frame) {
+            frame.setValue(slot(), m_value);
+        }
+    }
+
+    private static final class FieldRefField extends CompiledField {
+        private final Operand m_operand;
+
+        private final Value m_mapMissingTo;
+
+        FieldRefField(final int slot, final DataType type, final Operand operand, final Value mapMissingTo) {
+            super(slot, type);
+            m_operand = operand;
+            m_mapMissingTo = mapMissingTo;
+        }
+
+        @Override
+        void evaluate(final DataRow row, final Frame frame) {
+            if (m_operand.isMissing(row, frame)) {
+                frame.setValue(slot(), m_mapMissingTo);
+            } else if (m_operand.isNumeric(row, frame)) {
+                frame.setNumber(slot(), m_operand.getDouble(row, frame));
+            } else {
+                frame.setString(slot(), m_operand.getString(row, frame));
+            }
+        }
+    }
+
+    private static final class NormContinuousField extends CompiledField {
+        private final Operand m_operand;
+
+        private final double[] m_orig;
+
+        private final double[] m_norm;
+
+        private final int m_outliers;
+
+        private final double m_mapMissingTo;
+
+        NormContinuousField(final int slot, final DataType type, final Operand operand, final double[] orig,
+            final double[] norm, final int outliers, final double mapMissingTo) {
+            super(slot, type);
+            m_operand = operand;
+            m_orig = orig;
+            m_norm = norm;
+            m_outliers = outliers;
+            m_mapMissingTo = mapMissingTo;
+        }
+
+        @Override
+        void evaluate(final DataRow row, final Frame frame) {
+            if (m_operand.isMissing(row, frame)) {
+                setMissingOrDefault(frame);
+                return;
+            }
+            final double x = m_operand.getDouble(row, frame);
+            if (Double.isNaN(x)) {
+                setMissingOrDefault(frame);
+                return;
+            }
+            final int last = m_orig.length - 1;
+            if (x < m_orig[0] || x > m_orig[last]) {
+                switch (m_outliers) {
+                    case OUTLIERTREATMENTMETHOD.INT_AS_MISSING_VALUES:
+                        setMissingOrDefault(frame);
+                        return;
+                    case OUTLIERTREATMENTMETHOD.INT_AS_EXTREME_VALUES:
+                        frame.setNumber(slot(), x < m_orig[0] ? m_norm[0] : m_norm[last]);
+                        return;
+                    default:
+                        // extrapolate using the first or last segment
+                        final int seg = x < m_orig[0] ? 0 : last - 1;
+                        frame.setNumber(slot(), interpolate(seg, x));
+                        return;
+                }
+            }
+            int pos = Arrays.binarySearch(m_orig, x);
+            if (pos >= 0) {
+                frame.setNumber(slot(), m_norm[pos]);
+            } else {
+                // insertion point - 1 is the start of the segment containing x
+                frame.setNumber(slot(), interpolate(-pos - 2, x));
+            }
+        }
+
+        private double interpolate(final int seg, final double x) {
+            final double x0 = m_orig[seg];
+            final double x1 = m_orig[seg + 1];
+            final double y0 = m_norm[seg];
+            final double y1 = m_norm[seg + 1];
+            return y0 + (x - x0) * (y1 - y0) / (x1 - x0);
+        }
+
+        private void setMissingOrDefault(final Frame frame) {
+            if (Double.isNaN(m_mapMissingTo)) {
+                frame.setMissing(slot());
+            } else {
+                frame.setNumber(slot(), m_mapMissingTo);
+            }
+        }
+    }
+
+    private static final class NormDiscreteField extends CompiledField {
+        private final Operand m_operand;
+
+        private final String m_value;
+
+        private final double m_mapMissingTo;
+
+        NormDiscreteField(final int slot, final DataType type, final Operand operand, final String value,
+            final double mapMissingTo) {
+            super(slot, type);
+            m_operand = operand;
+            m_value = value;
+            m_mapMissingTo = mapMissingTo;
+        }
+
+        @Override
+        void evaluate(final DataRow row, final Frame frame) {
+            if (m_operand.isMissing(row, frame)) {
+                if (Double.isNaN(m_mapMissingTo)) {
+                    frame.setMissing(slot());
+                } else {
+                    frame.setNumber(slot(), m_mapMissingTo);
+                }
+            } else {
+                frame.setNumber(slot(), m_value.equals(m_operand.getString(row, frame)) ? 1.0 : 0.0);
+            }
+        }
+    }
+
+    private static final class DiscretizeField extends CompiledField {
+        private final Operand m_operand;
+
+        private final double[] m_left;
+
+        private final double[] m_right;
+
+        private final boolean[] m_leftClosed;
+
+        private final boolean[] m_rightClosed;
+
+        private final Value[] m_values;
+
+        private final Value m_defaultValue;
+
+        private final Value m_mapMissingTo;
+
+        DiscretizeField(final int slot, final DataType type, final Operand operand, final double[] left,
+            final double[] right, final boolean[] leftClosed, final boolean[] rightClosed, final Value[] values,
+            final Value defaultValue, final Value mapMissingTo) {
+            super(slot, type);
+            m_operand = operand;
+            m_left = left;
+            m_right = right;
+            m_leftClosed = leftClosed;
+            m_rightClosed = rightClosed;
+            m_values = values;
+            m_defaultValue = defaultValue;
+            m_mapMissingTo = mapMissingTo;
+        }
+
+        @Override
+        void evaluate(final DataRow row, final Frame frame) {
+            if (m_operand.isMissing(row, frame)) {
+                frame.setValue(slot(), m_mapMissingTo);
+                return;
+            }
+            final double x = m_operand.getDouble(row, frame);
+            for (int i = 0; i < m_values.length; i++) {
+                final boolean aboveLeft = m_leftClosed[i] ? x >= m_left[i] : x > m_left[i];
+                final boolean belowRight = m_rightClosed[i] ? x <= m_right[i] : x < m_right[i];
+                if (aboveLeft && belowRight) {
+                    frame.setValue(slot(), m_values[i]);
+                    return;
+                }
+            }
+            frame.setValue(slot(), m_defaultValue);
+        }
+    }
+
+    private static final class MapValuesField extends CompiledField {
+        private final Operand[] m_operands;
+
+        private final Map<String, Value> m_table;
+
+        private final Value m_defaultValue;
+
+        private final Value m_mapMissingTo;
+
+        MapValuesField(final int slot, final DataType type, final Operand[] operands, final Map<String, Value> table,
+            final Value defaultValue, final Value mapMissingTo) {
+            super(slot, type);
+            m_operands = operands;
+            m_table = table;
+            m_defaultValue = defaultValue;
+            m_mapMissingTo = mapMissingTo;
+        }
+
+        static String toKey(final String[] values) {
+            return values.length == 1 ? values[0] : String.join("\u0000", values);
+        }
+
+        @Override
+        void evaluate(final DataRow row, final Frame frame) {
+            final String key;
+            if (m_operands.length == 1) {
+                if (m_operands[0].isMissing(row, frame)) {
+                    frame.setValue(slot(), m_mapMissingTo);
+                    return;
+                }
+                key = m_operands[0].getString(row, frame);
+            } else {
+                final String[] values = new String[m_operands.length];
+                for (int i = 0; i < values.length; i++) {
+                    if (m_operands[i].isMissing(row, frame)) {
+                        frame.setValue(slot(), m_mapMissingTo);
+                        return;
+                    }
+                    values[i] = m_operands[i].getString(row, frame);
+                }
+                key = toKey(values);
+            }
+            final Value value = m_table.get(key);
+            frame.setValue(slot(), value != null ? value : m_defaultValue);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.port.pmml.preproc;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.AbstractCellFactory;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.pmml.PMMLPortObject;
+
+/**
+ * Cell factory appending the values of {@link CompiledDerivedFields} to a table, e.g. via a
+ * {@link org.knime.core.data.container.ColumnRearranger}. Rows are independent of each other, hence parallel
+ * processing can be enabled via {@link #setParallelProcessing(boolean)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class DerivedFieldsCellFactory extends AbstractCellFactory {
+
+    private final CompiledDerivedFields m_fields;
+
+    /**
+     * @param fields the compiled derived fields, not null
+     * @see CompiledDerivedFields#createCellFactory()
+     */
+    DerivedFieldsCellFactory(final CompiledDerivedFields fields) {
+        super(fields.getColumnSpecs());
+        m_fields = fields;
+    }
+
+    /**
+     * Compiles the derived fields of the argument PMML and creates a column rearranger appending one column per
+     * derived field to tables with the argument spec. The rows are processed in parallel.
+     *
+     * @param pmml the PMML port object containing the derived fields
+     * @param spec the spec of the table the transformations will be applied to
+     * @return a new column rearranger, to be used with
+     *         {@link org.knime.core.node.ExecutionContext#createColumnRearrangeTable(
+     *         org.knime.core.node.BufferedDataTable, ColumnRearranger, org.knime.core.node.ExecutionMonitor)}
+     * @throws InvalidSettingsException if a field refers to an unknown column or uses an unsupported expression
+     */
+    public static ColumnRearranger createColumnRearranger(final PMMLPortObject pmml, final DataTableSpec spec)
+        throws InvalidSettingsException {
+        final DerivedFieldsCellFactory factory = CompiledDerivedFields.compile(pmml, spec).createCellFactory();
+        factory.setParallelProcessing(true);
+        final ColumnRearranger rearranger = new ColumnRearranger(spec);
+        rearranger.append(factory);
+        return rearranger;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataCell[] getCells(final DataRow row) {
+        return m_fields.apply(row);
+    }
+
+}
@@ -93,6 +93,17 @@ public DataRow poll() throws InterruptedException {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int poll(final DataRow[] buffer) throws InterruptedException {
+        final RowIterator iterator = m_iterator;
+        int count = 0;
+        while (count < buffer.length && iterator.hasNext()) {
+            buffer[count++] = iterator.next();
+        }
+        return count;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {
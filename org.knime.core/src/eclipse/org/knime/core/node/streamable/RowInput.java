@@ -83,6 +83,41 @@ public abstract class RowInput extends PortInput {
      */
     public abstract DataRow poll() throws InterruptedException;
 
+    /**
+     * Gets the next rows from the input stream and puts them into the argument buffer, starting at index 0. The
+     * call blocks until at least one row is available or the end of the stream has been reached; it may return
+     * fewer rows than the buffer can hold also if the stream has not ended. Implementations must not keep a
+     * reference to the buffer, so that the caller can reuse it:
+     *
+     * <pre>
+     * DataRow[] buffer = new DataRow[128];
+     * int count;
+     * while ((count = rowInput.poll(buffer)) > 0) {
+     *     for (int i = 0; i &lt; count; i++) {
+     *         // do something with buffer[i]
+     *     }
+     * }
+     * rowInput.close();
+     * </pre>
+     *
+     * The default implementation calls {@link #poll()} once and hence returns at most one row, as it can't tell whether
+     * further rows are available without blocking. Implementations that know which rows are available (e.g. backed
+     * by a queue or an iterator) should override it to hand over several rows in one go.
+     *
+     * @param buffer the non-empty array to fill
+     * @return the number of rows put into the buffer, 0 if the end of the stream has been reached
+     * @throws InterruptedException If canceled.
+     * @since 4.2
+     */
+    public int poll(final DataRow[] buffer) throws InterruptedException {
+        final DataRow row = poll();
+        if (row == null) {
+            return 0;
+        }
+        buffer[0] = row;
+        return 1;
+    }
+
     /** Indicates that no more input is needed. Upstream nodes may stop
      * generating data (unless there are other consumers). */
     public abstract void close();
@@ -69,6 +69,24 @@ public abstract class RowOutput extends PortOutput {
      */
     public abstract void push(final DataRow row) throws InterruptedException;
 
+    /**
+     * Adds the first <code>count</code> rows of the argument array to the output, in order. Implementations must not
+     * keep a reference to the array, so that the caller can reuse it. The default implementation calls
+     * {@link #push(DataRow)} for each row; implementations for which each call causes a hand-over to another
+     * thread should override it.
+     *
+     * @param rows the rows to add
+     * @param count the number of rows to add from the start of the array
+     * @throws InterruptedException If canceled.
+     * @throws OutputClosedException If no consumer is to consume the generated output.
+     * @since 4.2
+     */
+    public void push(final DataRow[] rows, final int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            push(rows[i]);
+        }
+    }
+
     /** Fully sets the table and closes the output. Only valid to call if no other rows were added previously through
      * {@link #push(DataRow)}.
      * @param table The non-null table to set.
@@ -49,11 +49,13 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CacheableNodeModel;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
@@ -71,10 +73,16 @@
  * Abstract definition of a node that applies a simple function using a {@link ColumnRearranger}. Each input row is
  * mapped to an output row.
  *
+ * <p>
+ * The output is a function of the input and the settings, hence the node is subject to the node output cache (see
+ * {@link CacheableNodeModel}). Subclasses whose function isn't deterministic override
+ * {@link #isOutputCacheable()} to return <code>false</code>.
+ *
  * @author Bernd Wiswedel, KNIME AG, Zurich, Switzerland
  * @since 2.6
  */
-public abstract class SimpleStreamableFunctionNodeModel extends NodeModel implements StreamableFunctionProducer {
+public abstract class SimpleStreamableFunctionNodeModel extends NodeModel
+    implements StreamableFunctionProducer, CacheableNodeModel {
 
     private int m_streamableInPortIdx;
     private int m_streamableOutPortIdx;
@@ -168,6 +176,57 @@ public OutputPortRole[] getOutputPortRoles() {
     protected abstract ColumnRearranger createColumnRearranger(final DataTableSpec spec)
         throws InvalidSettingsException;
 
+    /**
+     * Returns the rearranger that is used in the default {@link #execute(BufferedDataTable[], ExecutionContext)
+     * execute} method, allowing the framework to apply it together with the rearrangers of neighboring nodes in a
+     * single pass over the data. Returns <code>null</code> if this node has more than one input or output, if the
+     * execute method is overwritten, or if the spec lacks the domain of some columns and the node is not
+     * {@link #isDomainIndependent() domain independent}; in these cases the node must be executed as usual.
+     *
+     * @param spec The spec of the input table.
+     * @param isDomainKnown Whether the spec carries the domain of all columns. This is not the case for columns that
+     *            are computed in the same pass over the data, their domain is only known afterwards.
+     * @return The rearranger or null if the node can't be fused with other nodes.
+     * @throws InvalidSettingsException If the settings or the input are invalid.
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public final ColumnRearranger getFusableColumnRearranger(final DataTableSpec spec, final boolean isDomainKnown)
+        throws InvalidSettingsException {
+        if (getNrInPorts() != 1 || getNrOutPorts() != 1 || overridesExecute()
+            || !(isDomainKnown || isDomainIndependent())) {
+            return null;
+        }
+        return createColumnRearranger(spec);
+    }
+
+    /**
+     * Whether the rearranger returned by {@link #createColumnRearranger(DataTableSpec)} only depends on the names and
+     * types of the input columns but not on their domain (bounds or possible values). Only such nodes are applied in
+     * the same pass over the data as their predecessor, see
+     * {@link #getFusableColumnRearranger(DataTableSpec, boolean)}. The default implementation returns
+     * <code>true</code>; subclasses that read the domain (for instance to determine bounds or the possible values of
+     * an output column) must overwrite this method and return <code>false</code>.
+     *
+     * @return true if the rearranger does not make use of the domain of the input columns
+     * @since 4.2
+     */
+    protected boolean isDomainIndependent() {
+        return true;
+    }
+
+    private boolean overridesExecute() {
+        for (Class<?> c = getClass(); c != SimpleStreamableFunctionNodeModel.class; c = c.getSuperclass()) {
+            for (Method m : c.getDeclaredMethods()) {
+                if ("execute".equals(m.getName()) && m.getParameterCount() == 2
+                    && m.getParameterTypes()[1] == ExecutionContext.class) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * @return the streamableInPortIdx
      * @since 3.1
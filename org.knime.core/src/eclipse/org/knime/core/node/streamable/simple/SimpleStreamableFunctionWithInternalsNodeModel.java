@@ -214,4 +214,13 @@ public StreamableOperatorInternals mergeFinal(final StreamableOperatorInternals[
         };
     }
 
+    /**
+     * Returns <code>false</code> as the internals (e.g. view content) aren't restored from the node output cache.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOutputCacheable() {
+        return false;
+    }
+
 }
@@ -239,7 +239,7 @@ public IllegalOptionException(final String message, final Throwable cause) {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BatchExecutor.class);
 
-    private static class Option {
+    static class Option {
         private final int[] m_nodeIDs;
 
         private final String m_name;
@@ -262,6 +262,12 @@ private static class Option {
             m_value = value;
             m_type = type;
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return Arrays.toString(m_nodeIDs) + " " + m_name + "=" + m_value + " (" + m_type + ")";
+        }
     }
 
     /**
@@ -390,6 +396,44 @@ protected static class WorkflowConfiguration {
         /** A collection of node options. */
         public final Collection<Option> nodeOptions = new ArrayList<BatchExecutor.Option>();
 
+        /**
+         * If the workflow should stay loaded and execute requests, see {@link ResidentBatchService}.
+         *
+         * @since 4.2
+         */
+        public boolean resident;
+
+        /**
+         * The local port on which requests are accepted in resident mode, -1 to read requests from standard input.
+         *
+         * @since 4.2
+         */
+        public int residentPort = -1;
+
+        /**
+         * The number of copies of the workflow kept loaded in resident mode, i.e. the number of requests executed
+         * concurrently.
+         *
+         * @since 4.2
+         */
+        public int residentCopies = 1;
+
+        /**
+         * If nodes whose settings and variables don't change keep their results from earlier requests in resident
+         * mode. Otherwise, and if {@link #reset} is set, the entire workflow is reset before each request.
+         *
+         * @since 4.2
+         */
+        public boolean residentKeepResults;
+
+        /**
+         * The file to which the token is written that connections must send before requests in resident mode with a
+         * port, <code>null</code> for a file in the KNIME temp directory.
+         *
+         * @since 4.2
+         */
+        public File residentTokenFile;
+
         /** The (temporary) workflow location which should be used to load the workflow. */
         File workflowLocation;
     }
@@ -591,6 +635,34 @@ protected void handleCommandlineArgument(final String[] parts, final String s, f
             String type = parts2[3];
 
             config.nodeOptions.add(new Option(nodeIDs, optionName, value, type));
+        } else if ("-resident".equals(parts[0])) {
+            config.resident = true;
+            if (parts.length > 1) {
+                try {
+                    config.residentPort = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException ex) {
+                    throw new IllegalOptionException("Couldn't parse -resident argument: " + s, ex);
+                }
+                if (config.residentPort < 0 || config.residentPort > 65535) {
+                    throw new IllegalOptionException("Invalid port in -resident argument: " + s);
+                }
+            }
+        } else if ("-residentCopies".equals(parts[0])) {
+            try {
+                config.residentCopies = Integer.parseInt(parts.length == 2 ? parts[1] : "");
+            } catch (NumberFormatException ex) {
+                throw new IllegalOptionException("Couldn't parse -residentCopies argument: " + s, ex);
+            }
+            if (config.residentCopies < 1) {
+                throw new IllegalOptionException("Number of resident copies must be positive: " + s);
+            }
+        } else if ("-residentKeepResults".equals(parts[0])) {
+            config.residentKeepResults = true;
+        } else if ("-residentTokenFile".equals(parts[0])) {
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalOptionException("Couldn't parse -residentTokenFile argument: " + s);
+            }
+            config.residentTokenFile = new File(parts[1]);
         } else if (!IGNORED_ARGUMENTS.contains(parts[0].toLowerCase())) {
             throw new IllegalOptionException("Unknown option '" + parts[0] + "'");
         }
@@ -626,7 +698,20 @@ public static String getOptionsString() {
                 + "                      if omitted the workflow is only saved in place\n"
                 + " -workflow.variable=name,value,type => define or overwrite workflow variable\n"
                 + "                      'name' with value 'value' (possibly enclosed by quotes). The\n"
-                + "                      'type' must be one of \"String\", \"int\" or \"double\".";
+                + "                      'type' must be one of \"String\", \"int\" or \"double\".\n"
+                + " -resident[=port]  => keep the workflow loaded and execute it once per request;\n"
+                + "                      requests are lines with -workflow.variable and -option\n"
+                + "                      arguments read from standard input or, if a port is given,\n"
+                + "                      from connections to that port on the loopback interface,\n"
+                + "                      which must send the token from the token file first\n"
+                + " -residentCopies=n => number of workflow copies kept loaded in resident mode,\n"
+                + "                      i.e. number of requests executed concurrently (default 1)\n"
+                + " -residentKeepResults => in resident mode, only reset nodes affected by a request's\n"
+                + "                      options and variables instead of the entire workflow;\n"
+                + "                      ignored if -reset is given\n"
+                + " -residentTokenFile=... => file the token for connections in resident mode is\n"
+                + "                      written to, readable by the current user only (default:\n"
+                + "                      resident-batch-<port>.token in the KNIME temp directory)";
     }
 
     /**
@@ -925,6 +1010,9 @@ private int runOne(final WorkflowConfiguration config) {
             LOGGER.error("Unknown or wrong option: " + ex.getMessage());
             return EXIT_ERR_PRESTART;
         }
+        if (config.resident) {
+            return new ResidentBatchService(this, config).run(wfm);
+        }
         boolean sucessful;
         try {
             try {
@@ -967,71 +1055,97 @@ private int runOne(final WorkflowConfiguration config) {
     private static void setNodeOptions(final Collection<Option> options, final WorkflowManager wfm)
             throws InvalidSettingsException, IllegalOptionException {
         for (Option o : options) {
-            int[] idPath = o.m_nodeIDs;
-            NodeID subID = new NodeID(wfm.getID(), idPath[0]);
-            NodeContainer cont = null;
-            try {
-                cont = wfm.getNodeContainer(subID);
-                for (int i = 1; i < idPath.length; i++) {
-                    if (cont instanceof WorkflowManager) {
-                        WorkflowManager subWM = (WorkflowManager)cont;
-                        subID = new NodeID(subID, idPath[i]);
-                        cont = subWM.getNodeContainer(subID);
-                    } else {
-                        cont = null;
-                    }
-                }
-            } catch (IllegalArgumentException ex) {
-                // throw by getNodeContainer if no node with the id exists
-                cont = null;
-            }
+            NodeContainer cont = findNode(o, wfm);
             if (cont == null) {
-                LOGGER.warn("No node with id " + Arrays.toString(idPath) + " found.");
+                LOGGER.warn("No node with id " + Arrays.toString(o.m_nodeIDs) + " found.");
             } else {
                 WorkflowManager parent = cont.getParent();
                 NodeSettings settings = new NodeSettings("something");
                 parent.saveNodeSettings(cont.getID(), settings);
-                NodeSettings model = settings.getNodeSettings(Node.CFG_MODEL);
-                String[] splitName = o.m_name.split("/");
-                String name = splitName[splitName.length - 1];
-                String[] pathElements = new String[splitName.length - 1];
-                System.arraycopy(splitName, 0, pathElements, 0, pathElements.length);
-                for (String s : pathElements) {
-                    model = model.getNodeSettings(s);
-                }
+                applyOption(o, settings);
+                parent.loadNodeSettings(cont.getID(), settings);
+            }
+        }
+    }
 
-                if ("int".equals(o.m_type)) {
-                    model.addInt(name, Integer.parseInt(o.m_value));
-                } else if ("long".equals(o.m_type)) {
-                    model.addLong(name, Long.parseLong(o.m_value));
-                } else if ("short".equals(o.m_type)) {
-                    model.addShort(name, Short.parseShort(o.m_value));
-                } else if ("byte".equals(o.m_type)) {
-                    model.addByte(name, Byte.parseByte(o.m_value));
-                } else if ("boolean".equals(o.m_type)) {
-                    model.addBoolean(name, Boolean.parseBoolean(o.m_value));
-                } else if ("char".equals(o.m_type)) {
-                    model.addChar(name, o.m_value.charAt(0));
-                } else if ("float".equals(o.m_type) || ("double".equals(o.m_type))) {
-                    model.addDouble(name, Double.parseDouble(o.m_value));
-                } else if ("String".equals(o.m_type)) {
-                    model.addString(name, o.m_value);
-                } else if ("StringCell".equals(o.m_type)) {
-                    model.addDataCell(name, new StringCell(o.m_value));
-                } else if ("DoubleCell".equals(o.m_type)) {
-                    double d = Double.parseDouble(o.m_value);
-                    model.addDataCell(name, new DoubleCell(d));
-                } else if ("IntCell".equals(o.m_type)) {
-                    int i = Integer.parseInt(o.m_value);
-                    model.addDataCell(name, new IntCell(i));
-                } else if ("LongCell".equals(o.m_type)) {
-                    long i = Long.parseLong(o.m_value);
-                    model.addDataCell(name, new LongCell(i));
+    /**
+     * Returns the node an option refers to.
+     *
+     * @param o the option
+     * @param wfm the workflow
+     * @return the node or <code>null</code> if there is no such node
+     */
+    static NodeContainer findNode(final Option o, final WorkflowManager wfm) {
+        int[] idPath = o.m_nodeIDs;
+        NodeID subID = new NodeID(wfm.getID(), idPath[0]);
+        NodeContainer cont = null;
+        try {
+            cont = wfm.getNodeContainer(subID);
+            for (int i = 1; i < idPath.length; i++) {
+                if (cont instanceof WorkflowManager) {
+                    WorkflowManager subWM = (WorkflowManager)cont;
+                    subID = new NodeID(subID, idPath[i]);
+                    cont = subWM.getNodeContainer(subID);
                 } else {
-                    throw new IllegalOptionException("Unknown option type for " + o.m_name + ": " + o.m_type);
+                    cont = null;
                 }
-                parent.loadNodeSettings(cont.getID(), settings);
             }
+        } catch (IllegalArgumentException ex) {
+            // throw by getNodeContainer if no node with the id exists
+            cont = null;
+        }
+        return cont;
+    }
+
+    /**
+     * Sets the value of an option in the node settings.
+     *
+     * @param o the option
+     * @param settings the settings of the node as saved by {@link WorkflowManager#saveNodeSettings(NodeID,
+     *            org.knime.core.node.NodeSettingsWO)}
+     * @throws InvalidSettingsException if the settings don't contain the option's parent config
+     * @throws IllegalOptionException if the option type is unknown
+     */
+    static void applyOption(final Option o, final NodeSettings settings)
+            throws InvalidSettingsException, IllegalOptionException {
+        NodeSettings model = settings.getNodeSettings(Node.CFG_MODEL);
+        String[] splitName = o.m_name.split("/");
+        String name = splitName[splitName.length - 1];
+        String[] pathElements = new String[splitName.length - 1];
+        System.arraycopy(splitName, 0, pathElements, 0, pathElements.length);
+        for (String s : pathElements) {
+            model = model.getNodeSettings(s);
+        }
+
+        if ("int".equals(o.m_type)) {
+            model.addInt(name, Integer.parseInt(o.m_value));
+        } else if ("long".equals(o.m_type)) {
+            model.addLong(name, Long.parseLong(o.m_value));
+        } else if ("short".equals(o.m_type)) {
+            model.addShort(name, Short.parseShort(o.m_value));
+        } else if ("byte".equals(o.m_type)) {
+            model.addByte(name, Byte.parseByte(o.m_value));
+        } else if ("boolean".equals(o.m_type)) {
+            model.addBoolean(name, Boolean.parseBoolean(o.m_value));
+        } else if ("char".equals(o.m_type)) {
+            model.addChar(name, o.m_value.charAt(0));
+        } else if ("float".equals(o.m_type) || ("double".equals(o.m_type))) {
+            model.addDouble(name, Double.parseDouble(o.m_value));
+        } else if ("String".equals(o.m_type)) {
+            model.addString(name, o.m_value);
+        } else if ("StringCell".equals(o.m_type)) {
+            model.addDataCell(name, new StringCell(o.m_value));
+        } else if ("DoubleCell".equals(o.m_type)) {
+            double d = Double.parseDouble(o.m_value);
+            model.addDataCell(name, new DoubleCell(d));
+        } else if ("IntCell".equals(o.m_type)) {
+            int i = Integer.parseInt(o.m_value);
+            model.addDataCell(name, new IntCell(i));
+        } else if ("LongCell".equals(o.m_type)) {
+            long i = Long.parseLong(o.m_value);
+            model.addDataCell(name, new LongCell(i));
+        } else {
+            throw new IllegalOptionException("Unknown option type for " + o.m_name + ": " + o.m_type);
         }
     }
 
@@ -1256,5 +1370,9 @@ protected void checkConfiguration(final WorkflowConfiguration config) throws Ill
         if (config.inputWorkflow == null) {
             throw new IllegalOptionException("No workflow file or directory given.");
         }
+        if (config.resident && ((config.outputFile != null) || (config.outputDir != null))) {
+            throw new IllegalOptionException("Resident mode doesn't save the workflow, -destFile and -destDir are "
+                + "not supported.");
+        }
     }
 }
@@ -132,7 +132,7 @@ public boolean executionInProgress() {
         }
     };
 
-    private InternalNodeContainerState m_state;
+    private volatile InternalNodeContainerState m_state;
 
     private final NodeID m_id;
 
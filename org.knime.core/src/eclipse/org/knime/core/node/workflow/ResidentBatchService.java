@@ -0,0 +1,589 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.workflow.BatchExecutor.BatchException;
+import org.knime.core.node.workflow.BatchExecutor.IllegalOptionException;
+import org.knime.core.node.workflow.BatchExecutor.Option;
+import org.knime.core.node.workflow.BatchExecutor.WorkflowConfiguration;
+import org.knime.core.util.FileUtil;
+import org.knime.core.util.tokenizer.Tokenizer;
+import org.knime.core.util.tokenizer.TokenizerSettings;
+
+/**
+ * Resident mode of the {@link BatchExecutor} (option <tt>-resident</tt>). The workflow is loaded once (or several
+ * times, see <tt>-residentCopies</tt>) and then executed once per request, avoiding the start-up and load time of a
+ * new batch executor process for every run.
+ *
+ * <p>
+ * A request is a single line containing <tt>-workflow.variable</tt> and <tt>-option</tt> arguments, separated by
+ * blanks (arguments containing blanks can be enclosed in double quotes). Requests are read from standard input or, if a
+ * port is given, from up to {@value #MAX_CONNECTIONS} concurrent connections to that port on the loopback interface.
+ * As any local user can connect to the port, the first line of a connection must be a secret token, which is generated
+ * at startup and written to a file only the current user can read (<tt>-residentTokenFile</tt>); connections sending
+ * a wrong token are answered with request number 0 and closed.
+ * Each request is answered with a line <tt>RESULT&lt;tab&gt;request number&lt;tab&gt;exit code&lt;tab&gt;message</tt>,
+ * the request number counting the requests of the input stream or connection starting at 1. As requests of one
+ * stream may be executed concurrently, the answers are not necessarily in request order. Connections exceeding the
+ * maximum are answered with request number 0 and closed. The line <tt>quit</tt> shuts the service down; so does the
+ * end of standard input. If requests are read from standard input, standard output only contains the answers, log
+ * messages and other output are written to standard error instead.
+ *
+ * <p>
+ * Variables and options of a request are applied to the state of the workflow as loaded, i.e. values set by earlier
+ * requests are reverted if not given again. By default, the entire workflow is reset before each request. With
+ * <tt>-residentKeepResults</tt> only the nodes whose settings change are reset (together with their successors);
+ * changed workflow variables reset the entire workflow as it is unknown which nodes use them. Nodes that are unaffected
+ * keep their results from earlier requests then. <tt>-reset</tt>, given on the command line or in a request, always
+ * resets the entire workflow. The workflow is never saved.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ResidentBatchService {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ResidentBatchService.class);
+
+    private static final String QUIT = "quit";
+
+    /** The maximum number of connections served concurrently. */
+    static final int MAX_CONNECTIONS = 32;
+
+    /** The time in ms a connection may take to send the token. */
+    private static final int AUTHENTICATION_TIMEOUT = 30000;
+
+    private final BatchExecutor m_executor;
+
+    private final WorkflowConfiguration m_config;
+
+    private final BlockingQueue<WorkflowCopy> m_copies;
+
+    private final List<File> m_tempDirs = new ArrayList<>();
+
+    private volatile boolean m_isShutdown;
+
+    private ServerSocket m_serverSocket;
+
+    private final Set<Socket> m_openSockets = ConcurrentHashMap.newKeySet();
+
+    /** The token connections must send first, set before connections are accepted. */
+    private byte[] m_token;
+
+    /**
+     * @param executor the executor, used to parse requests and to load and execute the workflow
+     * @param config the configuration given on the command line
+     */
+    ResidentBatchService(final BatchExecutor executor, final WorkflowConfiguration config) {
+        m_executor = executor;
+        m_config = config;
+        m_copies = new ArrayBlockingQueue<>(config.residentCopies);
+    }
+
+    /**
+     * Loads the remaining copies and serves requests until shut down.
+     *
+     * @param wfm the first copy of the workflow, already loaded
+     * @return the exit code
+     */
+    int run(final WorkflowManager wfm) {
+        final List<WorkflowManager> loaded = new ArrayList<>();
+        loaded.add(wfm);
+        try {
+            for (int i = 1; i < m_config.residentCopies; i++) {
+                loaded.add(loadCopy());
+            }
+        } catch (Exception ex) {
+            LOGGER.error("Error while loading copy " + (loaded.size() + 1) + " of the workflow: " + ex.getMessage(),
+                ex);
+            unload(loaded);
+            return BatchExecutor.EXIT_ERR_LOAD;
+        }
+        loaded.forEach(w -> m_copies.add(new WorkflowCopy(w)));
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(m_config.residentCopies,
+            r -> new Thread(r, "KNIME-Resident-Batch-Executor-" + threadCount.incrementAndGet()));
+        try {
+            if (m_config.residentPort < 0) {
+                serveStandardInput(pool);
+            } else {
+                acceptConnections(pool);
+            }
+            return BatchExecutor.EXIT_SUCCESS;
+        } catch (IOException ex) {
+            LOGGER.error("I/O error in resident batch executor: " + ex.getMessage(), ex);
+            return BatchExecutor.EXIT_ERR_EXECUTION;
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            unload(loaded);
+        }
+    }
+
+    /** Loads another copy of the workflow from a copy of the workflow directory. */
+    private WorkflowManager loadCopy() throws Exception {
+        final File dir = FileUtil.createTempDir("BatchExecutorResident");
+        m_tempDirs.add(dir);
+        final File workflowDir = new File(dir, m_config.workflowLocation.getName());
+        FileUtil.copyDir(m_config.workflowLocation, workflowDir);
+        final File inputWorkflow = m_config.inputWorkflow;
+        final File workflowLocation = m_config.workflowLocation;
+        m_config.inputWorkflow = workflowDir;
+        try {
+            return m_executor.loadWorkflow(m_config);
+        } finally {
+            m_config.inputWorkflow = inputWorkflow;
+            m_config.workflowLocation = workflowLocation;
+        }
+    }
+
+    private void unload(final List<WorkflowManager> loaded) {
+        for (WorkflowManager w : loaded) {
+            try {
+                w.getParent().removeProject(w.getID());
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Unable to unload workflow copy: " + ex.getMessage(), ex);
+            }
+        }
+        m_tempDirs.forEach(FileUtil::deleteRecursively);
+    }
+
+    /** Serves requests from standard input, keeping standard output free for the answers while doing so. */
+    private void serveStandardInput(final ExecutorService pool) throws IOException {
+        final PrintStream stdout = System.out;
+        NodeLogger.redirectStdoutAppender(true);
+        System.setOut(System.err);
+        try {
+            LOGGER.info("Resident batch executor ready, reading requests from standard input");
+            serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                new PrintWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8), true), pool);
+        } finally {
+            System.setOut(stdout);
+            NodeLogger.redirectStdoutAppender(false);
+        }
+    }
+
+    private void acceptConnections(final ExecutorService pool) throws IOException {
+        try (ServerSocket serverSocket =
+            new ServerSocket(m_config.residentPort, 50, InetAddress.getLoopbackAddress())) {
+            synchronized (this) {
+                m_serverSocket = serverSocket;
+            }
+            final File tokenFile = m_config.residentTokenFile != null ? m_config.residentTokenFile : new File(
+                KNIMEConstants.getKNIMETempDir(), "resident-batch-" + serverSocket.getLocalPort() + ".token");
+            m_token = createToken();
+            writeTokenFile(tokenFile, m_token);
+            try {
+                LOGGER.info("Resident batch executor ready, accepting requests on port " + serverSocket.getLocalPort()
+                    + ", token written to \"" + tokenFile.getAbsolutePath() + "\"");
+                serveConnections(serverSocket, pool);
+            } finally {
+                Files.deleteIfExists(tokenFile.toPath());
+            }
+        }
+    }
+
+    private void serveConnections(final ServerSocket serverSocket, final ExecutorService pool) throws IOException {
+        final AtomicInteger connectionCount = new AtomicInteger();
+        final ThreadPoolExecutor connectionPool = new ThreadPoolExecutor(0, MAX_CONNECTIONS, 60,
+            TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                final Thread thread =
+                    new Thread(r, "KNIME-Resident-Batch-Connection-" + connectionCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            while (!m_isShutdown) {
+                final Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (IOException ex) {
+                    if (m_isShutdown) {
+                        break;
+                    }
+                    throw ex;
+                }
+                try {
+                    connectionPool.execute(() -> serveConnection(socket, pool));
+                } catch (RejectedExecutionException ex) {
+                    rejectConnection(socket);
+                }
+            }
+        } finally {
+            closeInputs();
+            connectionPool.shutdown();
+            try {
+                connectionPool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void serveConnection(final Socket socket, final ExecutorService pool) {
+        m_openSockets.add(socket);
+        try (Socket s = socket) {
+            if (m_isShutdown) {
+                return;
+            }
+            final BufferedReader in =
+                new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+            final PrintWriter out = new PrintWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8),
+                true);
+            if (authenticate(s, in)) {
+                serve(in, out, pool);
+            } else if (!m_isShutdown) {
+                LOGGER.warn("Rejecting connection to resident batch executor, wrong or no token sent");
+                out.println("RESULT\t0\t" + BatchExecutor.EXIT_ERR_PRESTART + "\tAuthentication failed");
+            }
+        } catch (IOException ex) {
+            LOGGER.debug("Connection to resident batch executor closed: " + ex.getMessage(), ex);
+        } finally {
+            m_openSockets.remove(socket);
+        }
+    }
+
+    /** Reads the first line of a connection, which must be the token. */
+    private boolean authenticate(final Socket socket, final BufferedReader in) throws IOException {
+        final String line;
+        socket.setSoTimeout(AUTHENTICATION_TIMEOUT);
+        try {
+            line = in.readLine();
+        } catch (SocketTimeoutException ex) {
+            return false;
+        }
+        socket.setSoTimeout(0);
+        return line != null && MessageDigest.isEqual(m_token, line.trim().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] createToken() {
+        final byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return Base64.getUrlEncoder().withoutPadding().encode(random);
+    }
+
+    /** Writes the token to a new file that only the current user can read. */
+    private static void writeTokenFile(final File file, final byte[] token) throws IOException {
+        final Path path = file.toPath();
+        Files.deleteIfExists(path);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(path);
+            final File f = path.toFile();
+            if (!(f.setReadable(false, false) && f.setReadable(true, true) && f.setWritable(false, false)
+                && f.setWritable(true, true))) {
+                LOGGER.warn("Unable to restrict access to token file \"" + file.getAbsolutePath() + "\"");
+            }
+        }
+        Files.write(path, token);
+    }
+
+    private static void rejectConnection(final Socket socket) {
+        LOGGER.warn("Rejecting connection to resident batch executor, the maximum of " + MAX_CONNECTIONS
+            + " connections is reached");
+        try (Socket s = socket; PrintWriter out =
+            new PrintWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            out.println("RESULT\t0\t" + BatchExecutor.EXIT_ERR_PRESTART + "\tToo many connections");
+        } catch (IOException ex) {
+            LOGGER.debug("Unable to answer rejected connection: " + ex.getMessage(), ex);
+        }
+    }
+
+    /** Ends reading from all open connections, requests already read are still answered. */
+    private void closeInputs() {
+        for (Socket socket : m_openSockets) {
+            try {
+                socket.shutdownInput();
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to close connection input: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Reads requests from the reader, executes them in the pool and writes the answers. Returns when the stream ends
+     * or the service is shut down and all requests of the stream are answered.
+     */
+    private void serve(final BufferedReader in, final PrintWriter out, final ExecutorService pool) throws IOException {
+        final List<Future<?>> pending = new ArrayList<>();
+        int requestCount = 0;
+        String line;
+        while (!m_isShutdown && (line = in.readLine()) != null) {
+            final String request = line.trim();
+            if (request.isEmpty()) {
+                continue;
+            }
+            if (QUIT.equals(request)) {
+                shutdown();
+                break;
+            }
+            final int requestNumber = ++requestCount;
+            // answered requests are done, only the ones still running are waited for at the end
+            pending.removeIf(Future::isDone);
+            pending.add(pool.submit(() -> {
+                final String answer = handleRequest(request);
+                synchronized (out) {
+                    out.println("RESULT\t" + requestNumber + "\t" + answer);
+                }
+            }));
+        }
+        for (Future<?> f : pending) {
+            try {
+                f.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ex) {
+                LOGGER.error("Unexpected error while handling request: " + ex.getCause().getMessage(), ex.getCause());
+            }
+        }
+    }
+
+    private synchronized void shutdown() {
+        LOGGER.info("Shutting down resident batch executor");
+        m_isShutdown = true;
+        if (m_serverSocket != null) {
+            try {
+                m_serverSocket.close();
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to close server socket: " + ex.getMessage(), ex);
+            }
+        }
+        closeInputs();
+    }
+
+    /** Executes a single request, returns the exit code and a message separated by a tab. */
+    private String handleRequest(final String request) {
+        final WorkflowConfiguration requestConfig;
+        try {
+            requestConfig = parseRequest(request);
+        } catch (Exception ex) {
+            LOGGER.error("Invalid request '" + request + "': " + ex.getMessage(), ex);
+            return BatchExecutor.EXIT_ERR_PRESTART + "\t" + ex.getMessage();
+        }
+        final WorkflowCopy copy;
+        try {
+            copy = m_copies.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return BatchExecutor.EXIT_ERR_EXECUTION + "\tInterrupted";
+        }
+        final long start = System.currentTimeMillis();
+        try {
+            copy.apply(requestConfig, m_config.reset || requestConfig.reset || !m_config.residentKeepResults);
+            final boolean successful = m_executor.executeWorkflow(copy.m_wfm, m_config);
+            final String time = (System.currentTimeMillis() - start) + "ms";
+            return successful ? (BatchExecutor.EXIT_SUCCESS + "\tExecuted in " + time)
+                : (BatchExecutor.EXIT_ERR_EXECUTION + "\tExecution failed after " + time);
+        } catch (InvalidSettingsException | IllegalOptionException ex) {
+            LOGGER.error("Unable to apply request '" + request + "': " + ex.getMessage(), ex);
+            return BatchExecutor.EXIT_ERR_PRESTART + "\t" + ex.getMessage();
+        } catch (CanceledExecutionException ex) {
+            LOGGER.warn("Workflow execution canceled");
+            return BatchExecutor.EXIT_ERR_EXECUTION + "\tCanceled";
+        } catch (BatchException ex) {
+            LOGGER.error("Workflow execution failed: " + ex.getMessage(), ex.getCause());
+            return ex.getDetailCode() + "\t" + ex.getMessage();
+        } catch (RuntimeException ex) {
+            LOGGER.error("Workflow execution failed: " + ex.getMessage(), ex);
+            return BatchExecutor.EXIT_ERR_EXECUTION + "\t" + ex.getMessage();
+        } finally {
+            m_copies.add(copy);
+        }
+    }
+
+    /** Parses the arguments of a request; only workflow variables, node options and reset are allowed. */
+    private WorkflowConfiguration parseRequest(final String request) throws Exception {
+        final Tokenizer tokenizer = new Tokenizer(new StringReader(request));
+        final TokenizerSettings settings = new TokenizerSettings();
+        settings.addQuotePattern("\"", "\"", '\\');
+        settings.addDelimiterPattern(" ", /* combine multiple= */true, /* return as token= */false,
+            /* include in token= */false);
+        tokenizer.setSettings(settings);
+        final WorkflowConfiguration config = m_executor.createNewConfiguration();
+        String token;
+        while ((token = tokenizer.nextToken()) != null) {
+            final String[] parts = token.split("=", 2);
+            if (!"-workflow.variable".equals(parts[0]) && !"-option".equals(parts[0])
+                && !"-reset".equals(parts[0])) {
+                throw new IllegalOptionException("Option '" + parts[0] + "' is not supported in requests");
+            }
+            m_executor.handleCommandlineArgument(parts, token, config);
+        }
+        return config;
+    }
+
+    /** A loaded copy of the workflow together with its state as loaded. */
+    private static final class WorkflowCopy {
+
+        private final WorkflowManager m_wfm;
+
+        private final Map<String, FlowVariable> m_originalVariables = new LinkedHashMap<>();
+
+        /** Settings of nodes as loaded, for all nodes whose settings have been changed by a request. */
+        private final Map<NodeID, NodeSettings> m_originalSettings = new HashMap<>();
+
+        WorkflowCopy(final WorkflowManager wfm) {
+            m_wfm = wfm;
+            wfm.getWorkflowVariables().forEach(v -> m_originalVariables.put(v.getName(), v));
+        }
+
+        /**
+         * Sets the variables and options of the request, reverting the ones of earlier requests.
+         *
+         * @param resetAll whether to reset the entire workflow, otherwise only the nodes affected by changes
+         */
+        void apply(final WorkflowConfiguration request, final boolean resetAll)
+            throws InvalidSettingsException, IllegalOptionException {
+            applyVariables(request);
+            applyOptions(request);
+            if (resetAll) {
+                m_wfm.resetAndConfigureAll();
+            }
+        }
+
+        private void applyVariables(final WorkflowConfiguration request) {
+            final Map<String, FlowVariable> target = new LinkedHashMap<>(m_originalVariables);
+            request.flowVariables.forEach(v -> target.put(v.getName(), v));
+            final Map<String, FlowVariable> current = new LinkedHashMap<>();
+            m_wfm.getWorkflowVariables().forEach(v -> current.put(v.getName(), v));
+            if (!target.equals(current)) {
+                LOGGER.debug("Workflow variables changed, resetting workflow");
+                current.keySet().stream().filter(name -> !target.containsKey(name))
+                    .forEach(m_wfm::removeWorkflowVariable);
+                m_wfm.addWorkflowVariables(false, target.values().toArray(new FlowVariable[target.size()]));
+            }
+        }
+
+        private void applyOptions(final WorkflowConfiguration request)
+            throws InvalidSettingsException, IllegalOptionException {
+            // target settings: as loaded plus the request's options
+            final Map<NodeID, NodeSettings> target = new LinkedHashMap<>();
+            for (NodeID id : m_originalSettings.keySet()) {
+                target.put(id, copy(m_originalSettings.get(id)));
+            }
+            for (Option o : request.nodeOptions) {
+                final NodeContainer cont = BatchExecutor.findNode(o, m_wfm);
+                if (cont == null) {
+                    throw new IllegalOptionException("No node found for option " + o);
+                }
+                NodeSettings settings = target.get(cont.getID());
+                if (settings == null) {
+                    settings = new NodeSettings("something");
+                    cont.getParent().saveNodeSettings(cont.getID(), settings);
+                    m_originalSettings.put(cont.getID(), copy(settings));
+                    target.put(cont.getID(), settings);
+                }
+                BatchExecutor.applyOption(o, settings);
+            }
+            // only load (and thereby reset) nodes whose settings differ from the current ones
+            for (Map.Entry<NodeID, NodeSettings> e : target.entrySet()) {
+                final NodeContainer cont = m_wfm.findNodeContainer(e.getKey());
+                final NodeSettings current = new NodeSettings("something");
+                cont.getParent().saveNodeSettings(e.getKey(), current);
+                if (!current.equals(e.getValue())) {
+                    LOGGER.debug("Settings of " + cont.getNameWithID() + " changed, resetting it");
+                    cont.getParent().loadNodeSettings(e.getKey(), e.getValue());
+                }
+            }
+        }
+
+        private static NodeSettings copy(final NodeSettings settings) {
+            final NodeSettings result = new NodeSettings(settings.getKey());
+            settings.copyTo(result);
+            return result;
+        }
+    }
+}
@@ -1340,7 +1340,7 @@ public NodeContainerExecutionStatus performExecuteNode(final PortObject[] rawInO
             m_wfm.executeAll();
             boolean isCanceled;
             try {
-                isCanceled = ThreadPool.currentPool().runInvisible(new Callable<Boolean>() {
+                final Callable<Boolean> waitForInnerWorkflow = new Callable<Boolean>() {
                     @Override
                     public Boolean call() throws Exception {
                         Boolean result = Boolean.FALSE;
@@ -1354,7 +1354,18 @@ public Boolean call() throws Exception {
                             }
                         }
                     }
-                });
+                };
+                // not run in a pool thread if executed by the virtual thread job manager
+                final ThreadPool currentPool = ThreadPool.currentPool();
+                if (currentPool != null) {
+                    isCanceled = currentPool.runInvisible(waitForInnerWorkflow);
+                } else {
+                    try {
+                        isCanceled = waitForInnerWorkflow.call();
+                    } catch (Exception e) {
+                        throw new ExecutionException(e);
+                    }
+                }
             } catch (ExecutionException ee) {
                 isCanceled = false;
                 LOGGER.error(ee.getCause().getClass().getSimpleName() + " while waiting for inner workflow to complete",
@@ -75,7 +75,7 @@
  *
  * @author M. Berthold, University of Konstanz
  */
-class Workflow {
+class Workflow implements WorkflowStructure {
 
     /** my logger. */
     private static final NodeLogger LOGGER = NodeLogger.getLogger(Workflow.class);
@@ -94,6 +94,10 @@ class Workflow {
     private final Map<NodeID, Set<ConnectionContainer>> m_connectionsByDest
                                   = new TreeMap<NodeID, Set<ConnectionContainer>>();
 
+    /** Immutable copy of nodes and connections for threads not holding the workflow lock, null if the structure
+     * was modified since it was last created. */
+    private volatile Snapshot m_snapshot;
+
     private WorkflowManager m_wfm;
     private NodeID m_id;
 
@@ -144,7 +148,8 @@ NodeID createUniqueID() {
      * @param id of the node
      * @return node with that id
      */
-    NodeContainer getNode(final NodeID id) {
+    @Override
+    public NodeContainer getNode(final NodeID id) {
         return m_nodes.get(id);
     }
 
@@ -160,6 +165,7 @@ void putNode(final NodeID id, final NodeContainer nc) {
         // and then add node (avoid inconsistent node - connection setup)
         m_nodes.put(id, nc);
         clearGraphAnnotationCache();
+        m_snapshot = null;
     }
 
     /** Remove given node.
@@ -174,6 +180,7 @@ NodeContainer removeNode(final NodeID id) {
         m_connectionsBySource.remove(id);
         m_connectionsByDest.remove(id);
         clearGraphAnnotationCache();
+        m_snapshot = null;
         // and return removed node container
         return node;
     }
@@ -181,7 +188,8 @@ NodeContainer removeNode(final NodeID id) {
     /**
      * @return collection of all NodeContainers that are part of this workflow.
      */
-    Collection<NodeContainer> getNodeValues() {
+    @Override
+    public Collection<NodeContainer> getNodeValues() {
         Collection<NodeContainer> cnc = m_nodes.values();
         return Collections.unmodifiableCollection(cnc);
     }
@@ -214,7 +222,8 @@ boolean containsNodeKey(final NodeID id) {
      * @param id of destination node
      * @return set as described above
      */
-    Set<ConnectionContainer> getConnectionsByDest(final NodeID id) {
+    @Override
+    public Set<ConnectionContainer> getConnectionsByDest(final NodeID id) {
         Set<ConnectionContainer> scc = m_connectionsByDest.get(id);
         return scc == null ? null : Collections.unmodifiableSet(scc);
     }
@@ -224,7 +233,8 @@ Set<ConnectionContainer> getConnectionsByDest(final NodeID id) {
      * @param id of destination node
      * @return set as described above
      */
-    Set<ConnectionContainer> getConnectionsBySource(final NodeID id) {
+    @Override
+    public Set<ConnectionContainer> getConnectionsBySource(final NodeID id) {
         Set<ConnectionContainer> scc = m_connectionsBySource.get(id);
         return scc == null ? null : Collections.unmodifiableSet(scc);
     }
@@ -233,7 +243,8 @@ Set<ConnectionContainer> getConnectionsBySource(final NodeID id) {
      * @return a collection of sets of ConnectionContainers, grouped by
      *   source node ID.
      */
-    Collection<Set<ConnectionContainer>> getConnectionsBySourceValues() {
+    @Override
+    public Collection<Set<ConnectionContainer>> getConnectionsBySourceValues() {
         Collection<Set<ConnectionContainer>> cscc = m_connectionsBySource.values();
         return cscc == null ? null : Collections.unmodifiableCollection(cscc);
     }
@@ -245,6 +256,7 @@ Collection<Set<ConnectionContainer>> getConnectionsBySourceValues() {
      */
     void removeConnection(final ConnectionContainer cc) throws IllegalArgumentException {
         clearGraphAnnotationCache();
+        m_snapshot = null;
         // 1) try to delete it from set of outgoing connections
         if (!m_connectionsBySource.get(cc.getSource()).remove(cc)) {
             throw new IllegalArgumentException("Connection does not exist!");
@@ -262,6 +274,7 @@ void removeConnection(final ConnectionContainer cc) throws IllegalArgumentExcept
     */
     void addConnection(final ConnectionContainer cc) throws IllegalArgumentException {
         clearGraphAnnotationCache();
+        m_snapshot = null;
         // 1) try to insert it into set of outgoing connections
         if (!m_connectionsBySource.get(cc.getSource()).add(cc)) {
             throw new IllegalArgumentException("Connection already exists!");
@@ -272,6 +285,89 @@ void addConnection(final ConnectionContainer cc) throws IllegalArgumentException
         }
     }
 
+    /**
+     * @return the snapshot of nodes and connections or null if the structure was modified since it was last
+     *         {@linkplain #createSnapshot() created}; can be called without holding the workflow lock
+     */
+    Snapshot getSnapshot() {
+        return m_snapshot;
+    }
+
+    /**
+     * Returns the current snapshot of nodes and connections, creating it if the structure was modified. Must be
+     * called while holding the workflow lock.
+     *
+     * @return the (non-null) snapshot
+     */
+    Snapshot createSnapshot() {
+        Snapshot snapshot = m_snapshot;
+        if (snapshot == null) {
+            snapshot = new Snapshot(m_nodes, m_connectionsBySource, m_connectionsByDest);
+            m_snapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Immutable copy of the nodes and connections of a workflow. Used to answer structural queries of threads that
+     * don't hold the workflow lock (UI, monitoring) without blocking on threads that update node states. Node
+     * containers are not copied, i.e. their state is always the current one.
+     */
+    static final class Snapshot implements WorkflowStructure {
+
+        private final Map<NodeID, NodeContainer> m_nodes;
+
+        private final Collection<NodeContainer> m_nodeValues;
+
+        private final Map<NodeID, Set<ConnectionContainer>> m_connectionsBySource;
+
+        private final Map<NodeID, Set<ConnectionContainer>> m_connectionsByDest;
+
+        private Snapshot(final Map<NodeID, NodeContainer> nodes,
+            final Map<NodeID, Set<ConnectionContainer>> connectionsBySource,
+            final Map<NodeID, Set<ConnectionContainer>> connectionsByDest) {
+            m_nodes = new HashMap<>(nodes);
+            m_nodeValues = Collections.unmodifiableList(new ArrayList<>(nodes.values()));
+            m_connectionsBySource = copyConnections(connectionsBySource);
+            m_connectionsByDest = copyConnections(connectionsByDest);
+        }
+
+        private static Map<NodeID, Set<ConnectionContainer>>
+            copyConnections(final Map<NodeID, Set<ConnectionContainer>> connections) {
+            // linked to keep the order of the tree map
+            final Map<NodeID, Set<ConnectionContainer>> result = new LinkedHashMap<>();
+            for (Map.Entry<NodeID, Set<ConnectionContainer>> e : connections.entrySet()) {
+                result.put(e.getKey(), Collections.unmodifiableSet(new LinkedHashSet<>(e.getValue())));
+            }
+            return result;
+        }
+
+        @Override
+        public NodeContainer getNode(final NodeID id) {
+            return m_nodes.get(id);
+        }
+
+        @Override
+        public Collection<NodeContainer> getNodeValues() {
+            return m_nodeValues;
+        }
+
+        @Override
+        public Set<ConnectionContainer> getConnectionsByDest(final NodeID id) {
+            return m_connectionsByDest.get(id);
+        }
+
+        @Override
+        public Set<ConnectionContainer> getConnectionsBySource(final NodeID id) {
+            return m_connectionsBySource.get(id);
+        }
+
+        @Override
+        public Collection<Set<ConnectionContainer>> getConnectionsBySourceValues() {
+            return Collections.unmodifiableCollection(m_connectionsBySource.values());
+        }
+    }
+
     /** Return map of node ids connected to the given node sorted in breadth
      * first order mapped to a set of portIDs. Note that also nodes which
      * have another predecessors not contained in this list may be included as
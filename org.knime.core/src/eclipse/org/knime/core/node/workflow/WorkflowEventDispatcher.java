@@ -0,0 +1,239 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Asynchronous delivery of workflow events ({@link WorkflowListener}) and state checks in unconnected parent
+ * workflows. Each workflow project (that is, all workflows sharing the same lock, including contained metanodes and
+ * components) has its own lane in which events are delivered in the order they were submitted. Lanes are processed by
+ * a small shared pool so that a slow listener or a busy project doesn't delay the events of other projects.
+ *
+ * <p>
+ * Events can be submitted with a coalescing key; such an event is dropped if an event with an equal key is still
+ * waiting in the same lane (e.g. repeated "workflow dirty" events).
+ *
+ * <p>
+ * The static getters expose the number of waiting events (back-pressure) and the delay between submission and
+ * delivery (lag) for monitoring.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class WorkflowEventDispatcher {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(WorkflowEventDispatcher.class);
+
+    /** Number of events a lane delivers before it gives up its thread to the other lanes. */
+    private static final int BATCH_SIZE = 64;
+
+    private static final ThreadPoolExecutor EXECUTOR;
+
+    static {
+        final int nrThreads = Math.max(1, Integer.getInteger(KNIMEConstants.PROPERTY_WORKFLOW_NOTIFIER_THREADS,
+            Math.min(4, Runtime.getRuntime().availableProcessors())));
+        final AtomicInteger threadCounter = new AtomicInteger();
+        EXECUTOR = new ThreadPoolExecutor(nrThreads, nrThreads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), r -> {
+                Thread t = new Thread(r, "KNIME-Workflow-Notifier-" + threadCounter.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            });
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    /** Lanes by the lock of the workflow project, weak so that lanes of closed projects are released. */
+    private static final Map<ReentrantLock, Lane> LANES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final AtomicInteger QUEUED_EVENTS = new AtomicInteger();
+
+    private static final AtomicLong DISPATCHED_EVENTS = new AtomicLong();
+
+    private static final AtomicLong COALESCED_EVENTS = new AtomicLong();
+
+    private static final AtomicLong LAST_LAG_NANOS = new AtomicLong();
+
+    private static final AtomicLong MAX_LAG_NANOS = new AtomicLong();
+
+    private WorkflowEventDispatcher() {
+    }
+
+    /**
+     * @param lock the lock shared by a workflow project and its contained metanodes and components
+     * @return the (possibly new) lane for all workflows using that lock
+     */
+    static Lane getLane(final ReentrantLock lock) {
+        return LANES.computeIfAbsent(lock, l -> new Lane());
+    }
+
+    /** @return the number of events submitted but not yet delivered, over all workflows */
+    public static int getQueuedEventCount() {
+        return QUEUED_EVENTS.get();
+    }
+
+    /** @return the number of events delivered since startup */
+    public static long getDispatchedEventCount() {
+        return DISPATCHED_EVENTS.get();
+    }
+
+    /** @return the number of events dropped since startup because an equal event was still waiting */
+    public static long getCoalescedEventCount() {
+        return COALESCED_EVENTS.get();
+    }
+
+    /** @return the time the most recently delivered event waited for its delivery, in milliseconds */
+    public static long getLastLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(LAST_LAG_NANOS.get());
+    }
+
+    /** @return the longest time an event waited for its delivery since startup, in milliseconds */
+    public static long getMaxLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(MAX_LAG_NANOS.get());
+    }
+
+    /** An event waiting in its lane. */
+    private static final class Event {
+
+        private final Runnable m_runnable;
+
+        private final Object m_coalescingKey;
+
+        private final long m_submitTime = System.nanoTime();
+
+        Event(final Runnable runnable, final Object coalescingKey) {
+            m_runnable = runnable;
+            m_coalescingKey = coalescingKey;
+        }
+    }
+
+    /**
+     * Ordered queue of events of one workflow project. At most one thread of the shared pool delivers events of a lane
+     * at any time.
+     */
+    static final class Lane implements Runnable {
+
+        private final Queue<Event> m_events = new ConcurrentLinkedQueue<>();
+
+        private final Set<Object> m_waitingKeys = ConcurrentHashMap.newKeySet();
+
+        private final AtomicBoolean m_isScheduled = new AtomicBoolean();
+
+        private Lane() {
+        }
+
+        /**
+         * Queues an event for asynchronous delivery.
+         *
+         * @param runnable delivers the event
+         * @param coalescingKey if not null the event is dropped if an event with an equal key is still waiting
+         */
+        void submit(final Runnable runnable, final Object coalescingKey) {
+            if (coalescingKey != null && !m_waitingKeys.add(coalescingKey)) {
+                COALESCED_EVENTS.incrementAndGet();
+                return;
+            }
+            QUEUED_EVENTS.incrementAndGet();
+            m_events.add(new Event(runnable, coalescingKey));
+            schedule();
+        }
+
+        private void schedule() {
+            if (m_isScheduled.compareAndSet(false, true)) {
+                EXECUTOR.execute(this);
+            }
+        }
+
+        /** Delivers up to {@link #BATCH_SIZE} events and re-schedules itself if more are waiting. */
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                final Event event = m_events.poll();
+                if (event == null) {
+                    break;
+                }
+                QUEUED_EVENTS.decrementAndGet();
+                if (event.m_coalescingKey != null) {
+                    // later events with that key need to be delivered again
+                    m_waitingKeys.remove(event.m_coalescingKey);
+                }
+                final long lag = System.nanoTime() - event.m_submitTime;
+                LAST_LAG_NANOS.set(lag);
+                MAX_LAG_NANOS.accumulateAndGet(lag, Math::max);
+                try {
+                    event.m_runnable.run();
+                } catch (Throwable t) {
+                    LOGGER.error("Exception while notifying workflow listeners: " + t.getMessage(), t);
+                }
+                DISPATCHED_EVENTS.incrementAndGet();
+            }
+            m_isScheduled.set(false);
+            // events submitted after the last poll but before the flag was reset
+            if (!m_events.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -55,6 +55,8 @@
 import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.tracing.ExecutionTracer;
+import org.knime.core.util.tracing.TraceEventType;
 
 /**
  * A lock instance associated with a workflow or subnode. It serves two purposes: preventing concurrent access to the
@@ -66,6 +68,11 @@
  * {@link ReentrantLock} but are still distinct {@link WorkflowLock} instances to properly isolate the status
  * update request.
  *
+ * <p/>
+ * Read-only queries don't need to serialize with threads modifying the workflow: the workflow state is available via
+ * {@link #getWFMInternalStateNonBlocking()} and the structure (nodes and connections) via a snapshot, which is only
+ * re-created under the lock after structural changes (see {@link Workflow#createSnapshot()}).
+ *
  * @noreference This class is not intended to be referenced by clients.
  * @author Bernd Wiswedel, KNIME AG, Zurich, Switzerland
  */
@@ -73,9 +80,16 @@ public final class WorkflowLock implements AutoCloseable {
 
     private final ReentrantLock m_reentrantLock;
     private final WorkflowManager m_wfm;
+    /** Lane for asynchronous workflow events, shared by all workflows using the same {@link ReentrantLock}. */
+    private final WorkflowEventDispatcher.Lane m_eventLane;
 
-    private boolean m_checkForNodeStateChanges;
+    /** Volatile as read without holding the lock in {@link #getWFMInternalStateNonBlocking()}. */
+    private volatile boolean m_checkForNodeStateChanges;
     private boolean m_propagateChanges;
+    /** Time the current owner waited for the lock and when it started waiting, traced after the lock is released
+     * (guarded by the lock). */
+    private long m_lockWaitNanos;
+    private long m_lockWaitStartMillis;
 
     /** For each thread doing something with this {@link WorkflowLock} a counter how often the thread went through
      * {@link #lock()} without {@link #unlock()} (on this instance, not the parent nor child instance).
@@ -92,6 +106,7 @@ public final class WorkflowLock implements AutoCloseable {
     WorkflowLock(final WorkflowManager wfm) {
         m_wfm = CheckUtils.checkArgumentNotNull(wfm);
         m_reentrantLock = new ReentrantLock();
+        m_eventLane = WorkflowEventDispatcher.getLane(m_reentrantLock);
     }
 
     /** An instance for a contained metanode or sub node.
@@ -101,6 +116,12 @@ public final class WorkflowLock implements AutoCloseable {
     WorkflowLock(final WorkflowManager wfm, final NodeContainerParent parent) {
         m_wfm = CheckUtils.checkArgumentNotNull(wfm);
         m_reentrantLock = parent.getReentrantLockInstance();
+        m_eventLane = WorkflowEventDispatcher.getLane(m_reentrantLock);
+    }
+
+    /** @return the lane in which events of the workflow are delivered, see {@link WorkflowEventDispatcher} */
+    WorkflowEventDispatcher.Lane getEventLane() {
+        return m_eventLane;
     }
 
     /** @return the {@link ReentrantLock} - rarely used except for wait methods that need to sleep on the lock. */
@@ -119,7 +140,17 @@ boolean isHeldByCurrentThread() {
      * @return this.
      */
     public WorkflowLock lock() {
-        m_reentrantLock.lock();
+        if (!ExecutionTracer.isEnabled()) {
+            m_reentrantLock.lock();
+        } else if (!m_reentrantLock.tryLock()) {
+            // contended, trace the time spent waiting
+            final long startMillis = System.currentTimeMillis();
+            final long start = System.nanoTime();
+            m_reentrantLock.lock();
+            // the event is emitted on unlock, listeners must not be called while holding the lock
+            m_lockWaitNanos = System.nanoTime() - start;
+            m_lockWaitStartMillis = startMillis;
+        }
         if (KNIMEConstants.ASSERTIONS_ENABLED) {
             hasNoChildLocked();
         }
@@ -127,6 +158,18 @@ public WorkflowLock lock() {
         return this;
     }
 
+    /** Acquires the lock only if it is not held by another thread, see {@link ReentrantLock#tryLock()}. If successful
+     * it needs to be {@linkplain #unlock() unlocked} like after {@link #lock()}.
+     * @return whether the lock was acquired
+     */
+    boolean tryLock() {
+        if (!m_reentrantLock.tryLock()) {
+            return false;
+        }
+        m_lockHierarchyLevelThreadLocal.get().increment();
+        return true;
+    }
+
     /** Checks if this thread has a lock on any child of the workflow manager. If so a coding error is reported. */
     // see bug 6644
     private void hasNoChildLocked() {
@@ -153,6 +196,12 @@ public void unlock() {
         CheckUtils.checkState(lockHierarchyLevel.intValue() > 0,
             "ReentrantLock is held by current thread but not associated with this workflow lock");
         lockHierarchyLevel.decrement();
+        long lockWaitNanos = 0;
+        final long lockWaitStartMillis = m_lockWaitStartMillis;
+        if (m_lockWaitNanos > 0 && m_reentrantLock.getHoldCount() == 1) {
+            lockWaitNanos = m_lockWaitNanos;
+            m_lockWaitNanos = 0;
+        }
         try {
             if (lockHierarchyLevel.getValue() == 0 && m_checkForNodeStateChanges) {
                 boolean propagateChanges = m_propagateChanges;
@@ -162,6 +211,10 @@ public void unlock() {
             }
         } finally {
             m_reentrantLock.unlock();
+            if (lockWaitNanos > 0) {
+                ExecutionTracer.emit(TraceEventType.LOCK_WAIT, m_wfm.getNameWithID(), lockWaitStartMillis,
+                    lockWaitNanos, -1, -1);
+            }
         }
     }
 
@@ -178,6 +231,30 @@ InternalNodeContainerState getWFMInternalState() {
         return m_checkForNodeStateChanges ? m_wfm.computeNewState() : m_wfm.getMostRecentInternalState();
     }
 
+    /** State of the workflow for callers that may not hold the lock, e.g. UI polling. If the lock is held by the
+     * current thread or if it can be acquired without waiting this is the same as {@link #getWFMInternalState()}.
+     * Otherwise another thread is modifying the workflow and the state after the last release of the lock is
+     * returned; a state change caused by the other thread is notified when it releases the lock.
+     * @return The most recent state of the workflow, never blocks.
+     */
+    InternalNodeContainerState getWFMInternalStateNonBlocking() {
+        if (isHeldByCurrentThread()) {
+            return getWFMInternalState();
+        }
+        if (!m_checkForNodeStateChanges) {
+            return m_wfm.getMostRecentInternalState();
+        }
+        // an update is queued, possibly by a thread that waits on a condition (and doesn't hold the lock)
+        if (tryLock()) {
+            try {
+                return getWFMInternalState();
+            } finally {
+                unlock();
+            }
+        }
+        return m_wfm.getMostRecentInternalState();
+    }
+
     /** Queues a state update check and notification when the lock is finally released by the calling thread.
      * This method is to be called when the lock is hold by the calling thread.
      * @param propagateChanges Whether to propagate state changes to the parent workflow (if any)
@@ -87,12 +87,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.Vector;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -220,32 +215,6 @@ public final class WorkflowManager extends NodeContainer
      */
     private String m_name;
 
-    /** Executor for asynchronous event notification. */
-    private static final Executor WORKFLOW_NOTIFIER = Executors.newSingleThreadExecutor(new ThreadFactory() {
-        /** {@inheritDoc} */
-        @Override
-        public Thread newThread(final Runnable r) {
-            Thread t = new Thread(r, "KNIME-Workflow-Notifier");
-            t.setDaemon(true);
-            t.setPriority(Thread.MIN_PRIORITY);
-            return t;
-        }
-    });
-
-    /**
-     * Executor for asynchronous invocation of queueCheckForNodeStateChangeNotification in an unconnected parent. If a
-     * queueCheckForNodeStateChangeNotification-Thread is already waiting, additional ones will be discarded.
-     */
-    private static final Executor PARENT_NOTIFIER =
-        new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(2), new ThreadFactory() {
-            /** {@inheritDoc} */
-            @Override
-            public Thread newThread(final Runnable r) {
-                Thread t = new Thread(r, "KNIME-WFM-Parent-Notifier");
-                return t;
-            }
-        }, new ThreadPoolExecutor.DiscardPolicy());
-
     // Nodes and edges forming this workflow:
     private final Workflow m_workflow;
 
@@ -604,6 +573,53 @@ public WorkflowLock assertLock() {
         return m_workflowLock;
     }
 
+    /**
+     * Nodes and connections of this workflow for structural queries. Threads holding the lock work on the workflow
+     * itself, all others on an immutable snapshot so that they don't block on threads executing or configuring nodes.
+     * The snapshot only needs to be (re-)created under the lock after the structure was modified.
+     *
+     * @return the workflow or its most recent snapshot
+     */
+    private WorkflowStructure getStructure() {
+        if (isLockedByCurrentThread()) {
+            return m_workflow;
+        }
+        Workflow.Snapshot snapshot = m_workflow.getSnapshot();
+        if (snapshot == null) {
+            try (WorkflowLock lock = lock()) {
+                snapshot = m_workflow.createSnapshot();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Like {@link #getStructure()} but doesn't wait for the lock if the snapshot needs to be re-created. Used by
+     * methods that never acquired the lock (and may be called while holding the lock of another workflow) - in this
+     * case the workflow itself is returned. The underlying {@link ReentrantLock} is used directly so that releasing it
+     * doesn't run the state update that another thread (sleeping on a condition of the lock) has queued.
+     *
+     * @return the workflow or its most recent snapshot
+     */
+    private WorkflowStructure getStructureNoWait() {
+        if (isLockedByCurrentThread()) {
+            return m_workflow;
+        }
+        Workflow.Snapshot snapshot = m_workflow.getSnapshot();
+        if (snapshot == null) {
+            final ReentrantLock lock = m_workflowLock.getReentrantLock();
+            if (!lock.tryLock()) {
+                return m_workflow;
+            }
+            try {
+                snapshot = m_workflow.createSnapshot();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1428,19 +1444,17 @@ public void removeConnection(final ConnectionContainer cc) {
      * @return all outgoing connections for the passed node at the specified port
      */
     public Set<ConnectionContainer> getOutgoingConnectionsFor(final NodeID id, final int portIdx) {
-        try (WorkflowLock lock = lock()) {
-            Set<ConnectionContainer> outConnections = m_workflow.getConnectionsBySource(id);
-            Set<ConnectionContainer> outConsForPort = new HashSet<ConnectionContainer>();
-            if (outConnections == null) {
-                return outConsForPort;
-            }
-            for (ConnectionContainer cont : outConnections) {
-                if (cont.getSourcePort() == portIdx) {
-                    outConsForPort.add(cont);
-                }
-            }
+        Set<ConnectionContainer> outConnections = getStructure().getConnectionsBySource(id);
+        Set<ConnectionContainer> outConsForPort = new HashSet<ConnectionContainer>();
+        if (outConnections == null) {
             return outConsForPort;
         }
+        for (ConnectionContainer cont : outConnections) {
+            if (cont.getSourcePort() == portIdx) {
+                outConsForPort.add(cont);
+            }
+        }
+        return outConsForPort;
     }
 
     /**
@@ -1451,10 +1465,9 @@ public Set<ConnectionContainer> getOutgoingConnectionsFor(final NodeID id, final
      * @throws IllegalArgumentException If the node is unknown or null.
      */
     public Set<ConnectionContainer> getOutgoingConnectionsFor(final NodeID id) {
-        try (WorkflowLock lock = lock()) {
-            getNodeContainer(id); // for exception handling
-            return new LinkedHashSet<ConnectionContainer>(m_workflow.getConnectionsBySource(id));
-        }
+        final WorkflowStructure structure = getStructure();
+        CheckUtils.checkArgument(structure.getNode(id) != null, "No such node ID: %s", id);
+        return new LinkedHashSet<ConnectionContainer>(structure.getConnectionsBySource(id));
     }
 
     /**
@@ -1466,16 +1479,15 @@ public Set<ConnectionContainer> getOutgoingConnectionsFor(final NodeID id) {
      * @throws IllegalArgumentException If node is not contained in workflow, nor is it the ID of this WFM
      */
     public ConnectionContainer getIncomingConnectionFor(final NodeID id, final int portIdx) {
-        try (WorkflowLock lock = lock()) {
-            CheckUtils.checkArgument(id.equals(getID()) || containsNodeContainer(id),
-                "Node ID \"%s\" not contained in workflow, nor it's the workflow itself (ID of this workflow is \"%s\")",
-                id, getID());
-            Set<ConnectionContainer> inConns = m_workflow.getConnectionsByDest(id);
-            if (inConns != null) {
-                for (ConnectionContainer cont : inConns) {
-                    if (cont.getDestPort() == portIdx) {
-                        return cont;
-                    }
+        final WorkflowStructure structure = getStructure();
+        CheckUtils.checkArgument(id.equals(getID()) || structure.getNode(id) != null,
+            "Node ID \"%s\" not contained in workflow, nor it's the workflow itself (ID of this workflow is \"%s\")",
+            id, getID());
+        Set<ConnectionContainer> inConns = structure.getConnectionsByDest(id);
+        if (inConns != null) {
+            for (ConnectionContainer cont : inConns) {
+                if (cont.getDestPort() == portIdx) {
+                    return cont;
                 }
             }
         }
@@ -1490,10 +1502,9 @@ public ConnectionContainer getIncomingConnectionFor(final NodeID id, final int p
      * @throws IllegalArgumentException If the node is unknown or null.
      */
     public Set<ConnectionContainer> getIncomingConnectionsFor(final NodeID id) {
-        try (WorkflowLock lock = lock()) {
-            getNodeContainer(id); // for exception handling
-            return new LinkedHashSet<ConnectionContainer>(m_workflow.getConnectionsByDest(id));
-        }
+        final WorkflowStructure structure = getStructure();
+        CheckUtils.checkArgument(structure.getNode(id) != null, "No such node ID: %s", id);
+        return new LinkedHashSet<ConnectionContainer>(structure.getConnectionsByDest(id));
     }
 
     /**
@@ -1503,9 +1514,7 @@ public Set<ConnectionContainer> getIncomingConnectionsFor(final NodeID id) {
      * @return the connection with the specified id
      */
     public ConnectionContainer getConnection(final ConnectionID id) {
-        try (WorkflowLock lock = lock()) {
-            return getIncomingConnectionFor(id.getDestinationNode(), id.getDestinationPort());
-        }
+        return getIncomingConnectionFor(id.getDestinationNode(), id.getDestinationPort());
     }
 
     /**
@@ -2908,6 +2917,8 @@ private boolean queueIfQueuable(final NodeContainer nc) {
                 if (mustHalt) {
                     return false;
                 } else if (nc.queue(inData)) {
+                    // tables are read from disk while the node waits for a free thread
+                    Node.prefetchInputTables(inData);
                     return true;
                 } else {
                     // coming from UNCONFIGURED_MARKEDFOREXEC and can't be queued
@@ -2926,6 +2937,50 @@ private boolean queueIfQueuable(final NodeContainer nc) {
         }
     }
 
+    /**
+     * Queues a node that is marked for execution while the predecessor connected to the given port is still executing.
+     * Used by job managers that stream the output of a node directly into its successor (see
+     * {@link org.knime.core.node.exec.StreamingNodeExecutionJobManager}). The argument object is the output the
+     * predecessor is going to have at that port, all other inputs must be available. The node is submitted to its job
+     * manager and goes through the usual state transitions from then on.
+     *
+     * @param id the node to queue
+     * @param inPort the input port connected to the executing predecessor
+     * @param inObject the (future) output of the predecessor
+     * @return whether the node was queued, false if it isn't marked for execution (anymore) or can't be queued for
+     *         another reason, e.g. other inputs are missing
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 4.2
+     */
+    public boolean queueConsumer(final NodeID id, final int inPort, final PortObject inObject) {
+        try (WorkflowLock lock = lock()) {
+            final NodeContainer nc = getNodeContainer(id);
+            if (!(nc instanceof SingleNodeContainer)
+                || nc.getInternalState() != InternalNodeContainerState.CONFIGURED_MARKEDFOREXEC) {
+                return false;
+            }
+            final PortObject[] inData = new PortObject[nc.getNrInPorts()];
+            assembleInputData(id, inData);
+            inData[inPort] = inObject;
+            for (int i = 0; i < inData.length; i++) {
+                if (inData[i] == null && !nc.getInPort(i).getPortType().isOptional()) {
+                    return false;
+                }
+            }
+            final ExecutionController executionController = getExecutionController();
+            for (NodeID p : assemblePredecessors(id)) {
+                if (p != null && executionController.isHalted(p)) {
+                    return false;
+                }
+            }
+            if (nc.queue(inData)) {
+                lock.queueCheckForNodeStateChangeNotification(true);
+                return true;
+            }
+            return false;
+        }
+    }
+
     /* -------------- State changing actions and testers ----------- */
 
     /**
@@ -5758,14 +5813,13 @@ void setInternalStateAfterLockRelease(final InternalNodeContainerState newState,
                 // do be done asynchronosly to avoid deadlocks.
                 // Locking the parent here would be exactly what we do not want to do:
                 // Never lock a child (e.g. node) first and then its parent (e.g. wfm) - see also bug #1755
-                PARENT_NOTIFIER.execute(new Runnable() {
-                    @Override
-                    public void run() {
-                        try (WorkflowLock parentLock = getParent().lock()) {
-                            parentLock.queueCheckForNodeStateChangeNotification(propagateChanges);
-                        }
+                // The check is queued in the lane of the parent, if the same check is already waiting it's skipped.
+                final WorkflowManager parent = getParent();
+                parent.m_workflowLock.getEventLane().submit(() -> {
+                    try (WorkflowLock parentLock = parent.lock()) {
+                        parentLock.queueCheckForNodeStateChangeNotification(propagateChanges);
                     }
-                });
+                }, Arrays.asList(parent, propagateChanges));
             }
         }
     }
@@ -6494,10 +6548,8 @@ public String toString() {
     /** {@inheritDoc} */
     @Override
     public Collection<NodeContainer> getNodeContainers() {
-        try (WorkflowLock lock = lock()) {
-            // TODO should we copy the list as changes to the wkf later will change this list
-            return m_workflow.getNodeValues();
-        }
+        // live view if the lock is held (changes to the workflow later will change this list), otherwise a copy
+        return getStructure().getNodeValues();
     }
 
     /**
@@ -6505,7 +6557,7 @@ public Collection<NodeContainer> getNodeContainers() {
      */
     public Collection<ConnectionContainer> getConnectionContainers() {
         Set<ConnectionContainer> result = new LinkedHashSet<ConnectionContainer>();
-        for (Set<ConnectionContainer> s : m_workflow.getConnectionsBySourceValues()) {
+        for (Set<ConnectionContainer> s : getStructureNoWait().getConnectionsBySourceValues()) {
             if (s != null) {
                 result.addAll(s);
             }
@@ -6518,7 +6570,7 @@ public Collection<ConnectionContainer> getConnectionContainers() {
      * @return NodeContainer for given ID
      */
     public NodeContainer getNodeContainer(final NodeID id) {
-        NodeContainer nc = m_workflow.getNode(id);
+        NodeContainer nc = getStructureNoWait().getNode(id);
         if (nc == null) {
             throw new IllegalArgumentException("No such node ID: " + id);
         }
@@ -6540,7 +6592,7 @@ public NodeContainer getNodeContainer(final NodeID id) {
      * @noreference This method is not intended to be referenced by clients (only used in core and testing plugin).
      */
     public <T> T getNodeContainer(final NodeID id, final Class<T> subclass, final boolean failOnError) {
-        NodeContainer nc = m_workflow.getNode(id);
+        NodeContainer nc = getStructureNoWait().getNode(id);
         if (nc == null || !subclass.isInstance(nc)) {
             String message = nc == null ? "Invalid node ID \"" + id + "\""
                 : String.format("Node with ID \"%s\" exists but it's not implementing the requested class %s (is a %s)",
@@ -6562,7 +6614,7 @@ public <T> T getNodeContainer(final NodeID id, final Class<T> subclass, final bo
      * @return true if there is node with the given id, false otherwise.
      */
     public boolean containsNodeContainer(final NodeID id) {
-        return m_workflow.getNode(id) != null;
+        return getStructureNoWait().getNode(id) != null;
     }
 
     /** {@inheritDoc} */
@@ -7467,15 +7519,14 @@ final void notifyWorkflowListeners(final WorkflowEvent evt) {
         // the workflow editor was registered and marked the flow as being dirty
         // although it was freshly loaded)
         final Iterator<WorkflowListener> it = m_wfmListeners.iterator();
-        WORKFLOW_NOTIFIER.execute(new Runnable() {
-            /** {@inheritDoc} */
-            @Override
-            public void run() {
-                while (it.hasNext()) {
-                    it.next().workflowChanged(evt);
-                }
+        // events are delivered in order per project; consecutive dirty events of this workflow are coalesced
+        final Object coalescingKey =
+            evt.getType().equals(WorkflowEvent.Type.WORKFLOW_DIRTY) ? Arrays.asList(this, evt.getType()) : null;
+        m_workflowLock.getEventLane().submit(() -> {
+            while (it.hasNext()) {
+                it.next().workflowChanged(evt);
             }
-        });
+        }, coalescingKey);
     }
 
     // bug fix 1810, notify children about possible job manager changes
@@ -8693,9 +8744,7 @@ public void setDirty() {
      */
     @Override
     InternalNodeContainerState getInternalState() {
-        try (WorkflowLock lock = lock()) {
-            return lock.getWFMInternalState();
-        }
+        return m_workflowLock.getWFMInternalStateNonBlocking();
     }
 
     /**
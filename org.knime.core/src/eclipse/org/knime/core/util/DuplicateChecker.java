@@ -56,9 +56,11 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.PriorityQueue;
 import java.util.Set;
@@ -72,6 +74,11 @@
  * cleared. If then after adding all keys {@link #checkForDuplicates()} is called all created chunks are processed and
  * sorted by a merge sort like algorithm. If any duplicate keys are detected during this process an exception is thrown.
  *
+ * <p>
+ * Keys consisting of a common prefix and a counter (such as "Row0", "Row1", ..., see {@link PrefixCounterKey}) are not
+ * kept as strings but as bits in pages of a bit set, which neither need to be hashed nor written to disk. If the
+ * counters turn out to be too sparse, these keys are moved to the chunks.
+ *
  * @author Thorsten Meinl, University of Konstanz
  */
 public class DuplicateChecker {
@@ -188,6 +195,24 @@ public boolean dispose() {
 
     private List<Chunk> m_storedChunks = new ArrayList<Chunk>();
 
+    /** The number of counters per page of {@link #m_counterPages}. */
+    private static final int COUNTER_PAGE_SIZE = 1024;
+
+    /**
+     * Keys consisting of this prefix and a counter are recorded in {@link #m_counterPages} rather than in the chunks.
+     * Null until the first such key is added.
+     */
+    private String m_counterPrefix;
+
+    /** Bit sets of the counters of the keys with {@link #m_counterPrefix}, by counter / {@value #COUNTER_PAGE_SIZE}. */
+    private final Map<Long, long[]> m_counterPages = new HashMap<>();
+
+    /** The number of keys recorded in {@link #m_counterPages}. */
+    private long m_counterKeyCount;
+
+    /** Set once the counters have been found too sparse, all keys are added to the chunks from then on. */
+    private boolean m_isCounterPagesDisabled;
+
     private static final boolean DISABLE_DUPLICATE_CHECK =
         Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_ROWID_DUPLICATE_CHECK);
 
@@ -252,6 +277,12 @@ public synchronized void addKey(final String s) throws DuplicateKeyException, IO
         if (DISABLE_DUPLICATE_CHECK) {
             return;
         }
+        if (!addCounterKey(s)) {
+            addToCurrentChunk(s);
+        }
+    }
+
+    private void addToCurrentChunk(final String s) throws DuplicateKeyException, IOException {
         // bug fix #1737: keys may be just wrappers of very large strings ...
         // we make a copy, which consist of the important characters only
         if (!m_currentChunk.add(new String(s))) {
@@ -262,6 +293,58 @@ public synchronized void addKey(final String s) throws DuplicateKeyException, IO
         }
     }
 
+    /**
+     * Records the argument in the counter pages if it consists of the common prefix and a counter.
+     *
+     * @return whether the key has been recorded, false if it needs to be added to the chunks
+     */
+    private boolean addCounterKey(final String s) throws DuplicateKeyException, IOException {
+        if (m_isCounterPagesDisabled) {
+            return false;
+        }
+        final PrefixCounterKey key = PrefixCounterKey.parse(s);
+        if (key == null) {
+            return false;
+        }
+        if (m_counterPrefix == null) {
+            m_counterPrefix = key.getPrefix();
+        } else if (!m_counterPrefix.equals(key.getPrefix())) {
+            return false;
+        }
+        final long[] page = m_counterPages.computeIfAbsent(key.getCounter() / COUNTER_PAGE_SIZE,
+            index -> new long[COUNTER_PAGE_SIZE / Long.SIZE]);
+        final int bit = (int)(key.getCounter() % COUNTER_PAGE_SIZE);
+        final long mask = 1L << bit;
+        if ((page[bit / Long.SIZE] & mask) != 0) {
+            throw new DuplicateKeyException(s);
+        }
+        page[bit / Long.SIZE] |= mask;
+        m_counterKeyCount++;
+        // a page takes about as much memory as a dozen keys in a hash set
+        if (m_counterPages.size() > m_counterKeyCount / 16 + 64) {
+            moveCounterKeysToChunks();
+        }
+        return true;
+    }
+
+    /**
+     * Adds all keys recorded in the counter pages to the chunks and disables the pages. Since the pages only contain
+     * keys that can't be in the chunks, this doesn't reveal any duplicates.
+     */
+    private void moveCounterKeysToChunks() throws IOException {
+        m_isCounterPagesDisabled = true;
+        for (Map.Entry<Long, long[]> e : m_counterPages.entrySet()) {
+            final long[] page = e.getValue();
+            for (int bit = 0; bit < COUNTER_PAGE_SIZE; bit++) {
+                if ((page[bit / Long.SIZE] & (1L << bit)) != 0) {
+                    addToCurrentChunk(m_counterPrefix + (e.getKey() * COUNTER_PAGE_SIZE + bit));
+                }
+            }
+        }
+        m_counterPages.clear();
+        m_counterKeyCount = 0;
+    }
+
     /**
      * Checks for duplicates in all added keys. This method must only be called once after all keys have been added!
      * Multiple calls may lead to exceptions and excessive resource usage.
@@ -304,6 +387,10 @@ public synchronized void clear() {
         }
         m_storedChunks.clear();
         m_currentChunk.clear();
+        m_counterPages.clear();
+        m_counterKeyCount = 0;
+        m_counterPrefix = null;
+        m_isCounterPagesDisabled = false;
     }
 
     /**
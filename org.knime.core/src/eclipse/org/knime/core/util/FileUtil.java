@@ -48,7 +48,6 @@
 package org.knime.core.util;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -444,15 +443,36 @@ public static boolean zipDir(final File zipFile,
             final Collection<File> includeList, final int compressionLevel,
             final ZipFileFilter filter, final ExecutionMonitor exec)
             throws IOException, CanceledExecutionException {
-        ZipOutputStream zout =
-                new ZipOutputStream(new BufferedOutputStream(
-                        new FileOutputStream(zipFile)));
-        zout.setLevel(compressionLevel);
-        try {
-            return zipDir(zout, includeList, filter, exec);
-        } finally {
-            zout.close();
-        }
+        return zipDir(zipFile, includeList, compressionLevel, filter, null, exec);
+    }
+
+    /**
+     * Packs all files and directories passed in the includeList into a zip file, just like
+     * {@link #zipDir(File, Collection, int, ZipFileFilter, ExecutionMonitor)}. The files are compressed in parallel
+     * using the {@link KNIMEConstants#GLOBAL_THREAD_POOL} and files accepted by the <code>storeFilter</code> are stored
+     * without compression, which saves time for files that are already compressed (see
+     * {@link #ZIP_COMPRESSED_FILES_FILTER}).
+     *
+     * @param zipFile the zip file that should be created. If it exists it will be overwritten.
+     * @param includeList list of files or directories to add to the zip archive, see
+     *            {@link #zipDir(File, Collection, int, ZipFileFilter, ExecutionMonitor)}
+     * @param compressionLevel the desired compression level, see {@link ZipOutputStream#setLevel(int)}
+     * @param filter each file (and directory) contained is only included in the zip archive if it is accepted by the
+     *            filter. Must not be null.
+     * @param storeFilter files accepted by this filter are stored without compression. Optional, can be null.
+     * @param exec receives progress messages and is checked for cancel requests. Optional, can be null.
+     * @return <code>true</code> if all files and dirs accepted by the filter are included, <code>false</code> if an
+     *         error occurs reading a file, if a directory is unreadable.
+     * @throws CanceledExecutionException if the operation was canceled through the <code>exec</code>
+     * @throws IOException if an I/O error occurs when writing the zip file, or if two files or directories in the
+     *             include list have the same (simple) name.
+     * @since 4.2
+     */
+    public static boolean zipDir(final File zipFile, final Collection<File> includeList, final int compressionLevel,
+        final ZipFileFilter filter, final ZipFileFilter storeFilter, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        return ParallelZip.zip(zipFile, includeList, compressionLevel, filter,
+            storeFilter == null ? f -> false : storeFilter, exec == null ? new ExecutionMonitor() : exec);
     }
 
     /** Similar to {@link #zipDir(ZipOutputStream, Collection, String, ZipFileFilter, ExecutionMonitor)}, whereby
@@ -696,6 +716,25 @@ public boolean include(final File f) {
                 }
             };
 
+    /**
+     * A filter accepting files that are usually compressed already (zip archives including the table data of KNIME
+     * workflows, gzip, snappy, images, etc.). Can be used as store filter in
+     * {@link #zipDir(File, Collection, int, ZipFileFilter, ZipFileFilter, ExecutionMonitor)} so that those files
+     * are not compressed a second time.
+     *
+     * @since 4.2
+     */
+    public static final ZipFileFilter ZIP_COMPRESSED_FILES_FILTER = new ZipFileFilter() {
+
+        private final Pattern m_extensions =
+            Pattern.compile(".*\\.(zip|gz|gzip|snappy|bz2|xz|7z|jar|png|jpg|jpeg|gif)$", Pattern.CASE_INSENSITIVE);
+
+        @Override
+        public boolean include(final File f) {
+            return m_extensions.matcher(f.getName()).matches();
+        }
+    };
+
     /**
      * Recursively packs all the the files and directories beneath the
      * <code>rootDir</code> into a zip file. The zip file contains the root
@@ -760,7 +799,7 @@ public static boolean zipDir(final File zipFile, final File rootDir,
 
     /**
      * Extracts the contents of the given ZIP file into the destination
-     * directory.
+     * directory. Large entries are extracted in parallel using the {@link KNIMEConstants#GLOBAL_THREAD_POOL}.
      *
      * @param zipFile a ZIP file
      * @param destDir the destination directory, must already exist
@@ -775,8 +814,7 @@ public static void unzip(final File zipFile, final File destDir)
         if (!destDir.isDirectory()) {
             throw new IOException("Destination is not a directory: " + destDir);
         }
-        ZipInputStream in = new ZipInputStream(new FileInputStream(zipFile));
-        unzip(in, destDir, 0);
+        ParallelZip.unzip(zipFile, destDir);
     }
 
     /**
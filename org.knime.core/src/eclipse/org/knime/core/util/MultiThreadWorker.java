@@ -214,7 +214,8 @@ public Void call() throws Exception {
             }
         };
         try {
-            if (m_executor == null) {
+            // threads not taken from a pool (e.g. virtual threads) don't occupy a slot while waiting
+            if (m_executor == null && ThreadPool.currentPool() != null) {
                 KNIMEConstants.GLOBAL_THREAD_POOL.runInvisible(c);
             } else {
                 c.call();
@@ -282,7 +283,8 @@ private void innerRun(final Iterable<In> inputIterable)
 
     /** @param executor the executor to set (null is the default -- it will
      * then use the global {@link KNIMEConstants#GLOBAL_THREAD_POOL
-     * KNIME thread pool}. */
+     * KNIME thread pool}. Tasks that mostly wait (e.g. for web services) can
+     * be run on virtual threads using {@link VirtualThreads#executor(boolean)}. */
     public void setExecutor(final Executor executor) {
         m_executor = executor;
     }
@@ -0,0 +1,659 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Stack;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil.ZipFileFilter;
+
+/**
+ * Creates and extracts zip files using multiple threads, used by {@link FileUtil#zipDir(File, Collection, int,
+ * ZipFileFilter, ZipFileFilter, ExecutionMonitor)} and {@link FileUtil#unzip(File, File)}.
+ *
+ * <p>
+ * Compression: the entries are deflated independently on the {@link KNIMEConstants#GLOBAL_THREAD_POOL} (into memory
+ * or, for large entries, a temp file) while the calling thread writes them in their original order into the zip file.
+ * As the sizes and checksums are known when an entry is written the archive doesn't need data descriptors; the zip64
+ * format is used where sizes, offsets or the number of entries require it. Entries can also be stored without
+ * compression, e.g. files that are already compressed.
+ *
+ * <p>
+ * Extraction: small entries are extracted by the calling thread, large entries are inflated by the thread pool.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ParallelZip {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ParallelZip.class);
+
+    private static final int BUFF_SIZE = 16384;
+
+    /** Compressed entries larger than this are written to a temp file instead of being kept in memory. */
+    private static final int MAX_IN_MEMORY_SIZE = 1 << 20;
+
+    /** Entries larger than this are inflated by the thread pool when extracting. */
+    private static final long MIN_PARALLEL_EXTRACT_SIZE = 1 << 20;
+
+    /** Number of entries that are compressed ahead of the entry currently written, limits memory usage. */
+    private static final int MAX_ENTRIES_AHEAD = Math.min(2 * Runtime.getRuntime().availableProcessors(), 32);
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    /** General purpose flag: file names are UTF-8 encoded (as done by {@link java.util.zip.ZipOutputStream}). */
+    private static final int FLAG_UTF8 = 0x800;
+
+    private static final int VERSION_DEFAULT = 20;
+
+    private static final int VERSION_ZIP64 = 45;
+
+    private ParallelZip() {
+    }
+
+    /**
+     * Packs all files and directories of the include list into a new zip file, see
+     * {@link FileUtil#zipDir(File, Collection, int, ZipFileFilter, ZipFileFilter, ExecutionMonitor)}.
+     *
+     * @param zipFile the zip file to create, overwritten if it exists
+     * @param includeList files and directories to add, placed in the root of the archive
+     * @param compressionLevel the compression level of deflated entries
+     * @param filter files and directories not accepted are excluded
+     * @param storeFilter files accepted are stored without compression
+     * @param exec for progress and cancellation
+     * @return true if all accepted files were added, false if a directory was unreadable or a file couldn't be added
+     * @throws IOException if writing fails or the include list contains elements with the same name
+     * @throws CanceledExecutionException if canceled
+     */
+    static boolean zip(final File zipFile, final Collection<File> includeList, final int compressionLevel,
+        final ZipFileFilter filter, final ZipFileFilter storeFilter, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        final List<Source> sources = new ArrayList<>();
+        boolean complete = collectSources(includeList, filter, storeFilter, sources);
+        long totalSize = 0;
+        for (Source s : sources) {
+            totalSize += s.m_file != null ? s.m_file.length() : 0;
+        }
+        final long dosTime = toDosTime(LocalDateTime.now());
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final Deque<Future<Payload>> pending = new ArrayDeque<>();
+        final PreparedPayloads prepared = new PreparedPayloads();
+        int nextToSubmit = 0;
+        try (ZipWriter writer = new ZipWriter(zipFile)) {
+            long bytesDone = 0;
+            for (int i = 0; i < sources.size(); i++) {
+                while (nextToSubmit < sources.size() && nextToSubmit <= i + MAX_ENTRIES_AHEAD) {
+                    final Source s = sources.get(nextToSubmit++);
+                    pending.add(pool.enqueue(() -> prepared.add(s.prepare(compressionLevel))));
+                }
+                exec.checkCanceled();
+                final Source source = sources.get(i);
+                final Payload payload = await(pending.removeFirst());
+                if (payload == null) {
+                    // file couldn't be read, logged when preparing it
+                    complete = false;
+                    continue;
+                }
+                prepared.remove(payload);
+                try {
+                    writer.write(source.m_name, dosTime, payload);
+                } finally {
+                    payload.dispose();
+                }
+                bytesDone += payload.m_size;
+                exec.setProgress(bytesDone / (double)Math.max(totalSize, 1), "Added file " + source.m_name);
+            }
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+            // also disposes payloads of tasks that were canceled while running, once they complete
+            prepared.close();
+        }
+        return complete;
+    }
+
+    /** Collects files and directories in the same order as the sequential implementation adds them. */
+    private static boolean collectSources(final Collection<File> includeList, final ZipFileFilter filter,
+        final ZipFileFilter storeFilter, final List<Source> sources) throws IOException {
+        final Set<String> names = new HashSet<>();
+        boolean complete = true;
+        for (File root : includeList) {
+            if (!filter.include(root)) {
+                continue;
+            }
+            if (root.isFile()) {
+                addSource(sources, names, root.getName(), root, storeFilter);
+                continue;
+            } else if (!root.isDirectory()) {
+                throw new IOException("File " + root.getAbsolutePath() + " not added to zip archive");
+            }
+            final String rootName = root.getName();
+            addSource(sources, names, rootName + "/", null, storeFilter);
+            final int rootEndIdx = root.getAbsolutePath().length() + 1;
+            final Stack<File> dirs = new Stack<>();
+            dirs.push(root);
+            while (!dirs.isEmpty()) {
+                final File[] ls = dirs.pop().listFiles();
+                if (ls == null) {
+                    // the dir was not accessible
+                    complete = false;
+                    continue;
+                }
+                for (File f : ls) {
+                    if (!filter.include(f)) {
+                        continue;
+                    }
+                    final String entryName =
+                        rootName + "/" + f.getAbsolutePath().substring(rootEndIdx).replace('\\', '/');
+                    if (f.isFile()) {
+                        addSource(sources, names, entryName, f, storeFilter);
+                    } else if (f.isDirectory()) {
+                        addSource(sources, names, entryName + "/", null, storeFilter);
+                        dirs.push(f);
+                    }
+                }
+            }
+        }
+        return complete;
+    }
+
+    private static void addSource(final List<Source> sources, final Set<String> names, final String name,
+        final File file, final ZipFileFilter storeFilter) throws ZipException {
+        if (!names.add(name)) {
+            throw new ZipException("duplicate entry: " + name);
+        }
+        sources.add(new Source(name, file, file != null && storeFilter.include(file)));
+    }
+
+    private static <T> T await(final Future<T> future) throws IOException, CanceledExecutionException {
+        return ThreadPool.awaitAll(Collections.singletonList(future), IOException.class, "processing zip file").get(0);
+    }
+
+
+    /**
+     * @param time a local date and time
+     * @return the time in MS-DOS format as used by zip files (2 second precision, years before 1980 are mapped to 1980)
+     */
+    static long toDosTime(final LocalDateTime time) {
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((time.getYear() - 1980L) << 25) | ((long)time.getMonthValue() << 21)
+            | ((long)time.getDayOfMonth() << 16) | ((long)time.getHour() << 11) | ((long)time.getMinute() << 5)
+            | (time.getSecond() >> 1);
+    }
+
+    /** A file or directory to be added. */
+    private static final class Source {
+
+        private final String m_name;
+
+        /** null for directories. */
+        private final File m_file;
+
+        private final boolean m_store;
+
+        Source(final String name, final File file, final boolean store) {
+            m_name = name;
+            m_file = file;
+            m_store = store;
+        }
+
+        /**
+         * Deflates the file or computes its checksum if it is stored, runs in the thread pool.
+         *
+         * @return the payload or null if the file couldn't be read (other than due to I/O errors)
+         */
+        Payload prepare(final int compressionLevel) throws IOException {
+            if (m_file == null) {
+                return new Payload(ZipEntry.STORED, 0, 0, 0, null, null, null);
+            }
+            try (InputStream in = new FileInputStream(m_file)) {
+                return m_store ? checksum(in) : deflate(in, compressionLevel);
+            } catch (IOException ioe) {
+                throw ioe;
+            } catch (Throwable t) { // NOSONAR same handling as the sequential implementation
+                LOGGER.debug("Error while adding file to zip archive (" + m_file.getAbsolutePath() + ")", t);
+                return null;
+            }
+        }
+
+        private Payload checksum(final InputStream in) throws IOException {
+            final CRC32 crc = new CRC32();
+            final byte[] buf = new byte[BUFF_SIZE];
+            long size = 0;
+            int read;
+            while ((read = in.read(buf)) >= 0) {
+                crc.update(buf, 0, read);
+                size += read;
+            }
+            return new Payload(ZipEntry.STORED, crc.getValue(), size, size, null, null, m_file);
+        }
+
+        private Payload deflate(final InputStream in, final int compressionLevel) throws IOException {
+            final Deflater deflater = new Deflater(compressionLevel, true);
+            final CRC32 crc = new CRC32();
+            final byte[] buf = new byte[BUFF_SIZE];
+            final byte[] out = new byte[BUFF_SIZE];
+            final ByteArrayOutputStream memory = new ByteArrayOutputStream();
+            File tempFile = null;
+            OutputStream sink = memory;
+            boolean success = false;
+            try {
+                long size = 0;
+                int read;
+                while ((read = in.read(buf)) >= 0) {
+                    crc.update(buf, 0, read);
+                    size += read;
+                    deflater.setInput(buf, 0, read);
+                    while (!deflater.needsInput()) {
+                        sink.write(out, 0, deflater.deflate(out));
+                    }
+                    if (tempFile == null && memory.size() > MAX_IN_MEMORY_SIZE) {
+                        tempFile = FileUtil.createTempFile("knime_zip_entry", ".bin", false);
+                        sink = new BufferedOutputStream(new FileOutputStream(tempFile));
+                        memory.writeTo(sink);
+                        memory.reset();
+                    }
+                }
+                deflater.finish();
+                while (!deflater.finished()) {
+                    sink.write(out, 0, deflater.deflate(out));
+                }
+                sink.close();
+                final long compressedSize = deflater.getBytesWritten();
+                success = true;
+                return tempFile == null
+                    ? new Payload(ZipEntry.DEFLATED, crc.getValue(), size, compressedSize, memory, null, null)
+                    : new Payload(ZipEntry.DEFLATED, crc.getValue(), size, compressedSize, null, tempFile, null);
+            } finally {
+                deflater.end();
+                if (!success && tempFile != null) {
+                    sink.close();
+                    tempFile.delete();
+                }
+            }
+        }
+    }
+
+    /** The (compressed) data of an entry and its meta data. */
+    private static final class Payload {
+
+        private final int m_method;
+
+        private final long m_crc;
+
+        private final long m_size;
+
+        private final long m_compressedSize;
+
+        private final ByteArrayOutputStream m_memory;
+
+        /** Temp file holding the deflated data, deleted after writing. */
+        private final File m_tempFile;
+
+        /** The original file of stored entries. */
+        private final File m_storedFile;
+
+        Payload(final int method, final long crc, final long size, final long compressedSize,
+            final ByteArrayOutputStream memory, final File tempFile, final File storedFile) {
+            m_method = method;
+            m_crc = crc;
+            m_size = size;
+            m_compressedSize = compressedSize;
+            m_memory = memory;
+            m_tempFile = tempFile;
+            m_storedFile = storedFile;
+        }
+
+        void writeTo(final OutputStream out) throws IOException {
+            if (m_memory != null) {
+                m_memory.writeTo(out);
+            } else if (m_tempFile != null || m_storedFile != null) {
+                final File f = m_tempFile != null ? m_tempFile : m_storedFile;
+                long remaining = m_compressedSize;
+                final byte[] buf = new byte[BUFF_SIZE];
+                try (InputStream in = new FileInputStream(f)) {
+                    int read;
+                    while (remaining > 0 && (read = in.read(buf, 0, (int)Math.min(buf.length, remaining))) >= 0) {
+                        out.write(buf, 0, read);
+                        remaining -= read;
+                    }
+                }
+                if (remaining != 0) {
+                    throw new IOException("File \"" + f.getAbsolutePath() + "\" was modified while zipping it");
+                }
+            }
+        }
+
+        void dispose() {
+            if (m_tempFile != null && !m_tempFile.delete()) {
+                m_tempFile.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Payloads that have been prepared but not taken by the writing thread. Their temp files are deleted when the zip
+     * file is done; payloads prepared afterwards (by tasks that were canceled while running) are deleted right away.
+     */
+    private static final class PreparedPayloads {
+
+        private final Set<Payload> m_payloads = new HashSet<>();
+
+        private boolean m_closed;
+
+        /**
+         * @param payload a payload or null, called by the task preparing it
+         * @return the payload or null if the zip file is already done and the payload was disposed
+         */
+        synchronized Payload add(final Payload payload) {
+            if (payload == null) {
+                return null;
+            } else if (m_closed) {
+                payload.dispose();
+                return null;
+            }
+            m_payloads.add(payload);
+            return payload;
+        }
+
+        /** @param payload a payload taken by the writing thread, which disposes it after writing */
+        synchronized void remove(final Payload payload) {
+            m_payloads.remove(payload);
+        }
+
+        /** Disposes all payloads that have not been written and those prepared in future. */
+        synchronized void close() {
+            m_closed = true;
+            m_payloads.forEach(Payload::dispose);
+            m_payloads.clear();
+        }
+    }
+
+    /** Writes entries with known sizes and checksums plus the central directory. */
+    private static final class ZipWriter implements AutoCloseable {
+
+        private final OutputStream m_out;
+
+        private long m_offset;
+
+        private final ByteArrayOutputStream m_centralDirectory = new ByteArrayOutputStream();
+
+        private long m_entryCount;
+
+        ZipWriter(final File zipFile) throws IOException {
+            m_out = new BufferedOutputStream(new FileOutputStream(zipFile), 1 << 16);
+        }
+
+        void write(final String name, final long dosTime, final Payload payload) throws IOException {
+            final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            final boolean zip64Sizes = payload.m_size >= ZIP64_MAGIC || payload.m_compressedSize >= ZIP64_MAGIC;
+            final long headerOffset = m_offset;
+
+            // local file header, zip64 extra field only if the sizes require it
+            final ByteArrayOutputStream header = new ByteArrayOutputStream(64 + nameBytes.length);
+            writeInt(header, 0x04034b50L);
+            writeShort(header, zip64Sizes ? VERSION_ZIP64 : VERSION_DEFAULT);
+            writeShort(header, FLAG_UTF8);
+            writeShort(header, payload.m_method);
+            writeInt(header, dosTime);
+            writeInt(header, payload.m_crc);
+            writeInt(header, zip64Sizes ? ZIP64_MAGIC : payload.m_compressedSize);
+            writeInt(header, zip64Sizes ? ZIP64_MAGIC : payload.m_size);
+            writeShort(header, nameBytes.length);
+            writeShort(header, zip64Sizes ? 20 : 0);
+            header.write(nameBytes);
+            if (zip64Sizes) {
+                writeShort(header, 0x0001);
+                writeShort(header, 16);
+                writeLong(header, payload.m_size);
+                writeLong(header, payload.m_compressedSize);
+            }
+            header.writeTo(m_out);
+            m_offset += header.size();
+            payload.writeTo(m_out);
+            m_offset += payload.m_compressedSize;
+
+            // central directory record, zip64 extra field contains only the values that don't fit
+            final boolean sizeOverflow = payload.m_size >= ZIP64_MAGIC;
+            final boolean compressedSizeOverflow = payload.m_compressedSize >= ZIP64_MAGIC;
+            final boolean offsetOverflow = headerOffset >= ZIP64_MAGIC;
+            final int extraLength =
+                (sizeOverflow ? 8 : 0) + (compressedSizeOverflow ? 8 : 0) + (offsetOverflow ? 8 : 0);
+            final boolean zip64 = extraLength > 0;
+            final ByteArrayOutputStream cd = m_centralDirectory;
+            writeInt(cd, 0x02014b50L);
+            writeShort(cd, zip64 ? VERSION_ZIP64 : VERSION_DEFAULT);
+            writeShort(cd, zip64 ? VERSION_ZIP64 : VERSION_DEFAULT);
+            writeShort(cd, FLAG_UTF8);
+            writeShort(cd, payload.m_method);
+            writeInt(cd, dosTime);
+            writeInt(cd, payload.m_crc);
+            writeInt(cd, compressedSizeOverflow ? ZIP64_MAGIC : payload.m_compressedSize);
+            writeInt(cd, sizeOverflow ? ZIP64_MAGIC : payload.m_size);
+            writeShort(cd, nameBytes.length);
+            writeShort(cd, zip64 ? extraLength + 4 : 0);
+            writeShort(cd, 0); // comment length
+            writeShort(cd, 0); // disk number
+            writeShort(cd, 0); // internal attributes
+            writeInt(cd, 0); // external attributes
+            writeInt(cd, offsetOverflow ? ZIP64_MAGIC : headerOffset);
+            cd.write(nameBytes);
+            if (zip64) {
+                writeShort(cd, 0x0001);
+                writeShort(cd, extraLength);
+                if (sizeOverflow) {
+                    writeLong(cd, payload.m_size);
+                }
+                if (compressedSizeOverflow) {
+                    writeLong(cd, payload.m_compressedSize);
+                }
+                if (offsetOverflow) {
+                    writeLong(cd, headerOffset);
+                }
+            }
+            m_entryCount++;
+        }
+
+        /** Writes the central directory and the end records and closes the stream. */
+        @Override
+        public void close() throws IOException {
+            try {
+                final long cdOffset = m_offset;
+                final long cdSize = m_centralDirectory.size();
+                m_centralDirectory.writeTo(m_out);
+                final ByteArrayOutputStream end = new ByteArrayOutputStream(128);
+                final boolean zip64 =
+                    m_entryCount >= ZIP64_MAGIC_COUNT || cdOffset >= ZIP64_MAGIC || cdSize >= ZIP64_MAGIC;
+                if (zip64) {
+                    final long zip64EndOffset = cdOffset + cdSize;
+                    // zip64 end of central directory record
+                    writeInt(end, 0x06064b50L);
+                    writeLong(end, 44);
+                    writeShort(end, VERSION_ZIP64);
+                    writeShort(end, VERSION_ZIP64);
+                    writeInt(end, 0);
+                    writeInt(end, 0);
+                    writeLong(end, m_entryCount);
+                    writeLong(end, m_entryCount);
+                    writeLong(end, cdSize);
+                    writeLong(end, cdOffset);
+                    // zip64 end of central directory locator
+                    writeInt(end, 0x07064b50L);
+                    writeInt(end, 0);
+                    writeLong(end, zip64EndOffset);
+                    writeInt(end, 1);
+                }
+                writeInt(end, 0x06054b50L);
+                writeShort(end, 0);
+                writeShort(end, 0);
+                final int count = (int)Math.min(m_entryCount, ZIP64_MAGIC_COUNT);
+                writeShort(end, count);
+                writeShort(end, count);
+                writeInt(end, Math.min(cdSize, ZIP64_MAGIC));
+                writeInt(end, Math.min(cdOffset, ZIP64_MAGIC));
+                writeShort(end, 0); // comment length
+                end.writeTo(m_out);
+            } finally {
+                m_out.close();
+            }
+        }
+
+        private static void writeShort(final ByteArrayOutputStream out, final int v) {
+            out.write(v & 0xFF);
+            out.write((v >>> 8) & 0xFF);
+        }
+
+        private static void writeInt(final ByteArrayOutputStream out, final long v) {
+            writeShort(out, (int)(v & 0xFFFF));
+            writeShort(out, (int)((v >>> 16) & 0xFFFF));
+        }
+
+        private static void writeLong(final ByteArrayOutputStream out, final long v) {
+            writeInt(out, v & 0xFFFFFFFFL);
+            writeInt(out, v >>> 32);
+        }
+    }
+
+    /**
+     * Extracts a zip file into a directory, see {@link FileUtil#unzip(File, File)}.
+     *
+     * @param zipFile the zip file
+     * @param destDir the existing destination directory
+     * @throws IOException if reading or writing fails
+     */
+    static void unzip(final File zipFile, final File destDir) throws IOException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final List<Future<Void>> futures = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            try {
+                extractAll(zip, destDir, pool, futures);
+                for (Future<Void> future : futures) {
+                    await(future);
+                }
+            } finally {
+                // stop workers before the zip file is closed
+                futures.forEach(f -> f.cancel(true));
+            }
+        } catch (CanceledExecutionException e) {
+            throw new IOException("Extracting zip file was interrupted", e);
+        }
+    }
+
+    /** Extracts small entries directly and queues the large ones. */
+    private static void extractAll(final ZipFile zip, final File destDir, final ThreadPool pool,
+        final List<Future<Void>> futures) throws IOException {
+        final byte[] buf = new byte[BUFF_SIZE];
+        for (Enumeration<? extends ZipEntry> en = zip.entries(); en.hasMoreElements();) {
+            final ZipEntry e = en.nextElement();
+            final String name = e.getName().replace('\\', '/');
+            if (e.isDirectory()) {
+                if (!name.isEmpty() && !name.equals("/")) {
+                    final File d = new File(destDir, name);
+                    if (!d.mkdirs() && !d.exists()) {
+                        throw new IOException("Could not create directory '" + d.getAbsolutePath() + "'.");
+                    }
+                }
+                continue;
+            }
+            final File f = new File(destDir, name);
+            final File parentDir = f.getParentFile();
+            if (!parentDir.exists() && !parentDir.mkdirs() && !parentDir.exists()) {
+                throw new IOException("Could not create directory '" + parentDir.getAbsolutePath() + "'.");
+            }
+            if (e.getSize() >= MIN_PARALLEL_EXTRACT_SIZE) {
+                // the zip file synchronizes reading the raw data, inflating happens in the worker thread
+                futures.add(pool.enqueue(() -> {
+                    extract(zip, e, f, new byte[BUFF_SIZE]);
+                    return null;
+                }));
+            } else {
+                extract(zip, e, f, buf);
+            }
+        }
+    }
+
+    private static void extract(final ZipFile zip, final ZipEntry entry, final File dest, final byte[] buf)
+        throws IOException {
+        try (InputStream in = zip.getInputStream(entry); OutputStream out = new FileOutputStream(dest)) {
+            int read;
+            while ((read = in.read(buf)) >= 0) {
+                out.write(buf, 0, read);
+            }
+        }
+    }
+}
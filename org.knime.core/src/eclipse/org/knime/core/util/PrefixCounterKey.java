@@ -0,0 +1,153 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util;
+
+/**
+ * A key (e.g. a row ID) that consists of a prefix and a trailing non-negative decimal counter, such as "Row17". Keys
+ * of this form are typically generated in sequence ("Row0", "Row1", ...), which allows to store and check them in a
+ * compact way.
+ *
+ * <p>
+ * Parsing is unambiguous: the counter is the longest run of trailing digits, it must not have leading zeros and it
+ * has at most {@value #MAX_COUNTER_DIGITS} digits. Hence {@link #toString()} reproduces the parsed string and the
+ * prefix never ends with a digit.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class PrefixCounterKey {
+
+    /** The maximum number of digits of a counter, such that all counters (and their successors) fit into a long. */
+    static final int MAX_COUNTER_DIGITS = 18;
+
+    private final String m_prefix;
+
+    private final long m_counter;
+
+    private PrefixCounterKey(final String prefix, final long counter) {
+        m_prefix = prefix;
+        m_counter = counter;
+    }
+
+    /**
+     * Splits the argument into prefix and counter.
+     *
+     * @param key the key to parse, not null
+     * @return the parsed key or null if the argument doesn't end with a counter as described in the class
+     *         documentation
+     */
+    public static PrefixCounterKey parse(final String key) {
+        final int length = key.length();
+        int start = length;
+        while (start > 0 && isDigit(key.charAt(start - 1))) {
+            start--;
+        }
+        final int digits = length - start;
+        if (digits == 0 || digits > MAX_COUNTER_DIGITS || (digits > 1 && key.charAt(start) == '0')) {
+            return null;
+        }
+        long counter = 0;
+        for (int i = start; i < length; i++) {
+            counter = 10 * counter + (key.charAt(i) - '0');
+        }
+        return new PrefixCounterKey(key.substring(0, start), counter);
+    }
+
+    private static boolean isDigit(final char c) {
+        // Character.isDigit also accepts non-ASCII digits
+        return c >= '0' && c <= '9';
+    }
+
+    /** @return the prefix, possibly empty but never ending with a digit */
+    public String getPrefix() {
+        return m_prefix;
+    }
+
+    /** @return the non-negative counter */
+    public long getCounter() {
+        return m_counter;
+    }
+
+    /** @return the key with the same prefix and the counter incremented by one */
+    public PrefixCounterKey next() {
+        return new PrefixCounterKey(m_prefix, m_counter + 1);
+    }
+
+    /**
+     * @param previous the key to compare to, may be null
+     * @return whether this key has the same prefix as the argument and a counter that is larger by one
+     */
+    public boolean isSuccessorOf(final PrefixCounterKey previous) {
+        return previous != null && m_counter == previous.m_counter + 1 && m_prefix.equals(previous.m_prefix);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof PrefixCounterKey)) {
+            return false;
+        }
+        final PrefixCounterKey other = (PrefixCounterKey)obj;
+        return m_counter == other.m_counter && m_prefix.equals(other.m_prefix);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * m_prefix.hashCode() + Long.hashCode(m_counter);
+    }
+
+    /** @return the key as string, i.e. the prefix followed by the counter */
+    @Override
+    public String toString() {
+        return m_prefix + m_counter;
+    }
+
+}
@@ -48,13 +48,17 @@
  */
 package org.knime.core.util;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -63,13 +67,23 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 
 /**
  * Implements a sophisticated thread pool.
  *
+ * <p>
+ * By default all pools sharing the same threads (a root pool and its sub pools) use a single queue of tasks. If the
+ * pool is created in work stealing mode (see {@link KNIMEConstants#PROPERTY_THREAD_POOL_WORK_STEALING}) tasks
+ * submitted from one of the pool's threads are put into a queue of that thread and all other tasks into a shared
+ * injection queue; threads without work take tasks from their own queue first, then from the injection queue and
+ * finally from the queues of other threads. The thread limits of the sub pools are the same in both modes.
+ *
  * @author Thorsten Meinl, University of Konstanz
  */
 public class ThreadPool {
@@ -205,6 +219,12 @@ private static class Worker extends Thread {
 
         private boolean m_stopped;
 
+        /** The queues of the work stealing pool this worker belongs to, <code>null</code> in the default mode. */
+        private final WorkStealingQueues m_queues;
+
+        /** The tasks submitted by this worker (work stealing mode only), the newest task is first. */
+        private final Deque<MyFuture<?>> m_localQueue;
+
         // set context class loader after each runnable#run -- we had problems with some cxf web service client that
         // hijacked the current thread and subsequent runnables were using some URL class loader set by cxf
         private final ClassLoader m_contextClassLoaderAtInit;
@@ -213,10 +233,21 @@ private static class Worker extends Thread {
          * Creates a new worker.
          */
         public Worker() {
+            this(null);
+        }
+
+        /**
+         * Creates a new worker that takes its tasks from the queues of a work stealing pool.
+         *
+         * @param queues the queues or <code>null</code> for a worker of a default pool
+         */
+        Worker(final WorkStealingQueues queues) {
             super("KNIME-Worker-" + workerCounter++);
             setPriority(Thread.MIN_PRIORITY + 2);
             setDaemon(true);
             m_contextClassLoaderAtInit = getContextClassLoader();
+            m_queues = queues;
+            m_localQueue = queues == null ? null : new ConcurrentLinkedDeque<MyFuture<?>>();
         }
 
         /**
@@ -224,6 +255,10 @@ public Worker() {
          */
         @Override
         public void run() {
+            if (m_queues != null) {
+                m_queues.runWorker(this);
+                return;
+            }
             while (!isInterrupted()) {
                 ThreadPool startedFrom;
                 synchronized (m_lock) {
@@ -241,33 +276,41 @@ public void run() {
                         }
                     }
                     startedFrom = m_startedFrom;
-
-                    try {
-                        m_runnable.run();
-                        m_runnable.checkException();
-                    } catch (InterruptedException ex) {
-                        NodeLogger.getLogger(ThreadPool.class).debug("Thread was interrupted");
-                    } catch (CancellationException ex) {
-                        NodeLogger.getLogger(ThreadPool.class).debug("Future was canceled");
-                    } catch (ExecutionException ex) {
-                        if (!(ex.getCause() instanceof CanceledExecutionException)) {
-                            // canceled execution exception is fine and will not be reported
-                            NodeLogger.getLogger(ThreadPool.class).error(
-                                "An exception occurred while executing a runnable.", ex.getCause());
-                        }
-                    } catch (Exception ex) {
-                        // prevent the worker from being terminated
-                        NodeLogger.getLogger(ThreadPool.class).error("An exception occurred while executing "
-                                + "a runnable.", ex);
-                    } finally {
-                        setContextClassLoader(m_contextClassLoaderAtInit);
-                    }
+                    runTask(m_runnable);
                     m_runnable = null;
                 }
                 startedFrom.workerFinished(this);
             }
         }
 
+        /**
+         * Runs the task in this thread and logs its failure, if any.
+         *
+         * @param task the task
+         */
+        void runTask(final MyFuture<?> task) {
+            try {
+                task.run();
+                task.checkException();
+            } catch (InterruptedException ex) {
+                NodeLogger.getLogger(ThreadPool.class).debug("Thread was interrupted");
+            } catch (CancellationException ex) {
+                NodeLogger.getLogger(ThreadPool.class).debug("Future was canceled");
+            } catch (ExecutionException ex) {
+                if (!(ex.getCause() instanceof CanceledExecutionException)) {
+                    // canceled execution exception is fine and will not be reported
+                    NodeLogger.getLogger(ThreadPool.class).error(
+                        "An exception occurred while executing a runnable.", ex.getCause());
+                }
+            } catch (Exception ex) {
+                // prevent the worker from being terminated
+                NodeLogger.getLogger(ThreadPool.class).error("An exception occurred while executing "
+                        + "a runnable.", ex);
+            } finally {
+                setContextClassLoader(m_contextClassLoaderAtInit);
+            }
+        }
+
         /**
          * Sets the runnable for this (sleeping) worker and awakes it. This
          * method waits until the worker has finished the previous task if it is
@@ -291,6 +334,13 @@ public boolean wakeup(final MyFuture<?> r, final ThreadPool pool) {
         }
     }
 
+    /** Whether root pools are created in work stealing mode by default. */
+    private static final boolean DEFAULT_WORK_STEALING =
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_THREAD_POOL_WORK_STEALING);
+
+    /** How long idle workers of work stealing pools wait for new tasks before they terminate. */
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(90);
+
     private final Queue<Worker> m_availableWorkers;
 
     private final AtomicInteger m_maxThreads = new AtomicInteger();
@@ -303,14 +353,33 @@ public boolean wakeup(final MyFuture<?> r, final ThreadPool pool) {
 
     private final Queue<MyFuture<?>> m_queuedFutures;
 
-    private final Set<Worker> m_runningWorkers = new HashSet<Worker>();
+    private final Set<Worker> m_runningWorkers = ConcurrentHashMap.newKeySet();
+
+    /** The queues shared by the root pool and all its sub pools in work stealing mode, <code>null</code> otherwise. */
+    private final WorkStealingQueues m_stealingQueues;
+
+    /** The number of running tasks of this pool and its sub pools (work stealing mode only). */
+    private final AtomicInteger m_runningTasks = new AtomicInteger();
 
     /**
-     * Creates a new ThreadPool with a maximum number of threads.
+     * Creates a new ThreadPool with a maximum number of threads. The pool uses work stealing if the property
+     * {@link KNIMEConstants#PROPERTY_THREAD_POOL_WORK_STEALING} is set.
      *
      * @param maxThreads the maximum number of threads
      */
     public ThreadPool(final int maxThreads) {
+        this(maxThreads, DEFAULT_WORK_STEALING);
+    }
+
+    /**
+     * Creates a new ThreadPool with a maximum number of threads.
+     *
+     * @param maxThreads the maximum number of threads
+     * @param workStealing whether the threads have their own task queues and steal tasks from each other, see
+     *            {@link KNIMEConstants#PROPERTY_THREAD_POOL_WORK_STEALING}
+     * @since 4.2
+     */
+    public ThreadPool(final int maxThreads, final boolean workStealing) {
         if (maxThreads < 1) {
             throw new IllegalArgumentException("Thread count must be > 0");
         }
@@ -318,6 +387,7 @@ public ThreadPool(final int maxThreads) {
         m_parent = null;
         m_queuedFutures = new LinkedList<MyFuture<?>>();
         m_availableWorkers = new ConcurrentLinkedQueue<Worker>();
+        m_stealingQueues = workStealing ? new WorkStealingQueues() : null;
     }
 
     /**
@@ -334,9 +404,15 @@ protected ThreadPool(final int maxThreads, final ThreadPool parent) {
         m_maxThreads.set(maxThreads);
         m_queuedFutures = m_parent.m_queuedFutures;
         m_availableWorkers = null;
+        m_stealingQueues = m_parent.m_stealingQueues;
     }
 
     private boolean checkQueue() {
+        if (m_stealingQueues != null) {
+            // threads may have become available, the pending tasks are taken by the workers themselves
+            m_stealingQueues.signalWork();
+            return false;
+        }
         synchronized (m_queuedFutures) {
             for (Iterator<MyFuture<?>> it = m_queuedFutures.iterator(); it
                     .hasNext();) {
@@ -405,6 +481,11 @@ public <T> Future<T> enqueue(final Callable<T> task) {
         }
 
         MyFuture<T> ftask = new MyFuture<T>(task);
+        if (m_stealingQueues != null) {
+            incrementPendingJobs();
+            m_stealingQueues.push(ftask);
+            return ftask;
+        }
 
         synchronized (m_queuedFutures) {
             incrementPendingJobs();
@@ -447,6 +528,11 @@ private void decrementPendingJobs() {
      */
     public Future<?> enqueue(final Runnable r) {
         MyFuture<?> ftask = new MyFuture<Object>(r, null);
+        if (m_stealingQueues != null) {
+            incrementPendingJobs();
+            m_stealingQueues.push(ftask);
+            return ftask;
+        }
 
         synchronized (m_queuedFutures) {
             incrementPendingJobs();
@@ -484,6 +570,9 @@ public Future<?> enqueue(final Runnable r) {
      */
     public <T> Future<T> trySubmit(final Callable<T> t) {
         MyFuture<T> ftask = new MyFuture<T>(t);
+        if (m_stealingQueues != null) {
+            return m_stealingQueues.trySubmit(ftask, this) ? ftask : null;
+        }
 
         synchronized (m_queuedFutures) {
             incrementPendingJobs();
@@ -510,6 +599,9 @@ public <T> Future<T> trySubmit(final Callable<T> t) {
      */
     public Future<?> trySubmit(final Runnable r) {
         MyFuture<?> ftask = new MyFuture<Object>(r, null);
+        if (m_stealingQueues != null) {
+            return m_stealingQueues.trySubmit(ftask, this) ? ftask : null;
+        }
 
         synchronized (m_queuedFutures) {
             incrementPendingJobs();
@@ -563,9 +655,49 @@ public int getMaxThreads() {
      * @return the number of running threads
      */
     public int getRunningThreads() {
+        if (m_stealingQueues != null) {
+            return m_runningTasks.get() - m_invisibleThreads.get();
+        }
         return m_runningWorkers.size() - m_invisibleThreads.get();
     }
 
+    /**
+     * Returns whether this pool uses work stealing, see {@link KNIMEConstants#PROPERTY_THREAD_POOL_WORK_STEALING}.
+     *
+     * @return <code>true</code> in work stealing mode
+     * @since 4.2
+     */
+    public boolean isWorkStealing() {
+        return m_stealingQueues != null;
+    }
+
+    /**
+     * Returns the number of tasks that are waiting for a thread, including those of all pools that share the threads
+     * with this pool (i.e. the root pool and all its sub pools).
+     *
+     * @return the number of queued tasks
+     * @since 4.2
+     */
+    public int getQueuedTaskCount() {
+        if (m_stealingQueues != null) {
+            return m_stealingQueues.m_queuedTasks.get();
+        }
+        synchronized (m_queuedFutures) {
+            return m_queuedFutures.size();
+        }
+    }
+
+    /**
+     * Returns how many tasks have been taken from the queue of another thread, including the tasks of all pools that
+     * share the threads with this pool. This is always 0 if the pool doesn't use work stealing.
+     *
+     * @return the number of stolen tasks
+     * @since 4.2
+     */
+    public long getStealCount() {
+        return m_stealingQueues == null ? 0 : m_stealingQueues.m_stealCount.get();
+    }
+
     /**
      * Executes the runnable in the current thread. If the current thread is
      * taken out of this pool or any ancestor pool the number of invisible
@@ -622,6 +754,76 @@ public <T> T runInvisible(final Callable<T> r) throws ExecutionException {
 
     }
 
+    /**
+     * Waits for all futures and returns their results in order. If the current thread is taken out of a pool it
+     * doesn't occupy a slot of the pool while waiting (see {@link #runInvisible(Callable)}). If a task fails or the
+     * waiting thread is interrupted all futures are canceled and the failure is unwrapped: canceled executions,
+     * exceptions of the given type, runtime exceptions and errors are rethrown as they are, an interrupt is turned
+     * into a {@link CanceledExecutionException} and any other failure is wrapped in an
+     * {@link IllegalStateException}.
+     *
+     * @param <T> the result type
+     * @param <E> the type of checked exceptions thrown by the tasks
+     * @param futures the futures to wait for
+     * @param passThrough the type of checked exceptions that are rethrown as they are
+     * @param activity what the tasks do, used in error messages, e.g. "searching bit vectors"
+     * @return the results in the order of the futures
+     * @throws E if a task failed with an exception of the given type
+     * @throws CanceledExecutionException if a task was canceled or the waiting thread was interrupted
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static <T, E extends Exception> List<T> awaitAll(final List<? extends Future<? extends T>> futures,
+        final Class<E> passThrough, final String activity) throws E, CanceledExecutionException {
+        final Callable<List<T>> waitForAll = () -> {
+            final List<T> results = new ArrayList<>(futures.size());
+            for (Future<? extends T> f : futures) {
+                results.add(f.get());
+            }
+            return results;
+        };
+        try {
+            final ThreadPool pool = currentPool();
+            return pool != null ? pool.runInvisible(waitForAll) : waitForAll.call();
+        } catch (Exception e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e;
+            while ((cause instanceof ExecutionException) && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException("Interrupted while " + activity);
+            } else if (passThrough.isInstance(cause)) {
+                throw passThrough.cast(cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException("Failure while " + activity + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Waits for all futures and returns their results in order, see
+     * {@link #awaitAll(List, Class, String)} for details.
+     *
+     * @param <T> the result type
+     * @param futures the futures to wait for
+     * @param activity what the tasks do, used in error messages, e.g. "searching bit vectors"
+     * @return the results in the order of the futures
+     * @throws CanceledExecutionException if a task was canceled or the waiting thread was interrupted
+     * @since 4.2
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static <T> List<T> awaitAll(final List<? extends Future<? extends T>> futures, final String activity)
+        throws CanceledExecutionException {
+        return awaitAll(futures, RuntimeException.class, activity);
+    }
+
     /**
      * Sets the maximum number of threads in the pool. If the new value is
      * smaller than the old value running surplus threads will not be
@@ -650,6 +852,11 @@ public void setMaxThreads(final int newValue) {
      * Shuts the pool down, still running threads are not interrupted.
      */
     public void shutdown() {
+        if (m_stealingQueues != null) {
+            m_stealingQueues.cancelQueued(this);
+            setMaxThreads(0);
+            return;
+        }
         synchronized (m_queuedFutures) {
             Iterator<MyFuture<?>> it = m_queuedFutures.iterator();
             while (it.hasNext()) {
@@ -785,6 +992,9 @@ protected void finalize() throws Throwable {
                 w.interrupt();
             }
         }
+        if (m_stealingQueues != null && m_parent == null) {
+            m_stealingQueues.m_idleWorkers.forEach(Thread::interrupt);
+        }
         super.finalize();
     }
 
@@ -808,6 +1018,227 @@ public static ThreadPool currentPool() {
      * @return the queue size
      */
     int getQueueSize() {
-        return m_queuedFutures.size();
+        return getQueuedTaskCount();
+    }
+
+    /**
+     * Tries to reserve a thread of this pool and all its ancestors for a task (work stealing mode only).
+     *
+     * @return <code>true</code> if the task may run
+     */
+    private boolean tryAcquireThread() {
+        while (true) {
+            final int running = m_runningTasks.get();
+            if (running - m_invisibleThreads.get() >= m_maxThreads.get()) {
+                return false;
+            }
+            if (m_runningTasks.compareAndSet(running, running + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The task queues of a root pool in work stealing mode along with its workers. Each worker pushes the tasks it
+     * submits to the front of its own queue and takes its next task from there (so nested tasks are processed depth
+     * first and with warm caches); idle workers take the oldest tasks from the back of the other workers' queues. Tasks
+     * submitted from other threads are put into the injection queue. A task is only taken if its pool and all ancestor
+     * pools have a free thread; otherwise it stays in its queue and is taken once a thread becomes free.
+     */
+    private final class WorkStealingQueues {
+
+        private final Deque<MyFuture<?>> m_injectionQueue = new ConcurrentLinkedDeque<>();
+
+        private final Set<Worker> m_workers = ConcurrentHashMap.newKeySet();
+
+        private final Queue<Worker> m_idleWorkers = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger m_liveWorkers = new AtomicInteger();
+
+        private final AtomicInteger m_queuedTasks = new AtomicInteger();
+
+        private final AtomicLong m_stealCount = new AtomicLong();
+
+        /** Queues a task and wakes up (or starts) a worker. */
+        void push(final MyFuture<?> task) {
+            m_queuedTasks.incrementAndGet();
+            final Thread current = Thread.currentThread();
+            if (current instanceof Worker && ((Worker)current).m_queues == this) {
+                ((Worker)current).m_localQueue.offerFirst(task);
+            } else {
+                m_injectionQueue.offerLast(task);
+            }
+            signalWork();
+        }
+
+        /** Queues the task only if its pool (and all ancestors) have a free thread. */
+        boolean trySubmit(final MyFuture<?> task, final ThreadPool pool) {
+            for (ThreadPool p = pool; p != null; p = p.m_parent) {
+                if (p.m_runningTasks.get() - p.m_invisibleThreads.get() >= p.m_maxThreads.get()) {
+                    return false;
+                }
+            }
+            pool.incrementPendingJobs();
+            push(task);
+            return true;
+        }
+
+        /** Wakes up an idle worker or starts a new one if the root pool has free threads. */
+        void signalWork() {
+            final Worker idle = m_idleWorkers.poll();
+            if (idle != null) {
+                LockSupport.unpark(idle);
+                return;
+            }
+            while (true) {
+                // running tasks = live workers - idle workers, invisible threads don't count against the limit
+                final int live = m_liveWorkers.get();
+                if (live >= m_maxThreads.get() + m_invisibleThreads.get()) {
+                    return;
+                }
+                if (m_liveWorkers.compareAndSet(live, live + 1)) {
+                    break;
+                }
+            }
+            final Worker w = new Worker(this);
+            m_workers.add(w);
+            w.start();
+        }
+
+        /** The main loop of a worker. */
+        void runWorker(final Worker w) {
+            try {
+                long idleSince = -1;
+                while (!w.isInterrupted()) {
+                    MyFuture<?> task = findTask(w);
+                    if (task == null) {
+                        // register first and look again so that no task pushed in the meantime is missed
+                        m_idleWorkers.add(w);
+                        task = findTask(w);
+                        if (task == null) {
+                            idleSince = idleSince < 0 ? System.nanoTime() : idleSince;
+                            LockSupport.parkNanos(this, IDLE_TIMEOUT_NANOS - (System.nanoTime() - idleSince));
+                        }
+                        if (!m_idleWorkers.remove(w)) {
+                            // woken up by signalWork
+                            idleSince = -1;
+                        } else if (task == null && System.nanoTime() - idleSince >= IDLE_TIMEOUT_NANOS) {
+                            return;
+                        }
+                        if (task == null) {
+                            continue;
+                        }
+                    }
+                    idleSince = -1;
+                    w.m_startedFrom = task.getPool();
+                    w.runTask(task);
+                    release(task.getPool(), w);
+                    task.getPool().decrementPendingJobs();
+                }
+            } finally {
+                retire(w);
+            }
+        }
+
+        /** Takes the next task for the worker: its own newest task, the oldest injected one or a stolen one. */
+        private MyFuture<?> findTask(final Worker w) {
+            MyFuture<?> task = claim(w.m_localQueue, w.m_localQueue.iterator(), w);
+            if (task == null) {
+                task = claim(m_injectionQueue, m_injectionQueue.iterator(), w);
+            }
+            if (task == null) {
+                for (Worker victim : m_workers) {
+                    if (victim != w) {
+                        task = claim(victim.m_localQueue, victim.m_localQueue.descendingIterator(), w);
+                        if (task != null) {
+                            m_stealCount.incrementAndGet();
+                            break;
+                        }
+                    }
+                }
+            }
+            if (task != null && m_queuedTasks.get() > 0) {
+                // more work to do, let another worker continue
+                signalWork();
+            }
+            return task;
+        }
+
+        /** Removes and returns the first task in iteration order whose pool has a free thread. */
+        private MyFuture<?> claim(final Deque<MyFuture<?>> queue, final Iterator<MyFuture<?>> it, final Worker w) {
+            while (it.hasNext()) {
+                final MyFuture<?> task = it.next();
+                if (task.isDone()) {
+                    // canceled while waiting
+                    if (queue.removeFirstOccurrence(task)) {
+                        m_queuedTasks.decrementAndGet();
+                        task.getPool().decrementPendingJobs();
+                    }
+                } else if (acquire(task.getPool(), w)) {
+                    if (queue.removeFirstOccurrence(task)) {
+                        m_queuedTasks.decrementAndGet();
+                        return task;
+                    }
+                    // taken by another worker
+                    release(task.getPool(), w);
+                }
+            }
+            return null;
+        }
+
+        /** Reserves a thread in the pool and all its ancestors. */
+        private boolean acquire(final ThreadPool pool, final Worker w) {
+            for (ThreadPool p = pool; p != null; p = p.m_parent) {
+                if (!p.tryAcquireThread()) {
+                    for (ThreadPool q = pool; q != p; q = q.m_parent) {
+                        q.m_runningTasks.decrementAndGet();
+                    }
+                    return false;
+                }
+            }
+            for (ThreadPool p = pool; p != null; p = p.m_parent) {
+                p.m_runningWorkers.add(w);
+            }
+            return true;
+        }
+
+        private void release(final ThreadPool pool, final Worker w) {
+            for (ThreadPool p = pool; p != null; p = p.m_parent) {
+                p.m_runningWorkers.remove(w);
+                p.m_runningTasks.decrementAndGet();
+            }
+        }
+
+        /** Called when a worker terminates, hands its remaining tasks over to the other workers. */
+        private void retire(final Worker w) {
+            m_workers.remove(w);
+            m_idleWorkers.remove(w);
+            MyFuture<?> task;
+            while ((task = w.m_localQueue.pollLast()) != null) {
+                m_injectionQueue.offerLast(task);
+            }
+            m_liveWorkers.decrementAndGet();
+            if (m_queuedTasks.get() > 0) {
+                signalWork();
+            }
+        }
+
+        /** Cancels all queued tasks of the pool. */
+        void cancelQueued(final ThreadPool pool) {
+            cancelQueued(m_injectionQueue, pool);
+            for (Worker w : m_workers) {
+                cancelQueued(w.m_localQueue, pool);
+            }
+        }
+
+        private void cancelQueued(final Deque<MyFuture<?>> queue, final ThreadPool pool) {
+            for (MyFuture<?> task : queue) {
+                if (task.getPool() == pool && queue.removeFirstOccurrence(task)) {
+                    m_queuedTasks.decrementAndGet();
+                    pool.decrementPendingJobs();
+                    task.cancel(true);
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,191 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Runs tasks that mostly wait (for a database, a web service or the file system) on virtual threads, so that they
+ * don't occupy a slot of the {@link KNIMEConstants#GLOBAL_THREAD_POOL}. Virtual threads are used if the Java runtime
+ * supports them (Java 21 or later), otherwise the tasks run on a separate, unbounded pool of platform threads.
+ *
+ * <p>
+ * CPU-bound work on these threads should be limited using {@link #executor(boolean) executor(true)}, which lets only
+ * as many tasks run at the same time as the global thread pool has threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class VirtualThreads {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(VirtualThreads.class);
+
+    /** Creates virtual threads, <code>null</code> if not supported by the runtime. */
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+    private static final CpuLimiter CPU_LIMITER = new CpuLimiter();
+
+    private VirtualThreads() {
+    }
+
+    /** Lazily created pool of platform threads used if virtual threads are not available. */
+    private static final class FallbackPoolHolder {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        private static final ExecutorService POOL = Executors.newCachedThreadPool(r -> {
+            final Thread t = new Thread(r, "KNIME-IO-Worker-" + COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @return whether the runtime supports virtual threads; if not, tasks run on platform threads
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * Runs the task on a new virtual thread (or a thread of the fallback pool). The context class loader of the
+     * calling thread is inherited; use {@link ThreadUtils#runnableWithContext(Runnable)} to also propagate the node
+     * context.
+     *
+     * @param task the task to run
+     */
+    public static void execute(final Runnable task) {
+        if (VIRTUAL_THREAD_FACTORY != null) {
+            VIRTUAL_THREAD_FACTORY.newThread(task).start();
+        } else {
+            FallbackPoolHolder.POOL.execute(task);
+        }
+    }
+
+    /**
+     * Returns an executor that runs each task on its own virtual thread, e.g. for
+     * {@link MultiThreadWorker#setExecutor(Executor)}.
+     *
+     * @param cpuBound <code>true</code> if the tasks mostly compute; such tasks are limited (across all executors
+     *            created by this method) to the maximum number of threads of the global thread pool
+     * @return a new executor
+     */
+    public static Executor executor(final boolean cpuBound) {
+        if (!cpuBound) {
+            return VirtualThreads::execute;
+        }
+        return task -> execute(() -> {
+            CPU_LIMITER.acquire();
+            try {
+                task.run();
+            } finally {
+                CPU_LIMITER.release();
+            }
+        });
+    }
+
+    /** Creates the factory via reflection as this code is compiled against Java 8. */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object namedBuilder =
+                builderClass.getMethod("name", String.class, long.class).invoke(builder, "KNIME-Virtual-", 0L);
+            final ThreadFactory factory = (ThreadFactory)builderClass.getMethod("factory").invoke(namedBuilder);
+            LOGGER.debug("Virtual threads are available");
+            return factory;
+        } catch (ReflectiveOperationException | RuntimeException e) { // NOSONAR
+            LOGGER.debug("Virtual threads are not available (" + e.getClass().getSimpleName()
+                + "), using platform threads instead");
+            return null;
+        }
+    }
+
+    /**
+     * Limits the number of running CPU-bound tasks to the (possibly changing) maximum number of threads of the global
+     * thread pool. Uses a {@link ReentrantLock} since monitors pin virtual threads to their carrier.
+     */
+    private static final class CpuLimiter {
+
+        private final ReentrantLock m_lock = new ReentrantLock();
+
+        private final Condition m_released = m_lock.newCondition();
+
+        private int m_running;
+
+        void acquire() {
+            m_lock.lock();
+            try {
+                while (m_running >= KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads()) {
+                    m_released.awaitUninterruptibly();
+                }
+                m_running++;
+            } finally {
+                m_lock.unlock();
+            }
+        }
+
+        void release() {
+            m_lock.lock();
+            try {
+                m_running--;
+                m_released.signal();
+            } finally {
+                m_lock.unlock();
+            }
+        }
+    }
+}
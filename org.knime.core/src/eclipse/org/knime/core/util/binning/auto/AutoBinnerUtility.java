@@ -60,20 +60,32 @@
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.dmg.pmml.TransformationDictionaryDocument.TransformationDictionary;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.QuantileSketch;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.port.pmml.PMMLPortObject;
 import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
 import org.knime.core.node.port.pmml.preproc.DerivedFieldMapper;
+import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.Pair;
+import org.knime.core.util.ThreadPool;
 import org.knime.core.util.binning.auto.pmml.Closure;
 import org.knime.core.util.binning.auto.pmml.DisretizeConfiguration;
 import org.knime.core.util.binning.auto.pmml.PMMLDiscretize;
@@ -92,6 +104,9 @@
  */
 public final class AutoBinnerUtility {
 
+    /** Minimum number of rows processed by one task when computing quantile sketches concurrently. */
+    private static final long MIN_ROWS_PER_SKETCH_CHUNK = 100_000;
+
     /**
      * This method translates a {@link PMMLPreprocDiscretize} object into {@link PMMLPortObject}.
      *
@@ -191,6 +206,142 @@ public static PMMLPreprocDiscretize createPMMLPrepocDiscretize(final AutoBinnerL
         return createDisretizeOp(settings, edgesMap, includeCols);
     }
 
+    /**
+     * This method creates a {@link PMMLPreprocDiscretize} object from a single pass over the table. Bin edges are
+     * derived from {@link QuantileSketch quantile sketches}, which avoids sorting the columns: for
+     * {@link BinningMethod#SAMPLE_QUANTILES} the {@link AutoBinnerLearnSettings#getSampleQuantiles() sample quantiles}
+     * are estimated, for {@link BinningMethod#FIXED_NUMBER} with {@link EqualityMethod#FREQUENCY} the edges are the
+     * quantiles at <code>i / binCount</code> and for {@link EqualityMethod#WIDTH} the exact minimum and maximum are
+     * used. The rank error of estimated edges is bounded by {@link QuantileSketch#getNormalizedRankError(int)}.
+     *
+     * @param settings {@link AutoBinnerLearnSettings} object from node model
+     * @param table the table to bin
+     * @param includeCols the include columns from the node model, must be numeric
+     * @param exec the {@link ExecutionMonitor} for progress and cancellation
+     * @return a {@link PMMLPreprocDiscretize} object containing required parameters for binning operation
+     * @throws CanceledExecutionException if the user cancels the execution
+     * @since 4.2
+     */
+    public static PMMLPreprocDiscretize createPMMLPrepocDiscretize(final AutoBinnerLearnSettings settings,
+        final BufferedDataTable table, final String[] includeCols, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final QuantileSketch[] sketches =
+            computeQuantileSketches(table, includeCols, QuantileSketch.DEFAULT_K, exec);
+        final Map<String, double[]> edgesMap = new LinkedHashMap<>();
+        for (int i = 0; i < includeCols.length; i++) {
+            final QuantileSketch sketch = sketches[i];
+            if (sketch.isEmpty()) {
+                continue;
+            }
+            double[] edges;
+            if (BinningMethod.SAMPLE_QUANTILES == settings.getMethod()) {
+                final double[] fractions = settings.getSampleQuantiles().clone();
+                Arrays.sort(fractions);
+                edges = sketch.getQuantiles(fractions);
+            } else if (EqualityMethod.FREQUENCY == settings.getEqualityMethod()) {
+                final double[] fractions = new double[settings.getBinCount() + 1];
+                for (int j = 0; j < fractions.length; j++) {
+                    fractions[j] = j / (double)settings.getBinCount();
+                }
+                edges = sketch.getQuantiles(fractions);
+            } else {
+                edges = calculateBounds(settings.getBinCount(), sketch.getMin(), sketch.getMax());
+            }
+            edges = settings.getIntegerBounds() ? toIntegerBoundaries(edges) : toDistinctBoundaries(edges);
+            edgesMap.put(includeCols[i], edges);
+        }
+        return createDisretizeOp(settings, edgesMap, includeCols);
+    }
+
+    /**
+     * Computes a {@link QuantileSketch} for each of the given columns in a single pass. The rows are split into ranges
+     * that are scanned concurrently in the {@link KNIMEConstants#GLOBAL_THREAD_POOL global thread pool}; the partial
+     * sketches are merged per column afterwards. Missing values and NaN are ignored.
+     *
+     * @param table the table to scan
+     * @param columns the names of the columns, must be compatible with {@link DoubleValue}
+     * @param k the accuracy parameter of the sketches, see {@link QuantileSketch#QuantileSketch(int)}
+     * @param exec the {@link ExecutionMonitor} for progress and cancellation
+     * @return the sketches in the order of the argument columns
+     * @throws CanceledExecutionException if the user cancels the execution
+     * @since 4.2
+     */
+    public static QuantileSketch[] computeQuantileSketches(final BufferedDataTable table, final String[] columns,
+        final int k, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final DataTableSpec spec = table.getDataTableSpec();
+        final int[] colIndices = spec.columnsToIndices(columns);
+        for (int i = 0; i < colIndices.length; i++) {
+            CheckUtils.checkArgument(spec.getColumnSpec(colIndices[i]).getType().isCompatible(DoubleValue.class),
+                "Column \"%s\" is not numeric", columns[i]);
+        }
+        final long size = table.size();
+        final int chunkCount = (int)Math.max(1, Math.min(KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads(),
+            size / MIN_ROWS_PER_SKETCH_CHUNK));
+        final long chunkSize = Math.max(1, (size + chunkCount - 1) / chunkCount);
+        final AtomicLong processed = new AtomicLong();
+        final List<Callable<QuantileSketch[]>> tasks = new ArrayList<>(chunkCount);
+        for (long from = 0; from < size; from += chunkSize) {
+            // the upper bound of the range is inclusive
+            final TableFilter filter = new TableFilter.Builder().withMaterializeColumnIndices(colIndices)
+                .withFromRowIndex(from).withToRowIndex(Math.min(size, from + chunkSize) - 1).build();
+            tasks.add(() -> {
+                final QuantileSketch[] sketches = createSketches(colIndices.length, k);
+                try (CloseableRowIterator it = table.filter(filter).iterator()) {
+                    while (it.hasNext()) {
+                        final DataRow row = it.next();
+                        for (int i = 0; i < colIndices.length; i++) {
+                            final DataCell cell = row.getCell(colIndices[i]);
+                            if (!cell.isMissing()) {
+                                sketches[i].update(((DoubleValue)cell).getDoubleValue());
+                            }
+                        }
+                        final long count = processed.incrementAndGet();
+                        if ((count & 0x3FFF) == 0) {
+                            exec.checkCanceled();
+                            exec.setProgress(count / (double)size, () -> String.format("Row %,d/%,d", count, size));
+                        }
+                    }
+                }
+                return sketches;
+            });
+        }
+        if (tasks.isEmpty()) {
+            return createSketches(colIndices.length, k);
+        }
+        final List<QuantileSketch[]> partials = runConcurrently(tasks);
+        final QuantileSketch[] result = partials.get(0);
+        for (int c = 1; c < partials.size(); c++) {
+            for (int i = 0; i < result.length; i++) {
+                result[i].merge(partials.get(c)[i]);
+            }
+        }
+        exec.setProgress(1.0);
+        return result;
+    }
+
+    private static QuantileSketch[] createSketches(final int count, final int k) {
+        final QuantileSketch[] sketches = new QuantileSketch[count];
+        for (int i = 0; i < count; i++) {
+            sketches[i] = new QuantileSketch(k);
+        }
+        return sketches;
+    }
+
+    /** Runs the tasks in the global thread pool and returns their results in task order. */
+    private static <T> List<T> runConcurrently(final List<Callable<T>> tasks) throws CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(pool.enqueue(task));
+        }
+        return ThreadPool.awaitAll(futures, "computing quantile sketches");
+    }
+
+    /** Removes duplicate boundaries as they occur with quantiles of skewed data, result is sorted. */
+    private static double[] toDistinctBoundaries(final double[] boundaries) {
+        return Arrays.stream(boundaries).sorted().distinct().toArray();
+    }
+
     private static PMMLPreprocDiscretize createDisretizeOp(final AutoBinnerLearnSettings settings,
         final Map<String, double[]> edgesMap, final String[] includeCols) {
         final Map<String, List<PMMLDiscretizeBin>> binMap = createBins(settings, edgesMap, includeCols);
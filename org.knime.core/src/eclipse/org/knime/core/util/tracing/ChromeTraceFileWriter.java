@@ -0,0 +1,161 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util.tracing;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Writes {@link TraceEvent trace events} to a file using the JSON array variant of the Chrome trace event format
+ * ("complete" events). The closing bracket is optional in that format, so the file can be loaded at any time and after
+ * a crash.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ChromeTraceFileWriter implements TraceListener {
+
+    /** Maximum time events stay in the buffer before being flushed. */
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
+    private final Writer m_writer;
+
+    private final long m_pid;
+
+    private long m_lastFlush = System.currentTimeMillis();
+
+    ChromeTraceFileWriter(final File file) throws IOException {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        m_writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()),
+            StandardCharsets.UTF_8));
+        m_writer.write("[\n");
+        m_pid = getPid();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "KNIME-Trace-Flusher"));
+    }
+
+    @Override
+    public synchronized void eventOccurred(final TraceEvent event) {
+        final StringBuilder b = new StringBuilder(256);
+        b.append("{\"name\":");
+        appendString(b, event.getName());
+        b.append(",\"cat\":\"").append(event.getType().name()).append('"');
+        b.append(",\"ph\":\"X\",\"ts\":").append(event.getStartTimeMillis() * 1000);
+        b.append(",\"dur\":").append(event.getDurationNanos() / 1000);
+        b.append(",\"pid\":").append(m_pid).append(",\"tid\":");
+        appendString(b, event.getThreadName());
+        b.append(",\"args\":{\"node\":");
+        appendString(b, event.getNodeID());
+        b.append(",\"workflow\":");
+        appendString(b, event.getWorkflowName());
+        if (event.getRowCount() >= 0) {
+            b.append(",\"rows\":").append(event.getRowCount());
+        }
+        if (event.getByteCount() >= 0) {
+            b.append(",\"bytes\":").append(event.getByteCount());
+        }
+        b.append("}},\n");
+        try {
+            m_writer.write(b.toString());
+            final long now = System.currentTimeMillis();
+            if (now - m_lastFlush > FLUSH_INTERVAL_MS) {
+                m_writer.flush();
+                m_lastFlush = now;
+            }
+        } catch (IOException e) {
+            NodeLogger.getLogger(ChromeTraceFileWriter.class).debug("Unable to write trace event: " + e.getMessage(),
+                e);
+        }
+    }
+
+    private synchronized void flush() {
+        try {
+            m_writer.flush();
+        } catch (IOException e) {
+            // shutting down, nothing to do
+        }
+    }
+
+    private static void appendString(final StringBuilder b, final String s) {
+        if (s == null) {
+            b.append("null");
+            return;
+        }
+        b.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                b.append('\\').append(c);
+            } else if (c < 0x20) {
+                b.append(String.format("\\u%04x", (int)c));
+            } else {
+                b.append(c);
+            }
+        }
+        b.append('"');
+    }
+
+    /** The process id from the runtime name ("pid@host"), 0 if unknown. */
+    private static long getPid() {
+        final String name = ManagementFactory.getRuntimeMXBean().getName();
+        try {
+            return Long.parseLong(name.substring(0, name.indexOf('@')));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+}
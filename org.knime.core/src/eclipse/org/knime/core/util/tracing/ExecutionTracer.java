@@ -0,0 +1,305 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util.tracing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.WorkflowManager;
+
+/**
+ * Low-overhead tracing of the execution of workflows. Framework code reports {@link TraceEventType node phases, table
+ * I/O, sorter spills, lock waits and memory alert flushes} as {@link TraceEvent events} that are correlated with the
+ * node and workflow from the current {@link NodeContext}. Events are passed to registered {@link TraceListener
+ * listeners}, for instance a bridge to Java Flight Recorder or a metrics system.
+ *
+ * <p>
+ * Tracing is off unless a listener is registered. If the system property {@link KNIMEConstants#PROPERTY_TRACING_FILE}
+ * is set, a listener writing all events to the given file in the Chrome trace event format (readable by
+ * <code>chrome://tracing</code> or Perfetto) is registered at startup. When tracing is off the cost of a trace point is
+ * a single volatile read.
+ *
+ * <p>
+ * Typical usage for durations:
+ *
+ * <pre>
+ * try (ExecutionTracer.Span span = ExecutionTracer.begin(TraceEventType.TABLE_WRITE, fileName)) {
+ *     ... write ...
+ *     span.setRowCount(rowCount);
+ * }
+ * </pre>
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class ExecutionTracer {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExecutionTracer.class);
+
+    private static final TraceListener[] NO_LISTENERS = new TraceListener[0];
+
+    /** Copy on write, empty if tracing is off. */
+    private static volatile TraceListener[] listeners = NO_LISTENERS;
+
+    static {
+        final String traceFile = System.getProperty(KNIMEConstants.PROPERTY_TRACING_FILE);
+        if (traceFile != null && !traceFile.trim().isEmpty()) {
+            try {
+                addListener(new ChromeTraceFileWriter(new File(traceFile.trim())));
+                LOGGER.info("Writing execution trace to \"" + traceFile.trim() + "\"");
+            } catch (IOException e) {
+                LOGGER.error("Unable to open trace file \"" + traceFile + "\": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private ExecutionTracer() {
+    }
+
+    /**
+     * @return whether any listener is registered, i.e. whether trace points need to compute their event data
+     */
+    public static boolean isEnabled() {
+        return listeners.length > 0;
+    }
+
+    /**
+     * Registers a listener, enabling tracing.
+     *
+     * @param listener the listener to add
+     */
+    public static synchronized void addListener(final TraceListener listener) {
+        final TraceListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+        copy[copy.length - 1] = listener;
+        listeners = copy;
+    }
+
+    /**
+     * Removes a listener; tracing is disabled when the last listener is removed.
+     *
+     * @param listener the listener to remove
+     * @return whether the listener was registered
+     */
+    public static synchronized boolean removeListener(final TraceListener listener) {
+        final TraceListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                final TraceListener[] copy = new TraceListener[current.length - 1];
+                System.arraycopy(current, 0, copy, 0, i);
+                System.arraycopy(current, i + 1, copy, i, copy.length - i);
+                listeners = copy;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts a span that is emitted as an event when it is {@link Span#close() closed}. The node is taken from the
+     * current {@link NodeContext}.
+     *
+     * @param type the event type
+     * @param name a short description
+     * @return a span, a no-op instance if tracing is off
+     */
+    public static Span begin(final TraceEventType type, final String name) {
+        return isEnabled() ? new Span(type, name, null) : Span.NO_OP;
+    }
+
+    /**
+     * Starts a span for the given node that is emitted as an event when it is {@link Span#close() closed}.
+     *
+     * @param type the event type
+     * @param name a short description
+     * @param nc the node the event belongs to, may be <code>null</code> to use the current {@link NodeContext}
+     * @return a span, a no-op instance if tracing is off
+     */
+    public static Span begin(final TraceEventType type, final String name, final NodeContainer nc) {
+        return isEnabled() ? new Span(type, name, nc) : Span.NO_OP;
+    }
+
+    /**
+     * Emits an event that has already completed, using the node from the current {@link NodeContext}.
+     *
+     * @param type the event type
+     * @param name a short description
+     * @param durationNanos the duration in nanoseconds, 0 for instant events
+     * @param rowCount number of rows processed or -1
+     * @param byteCount number of bytes processed or -1
+     */
+    public static void emit(final TraceEventType type, final String name, final long durationNanos,
+        final long rowCount, final long byteCount) {
+        if (isEnabled()) {
+            fire(type, name, null, System.currentTimeMillis() - durationNanos / 1_000_000, durationNanos, rowCount,
+                byteCount);
+        }
+    }
+
+    /**
+     * Emits an event that has already completed and started at the given time, using the node from the current
+     * {@link NodeContext}. Used if the event can only be reported some time after it completed.
+     *
+     * @param type the event type
+     * @param name a short description
+     * @param startTimeMillis the start of the event in milliseconds since the epoch
+     * @param durationNanos the duration in nanoseconds, 0 for instant events
+     * @param rowCount number of rows processed or -1
+     * @param byteCount number of bytes processed or -1
+     */
+    public static void emit(final TraceEventType type, final String name, final long startTimeMillis,
+        final long durationNanos, final long rowCount, final long byteCount) {
+        if (isEnabled()) {
+            fire(type, name, null, startTimeMillis, durationNanos, rowCount, byteCount);
+        }
+    }
+
+    private static void fire(final TraceEventType type, final String name, final NodeContainer node,
+        final long startTimeMillis, final long durationNanos, final long rowCount, final long byteCount) {
+        NodeContainer nc = node;
+        WorkflowManager wfm = nc == null ? null : nc.getParent();
+        if (nc == null) {
+            final NodeContext context = NodeContext.getContext();
+            if (context != null) {
+                nc = context.getNodeContainer();
+                wfm = context.getWorkflowManager();
+            }
+        }
+        String workflowName = null;
+        if (wfm != null) {
+            final WorkflowManager project = wfm.getProjectWFM();
+            workflowName = project != null ? project.getName() : wfm.getName();
+        }
+        final TraceEvent event = new TraceEvent(type, name, nc == null ? null : nc.getID().toString(), workflowName,
+            Thread.currentThread().getName(), startTimeMillis, durationNanos, rowCount, byteCount);
+        for (TraceListener l : listeners) {
+            try {
+                l.eventOccurred(event);
+            } catch (RuntimeException e) {
+                LOGGER.debug("Trace listener " + l.getClass().getName() + " failed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * A trace event with a duration, emitted on {@link #close()}.
+     */
+    public static final class Span implements AutoCloseable {
+
+        /** Shared instance used if tracing is off, it ignores all calls and therefore has no state. */
+        static final Span NO_OP = new Span(null, null, null);
+
+        private final TraceEventType m_type;
+
+        private final String m_name;
+
+        private final NodeContainer m_node;
+
+        private final long m_startTimeMillis;
+
+        private final long m_startNanos;
+
+        private long m_rowCount = -1;
+
+        private long m_byteCount = -1;
+
+        private boolean m_closed;
+
+        private Span(final TraceEventType type, final String name, final NodeContainer node) {
+            m_type = type;
+            m_name = name;
+            m_node = node;
+            m_startTimeMillis = type == null ? 0 : System.currentTimeMillis();
+            m_startNanos = type == null ? 0 : System.nanoTime();
+        }
+
+        /**
+         * @param rowCount the number of rows processed within the span
+         * @return this
+         */
+        public Span setRowCount(final long rowCount) {
+            if (m_type != null) {
+                m_rowCount = rowCount;
+            }
+            return this;
+        }
+
+        /**
+         * @param byteCount the number of bytes processed within the span
+         * @return this
+         */
+        public Span setByteCount(final long byteCount) {
+            if (m_type != null) {
+                m_byteCount = byteCount;
+            }
+            return this;
+        }
+
+        /** Discards the span if the work it measures didn't complete, {@link #close()} then emits no event. */
+        public void discard() {
+            if (m_type != null) {
+                m_closed = true;
+            }
+        }
+
+        /** Emits the event; subsequent calls have no effect. */
+        @Override
+        public void close() {
+            if (m_type == null || m_closed) {
+                return;
+            }
+            m_closed = true;
+            fire(m_type, m_name, m_node, m_startTimeMillis, System.nanoTime() - m_startNanos, m_rowCount,
+                m_byteCount);
+        }
+    }
+}
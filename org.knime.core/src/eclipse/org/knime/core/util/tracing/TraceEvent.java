@@ -0,0 +1,156 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (agent): created
+ */
+package org.knime.core.util.tracing;
+
+/**
+ * A single event recorded by the {@link ExecutionTracer}. Events are immutable and correlated with the node and
+ * workflow that caused them (if known).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.2
+ */
+public final class TraceEvent {
+
+    private final TraceEventType m_type;
+
+    private final String m_name;
+
+    private final String m_nodeID;
+
+    private final String m_workflowName;
+
+    private final String m_threadName;
+
+    private final long m_startTimeMillis;
+
+    private final long m_durationNanos;
+
+    private final long m_rowCount;
+
+    private final long m_byteCount;
+
+    TraceEvent(final TraceEventType type, final String name, final String nodeID, final String workflowName,
+        final String threadName, final long startTimeMillis, final long durationNanos, final long rowCount,
+        final long byteCount) {
+        m_type = type;
+        m_name = name;
+        m_nodeID = nodeID;
+        m_workflowName = workflowName;
+        m_threadName = threadName;
+        m_startTimeMillis = startTimeMillis;
+        m_durationNanos = durationNanos;
+        m_rowCount = rowCount;
+        m_byteCount = byteCount;
+    }
+
+    /** @return the event category, not null */
+    public TraceEventType getType() {
+        return m_type;
+    }
+
+    /** @return a short description, e.g. the node name or the name of the table file */
+    public String getName() {
+        return m_name;
+    }
+
+    /** @return the ID of the node the event is associated with or <code>null</code> if unknown */
+    public String getNodeID() {
+        return m_nodeID;
+    }
+
+    /** @return the name of the workflow project the event is associated with or <code>null</code> if unknown */
+    public String getWorkflowName() {
+        return m_workflowName;
+    }
+
+    /** @return the name of the thread that emitted the event */
+    public String getThreadName() {
+        return m_threadName;
+    }
+
+    /** @return the start time in milliseconds since the epoch */
+    public long getStartTimeMillis() {
+        return m_startTimeMillis;
+    }
+
+    /** @return the duration in nanoseconds, 0 for instant events */
+    public long getDurationNanos() {
+        return m_durationNanos;
+    }
+
+    /** @return the number of rows processed or -1 if not applicable */
+    public long getRowCount() {
+        return m_rowCount;
+    }
+
+    /** @return the number of bytes processed or -1 if not applicable */
+    public long getByteCount() {
+        return m_byteCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder(m_type.name()).append(" \"").append(m_name).append('"');
+        if (m_nodeID != null) {
+            b.append(" node=").append(m_nodeID);
+        }
+        if (m_workflowName != null) {
+            b.append(" workflow=").append(m_workflowName);
+        }
+        b.append(" thread=").append(m_threadName);
+        b.append(" duration=").append(m_durationNanos / 1000).append("us");
+        if (m_rowCount >= 0) {
+            b.append(" rows=").append(m_rowCount);
+        }
+        if (m_byteCount >= 0) {
+            b.append(" bytes=").append(m_byteCount);
+        }
+        return b.toString();
+    }
+}